@@ -0,0 +1,54 @@
+package org.folio.cql2pgjson;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.folio.cql2pgjson.exception.CQL2PgJSONException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CQL to SQL translation of typical inventory queries, using the instance table
+ * of the benchmark's templates/db_scripts/schema.json.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CQL2PgJSONBenchmark {
+
+  @Param({
+    "cql.allRecords=1",
+    "id==00000001-1111-4222-8333-000000000001",
+    "hrid==in00000000001",
+    "title=\"war and peace\"",
+    "cql.allRecords=1 sortBy title",
+    "(title=\"war and peace\" or contributors=tolstoy) and source==MARC sortBy title/sort.descending",
+    "keyword all \"history of europe\" and instanceTypeId==00000060-1111-4222-8333-000000000060",
+  })
+  String cql;
+
+  CQL2PgJSON cql2pgJson;
+
+  @Setup
+  public void setup() throws CQL2PgJSONException {
+    cql2pgJson = new CQL2PgJSON("instance.jsonb", List.of("title", "contributors", "identifiers"));
+  }
+
+  @Benchmark
+  public SqlSelect toSql() throws QueryValidationException {
+    return cql2pgJson.toSql(cql);
+  }
+}
@@ -0,0 +1,188 @@
+package org.folio.rest.benchmark;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.impl.RowDesc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.folio.rest.persist.helpers.LocalRowDesc;
+import org.folio.rest.persist.helpers.LocalRowSet;
+
+/**
+ * Synthetic, deterministic test data for the benchmarks.
+ *
+ * <p>The instance records are shaped and sized like mod-inventory-storage instances
+ * (about 4 KB of JSON each) so that the deserialization cost is comparable to production.
+ */
+public final class Fixtures {
+  /** The static id the facet query template uses for facet rows. */
+  public static final String FACET_ID = "00000000-0000-0000-0000-000000000000";
+
+  private static final String [] SOURCES = { "MARC", "FOLIO", "CONSORTIUM-MARC" };
+  private static final String [] WORDS = {
+      "history", "of", "the", "library", "catalog", "war", "and", "peace", "in", "europe",
+      "proceedings", "conference", "university", "press", "studies", "modern", "science",
+  };
+
+  private Fixtures() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * @param i  sequence number, the same number always yields the same record
+   * @return an instance record like those stored in mod-inventory-storage
+   */
+  public static JsonObject instance(int i) {
+    JsonArray contributors = new JsonArray();
+    for (int j = 0; j < 4; j++) {
+      contributors.add(new JsonObject()
+          .put("name", "Contributor" + (i + j) + ", " + words(i + j, 2))
+          .put("contributorTypeId", uuid(30 + j))
+          .put("contributorNameTypeId", uuid(40))
+          .put("primary", j == 0));
+    }
+    JsonArray identifiers = new JsonArray();
+    for (int j = 0; j < 6; j++) {
+      identifiers.add(new JsonObject()
+          .put("identifierTypeId", uuid(50 + j))
+          .put("value", String.format("978-%d-%05d-%d", j, i, j)));
+    }
+    JsonArray subjects = new JsonArray();
+    for (int j = 0; j < 8; j++) {
+      subjects.add(new JsonObject().put("value", words(i * 3 + j, 4)).put("typeId", uuid(60)));
+    }
+    JsonArray notes = new JsonArray();
+    for (int j = 0; j < 3; j++) {
+      notes.add(new JsonObject()
+          .put("instanceNoteTypeId", uuid(70 + j))
+          .put("note", words(i + j, 40))
+          .put("staffOnly", j == 2));
+    }
+    JsonArray electronicAccess = new JsonArray().add(new JsonObject()
+        .put("uri", "https://example.org/resource/" + i)
+        .put("linkText", "Electronic resource")
+        .put("relationshipId", uuid(80)));
+    JsonArray publication = new JsonArray().add(new JsonObject()
+        .put("publisher", words(i, 3))
+        .put("place", "New York")
+        .put("dateOfPublication", String.valueOf(1900 + i % 120))
+        .put("role", "Publication"));
+    String title = words(i, 10);
+    return new JsonObject()
+        .put("id", uuid(i))
+        .put("_version", 1)
+        .put("hrid", String.format("in%011d", i))
+        .put("source", SOURCES[i % SOURCES.length])
+        .put("title", title)
+        .put("indexTitle", title)
+        .put("alternativeTitles", new JsonArray().add(new JsonObject()
+            .put("alternativeTitleTypeId", uuid(90)).put("alternativeTitle", words(i + 1, 8))))
+        .put("editions", new JsonArray().add((i % 5 + 1) + ". ed."))
+        .put("series", new JsonArray().add(new JsonObject().put("value", words(i + 2, 5))))
+        .put("identifiers", identifiers)
+        .put("contributors", contributors)
+        .put("subjects", subjects)
+        .put("classifications", new JsonArray().add(new JsonObject()
+            .put("classificationNumber", "QA76." + i).put("classificationTypeId", uuid(91))))
+        .put("publication", publication)
+        .put("electronicAccess", electronicAccess)
+        .put("instanceTypeId", uuid(92 + i % 5))
+        .put("instanceFormatIds", new JsonArray().add(uuid(100)))
+        .put("physicalDescriptions", new JsonArray().add("xii, 345 pages : illustrations ; 24 cm"))
+        .put("languages", new JsonArray().add("eng").add("ger"))
+        .put("notes", notes)
+        .put("discoverySuppress", false)
+        .put("staffSuppress", false)
+        .put("previouslyHeld", false)
+        .put("statisticalCodeIds", new JsonArray().add(uuid(110)).add(uuid(111)))
+        .put("statusId", uuid(120))
+        .put("statusUpdatedDate", "2024-01-15T10:22:31.000+0000")
+        .put("tags", new JsonObject().put("tagList", new JsonArray().add("important").add("new")))
+        .put("natureOfContentTermIds", new JsonArray().add(uuid(130)))
+        .put("metadata", new JsonObject()
+            .put("createdDate", "2024-01-15T10:22:31.000+00:00")
+            .put("createdByUserId", uuid(140))
+            .put("updatedDate", "2024-03-02T08:01:12.000+00:00")
+            .put("updatedByUserId", uuid(141)));
+  }
+
+  /**
+   * @param rowCount  number of rows
+   * @param columnNames  "jsonb" gets the instance, "id" its UUID, any other column a String
+   * @return the RowSet as returned by a "SELECT id, jsonb ..." query
+   */
+  public static RowSet<Row> instanceRowSet(int rowCount, List<String> columnNames) {
+    RowDesc rowDesc = new LocalRowDesc(columnNames);
+    List<Row> rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      Row row = new RowImpl(rowDesc);
+      for (String column : columnNames) {
+        row.addValue(columnValue(column, i));
+      }
+      rows.add(row);
+    }
+    return new LocalRowSet(rowCount).withColumns(columnNames).withRows(rows);
+  }
+
+  /**
+   * @param rowCount  number of records
+   * @param facetCount  number of facet rows before the records
+   * @return the RowSet as returned by a facet query, columns id and jsonb
+   */
+  public static RowSet<Row> facetRowSet(int rowCount, int facetCount) {
+    List<String> columnNames = List.of("id", "jsonb");
+    RowDesc rowDesc = new LocalRowDesc(columnNames);
+    List<Row> rows = new ArrayList<>(facetCount + rowCount);
+    for (int i = 0; i < facetCount; i++) {
+      Row row = new RowImpl(rowDesc);
+      row.addValue(UUID.fromString(FACET_ID));
+      row.addValue(new JsonObject()
+          .put("type", i % 2 == 0 ? "source" : "instanceTypeId")
+          .put("facetValues", new JsonArray().add(new JsonObject()
+              .put("value", i % 2 == 0 ? SOURCES[i / 2 % SOURCES.length] : uuid(92 + i % 5))
+              .put("count", 1000 - i))));
+      rows.add(row);
+    }
+    for (int i = 0; i < rowCount; i++) {
+      Row row = new RowImpl(rowDesc);
+      row.addValue(UUID.fromString(uuid(i)));
+      row.addValue(instance(i));
+      rows.add(row);
+    }
+    return new LocalRowSet(rowCount).withColumns(columnNames).withRows(rows);
+  }
+
+  /**
+   * @param i  sequence number
+   * @return deterministic UUID string for i
+   */
+  public static String uuid(int i) {
+    return String.format("%08x-1111-4222-8333-%012x", i, i);
+  }
+
+  private static Object columnValue(String column, int i) {
+    switch (column) {
+      case "jsonb":
+        return instance(i);
+      case "id":
+        return UUID.fromString(uuid(i));
+      default:
+        return "value" + i;
+    }
+  }
+
+  private static String words(int seed, int count) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(WORDS[(seed * 7 + i * 3) % WORDS.length]);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,289 @@
+package org.folio.rest.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.folio.rest.jaxrs.model.Metadata;
+
+/**
+ * Instance schema, shaped like the POJOs that RMB generates from a mod-inventory-storage
+ * instance.json; the properties not listed are kept in additionalProperties.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+    "id",
+    "_version",
+    "hrid",
+    "source",
+    "title",
+    "indexTitle",
+    "instanceTypeId",
+    "statusId",
+    "statusUpdatedDate",
+    "contributors",
+    "identifiers",
+    "metadata"
+})
+public class Instance {
+
+    @JsonProperty("id")
+    private String id;
+    @JsonProperty("_version")
+    private Integer version;
+    @JsonProperty("hrid")
+    private String hrid;
+    @JsonProperty("source")
+    private String source;
+    @JsonProperty("title")
+    private String title;
+    @JsonProperty("indexTitle")
+    private String indexTitle;
+    @JsonProperty("instanceTypeId")
+    private String instanceTypeId;
+    @JsonProperty("statusId")
+    private String statusId;
+    @JsonProperty("statusUpdatedDate")
+    private String statusUpdatedDate;
+    @JsonProperty("contributors")
+    private List<Contributor> contributors = new ArrayList<>();
+    @JsonProperty("identifiers")
+    private List<Identifier> identifiers = new ArrayList<>();
+    @JsonProperty("metadata")
+    private Metadata metadata;
+    @JsonIgnore
+    private Map<String, Object> additionalProperties = new HashMap<>();
+
+    @JsonProperty("id")
+    public String getId() {
+        return id;
+    }
+
+    @JsonProperty("id")
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instance withId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    @JsonProperty("_version")
+    public Integer getVersion() {
+        return version;
+    }
+
+    @JsonProperty("_version")
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    @JsonProperty("hrid")
+    public String getHrid() {
+        return hrid;
+    }
+
+    @JsonProperty("hrid")
+    public void setHrid(String hrid) {
+        this.hrid = hrid;
+    }
+
+    @JsonProperty("source")
+    public String getSource() {
+        return source;
+    }
+
+    @JsonProperty("source")
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    @JsonProperty("title")
+    public String getTitle() {
+        return title;
+    }
+
+    @JsonProperty("title")
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @JsonProperty("indexTitle")
+    public String getIndexTitle() {
+        return indexTitle;
+    }
+
+    @JsonProperty("indexTitle")
+    public void setIndexTitle(String indexTitle) {
+        this.indexTitle = indexTitle;
+    }
+
+    @JsonProperty("instanceTypeId")
+    public String getInstanceTypeId() {
+        return instanceTypeId;
+    }
+
+    @JsonProperty("instanceTypeId")
+    public void setInstanceTypeId(String instanceTypeId) {
+        this.instanceTypeId = instanceTypeId;
+    }
+
+    @JsonProperty("statusId")
+    public String getStatusId() {
+        return statusId;
+    }
+
+    @JsonProperty("statusId")
+    public void setStatusId(String statusId) {
+        this.statusId = statusId;
+    }
+
+    @JsonProperty("statusUpdatedDate")
+    public String getStatusUpdatedDate() {
+        return statusUpdatedDate;
+    }
+
+    @JsonProperty("statusUpdatedDate")
+    public void setStatusUpdatedDate(String statusUpdatedDate) {
+        this.statusUpdatedDate = statusUpdatedDate;
+    }
+
+    @JsonProperty("contributors")
+    public List<Contributor> getContributors() {
+        return contributors;
+    }
+
+    @JsonProperty("contributors")
+    public void setContributors(List<Contributor> contributors) {
+        this.contributors = contributors;
+    }
+
+    @JsonProperty("identifiers")
+    public List<Identifier> getIdentifiers() {
+        return identifiers;
+    }
+
+    @JsonProperty("identifiers")
+    public void setIdentifiers(List<Identifier> identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    @JsonProperty("metadata")
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    @JsonProperty("metadata")
+    public void setMetadata(Metadata metadata) {
+        this.metadata = metadata;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getAdditionalProperties() {
+        return this.additionalProperties;
+    }
+
+    @JsonAnySetter
+    public void setAdditionalProperty(String name, Object value) {
+        this.additionalProperties.put(name, value);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({
+        "name",
+        "contributorTypeId",
+        "contributorNameTypeId",
+        "primary"
+    })
+    public static class Contributor {
+
+        @JsonProperty("name")
+        private String name;
+        @JsonProperty("contributorTypeId")
+        private String contributorTypeId;
+        @JsonProperty("contributorNameTypeId")
+        private String contributorNameTypeId;
+        @JsonProperty("primary")
+        private Boolean primary;
+
+        @JsonProperty("name")
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty("name")
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @JsonProperty("contributorTypeId")
+        public String getContributorTypeId() {
+            return contributorTypeId;
+        }
+
+        @JsonProperty("contributorTypeId")
+        public void setContributorTypeId(String contributorTypeId) {
+            this.contributorTypeId = contributorTypeId;
+        }
+
+        @JsonProperty("contributorNameTypeId")
+        public String getContributorNameTypeId() {
+            return contributorNameTypeId;
+        }
+
+        @JsonProperty("contributorNameTypeId")
+        public void setContributorNameTypeId(String contributorNameTypeId) {
+            this.contributorNameTypeId = contributorNameTypeId;
+        }
+
+        @JsonProperty("primary")
+        public Boolean getPrimary() {
+            return primary;
+        }
+
+        @JsonProperty("primary")
+        public void setPrimary(Boolean primary) {
+            this.primary = primary;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({
+        "identifierTypeId",
+        "value"
+    })
+    public static class Identifier {
+
+        @JsonProperty("identifierTypeId")
+        private String identifierTypeId;
+        @JsonProperty("value")
+        private String value;
+
+        @JsonProperty("identifierTypeId")
+        public String getIdentifierTypeId() {
+            return identifierTypeId;
+        }
+
+        @JsonProperty("identifierTypeId")
+        public void setIdentifierTypeId(String identifierTypeId) {
+            this.identifierTypeId = identifierTypeId;
+        }
+
+        @JsonProperty("value")
+        public String getValue() {
+            return value;
+        }
+
+        @JsonProperty("value")
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.folio.rest.benchmark;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link HttpServerResponse} that discards everything written to it, it only counts the bytes.
+ *
+ * <p>Fluent methods return the response, methods returning a Future return a succeeded Future.
+ */
+public final class NullHttpServerResponse {
+  private long bytesWritten;
+  private final HttpServerResponse response = (HttpServerResponse) Proxy.newProxyInstance(
+      HttpServerResponse.class.getClassLoader(), new Class<?> [] { HttpServerResponse.class },
+      (proxy, method, args) -> invoke(proxy, method, args));
+
+  /**
+   * @return the proxy to pass to the code under test
+   */
+  public HttpServerResponse response() {
+    return response;
+  }
+
+  /**
+   * @return number of bytes passed to write and end since the creation of this instance
+   */
+  public long bytesWritten() {
+    return bytesWritten;
+  }
+
+  private Object invoke(Object proxy, Method method, Object [] args) {
+    if (args != null && ("write".equals(method.getName()) || "end".equals(method.getName()))) {
+      if (args[0] instanceof String) {
+        bytesWritten += ((String) args[0]).getBytes(StandardCharsets.UTF_8).length;
+      } else if (args[0] instanceof Buffer) {
+        bytesWritten += ((Buffer) args[0]).length();
+      }
+    }
+    Class<?> returnType = method.getReturnType();
+    if (returnType.isAssignableFrom(HttpServerResponse.class)) {
+      return proxy;
+    }
+    if (returnType == Future.class) {
+      return Future.succeededFuture();
+    }
+    if (returnType == boolean.class) {
+      return false;
+    }
+    if (returnType == int.class) {
+      return 0;
+    }
+    if (returnType == long.class) {
+      return bytesWritten;
+    }
+    return null;
+  }
+}
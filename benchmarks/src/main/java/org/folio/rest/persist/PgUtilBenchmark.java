@@ -0,0 +1,96 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.folio.dbschema.ObjectMapperTool;
+import org.folio.rest.benchmark.Fixtures;
+import org.folio.rest.benchmark.Instance;
+import org.folio.rest.benchmark.NullHttpServerResponse;
+import org.folio.rest.jaxrs.model.ResultInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON writing of {@link PgUtil#streamGet}: the records of a PostgresClientStreamResult
+ * are written into a response that discards the output; with and without deserializing
+ * the rows into POJOs, see {@link PgUtil#setJsonbPassthrough(boolean)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PgUtilBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int rows;
+
+  List<Instance> instances;
+  PostgresClient postgresClient;
+  RowSet<Row> rowSet;
+
+  @Setup
+  public void setup() throws Exception {
+    postgresClient = PostgresClient.testClient();
+    rowSet = Fixtures.instanceRowSet(rows, List.of("id", "jsonb"));
+    instances = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      instances.add(ObjectMapperTool.getMapper().readValue(Fixtures.instance(i).encode(), Instance.class));
+    }
+  }
+
+  @Benchmark
+  public long streamGetResult() {
+    NullHttpServerResponse nullResponse = new NullHttpServerResponse();
+    PostgresClientStreamResult<Instance> result =
+        new PostgresClientStreamResult<>(new ResultInfo().withTotalRecords(rows));
+    PgUtil.streamGetResult(result, "instances", nullResponse.response());
+    for (Instance instance : instances) {
+      result.fireHandler(instance);
+    }
+    result.fireEndHandler();
+    return nullResponse.bytesWritten();
+  }
+
+  /**
+   * Rows to POJOs to response.
+   */
+  @Benchmark
+  public long streamGetRows() {
+    return streamGetRows(Instance.class);
+  }
+
+  /**
+   * Rows to response.
+   */
+  @Benchmark
+  public long streamGetRowsJsonbPassthrough() {
+    return streamGetRows(JsonObject.class);
+  }
+
+  private <T> long streamGetRows(Class<T> clazz) {
+    NullHttpServerResponse nullResponse = new NullHttpServerResponse();
+    PostgresClientStreamResult<T> result =
+        new PostgresClientStreamResult<>(new ResultInfo().withTotalRecords(rows));
+    PgUtil.streamGetResult(result, "instances", nullResponse.response());
+    for (T item : postgresClient.processResults(rowSet, rows, 0, rows, clazz).getResults()) {
+      result.fireHandler(item);
+    }
+    result.fireEndHandler();
+    return nullResponse.bytesWritten();
+  }
+}
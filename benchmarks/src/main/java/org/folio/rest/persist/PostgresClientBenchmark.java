@@ -0,0 +1,103 @@
+package org.folio.rest.persist;
+
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.folio.rest.benchmark.Fixtures;
+import org.folio.rest.benchmark.Instance;
+import org.folio.rest.persist.PostgresClient.ResultsHelper;
+import org.folio.rest.persist.interfaces.Results;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserialization of query results: {@link PostgresClient#processResults} and
+ * {@link PostgresClient#deserializeRow} with plain, external column and facet RowSets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostgresClientBenchmark {
+
+  @Param({"1", "10", "100"})
+  int rows;
+
+  PostgresClient postgresClient;
+  RowSet<Row> rowSet;
+  RowSet<Row> externalColumnsRowSet;
+  RowSet<Row> facetRowSet;
+  Row row;
+  Row externalColumnsRow;
+  RowMappingPlan plan;
+
+  @Setup
+  public void setup() throws IllegalAccessException {
+    postgresClient = PostgresClient.testClient();
+    rowSet = Fixtures.instanceRowSet(rows, List.of("id", "jsonb"));
+    externalColumnsRowSet = Fixtures.instanceRowSet(rows, List.of("id", "jsonb", "status_updated_date"));
+    facetRowSet = Fixtures.facetRowSet(rows, 6);
+    row = rowSet.iterator().next();
+    externalColumnsRow = externalColumnsRowSet.iterator().next();
+    plan = RowMappingPlan.of(Instance.class, rowSet.columnsNames());
+  }
+
+  @Benchmark
+  public Results<Instance> processResults() {
+    return postgresClient.processResults(rowSet, rows, 0, rows, Instance.class);
+  }
+
+  @Benchmark
+  public Results<Instance> processResultsExternalColumns() {
+    return postgresClient.processResults(externalColumnsRowSet, rows, 0, rows, Instance.class);
+  }
+
+  @Benchmark
+  public Results<Instance> processResultsFacets() {
+    return postgresClient.processResults(facetRowSet, rows, 0, rows, Instance.class);
+  }
+
+  @Benchmark
+  public Object deserializeRow() throws ReflectiveOperationException, IOException {
+    ResultsHelper<Instance> resultsHelper = new ResultsHelper<>(Instance.class);
+    return postgresClient.deserializeRow(resultsHelper, plan, row);
+  }
+
+  /**
+   * Mapping of the external columns of a row as done before {@link RowMappingPlan}:
+   * setter lookup by reflection for each query, Method.invoke for each row.
+   */
+  @Benchmark
+  public Object externalColumnsReflection() throws ReflectiveOperationException {
+    Map<String, Method> externalColumnSetters = new HashMap<>();
+    postgresClient.collectExternalColumnSetters(externalColumnsRowSet.columnsNames(), Instance.class,
+        postgresClient.isAuditFlavored(Instance.class), externalColumnSetters);
+    Instance instance = new Instance();
+    postgresClient.populateExternalColumns(externalColumnSetters, instance, externalColumnsRow);
+    return instance;
+  }
+
+  @Benchmark
+  public Object externalColumnsPlan() throws ReflectiveOperationException {
+    Instance instance = new Instance();
+    RowMappingPlan.of(Instance.class, externalColumnsRowSet.columnsNames())
+        .populateExternalColumns(instance, externalColumnsRow);
+    return instance;
+  }
+}
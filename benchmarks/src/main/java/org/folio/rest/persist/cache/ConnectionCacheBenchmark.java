@@ -0,0 +1,79 @@
+package org.folio.rest.persist.cache;
+
+import io.vertx.core.Future;
+import io.vertx.pgclient.PgConnection;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention on {@link ConnectionCache}: 8 threads check out a connection for a random tenant and
+ * return it, like CachedConnectionManager.getConnection and CachedPgConnection.close do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConnectionCacheBenchmark {
+
+  @Param({"4", "100"})
+  int connections;
+
+  @Param({"10", "300"})
+  int tenants;
+
+  ConnectionCache cache;
+  List<String> tenantIds;
+
+  @Setup
+  public void setup() {
+    CachedConnectionManager manager = new CachedConnectionManager();
+    PgConnection pgConnection = (PgConnection) Proxy.newProxyInstance(
+        PgConnection.class.getClassLoader(), new Class<?> [] { PgConnection.class },
+        (proxy, method, args) -> method.getReturnType() == Future.class ? Future.succeededFuture() : null);
+    cache = new ConnectionCache();
+    tenantIds = new ArrayList<>(tenants);
+    for (int i = 0; i < tenants; i++) {
+      tenantIds.add("tenant" + i);
+    }
+    for (int i = 0; i < connections; i++) {
+      CachedPgConnection connection =
+          new CachedPgConnection(tenantIds.get(i % tenants), pgConnection, manager, null, 0);
+      cache.tryAdd(connection);
+      connection.setAvailable();
+    }
+  }
+
+  @Benchmark
+  public boolean checkoutAndRelease() {
+    String tenantId = tenantIds.get(ThreadLocalRandom.current().nextInt(tenants));
+    CachedPgConnection connection = cache.getAvailableConnection(tenantId).orElse(null);
+    if (connection == null) {
+      cache.incrementMisses();
+      return false;
+    }
+    cache.incrementHits();
+    if (!connection.getTenantId().equals(tenantId)) {
+      connection.setTenantId(tenantId);
+    }
+    connection.setAvailable();
+    return true;
+  }
+}
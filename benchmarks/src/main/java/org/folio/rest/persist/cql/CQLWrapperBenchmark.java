@@ -0,0 +1,68 @@
+package org.folio.rest.persist.cql;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.CQL2PgJSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * SQL generation of {@link CQLWrapper}, including the sequence of calls that
+ * PostgresClient makes when it builds a query with count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CQLWrapperBenchmark {
+
+  @Param({
+    "cql.allRecords=1",
+    "title=\"war and peace\" sortBy title",
+    "(title=\"war and peace\" or contributors=tolstoy) and source==MARC sortBy title/sort.descending",
+  })
+  String cql;
+
+  CQL2PgJSON cql2pgJson;
+
+  @Setup
+  public void setup() throws CQL2PgJSONException {
+    cql2pgJson = new CQL2PgJSON("instance.jsonb", List.of("title", "contributors", "identifiers"));
+  }
+
+  @Benchmark
+  public String toStringWithLimitOffset() {
+    return new CQLWrapper(cql2pgJson, cql, 10, 0).toString();
+  }
+
+  @Benchmark
+  public String addWrapper() {
+    CQLWrapper statusWrapper = new CQLWrapper(cql2pgJson, "statusId==00000078-1111-4222-8333-000000000078");
+    return new CQLWrapper(cql2pgJson, cql, 10, 0).addWrapper(statusWrapper).toString();
+  }
+
+  /**
+   * Same calls as PostgresClient.buildQueryHelper: full query, where clause for the
+   * count estimate, and the query without limit and offset.
+   */
+  @Benchmark
+  public void queryWithCount(Blackhole blackhole) {
+    CQLWrapper wrapper = new CQLWrapper(cql2pgJson, cql, 10, 0);
+    blackhole.consume(wrapper.toString());
+    blackhole.consume(wrapper.getWhereClause());
+    blackhole.consume(wrapper.getWithoutLimOff());
+  }
+}
@@ -0,0 +1,104 @@
+package org.folio.rest.persist.ddlgen;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.concurrent.TimeUnit;
+import org.folio.dbschema.ObjectMapperTool;
+import org.folio.dbschema.Schema;
+import org.folio.dbschema.TenantOperation;
+import org.folio.rest.persist.PostgresClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Row level versus statement level audit trigger generated by audit.ftl: UPDATE of all records
+ * of an audited table, the transaction is rolled back.
+ *
+ * <p>Unlike the other benchmarks this needs a PostgreSQL server, configure it using the
+ * DB_HOST, DB_PORT, DB_USERNAME, DB_PASSWORD and DB_DATABASE environment variables;
+ * DB_USERNAME must be allowed to create roles and schemas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditTriggerBenchmark {
+
+  private static final String TENANT = "audit_benchmark";
+  private static final String ROLLBACK = "rollback";
+
+  @Param({"row", "statement"})
+  String trigger;
+
+  @Param({"1", "100", "1000"})
+  int rows;
+
+  Vertx vertx;
+  PostgresClient postgresClient;
+  String update;
+
+  @Setup
+  public void setup() throws Exception {
+    vertx = Vertx.vertx();
+    String table = "instance";
+    String json = "{\"tables\": [{"
+        + "\"tableName\": \"" + table + "\", \"withAuditing\": true,"
+        + "\"auditingTableName\": \"audit_" + table + "\", \"auditingFieldName\": \"record\","
+        + "\"auditingStatementLevel\": " + "statement".equals(trigger) + "}]}";
+    SchemaMaker schemaMaker = new SchemaMaker(TENANT, PostgresClient.getModuleName(),
+        TenantOperation.CREATE, null, "1.0.0");
+    schemaMaker.setSchema(ObjectMapperTool.getMapper().readValue(json, Schema.class));
+    String create = schemaMaker.generateCreate();
+    String schemas = schemaMaker.generateSchemas();
+    String schema = PostgresClient.convertToPsqlStandard(TENANT);
+    PostgresClient superuser = PostgresClient.getInstance(vertx);
+    await(superuser.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE")
+        .compose(x -> superuser.execute("DROP ROLE IF EXISTS " + schema))
+        .compose(x -> superuser.runSqlFile(create))
+        .compose(x -> superuser.runSqlFile(schemas)));
+    postgresClient = PostgresClient.getInstance(vertx, TENANT);
+    await(postgresClient.execute("INSERT INTO " + schema + "." + table
+        + " SELECT md5(n::text)::uuid, jsonb_build_object('id', md5(n::text)::uuid, 'title', 'title ' || n)"
+        + " FROM generate_series(1, " + rows + ") AS n"));
+    update = "UPDATE " + schema + "." + table + " SET jsonb = jsonb || jsonb_build_object('title', 'changed')";
+  }
+
+  @TearDown
+  public void tearDown() {
+    PostgresClient.closeAllClients();
+    await(vertx.close());
+  }
+
+  /**
+   * UPDATE all records, the trigger writes one audit record for each.
+   */
+  @Benchmark
+  public Object update() {
+    return await(postgresClient.withTrans(conn -> conn.execute(update)
+        .compose(rowSet -> Future.failedFuture(ROLLBACK)))
+        .recover(e -> ROLLBACK.equals(e.getMessage()) ? Future.succeededFuture() : Future.failedFuture(e)));
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.toCompletionStage().toCompletableFuture().get(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package org.folio.rest.tools.utils;
+
+/**
+ * The benchmarks are not a module, domain-models-maven-plugin doesn't generate this class.
+ */
+public class ModuleName {
+  /**
+   * The module name with minus replaced by underscore, for example {@code mod_foo_bar}.
+   */
+  public static String getModuleName() {
+    return "raml_module_builder_benchmarks";
+  }
+
+  /**
+   * The module version.
+   */
+  public static String getModuleVersion() {
+    return "0.0.0";
+  }
+}
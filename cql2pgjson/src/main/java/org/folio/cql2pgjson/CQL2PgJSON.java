@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
@@ -28,6 +29,7 @@ import org.folio.cql2pgjson.model.DbFkInfo;
 import org.folio.cql2pgjson.model.DbIndex;
 import org.folio.cql2pgjson.model.IndexTextAndJsonValues;
 import org.folio.cql2pgjson.model.SqlSelect;
+import org.folio.cql2pgjson.model.SqlSortKey;
 import org.folio.cql2pgjson.util.Cql2SqlUtil;
 import org.folio.cql2pgjson.util.DbSchemaUtils;
 import org.folio.dbschema.util.SqlUtil;
@@ -87,6 +89,14 @@ public class CQL2PgJSON {
    */
   private List<String> serverChoiceIndexes = Collections.emptyList();
 
+  /**
+   * Values of the $n placeholders of the query being converted by {@link #toSql(String, List)},
+   * null when the search terms are inlined as SQL literals.
+   */
+  private List<Object> parameters;
+  /** Number of parameters before the first $n placeholder of the query being converted. */
+  private int parameterOffset;
+
   /**
    * Create an instance for the specified schema.
    *
@@ -297,11 +307,58 @@ public class CQL2PgJSON {
 
   /**
    * Convert the CQL query into a SQL query and return the WHERE and the ORDER BY clause.
+   *
+   * <p>The result is taken from the {@link SqlSelectCache} if available.
    * @param cql  the query to convert
    * @return SQL query
    * @throws QueryValidationException
    */
   public SqlSelect toSql(String cql) throws QueryValidationException {
+    if (!SqlSelectCache.isEnabled()) {
+      return parseToSql(cql);
+    }
+    SqlSelectCache.Key key = new SqlSelectCache.Key(jsonField, jsonFields, serverChoiceIndexes, dbSchema, cql);
+    SqlSelect sqlSelect = SqlSelectCache.get(key);
+    if (sqlSelect == null) {
+      sqlSelect = parseToSql(cql);
+      SqlSelectCache.put(key, sqlSelect);
+    }
+    return sqlSelect;
+  }
+
+  /**
+   * Convert the CQL query into a SQL query and return the WHERE and the ORDER BY clause where
+   * each search term is a $n placeholder so that the prepared statement can be reused for
+   * any query of the same shape.
+   *
+   * <p>The placeholders are numbered after the values already in parameters, the values of the
+   * placeholders are appended to parameters. Structural parts like field names stay inline.
+   *
+   * <p>The result is taken from the {@link SqlSelectCache} if available.
+   * @param cql  the query to convert
+   * @param parameters  where to append the placeholder values
+   * @return SQL query, {@link SqlSelect#getParameters()} returns the values appended to parameters
+   * @throws QueryValidationException
+   */
+  public SqlSelect toSql(String cql, List<Object> parameters) throws QueryValidationException {
+    int offset = parameters.size();
+    SqlSelect sqlSelect;
+    if (!SqlSelectCache.isEnabled()) {
+      sqlSelect = parseToSql(cql, offset);
+    } else {
+      SqlSelectCache.Key key =
+          new SqlSelectCache.Key(jsonField, jsonFields, serverChoiceIndexes, dbSchema, cql, offset);
+      sqlSelect = SqlSelectCache.get(key);
+      if (sqlSelect == null) {
+        sqlSelect = parseToSql(cql, offset);
+        SqlSelectCache.put(key, sqlSelect);
+      }
+    }
+    parameters.addAll(sqlSelect.getParameters());
+    return sqlSelect;
+  }
+
+  private SqlSelect parseToSql(String cql) throws QueryValidationException {
     try {
       CQLParser parser = new CQLParser();
       CQLNode node = parser.parse(cql);
@@ -311,6 +368,41 @@ public class CQL2PgJSON {
     }
   }
 
+  private SqlSelect parseToSql(String cql, int offset) throws QueryValidationException {
+    parameters = new ArrayList<>();
+    parameterOffset = offset;
+    try {
+      SqlSelect sqlSelect = parseToSql(cql);
+      return new SqlSelect(sqlSelect.getWhere(), sqlSelect.getOrderBy(), sqlSelect.getSortKeys(), parameters);
+    } finally {
+      parameters = null;
+    }
+  }
+
+  /**
+   * Return the quoted SQL string literal, or a $n placeholder of type text and add
+   * the unquoted value to the parameters when converting with placeholders.
+   */
+  private String literal(String quoted) {
+    if (parameters == null) {
+      return quoted;
+    }
+    parameters.add(quoted.substring(1, quoted.length() - 1).replace("''", "'"));
+    return "$" + (parameterOffset + parameters.size()) + "::text";
+  }
+
+  /**
+   * Return the quoted UUID, or a $n placeholder and add the UUID to the parameters
+   * when converting with placeholders.
+   */
+  private String uuidLiteral(String uuid) {
+    if (parameters == null) {
+      return "'" + uuid + "'";
+    }
+    parameters.add(UUID.fromString(uuid));
+    return "$" + (parameterOffset + parameters.size());
+  }
+
   private SqlSelect toSql(CQLNode node) throws QueryValidationException {
     if (node instanceof CQLSortNode) {
       return toSql((CQLSortNode) node);
@@ -386,6 +478,7 @@ public class CQL2PgJSON {
   @SuppressWarnings("squid:S135")  // suppress "reduce to one continue in for loop"
   private SqlSelect toSql(CQLSortNode node) throws QueryValidationException {
     StringBuilder order = new StringBuilder();
+    List<SqlSortKey> sortKeys = new ArrayList<>();
     String where = pg(node.getSubtree());
 
     boolean firstIndex = true;
@@ -398,7 +491,8 @@ public class CQL2PgJSON {
 
       String desc = "";
       CqlModifiers modifiers = new CqlModifiers(modifierSet);
-      if (modifiers.getCqlSort() == CqlSort.DESCENDING) {
+      boolean descending = modifiers.getCqlSort() == CqlSort.DESCENDING;
+      if (descending) {
         desc = " DESC";
       }  // ASC not needed, it's Postgres' default
 
@@ -406,6 +500,7 @@ public class CQL2PgJSON {
       DbIndex dbIndex = dbIndexMap.computeIfAbsent(field, f -> DbSchemaUtils.getDbIndex(dbTable, f));
       if (dbIndex.isForeignKey() || "id".equals(field)) {
         order.append(field).append(desc);
+        sortKeys.add(new SqlSortKey(field, "uuid", descending));
         continue;
       }
 
@@ -414,14 +509,18 @@ public class CQL2PgJSON {
       // if sort field is marked explicitly as number type
       if (modifiers.getCqlTermFormat() == CqlTermFormat.NUMBER) {
         order.append(vals.getIndexJson()).append(desc);
+        sortKeys.add(new SqlSortKey(vals.getIndexJson(), "jsonb", descending));
         continue;
       }
 
       // We assume that a CREATE INDEX for this has been installed.
-      order.append(wrapForLength(wrapInLowerUnaccent(vals.getIndexText(), modifiers))).append(desc).append(", ")
-      .append(wrapInLowerUnaccent(vals.getIndexText(), modifiers)).append(desc);
+      String text = wrapInLowerUnaccent(vals.getIndexText(), modifiers);
+      order.append(wrapForLength(text)).append(desc).append(", ")
+      .append(text).append(desc);
+      sortKeys.add(new SqlSortKey(wrapForLength(text), "text", descending));
+      sortKeys.add(new SqlSortKey(text, "text", descending));
     }
-    return new SqlSelect(where, order.toString());
+    return new SqlSelect(where, order.toString(), sortKeys);
   }
 
   private static String sqlOperator(CQLBooleanNode node) throws CQLFeatureUnsupportedException {
@@ -604,7 +703,7 @@ public class CQL2PgJSON {
         throw new QueryValidationException(
             "CQL: Invalid UUID after '" + columnName + comparator + "': " + term);
       }
-      return columnName + comparator + "'" + term + "'";
+      return columnName + comparator + uuidLiteral(term);
     case "==":
       if ("".equals(term)) {
         return "false";
@@ -645,7 +744,7 @@ public class CQL2PgJSON {
             ? "false /* " + columnName + " == invalid UUID */"
             : columnName + " IS NOT NULL /* "  + columnName + " <> invalid UUID */";
       }
-      return columnName.replace('.', '_') + comparator + "'" + term + "'";
+      return columnName.replace('.', '_') + comparator + uuidLiteral(term);
     }
     String truncTerm = term;
     while (truncTerm.endsWith("*")) {  // remove trailing stars
@@ -663,8 +762,9 @@ public class CQL2PgJSON {
       return equals ? "false /* " + columnName + " == invalid UUID */"
                     : columnName + " IS NOT NULL /* "  + columnName + " <> invalid UUID */";
     }
-    return equals ? "(" + columnName +     " BETWEEN '" + lo + "' AND '" + hi + "')"
-                  : "(" + columnName + " NOT BETWEEN '" + lo + "' AND '" + hi + "')";
+    String range = " BETWEEN " + uuidLiteral(lo) + " AND " + uuidLiteral(hi) + ")";
+    return equals ? "(" + columnName + range
+                  : "(" + columnName + " NOT" + range;
   }
 
   private String lookupModifier(Index schemaIndex, String modifierName) {
@@ -857,10 +957,14 @@ public class CQL2PgJSON {
    * Append template to sb and replace each $ in template by cql converted to an sql string suitable for to_tsquery.
    */
   private void appendTemplate(StringBuilder sb, String template, String cql) throws QueryValidationException {
+    String tsquery = null;
     for (int i=0; i<template.length(); i++) {
       char c = template.charAt(i);
       if (c == '$') {
-        Cql2SqlUtil.appendCql2tsquery(sb, cql);
+        if (tsquery == null) {
+          tsquery = cql2tsquery(cql);
+        }
+        sb.append(tsquery);
       } else {
         sb.append(c);
       }
@@ -874,12 +978,21 @@ public class CQL2PgJSON {
     if (removeAccents) {
       sb.append("f_unaccent(");
     }
-    Cql2SqlUtil.appendCql2tsquery(sb, cql);
+    sb.append(cql2tsquery(cql));
     if (removeAccents) {
       sb.append(')');
     }
   }
 
+  /**
+   * Convert cql into an sql string literal or $n placeholder suitable for to_tsquery.
+   */
+  private String cql2tsquery(String cql) throws QueryValidationException {
+    StringBuilder tsquery = new StringBuilder();
+    Cql2SqlUtil.appendCql2tsquery(tsquery, cql);
+    return literal(tsquery.toString());
+  }
+
   String queryByFt(String indexText, String term, String comparator, Index schemaIndex, Table targettable)
     throws QueryValidationException {
 
@@ -950,7 +1063,7 @@ public class CQL2PgJSON {
       sql = arrayNode(index, node, modifiers, relationModifiers, schemaIndex, vals, targetTable);
     } else {
       String likeOperator = comparator.equals("<>") ? "NOT LIKE" : "LIKE";
-      String term = "'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'";
+      String term = literal("'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'");
       String indexMod;
       boolean hasSqlExpression = schemaIndex != null && schemaIndex.getSqlExpression() != null;
 
@@ -1002,9 +1115,10 @@ public class CQL2PgJSON {
     }
     Index schemaIndex = dbIndex.getIndex();
     String sql;
-    String term = "'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'";
+    String term = literal("'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'");
     if (CqlTermFormat.NUMBER.equals(modifiers.getCqlTermFormat())) {
-      sql = "(" + indexMod + ")::numeric " + comparator + term;
+      // a placeholder is text, a literal gets its type from the comparison
+      sql = "(" + indexMod + ")::numeric " + comparator + (parameters == null ? term : term + "::numeric");
     } else if(schemaIndex != null) {
       sql = createSQLLengthCase(comparator, indexMod, term,schemaIndex);
     } else {
@@ -0,0 +1,156 @@
+package org.folio.cql2pgjson;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.folio.util.LruCache;
+
+/**
+ * Bounded least recently used cache of the {@link SqlSelect} results of {@link CQL2PgJSON#toSql(String)}.
+ *
+ * <p>The cache is shared by all CQL2PgJSON instances, the key is the table (json field names),
+ * the server choice indexes, the db schema, the CQL query and the number of the first $n placeholder
+ * of {@link CQL2PgJSON#toSql(String, List)}.
+ *
+ * <p>The environment variable {@link #CQL_CACHE_SIZE} sets the maximum number of entries, default is
+ * {@link #DEFAULT_MAX_SIZE}, 0 disables the cache.
+ */
+public final class SqlSelectCache {
+  public static final String CQL_CACHE_SIZE = "CQL_CACHE_SIZE";
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private static final LruCache<Key, SqlSelect> CACHE = new LruCache<>(CQL_CACHE_SIZE, DEFAULT_MAX_SIZE);
+
+  static {
+    configureMaxSize(System.getenv());
+  }
+
+  private SqlSelectCache() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Set the maximum size from the {@link #CQL_CACHE_SIZE} value of env, or {@link #DEFAULT_MAX_SIZE} if not set.
+   *
+   * @param env  environment variables
+   * @throws NumberFormatException  if the value is not an integer
+   */
+  public static void configureMaxSize(Map<String, String> env) {
+    CACHE.configureMaxSize(env);
+  }
+
+  /**
+   * Set the maximum number of entries, evict the least recently used entries if needed.
+   *
+   * @param maxSize  maximum number of entries, 0 disables the cache
+   * @throws IllegalArgumentException  if maxSize is negative
+   */
+  public static void setMaxSize(int maxSize) {
+    CACHE.setMaxSize(maxSize);
+  }
+
+  public static int getMaxSize() {
+    return CACHE.getMaxSize();
+  }
+
+  /**
+   * @return current number of entries
+   */
+  public static int size() {
+    return CACHE.size();
+  }
+
+  /**
+   * @return number of lookups that found an entry since start or the last {@link #clear()}
+   */
+  public static long getHits() {
+    return CACHE.getHits();
+  }
+
+  /**
+   * @return number of lookups that didn't find an entry since start or the last {@link #clear()}
+   */
+  public static long getMisses() {
+    return CACHE.getMisses();
+  }
+
+  /**
+   * Remove all entries and reset the hit and miss counters.
+   */
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  static boolean isEnabled() {
+    return CACHE.isEnabled();
+  }
+
+  static SqlSelect get(Key key) {
+    return CACHE.get(key);
+  }
+
+  static void put(Key key, SqlSelect sqlSelect) {
+    CACHE.put(key, sqlSelect);
+  }
+
+  /**
+   * Everything the SqlSelect of a CQL2PgJSON instance depends on.
+   */
+  static final class Key {
+    private final String jsonField;
+    private final List<String> jsonFields;
+    private final List<String> serverChoiceIndexes;
+    private final Object dbSchema;
+    private final String cql;
+    private final int parameterOffset;
+    private final int hashCode;
+
+    /**
+     * @param dbSchema  compared by identity, CQL2PgJSON loads each schema only once
+     */
+    Key(String jsonField, List<String> jsonFields, List<String> serverChoiceIndexes, Object dbSchema, String cql) {
+      this(jsonField, jsonFields, serverChoiceIndexes, dbSchema, cql, -1);
+    }
+
+    /**
+     * @param dbSchema  compared by identity, CQL2PgJSON loads each schema only once
+     * @param parameterOffset  number of parameters before the first $n placeholder, -1 for inlined literals
+     */
+    Key(String jsonField, List<String> jsonFields, List<String> serverChoiceIndexes, Object dbSchema, String cql,
+        int parameterOffset) {
+      this.jsonField = jsonField;
+      this.jsonFields = jsonFields;
+      this.serverChoiceIndexes = serverChoiceIndexes;
+      this.dbSchema = dbSchema;
+      this.cql = cql;
+      this.parameterOffset = parameterOffset;
+      this.hashCode = Objects.hash(jsonField, jsonFields, serverChoiceIndexes, System.identityHashCode(dbSchema), cql,
+          parameterOffset);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hashCode == key.hashCode
+          && dbSchema == key.dbSchema
+          && parameterOffset == key.parameterOffset
+          && Objects.equals(cql, key.cql)
+          && Objects.equals(jsonField, key.jsonField)
+          && Objects.equals(jsonFields, key.jsonFields)
+          && Objects.equals(serverChoiceIndexes, key.serverChoiceIndexes);
+    }
+  }
+}
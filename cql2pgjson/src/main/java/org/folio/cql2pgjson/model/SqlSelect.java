@@ -1,5 +1,7 @@
 package org.folio.cql2pgjson.model;
 
+import java.util.Collections;
+import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -8,6 +10,8 @@ import org.apache.commons.lang3.StringUtils;
 public class SqlSelect {
   private final String where;
   private final String orderBy;
+  private final List<SqlSortKey> sortKeys;
+  private final List<Object> parameters;
 
   /**
    * Set the values. A null value is converted to an empty String.
@@ -15,8 +19,33 @@ public class SqlSelect {
    * @param orderBy  the ORDER BY clause without "ORDER BY" keyword
    */
   public SqlSelect(String where, String orderBy) {
+    this(where, orderBy, null);
+  }
+
+  /**
+   * Set the values. A null where or orderBy is converted to an empty String, a null sortKeys
+   * to an empty List.
+   * @param where  the WHERE clause without "WHERE" keyword
+   * @param orderBy  the ORDER BY clause without "ORDER BY" keyword
+   * @param sortKeys  the expressions of the ORDER BY clause
+   */
+  public SqlSelect(String where, String orderBy, List<SqlSortKey> sortKeys) {
+    this(where, orderBy, sortKeys, null);
+  }
+
+  /**
+   * Set the values. A null where or orderBy is converted to an empty String, a null sortKeys
+   * or parameters to an empty List.
+   * @param where  the WHERE clause without "WHERE" keyword
+   * @param orderBy  the ORDER BY clause without "ORDER BY" keyword
+   * @param sortKeys  the expressions of the ORDER BY clause
+   * @param parameters  the values of the $n placeholders in where and orderBy
+   */
+  public SqlSelect(String where, String orderBy, List<SqlSortKey> sortKeys, List<Object> parameters) {
     this.where = StringUtils.defaultString(where);
     this.orderBy = StringUtils.defaultString(orderBy);
+    this.sortKeys = sortKeys == null ? Collections.emptyList() : Collections.unmodifiableList(sortKeys);
+    this.parameters = parameters == null ? Collections.emptyList() : Collections.unmodifiableList(parameters);
   }
 
   /**
@@ -33,6 +62,21 @@ public class SqlSelect {
     return orderBy;
   }
 
+  /**
+   * @return the expressions of the ORDER BY clause, or an empty List if none.
+   */
+  public List<SqlSortKey> getSortKeys() {
+    return sortKeys;
+  }
+
+  /**
+   * @return the values of the $n placeholders in the WHERE and ORDER BY clause, or an empty List
+   *   if the search terms are inlined as SQL literals.
+   */
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
   /**
    * Concatenation of getWhere() and getOrderBy() and including "WHERE" and "ORDER BY" keywords if needed.
    */
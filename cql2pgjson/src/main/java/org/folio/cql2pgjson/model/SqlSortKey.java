@@ -0,0 +1,47 @@
+package org.folio.cql2pgjson.model;
+
+/**
+ * One SQL expression of an ORDER BY clause generated from a CQL sortBy.
+ */
+public class SqlSortKey {
+  private final String expression;
+  private final String type;
+  private final boolean descending;
+
+  /**
+   * @param expression  the SQL expression to sort by
+   * @param type  the SQL type of the expression: "uuid", "jsonb" or "text"
+   * @param descending  whether to sort in descending order
+   */
+  public SqlSortKey(String expression, String type, boolean descending) {
+    this.expression = expression;
+    this.type = type;
+    this.descending = descending;
+  }
+
+  /**
+   * @return the SQL expression to sort by, without ASC or DESC
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * @return the SQL type of the expression: "uuid", "jsonb" or "text"
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * @return true for descending order, false for ascending order
+   */
+  public boolean isDescending() {
+    return descending;
+  }
+
+  @Override
+  public String toString() {
+    return expression + (descending ? " DESC" : "");
+  }
+}
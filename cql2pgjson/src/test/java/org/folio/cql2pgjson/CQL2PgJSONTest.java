@@ -13,9 +13,11 @@ import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.cql2pgjson.exception.CQL2PgJSONException;
@@ -111,22 +113,30 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
       logger.info("select: CQL --> SQL: " + cql + " --> " + sql);
       runSqlFile(sqlFile);
       logger.debug("select: sqlfile done");
-      String actualNames = "";
-      try ( Statement statement = conn.createStatement();
-            ResultSet result = statement.executeQuery(sql) ) {
-
-        while (result.next()) {
-          if (! actualNames.isEmpty()) {
-            actualNames += "; ";
-          }
-          actualNames += result.getString(1).replace("\"", "");
-        }
-      }
+      String actualNames = names(sql);
       if (! expectedNames.equals(actualNames)) {
         logger.debug("select: Test FAILURE on " + cql + "#" + expectedNames);
       }
       logger.debug("select: Got names [" + actualNames + "], expected [" + expectedNames + "]");
       assertEquals("CQL: " + cql + ", SQL: " + sql, expectedNames, actualNames);
+
+      // same result when the search terms are $n placeholders
+      List<Object> parameters = new ArrayList<>();
+      sql = "PREPARE p AS select " + blob + "->'name' from " + tablename + " "
+          + aCql2pgJson.toSql(cql, parameters);
+      try (Statement statement = conn.createStatement()) {
+        statement.execute(sql);
+      }
+      try {
+        String execute = parameters.isEmpty() ? "EXECUTE p" : parameters.stream()
+            .map(parameter -> "'" + parameter.toString().replace("'", "''") + "'")
+            .collect(Collectors.joining(", ", "EXECUTE p(", ")"));
+        assertEquals("CQL: " + cql + ", SQL: " + sql + "; " + execute, expectedNames, names(execute));
+      } finally {
+        try (Statement statement = conn.createStatement()) {
+          statement.execute("DEALLOCATE p");
+        }
+      }
     } catch (QueryValidationException | SQLException e) {
       logger.debug("select: " + e.getClass().getSimpleName()
         + " for query " + cql + " : " + e.getMessage());
@@ -138,6 +148,21 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
     logger.debug("select: done with " + cql);
   }
 
+  private String names(String sql) throws SQLException {
+    String names = "";
+    try ( Statement statement = conn.createStatement();
+          ResultSet result = statement.executeQuery(sql) ) {
+
+      while (result.next()) {
+        if (! names.isEmpty()) {
+          names += "; ";
+        }
+        names += result.getString(1).replace("\"", "");
+      }
+    }
+    return names;
+  }
+
   public void select(String sqlFile, String testcase) {
     select(cql2pgJson, sqlFile, testcase);
   }
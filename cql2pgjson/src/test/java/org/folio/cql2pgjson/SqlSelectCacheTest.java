@@ -0,0 +1,123 @@
+package org.folio.cql2pgjson;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SqlSelectCacheTest {
+
+  @Before
+  public void setUp() {
+    SqlSelectCache.setMaxSize(SqlSelectCache.DEFAULT_MAX_SIZE);
+    SqlSelectCache.clear();
+  }
+
+  @After
+  public void tearDown() {
+    setUp();
+  }
+
+  @Test
+  public void hit() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    SqlSelect first = cql2pgJson.toSql("name=Smith sortBy name");
+    SqlSelect second = new CQL2PgJSON("users.user_data").toSql("name=Smith sortBy name");
+    assertThat(second, is(sameInstance(first)));
+    assertThat(SqlSelectCache.getMisses(), is(1L));
+    assertThat(SqlSelectCache.getHits(), is(1L));
+    assertThat(SqlSelectCache.size(), is(1));
+  }
+
+  @Test
+  public void keyContainsTableServerChoiceIndexesAndSchema() throws Exception {
+    SqlSelect sqlSelect = new CQL2PgJSON("users.user_data", List.of("name")).toSql("Smith");
+    assertThat(new CQL2PgJSON("groups.user_data", List.of("name")).toSql("Smith").getWhere(),
+        is(not(sqlSelect.getWhere())));
+    assertThat(new CQL2PgJSON("users.user_data", List.of("email")).toSql("Smith").getWhere(),
+        is(not(sqlSelect.getWhere())));
+    CQL2PgJSON otherSchema = new CQL2PgJSON("users.user_data", List.of("name"));
+    otherSchema.setDbSchemaPath("templates/db_scripts/compoundIndex.json");
+    assertThat(otherSchema.toSql("Smith"), is(not(sameInstance(sqlSelect))));
+    assertThat(SqlSelectCache.getMisses(), is(4L));
+    assertThat(SqlSelectCache.getHits(), is(0L));
+  }
+
+  @Test
+  public void parameters() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    List<Object> parameters = new ArrayList<>(List.of("x"));
+    SqlSelect first = cql2pgJson.toSql("name==Smith", parameters);
+    assertThat(first.getWhere(), containsString("$2::text"));
+    assertThat(first.getWhere(), not(containsString("Smith")));
+    assertThat(first.getParameters(), is(List.of("Smith")));
+    assertThat(parameters, is(List.of("x", "Smith")));
+    parameters = new ArrayList<>(List.of("y"));
+    assertThat(cql2pgJson.toSql("name==Smith", parameters), is(sameInstance(first)));
+    assertThat(parameters, is(List.of("y", "Smith")));
+    // the key contains the number of the first placeholder
+    parameters = new ArrayList<>();
+    assertThat(cql2pgJson.toSql("name==Smith", parameters).getWhere(), containsString("$1::text"));
+    assertThat(parameters, is(List.of("Smith")));
+    assertThat(cql2pgJson.toSql("name==Smith").getWhere(), containsString("'Smith'"));
+    assertThat(SqlSelectCache.getMisses(), is(3L));
+    assertThat(SqlSelectCache.getHits(), is(1L));
+  }
+
+  @Test
+  public void invalidQueryIsNotCached() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    assertThrows(QueryValidationException.class, () -> cql2pgJson.toSql("name="));
+    assertThrows(QueryValidationException.class, () -> cql2pgJson.toSql("name="));
+    assertThat(SqlSelectCache.size(), is(0));
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() throws Exception {
+    SqlSelectCache.setMaxSize(2);
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    SqlSelect a = cql2pgJson.toSql("a=1");
+    SqlSelect b = cql2pgJson.toSql("b=1");
+    assertThat(cql2pgJson.toSql("a=1"), is(sameInstance(a)));
+    cql2pgJson.toSql("c=1");
+    assertThat(SqlSelectCache.size(), is(2));
+    assertThat(cql2pgJson.toSql("a=1"), is(sameInstance(a)));
+    assertThat(cql2pgJson.toSql("b=1"), is(not(sameInstance(b))));
+    SqlSelectCache.setMaxSize(1);
+    assertThat(SqlSelectCache.size(), is(1));
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    SqlSelectCache.setMaxSize(0);
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    SqlSelect first = cql2pgJson.toSql("name=Smith");
+    assertThat(cql2pgJson.toSql("name=Smith"), is(not(sameInstance(first))));
+    assertThat(cql2pgJson.toSql("name=Smith").toString(), is(first.toString()));
+    assertThat(SqlSelectCache.size(), is(0));
+    assertThat(SqlSelectCache.getMisses(), is(0L));
+  }
+
+  @Test
+  public void configureMaxSize() {
+    SqlSelectCache.configureMaxSize(Map.of(SqlSelectCache.CQL_CACHE_SIZE, "7"));
+    assertThat(SqlSelectCache.getMaxSize(), is(7));
+    SqlSelectCache.configureMaxSize(Map.of());
+    assertThat(SqlSelectCache.getMaxSize(), is(SqlSelectCache.DEFAULT_MAX_SIZE));
+    Map<String, String> env = Map.of(SqlSelectCache.CQL_CACHE_SIZE, "x");
+    assertThrows(NumberFormatException.class, () -> SqlSelectCache.configureMaxSize(env));
+    assertThrows(IllegalArgumentException.class, () -> SqlSelectCache.setMaxSize(-1));
+  }
+}
@@ -3,6 +3,8 @@ package org.folio.cql2pgjson.model;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.List;
+import org.folio.cql2pgjson.CQL2PgJSON;
 import org.junit.Test;
 
 public class SqlSelectTest {
@@ -36,5 +38,31 @@ public class SqlSelectTest {
     assertThat(sqlSelect.getWhere(),   is(""));
     assertThat(sqlSelect.getOrderBy(), is(""));
     assertThat(sqlSelect.toString(),   is(""));
+    assertThat(sqlSelect.getSortKeys(), is(List.of()));
+    assertThat(sqlSelect.getParameters(), is(List.of()));
+  }
+
+  @Test
+  public void parameters() {
+    SqlSelect sqlSelect = new SqlSelect("a = $1::text", null, null, List.of("b"));
+    assertThat(sqlSelect.toString(),   is("WHERE a = $1::text"));
+    assertThat(sqlSelect.getParameters(), is(List.of("b")));
+  }
+
+  @Test
+  public void sortKeys() throws Exception {
+    SqlSelect sqlSelect = new CQL2PgJSON("users.user_data")
+        .toSql("cql.allRecords=1 sortBy name/sort.descending age/number id");
+    assertThat(sqlSelect.getSortKeys().toString(), is("["
+        + "left(lower(f_unaccent(users.user_data->>'name')),600) DESC, "
+        + "lower(f_unaccent(users.user_data->>'name')) DESC, "
+        + "users.user_data->'age', "
+        + "id]"));
+    assertThat(sqlSelect.getOrderBy(), is(sqlSelect.getSortKeys().toString().replaceAll("^\\[|\\]$", "")));
+    assertThat(sqlSelect.getSortKeys().get(1).getType(), is("text"));
+    assertThat(sqlSelect.getSortKeys().get(1).isDescending(), is(true));
+    assertThat(sqlSelect.getSortKeys().get(2).getType(), is("jsonb"));
+    assertThat(sqlSelect.getSortKeys().get(3).getType(), is("uuid"));
+    assertThat(sqlSelect.getSortKeys().get(3).getExpression(), is("id"));
   }
 }
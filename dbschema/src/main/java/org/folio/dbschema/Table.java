@@ -17,6 +17,7 @@ public class Table extends Versioned {
   private String tableName;
   private boolean withMetadata;
   private boolean withAuditing;
+  private boolean withFusedTrigger;
   private OptimisticLockingMode withOptimisticLocking;
   /**
    * indexes using text_pattern_ops
@@ -44,6 +45,7 @@ public class Table extends Versioned {
   private AuditingSnippet auditingSnippet;
   private String auditingTableName;
   private String auditingFieldName;
+  private boolean auditingStatementLevel;
 
   public String getTableName() {
     return tableName;
@@ -74,6 +76,18 @@ public class Table extends Versioned {
     this.withAuditing = withAuditing;
   }
 
+  /**
+   * @return whether a single BEFORE INSERT OR UPDATE trigger sets id, metadata, optimistic locking
+   *   _version and foreign key columns instead of a separate trigger for each
+   */
+  public boolean isWithFusedTrigger() {
+    return withFusedTrigger;
+  }
+
+  public void setWithFusedTrigger(boolean withFusedTrigger) {
+    this.withFusedTrigger = withFusedTrigger;
+  }
+
   public List<ForeignKeys> getForeignKeys() {
     return foreignKeys;
   }
@@ -174,6 +188,21 @@ public class Table extends Versioned {
     this.auditingFieldName = auditingFieldName;
   }
 
+  /**
+   * @return whether the audit trigger runs once per SQL statement instead of once per row
+   */
+  public boolean isAuditingStatementLevel() {
+    return auditingStatementLevel;
+  }
+
+  /**
+   * @param auditingStatementLevel true for an audit trigger that runs once per SQL statement
+   *   and writes the audit records of all changed rows using a single INSERT
+   */
+  public void setAuditingStatementLevel(boolean auditingStatementLevel) {
+    this.auditingStatementLevel = auditingStatementLevel;
+  }
+
   /**
    * Name of the primary key field. This is no longer configurable and is always "id".
    * A basic table has these two fields: id UUID PRIMARY KEY, jsonb JSONB NOT NULL.
@@ -237,6 +266,10 @@ public class Table extends Versioned {
         throw new IllegalArgumentException(
             "auditingFieldName missing for table " + getTableName() + " having \"withAuditing\": true");
       }
+      if (isAuditingStatementLevel() && getAuditingSnippet() != null) {
+        throw new IllegalArgumentException("auditingSnippet not supported for table " + getTableName()
+            + " having \"auditingStatementLevel\": true");
+      }
     }
   }
 
@@ -53,6 +53,16 @@ class SchemaTest {
     assertThat(e.getMessage(), is("auditingFieldName missing for table item having \"withAuditing\": true"));
   }
 
+  @Test
+  public void failsWhenAuditingStatementLevelHasSnippet() {
+    Schema schema = getSchema();
+    schema.getTables().get(0).setAuditingStatementLevel(true);
+    schema.getTables().get(0).setAuditingSnippet(new AuditingSnippet());
+    Exception e = assertThrows(IllegalArgumentException.class, () -> schema.setup());
+    assertThat(e.getMessage(),
+        is("auditingSnippet not supported for table item having \"auditingStatementLevel\": true"));
+  }
+
   @Test
   public void failsWhenFullTextIsCaseSensitive() {
     Schema schema = getSchema();
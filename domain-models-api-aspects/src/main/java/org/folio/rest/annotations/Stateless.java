@@ -0,0 +1,23 @@
+package org.folio.rest.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicate that an implementation class of a RAML interface keeps no state between
+ * requests so that RMB may reuse an instance instead of constructing a new instance for
+ * each request.
+ *
+ * <p>A class with a {@code (Vertx vertx, String tenantId)} constructor gets one instance for
+ * each verticle and tenant, a class with a no-argument constructor gets one instance for each
+ * verticle.
+ */
+@Target( { ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Stateless {
+
+}
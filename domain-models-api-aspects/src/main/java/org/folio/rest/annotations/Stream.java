@@ -11,10 +11,18 @@ import java.lang.annotation.Target;
  * streamed to it (meaning calling the function multiple times - once each time a
  * chunk of data is read from the http request)
  *
+ * <p>With {@code singleInvocation = true} the function is called only once, its
+ * InputStream parameter delivers the complete body as it arrives.
  */
 @Target( { ElementType.METHOD })
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Stream {
-
+  /**
+   * Call the function once with an InputStream of the complete body instead of once for each
+   * chunk. The InputStream blocks until data arrives, read it off the event loop, for example using
+   * {@code vertxContext.executeBlocking}. Only a limited number of bytes are buffered, the upload
+   * is paused until the function reads them.
+   */
+  boolean singleInvocation() default false;
 }
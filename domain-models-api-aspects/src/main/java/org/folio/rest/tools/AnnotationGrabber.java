@@ -19,6 +19,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.rest.tools.utils.ClassIndex;
 import org.folio.rest.tools.utils.ClassPath;
 
 import io.vertx.core.json.JsonArray;
@@ -265,6 +266,11 @@ public class AnnotationGrabber {
   }
 
   private static Collection<Class<?>> findTopLevelInterfacesInPackage(String packageName) throws IOException {
+    List<String> indexed = ClassIndex.getTopLevelClasses(packageName);
+    if (indexed != null) {
+      return loadInterfaces(indexed);
+    }
+
     ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
 
     List<Class<?>> result = new ArrayList<>();
@@ -281,6 +287,22 @@ public class AnnotationGrabber {
     return result;
   }
 
+  private static Collection<Class<?>> loadInterfaces(List<String> classNames) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    List<Class<?>> result = new ArrayList<>();
+    for (String className : classNames) {
+      try {
+        Class<?> cl = classLoader.loadClass(className);
+        if (cl.isInterface()) {
+          result.add(cl);
+        }
+      } catch (ClassNotFoundException e) {
+        log.warn("{} is listed in {} but not found", className, ClassIndex.RESOURCE);
+      }
+    }
+    return result;
+  }
+
   private static boolean isPossibleHttpMethod(String method) {
     switch (method) {
     case "javax.ws.rs.PUT":
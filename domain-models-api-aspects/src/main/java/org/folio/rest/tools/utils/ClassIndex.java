@@ -0,0 +1,129 @@
+package org.folio.rest.tools.utils;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Names of the top level classes of some packages like org.folio.rest.jaxrs.resource and
+ * org.folio.rest.impl, precomputed at build time by the class-index goal of the domain-models-maven-plugin.
+ *
+ * <p>Using the index avoids scanning all jars of the class path when the verticle starts. If the
+ * index is missing, or doesn't contain a package, the caller falls back to {@link ClassPath}.
+ * Several indexes on the class path are merged.
+ */
+public final class ClassIndex {
+  /** class path resource of the index */
+  public static final String RESOURCE = "META-INF/folio/class-index.json";
+
+  private static final Logger log = LogManager.getLogger(ClassIndex.class);
+  private static final JsonObject ABSENT = new JsonObject();
+  private static volatile JsonObject index;
+
+  private ClassIndex() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * The names of the top level classes of packageName as listed in the {@link #RESOURCE}s of the
+   * context class loader.
+   *
+   * @return the class names, or null if there is no index or the index doesn't contain packageName
+   */
+  public static List<String> getTopLevelClasses(String packageName) {
+    JsonObject i = index;
+    if (i == null) {
+      i = load(Thread.currentThread().getContextClassLoader());
+      index = i;
+    }
+    JsonArray classes = i.getJsonArray(packageName);
+    if (classes == null) {
+      return null;  // NOSONAR null means "not indexed", an empty list means "no classes"
+    }
+    return classes.stream().map(String.class::cast).collect(Collectors.toList());
+  }
+
+  /**
+   * Load the index from all {@link #RESOURCE}s of classLoader, for example one of the module and
+   * one of a library jar, and merge them: The classes of a package are the union of the classes
+   * listed for that package.
+   *
+   * @return the merged index, an empty JsonObject if there is none or if any of them cannot be read
+   */
+  static JsonObject load(ClassLoader classLoader) {
+    List<URL> urls;
+    try {
+      urls = Collections.list(classLoader.getResources(RESOURCE));
+    } catch (IOException e) {
+      log.warn("Cannot search {}, scanning the class path: {}", RESOURCE, e.getMessage(), e);
+      return ABSENT;
+    }
+    if (urls.isEmpty()) {
+      log.info("{} not found, scanning the class path", RESOURCE);
+      return ABSENT;
+    }
+    Map<String, SortedSet<String>> merged = new TreeMap<>();
+    for (URL url : urls) {
+      try (InputStream inputStream = url.openStream()) {
+        log.info("Using {}", url);
+        JsonObject json = new JsonObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        for (String packageName : json.fieldNames()) {
+          SortedSet<String> classes = merged.computeIfAbsent(packageName, k -> new TreeSet<>());
+          json.getJsonArray(packageName).forEach(name -> classes.add((String) name));
+        }
+      } catch (IOException | RuntimeException e) {
+        log.warn("Ignoring {}, scanning the class path: {}", url, e.getMessage(), e);
+        return ABSENT;
+      }
+    }
+    JsonObject result = new JsonObject();
+    merged.forEach((packageName, classes) -> result.put(packageName, new JsonArray(new ArrayList<>(classes))));
+    return result;
+  }
+
+  /**
+   * Forget the loaded index, the next {@link #getTopLevelClasses(String)} loads it again.
+   */
+  static void reset() {
+    index = null;
+  }
+
+  /**
+   * Create the index by scanning the class path of classLoader.
+   *
+   * @param classLoader  where to search, including its ancestor class loaders
+   * @param packageNames  the packages to index
+   * @return package name to sorted array of top level class names
+   */
+  public static JsonObject create(ClassLoader classLoader, Collection<String> packageNames) {
+    try {
+      ClassPath classPath = ClassPath.from(classLoader);
+      JsonObject result = new JsonObject();
+      for (String packageName : packageNames) {
+        List<String> names = classPath.getTopLevelClasses(packageName).stream()
+            .map(ClassPath.ClassInfo::getName)
+            .sorted()
+            .collect(Collectors.toList());
+        result.put(packageName, new JsonArray(names));
+      }
+      return result;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
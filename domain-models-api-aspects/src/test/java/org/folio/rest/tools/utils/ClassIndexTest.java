@@ -0,0 +1,110 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.folio.rest.tools.AnnotationGrabber;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassIndexTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @After
+  public void tearDown() {
+    ClassIndex.reset();
+  }
+
+  private ClassLoader classLoaderWithIndex(String... contents) throws IOException {
+    URL[] urls = new URL[contents.length];
+    for (int i = 0; i < contents.length; i++) {
+      File dir = folder.newFolder();
+      Path file = dir.toPath().resolve(ClassIndex.RESOURCE);
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, contents[i]);
+      urls[i] = dir.toURI().toURL();
+    }
+    return new URLClassLoader(urls, getClass().getClassLoader());
+  }
+
+  @Test
+  public void create() {
+    JsonObject index = ClassIndex.create(getClass().getClassLoader(),
+        List.of("org.folio.rest.jaxrs.resource", "org.example.none"));
+    assertThat(index.getJsonArray("org.folio.rest.jaxrs.resource").contains(
+        "org.folio.rest.jaxrs.resource.TestResource"), is(true));
+    assertThat(index.getJsonArray("org.example.none").size(), is(0));
+  }
+
+  @Test
+  public void load() throws IOException {
+    assertThat(ClassIndex.load(classLoaderWithIndex("{\"a\":[\"a.B\"]}")).encode(), is("{\"a\":[\"a.B\"]}"));
+  }
+
+  @Test
+  public void loadMerges() throws IOException {
+    ClassLoader classLoader = classLoaderWithIndex(
+        "{\"a\":[\"a.C\",\"a.B\"],\"b\":[]}",
+        "{\"a\":[\"a.A\",\"a.B\"],\"c\":[\"c.D\"]}");
+    assertThat(ClassIndex.load(classLoader).encode(),
+        is("{\"a\":[\"a.A\",\"a.B\",\"a.C\"],\"b\":[],\"c\":[\"c.D\"]}"));
+  }
+
+  @Test
+  public void loadInvalid() throws IOException {
+    assertThat(ClassIndex.load(classLoaderWithIndex("[")).isEmpty(), is(true));
+    assertThat(ClassIndex.load(classLoaderWithIndex("{\"a\":[\"a.B\"]}", "{\"a\":1}")).isEmpty(), is(true));
+  }
+
+  @Test
+  public void loadAbsent() {
+    assertThat(ClassIndex.load(getClass().getClassLoader()).isEmpty(), is(true));
+  }
+
+  @Test
+  public void getTopLevelClasses() throws IOException {
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    try {
+      thread.setContextClassLoader(classLoaderWithIndex("{\"a\":[\"a.B\",\"a.C\"],\"d\":[]}"));
+      assertThat(ClassIndex.getTopLevelClasses("a"), is(List.of("a.B", "a.C")));
+      assertThat(ClassIndex.getTopLevelClasses("d"), is(List.of()));
+      assertThat(ClassIndex.getTopLevelClasses("e"), is(nullValue()));
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+
+  @Test
+  public void annotationGrabberUsesIndex() throws IOException {
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    try {
+      thread.setContextClassLoader(classLoaderWithIndex(new JsonObject()
+          .put(AnnotationGrabber.INTERFACE_PACKAGE, new JsonArray()
+              .add("org.folio.rest.jaxrs.resource.TestResource").add("org.example.Missing")).encode()));
+      assertThat(AnnotationGrabber.generateMappings(null).fieldNames(), is(Set.of("unittests")));
+      ClassIndex.reset();
+      thread.setContextClassLoader(classLoaderWithIndex(new JsonObject()
+          .put(AnnotationGrabber.INTERFACE_PACKAGE, new JsonArray()).encode()));
+      assertThat(AnnotationGrabber.generateMappings(null).isEmpty(), is(true));
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package org.folio.rest.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import io.vertx.core.json.JsonObject;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.folio.rest.tools.utils.ClassIndex;
+
+/**
+ * Write the {@link ClassIndex} of the compiled module into target/classes so that RestVerticle
+ * finds the resource interfaces and their implementations without scanning the class path.
+ *
+ * <p>This must run after compilation, therefore the default phase is process-classes.
+ */
+@Mojo(name = "class-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+    requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class ClassIndexMojo extends AbstractMojo {
+
+  @Parameter(defaultValue= "${project}", readonly = true)
+  private MavenProject project;
+
+  /** packages of the implementing classes and hooks, the resource interface package is always indexed */
+  @Parameter(property = "implementationPackages", defaultValue = "org.folio.rest.impl")
+  private String[] implementationPackages;
+
+  /** for unit tests */
+  ClassIndexMojo withProject(MavenProject project) {
+    this.project = project;
+    return this;
+  }
+
+  /** for unit tests */
+  ClassIndexMojo withImplementationPackages(String... implementationPackages) {
+    this.implementationPackages = implementationPackages;
+    return this;
+  }
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    List<String> packages = Stream.concat(Stream.of(AnnotationGrabber.INTERFACE_PACKAGE),
+        Arrays.stream(implementationPackages)).distinct().collect(Collectors.toList());
+    Path file = Path.of(project.getBuild().getOutputDirectory(), ClassIndex.RESOURCE);
+    // the platform class loader as parent excludes the class path of this plugin
+    try (URLClassLoader classLoader = new URLClassLoader(urls(), ClassLoader.getPlatformClassLoader())) {
+      JsonObject index = ClassIndex.create(classLoader, packages);
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, index.encodePrettily(), StandardCharsets.UTF_8);
+      getLog().info("Wrote " + file);
+    } catch (IOException | DependencyResolutionRequiredException e) {
+      throw new MojoExecutionException("Cannot write " + file, e);
+    }
+  }
+
+  private URL[] urls() throws DependencyResolutionRequiredException, MalformedURLException {
+    List<URL> urls = new ArrayList<>();
+    for (String element : project.getRuntimeClasspathElements()) {
+      urls.add(new File(element).toURI().toURL());
+    }
+    return urls.toArray(new URL[0]);
+  }
+}
@@ -0,0 +1,63 @@
+package org.folio.rest.tools;
+
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.assertj.core.api.WithAssertions;
+import org.folio.rest.tools.utils.ClassIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassIndexMojoTest implements WithAssertions {
+
+  @TempDir
+  Path classes;
+
+  MavenProject project() {
+    MavenProject project = new MavenProject();
+    project.setFile(new File("pom.xml").getAbsoluteFile());
+    Build build = new Build();
+    build.setOutputDirectory(classes.toString());
+    project.setBuild(build);
+    return project;
+  }
+
+  void touch(String file) throws Exception {
+    Path path = classes.resolve(file);
+    Files.createDirectories(path.getParent());
+    Files.createFile(path);
+  }
+
+  @Test
+  void execute() throws Exception {
+    touch("org/folio/rest/impl/BApi.class");
+    touch("org/folio/rest/impl/AApi.class");
+    touch("org/folio/rest/impl/AApi$1.class");
+    touch("org/folio/rest/impl/sub/CApi.class");
+    touch("org/folio/rest/jaxrs/resource/A.class");
+    touch("org/example/DApi.class");
+    new ClassIndexMojo().withProject(project())
+    .withImplementationPackages("org.folio.rest.impl", "org.example")
+    .execute();
+    JsonObject index = new JsonObject(Files.readString(classes.resolve(ClassIndex.RESOURCE)));
+    assertThat(index.getJsonArray("org.folio.rest.jaxrs.resource").getList())
+    .containsExactly("org.folio.rest.jaxrs.resource.A");
+    assertThat(index.getJsonArray("org.folio.rest.impl").getList())
+    .containsExactly("org.folio.rest.impl.AApi", "org.folio.rest.impl.BApi");
+    assertThat(index.getJsonArray("org.example").getList())
+    .containsExactly("org.example.DApi");
+  }
+
+  @Test
+  void emptyPackages() throws Exception {
+    new ClassIndexMojo().withProject(project())
+    .withImplementationPackages("org.folio.rest.impl")
+    .execute();
+    JsonObject index = new JsonObject(Files.readString(classes.resolve(ClassIndex.RESOURCE)));
+    assertThat(index.fieldNames()).containsExactlyInAnyOrder("org.folio.rest.jaxrs.resource", "org.folio.rest.impl");
+    assertThat(index.getJsonArray("org.folio.rest.impl")).isEmpty();
+  }
+}
@@ -1,7 +1,7 @@
 package org.folio.rest;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
@@ -9,11 +9,14 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
@@ -26,6 +29,9 @@ import org.folio.HttpStatus;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.okapi.common.logging.FolioLoggingContext;
+import org.folio.rest.RouteDescriptor.InstanceFactory;
+import org.folio.rest.RouteDescriptor.ParamParser;
+import org.folio.rest.annotations.Stateless;
 import org.folio.rest.annotations.Stream;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
@@ -40,33 +46,41 @@ import org.folio.rest.tools.utils.AsyncResponseResult;
 import org.folio.rest.tools.utils.BinaryOutStream;
 import org.folio.rest.tools.utils.InterfaceToImpl;
 import org.folio.rest.tools.utils.JsonUtils;
+import org.folio.rest.tools.utils.LRUCache;
 import org.folio.rest.tools.utils.LogUtil;
 import org.folio.rest.tools.utils.MetadataUtil;
+import org.folio.rest.tools.utils.OkapiTokenCache;
 import org.folio.rest.tools.utils.OutStream;
+import org.folio.rest.tools.utils.RequestInputStream;
 import org.folio.rest.tools.utils.ResponseImpl;
+import org.folio.rest.tools.utils.RmbMetrics;
 import org.folio.rest.tools.utils.ValidationHelper;
 import org.folio.util.StringUtil;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Path.Node;
-import jakarta.validation.Validation;
-import jakarta.validation.ValidatorFactory;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -76,7 +90,6 @@ public final class RestRouting {
   private static final String SUPPORTED_CONTENT_TYPE_JSON_DEF = "application/json";
   private static final String DEFAULT_CONTENT_TYPE = "application/json";
   private static final String SUPPORTED_CONTENT_TYPE_TEXT_DEF = "text/plain";
-  private static final String SUPPORTED_CONTENT_TYPE_FORM = "application/x-www-form-urlencoded";
   private static final String[] DATE_PATTERNS = {
       "yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
       "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
@@ -89,13 +102,142 @@ public final class RestRouting {
   private static final Logger LOGGER = LogManager.getLogger(RestRouting.class);
   private static final Messages MESSAGES = Messages.getInstance();
   private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
-  private static ValidatorFactory validationFactory = Validation.buildDefaultValidatorFactory();
+  private static final ObjectWriter COMPACT_WRITER = MAPPER.writer();
+  private static final ObjectWriter PRETTY_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+  /** query parameter to request pretty printed JSON */
+  static final String PRETTY_PARAM = "pretty";
+  /**
+   * RoutingContext key of the user id: the X-Okapi-User-Id header, or the user_id claim
+   * of the X-Okapi-Token header if the former is missing, see {@link OkapiTokenCache}
+   */
+  public static final String USER_ID = "rmb.userId";
+  /** RoutingContext key of the System.nanoTime() when {@link #handleRequest} started */
+  private static final String START_NANO_TIME = "rmb.startNanoTime";
+  private static boolean prettyPrint = false;
+  private static long maxBodySize = -1;
+  /**
+   * Maximum number of cached {@link Stateless} instances per class; the tenant id is
+   * client supplied and not validated yet when the instance is created
+   */
+  static final int STATELESS_INSTANCES_MAX = 1000;
+  private static final Set<String> NUMERIC_TYPES =
+      Set.of("int", "java.lang.Integer", "java.math.BigDecimal", "java.lang.Number");
+
+  @FunctionalInterface
+  private interface QueryValueParser {
+    /**
+     * @param param  the query parameter value, null if not passed
+     */
+    Object parse(String param) throws Exception;
+  }
 
   private RestRouting() {
     throw new UnsupportedOperationException("Cannot instantiate utility class.");
   }
 
+  /**
+   * Whether sendResponse pretty prints JSON responses by default, default is false (compact JSON).
+   * A request can ask for pretty printing using the query parameter pretty=true.
+   */
+  public static void setPrettyPrint(boolean enable) {
+    prettyPrint = enable;
+  }
+
+  public static boolean isPrettyPrint() {
+    return prettyPrint;
+  }
+
+  static boolean isPrettyPrint(RoutingContext rc) {
+    if (prettyPrint) {
+      return true;
+    }
+    return "true".equals(rc.request().getParam(PRETTY_PARAM));
+  }
+
+  /**
+   * Maximum size in bytes of the request body of a request that is not annotated with @Stream.
+   * A larger request fails with 413 Payload Too Large. Default is -1 = no limit.
+   *
+   * @param bytes  maximum size, a negative value for no limit
+   */
+  public static void setMaxBodySize(long bytes) {
+    maxBodySize = bytes;
+  }
+
+  public static long getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  /**
+   * Serialize value as JSON and append it to buffer. The JSON generator writes the bytes
+   * directly into the buffer, there is no intermediate String.
+   */
+  static void appendJson(Buffer buffer, Object value, boolean pretty) throws IOException {
+    (pretty ? PRETTY_WRITER : COMPACT_WRITER).writeValue(new BufferOutputStream(buffer), value);
+  }
+
+  /**
+   * OutputStream that appends to a Buffer.
+   */
+  private static final class BufferOutputStream extends OutputStream {
+    private final Buffer buffer;
+
+    private BufferOutputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      buffer.appendBytes(b, off, len);
+    }
+  }
+
+  /**
+   * InputStream that reads from the buffer without copying it.
+   */
+  private static final class BufferInputStream extends InputStream {
+    private final Buffer buffer;
+    private int pos;
+
+    private BufferInputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      if (pos >= buffer.length()) {
+        return -1;
+      }
+      return buffer.getByte(pos++) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int n = Math.min(len, buffer.length() - pos);
+      if (n <= 0) {
+        return -1;
+      }
+      buffer.getBytes(pos, pos + n, b, off);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.length() - pos;
+    }
+  }
+
   private static void endRequestWithError(RoutingContext rc, int status, boolean chunked, String message) {
+    recordRequest(rc, 0, status, message == null ? 0 : message.getBytes(StandardCharsets.UTF_8).length);
     HttpServerResponse response = rc.response();
     if (!response.closed()) {
       response.setChunked(chunked);
@@ -114,6 +256,26 @@ public final class RestRouting {
         LogUtil.formatStatsLogMessage(rc, -1, null, message == null ? "" : message));
   }
 
+  /**
+   * Record the request in the {@link RmbMetrics}.
+   *
+   * @param start  start time of the request, 0 to use the start time that {@link #handleRequest} put into rc;
+   *     nothing is recorded if neither is known
+   */
+  private static void recordRequest(RoutingContext rc, long start, int status, long size) {
+    long startNanoTime = start;
+    if (startNanoTime == 0) {
+      Long rcStart = rc.get(START_NANO_TIME);
+      if (rcStart == null) {
+        return;
+      }
+      startNanoTime = rcStart;
+    }
+    Route route = rc.currentRoute();
+    RmbMetrics.request(rc.request().method().name(), route == null ? null : route.getName(),
+        status, startNanoTime, size);
+  }
+
   /**
    * Copy the headers from source to destination; same key may be repeated.
    */
@@ -128,15 +290,20 @@ public final class RestRouting {
   /**
    * return whether the request is valid [0] and a cleaned up version of the object [1]
    *
+   * <p>Read-only properties (annotated with {@code @Null}) are set to null in content.
+   * Validation is skipped if the class of content has no constraints.
+   *
    * @param rc
    * @param content
    * @param errorResp
    * @param singleField
-   * @param entityClazz
    * @return
    */
-  static Object[] isValidRequest(RoutingContext rc, Object content, Errors errorResp, List<String> singleField, Class<?> entityClazz) {
-    Set<? extends ConstraintViolation<?>> validationErrors = validationFactory.getValidator().validate(content);
+  static Object[] isValidRequest(RoutingContext rc, Object content, Errors errorResp, List<String> singleField) {
+    if (content != null && ! ValidationPlan.of(content.getClass()).constrained) {
+      return new Object[]{Boolean.TRUE, content};
+    }
+    Set<? extends ConstraintViolation<?>> validationErrors = ValidationPlan.VALIDATOR.validate(content);
     if (validationErrors.isEmpty()) {
       return new Object[]{Boolean.TRUE, content};
     }
@@ -148,23 +315,8 @@ public final class RestRouting {
          * so the client should not pass them in, if they were passed in, remove them here
          * so that they do not reach the implementing function
          */
-        try {
-          if (!(content instanceof JsonObject)) {
-            content = JsonObject.mapFrom(content);
-          }
-          JsonObject json = (JsonObject) content;
-          Node last = null;
-          for (Node node : cv.getPropertyPath()) {
-            if (last != null) {
-              json = json.getJsonObject(last.getName());
-            }
-            last = node;
-          }
-          json.remove(last.getName());
+        if (clearReadOnly(rc, cv)) {
           continue;
-        } catch (Exception e) {
-          withRequestId(rc, () -> LOGGER.warn("Failed to remove {} field from body when calling {}",
-              cv.getPropertyPath(), rc.request().absoluteURI(), e));
         }
       }
       Error error = new Error();
@@ -191,17 +343,33 @@ public final class RestRouting {
         ret = false;
       }
     }
-    if (content instanceof JsonObject) {
-      //we have sanitized the passed in object by removing read-only fields
-      try {
-        content = MAPPER.readValue(((JsonObject) content).encode(), entityClazz);
-      } catch (IOException e) {
-        withRequestId(rc, () -> LOGGER.error(
-            "Failed to serialize body content after removing read-only fields when calling {}",
-            rc.request().absoluteURI(), e));
+    return new Object[]{ret, content};
+  }
+
+  /**
+   * Set the read-only property of the violation to null in the bean that holds it.
+   *
+   * @return true on success
+   */
+  private static boolean clearReadOnly(RoutingContext rc, ConstraintViolation<?> cv) {
+    Object bean = cv.getLeafBean();
+    Node last = null;
+    for (Node node : cv.getPropertyPath()) {
+      last = node;
+    }
+    Throwable failure = null;
+    try {
+      if (bean != null && last != null && last.getName() != null
+          && ValidationPlan.of(bean.getClass()).clearReadOnly(bean, last.getName())) {
+        return true;
       }
+    } catch (Throwable e) {  // NOSONAR report anything the setter throws
+      failure = e;
     }
-    return new Object[]{ret, content};
+    Throwable e = failure;
+    withRequestId(rc, () -> LOGGER.warn("Failed to remove {} field from body when calling {}",
+        cv.getPropertyPath(), rc == null ? null : rc.request().absoluteURI(), e));
+    return false;
   }
 
   /**
@@ -209,183 +377,203 @@ public final class RestRouting {
    * Return null if the type neither has param nor defaultValue.
    * @throws ClassNotFoundException if valueType does not exist
    */
-  @SuppressWarnings({
-      "squid:S1523",  // Suppress warning "Make sure that this dynamic injection or execution of code is safe."
-      // This is safe because we accept an enum class only, and do not invoke any method.
-      "squid:S3011"}) // Suppress "Make sure that this accessibility update is safe here."
-  // This is safe because we only read the field and it is a field of an enum.
+  @SuppressWarnings("squid:S1523")  // Suppress warning "Make sure that this dynamic injection or execution of code is safe."
+  // This is safe because we accept an enum class only, and do not invoke any method.
   static Object parseEnum(String valueType, String param, Object defaultValue)
       throws ReflectiveOperationException {
 
-    Class<?> enumClass = Class.forName(valueType);
-    if (!enumClass.isEnum()) {
-      return null;
+    Map<String, Object> enums = enumsByName(Class.forName(valueType));
+    Object anEnum = enums.get(param);
+    if (anEnum == null && defaultValue != null) {
+      anEnum = enums.get(defaultValue.toString());
     }
-    String defaultString = null;
-    if (defaultValue != null) {
-      defaultString = defaultValue.toString();
+    return anEnum;
+  }
+
+  /**
+   * @return the enum values of enumClass by the value of their name field, empty if enumClass is not an enum
+   */
+  @SuppressWarnings("squid:S3011") // Suppress "Make sure that this accessibility update is safe here."
+  // This is safe because we only read the field and it is a field of an enum.
+  static Map<String, Object> enumsByName(Class<?> enumClass) throws ReflectiveOperationException {
+    if (!enumClass.isEnum()) {
+      return Collections.emptyMap();
     }
-    Object defaultEnum = null;
+    Map<String, Object> enums = new HashMap<>();
     for (Object anEnum : enumClass.getEnumConstants()) {
       Field nameField = anEnum.getClass().getDeclaredField("name");
       nameField.setAccessible(true);  // access to private field
-      String enumName = nameField.get(anEnum).toString();
-      if (enumName.equals(param)) {
-        return anEnum;
-      }
-      if (enumName.equals(defaultString)) {
-        defaultEnum = anEnum;
-      }
+      enums.putIfAbsent(nameField.get(anEnum).toString(), anEnum);
     }
-    return defaultEnum;
+    return enums;
   }
 
-  private static void parseQueryParameter(RoutingContext rc, Object[] paramArray, MultiMap queryParams,
-                                          String valueName, String valueType, int order, Object defaultVal)
-      throws ParseException, ReflectiveOperationException {
+  /**
+   * @param type  the class of the parameter, the class of the elements for a List
+   * @return parser that sets paramArray[order] from the query parameter valueName
+   */
+  static ParamParser queryParamParser(String valueName, String valueType, Class<?> type, int order,
+      Object defaultVal) {
 
-    boolean emptyNumericParam = false;
-    String param = queryParams.get(valueName);
-    // support date, enum, numbers or strings as query parameters
-    if (valueType.equals("java.lang.String")) {
-      // regular string param in query string - just push value
-      if (param == null) {
-        // no value passed - check if there is a default value
-        paramArray[order] = defaultVal;
-      } else {
-        paramArray[order] = param;
-      }
-    } else if (valueType.equals("java.util.Date")) {
-      // regular string param in query string - just push value
-      if (param == null) {
-        // no value passed - check if there is a default value
-        paramArray[order] = defaultVal;
-      } else {
-        paramArray[order] = DateUtils.parseDate(param, DATE_PATTERNS);
-      }
-    } else if (valueType.equals("int") || valueType.equals("java.lang.Integer")) {
-      // cant pass null to an int type
-      if (param == null) {
-        if (defaultVal != null) {
-          paramArray[order] = Integer.valueOf((String) defaultVal);
-        } else {
-          paramArray[order] = valueType.equals("int") ? 0 : null;
-        }
-      } else if ("".equals(param)) {
-        emptyNumericParam = true;
-      } else {
-        paramArray[order] = Integer.valueOf(param);
+    if (valueType.contains("List")) {
+      return (rc, body, pathParams, okapiHeaders, paramArray) ->
+          paramArray[order] = rc.request().params().getAll(valueName);
+    }
+    boolean numeric = NUMERIC_TYPES.contains(valueType);
+    QueryValueParser valueParser = queryValueParser(valueType, type, defaultVal);
+    return (rc, body, pathParams, okapiHeaders, paramArray) -> {
+      String param = rc.request().params().get(valueName);
+      if (numeric && "".equals(param)) {
+        endRequestWithError(rc, 400, true, valueName + " does not have a default value in the RAML and has been passed empty");
+        return;
       }
-    } else if (valueType.equals("boolean") || valueType.equals("java.lang.Boolean")) {
-      if (param == null) {
-        if (defaultVal != null) {
-          paramArray[order] = Boolean.valueOf((String) defaultVal);
-        }
-      } else {
-        paramArray[order] = Boolean.valueOf(param);
-      }
-    } else if (valueType.contains("List")) {
-      List<String> vals = queryParams.getAll(valueName);
-      paramArray[order] = vals;
-    } else if (valueType.equals("java.math.BigDecimal") || valueType.equals("java.lang.Number")) {
-      if (param == null) {
-        if (defaultVal != null) {
-          paramArray[order] = new BigDecimal((String) defaultVal);
-        } else {
-          paramArray[order] = null;
+      paramArray[order] = valueParser.parse(param);
+    };
+  }
+
+  /**
+   * Support date, enum, numbers or strings as query parameters.
+   */
+  private static QueryValueParser queryValueParser(String valueType, Class<?> type, Object defaultVal) {
+    switch (valueType) {
+      case "java.lang.String":
+        // regular string param in query string - just push value, if no value passed use default value
+        return param -> param == null ? defaultVal : param;
+      case "java.util.Date":
+        return param -> param == null ? defaultVal : DateUtils.parseDate(param, DATE_PATTERNS);
+      case "int":
+      case "java.lang.Integer":
+        // cant pass null to an int type
+        Integer noValue = valueType.equals("int") ? 0 : null;
+        Integer intDefault = defaultVal == null ? noValue : Integer.valueOf((String) defaultVal);
+        return param -> param == null ? intDefault : Integer.valueOf(param);
+      case "boolean":
+      case "java.lang.Boolean":
+        Boolean booleanDefault = defaultVal == null ? null : Boolean.valueOf((String) defaultVal);
+        return param -> param == null ? booleanDefault : Boolean.valueOf(param);
+      case "java.math.BigDecimal":
+      case "java.lang.Number":
+        BigDecimal bigDecimalDefault = defaultVal == null ? null : new BigDecimal((String) defaultVal);
+        // big decimal can contain ","
+        return param -> param == null ? bigDecimalDefault : new BigDecimal(param.replace(",", ""));
+      default:
+        // enum object type
+        try {
+          Map<String, Object> enums = enumsByName(type);
+          Object enumDefault = defaultVal == null ? null : enums.get(defaultVal.toString());
+          return param -> enums.getOrDefault(param, enumDefault);
+        } catch (ReflectiveOperationException e) {
+          return param -> parseEnum(valueType, param, defaultVal);
         }
-      } else if ("".equals(param)) {
-        emptyNumericParam = true;
-      } else {
-        paramArray[order] = new BigDecimal(param.replace(",", "")); // big decimal can contain ","
-      }
-    } else { // enum object type
-      paramArray[order] = parseEnum(valueType, param, defaultVal);
     }
-    if (emptyNumericParam) {
-      endRequestWithError(rc, 400, true, valueName + " does not have a default value in the RAML and has been passed empty");
+  }
+
+  /**
+   * Parser for a parameter without annotation: the entity in the HTTP BODY for post and put requests
+   * or an injected parameter (RoutingContext, okapi headers, vertx context, vertx handler).
+   * File uploads are also not annotated but are handled by handleStream due to their async upload.
+   */
+  static ParamParser nonAnnotatedParser(String valueType, Class<?> entityClazz, int order) {
+    switch (valueType) {
+      case "io.vertx.ext.web.RoutingContext":
+        return (rc, body, pathParams, okapiHeaders, paramArray) -> paramArray[order] = rc;
+      case "java.util.Map":
+        return (rc, body, pathParams, okapiHeaders, paramArray) -> paramArray[order] = okapiHeaders;
+      case "io.vertx.core.Context":
+        return (rc, body, pathParams, okapiHeaders, paramArray) ->
+            paramArray[order] = rc.vertx().getOrCreateContext();
+      case "io.vertx.core.Handler":  // will set it later in invoke
+      case "java.io.InputStream":  // will set it later in handleStream or handleStreamOnce
+        return (rc, body, pathParams, okapiHeaders, paramArray) -> { };
+      default:
+        return (rc, body, pathParams, okapiHeaders, paramArray) ->
+            parseEntity(rc, body, paramArray, okapiHeaders, valueType, entityClazz, order);
     }
   }
 
-  private static void parseNonAnnotated(RoutingContext rc, Buffer body, Object[] paramArray,
-                                        Map<String, String> okapiHeaders,
-                                        String valueType, int order)
-      throws JsonProcessingException, ReflectiveOperationException {
+  private static void parseEntity(RoutingContext rc, Buffer body, Object[] paramArray,
+                                  Map<String, String> okapiHeaders,
+                                  String valueType, Class<?> entityClazz, int order)
+      throws IOException, ReflectiveOperationException {
     // this will also validate the json against the pojo created from the schema
-    Class<?> entityClazz = Class.forName(valueType);
-
     HttpServerRequest request = rc.request();
-
-    if (valueType.equals("io.vertx.ext.web.RoutingContext")) {
-      paramArray[order] = rc;
-    } else if (valueType.equals("java.util.Map")) {
-      paramArray[order] = okapiHeaders;
-    } else if (valueType.equals("io.vertx.core.Context")) {
-      paramArray[order] = rc.vertx().getOrCreateContext();
-    } else if (valueType.equals("io.vertx.core.Handler")) {
-      paramArray[order] = null; // will set it later in invoke
-    } else if (!valueType.equals("java.io.InputStream")) {
-      // we have special handling for the Result Handler and context, it is also assumed that
-      //an inputsteam parameter occurs when application/octet is declared in the raml
-      //in which case the content will be streamed to he function
-      String bodyContent = body == null ? null : body.toString();
+    if (body != null && LOGGER.isDebugEnabled()) {
       withRequestId(rc, () -> LOGGER.debug("{} -------- bodyContent -------- {}",
-          rc.request().path(), bodyContent));
-      if (bodyContent != null) {
-        if ("java.io.Reader".equals(valueType)) {
-          paramArray[order] = new StringReader(bodyContent);
-        } else if ("java.lang.String".equals(valueType)) {
-          paramArray[order] = bodyContent;
-        } else if (bodyContent.length() > 0) {
-          try {
-            paramArray[order] = MAPPER.readValue(bodyContent, entityClazz);
-          } catch (UnrecognizedPropertyException e) {
-            withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
-            endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true, JsonUtils.entity2String(
-                ValidationHelper.createValidationErrorMessage("", "", e.getMessage())));
-            return;
-          }
+          rc.request().path(), body));
+    }
+    if (body != null) {
+      if ("java.io.Reader".equals(valueType)) {
+        paramArray[order] = new StringReader(body.toString());
+      } else if ("java.lang.String".equals(valueType)) {
+        paramArray[order] = body.toString();
+      } else if (body.length() > 0) {
+        try {
+          // parse the bytes, don't create a String copy of the body
+          paramArray[order] = MAPPER.readValue(new BufferInputStream(body), entityClazz);
+        } catch (UnrecognizedPropertyException e) {
+          withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
+          endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true, JsonUtils.entity2String(
+              ValidationHelper.createValidationErrorMessage("", "", e.getMessage())));
+          return;
         }
       }
-      Errors errorResp = new Errors();
+    }
+    Errors errorResp = new Errors();
 
-      //is this request only to validate a field value and not an actual
-      //request for additional processing
-      List<String> field2validate = request.params().getAll("validate_field");
-      Object[] resp = isValidRequest(rc, paramArray[order], errorResp, field2validate, entityClazz);
-      boolean isValid = (boolean) resp[0];
-      paramArray[order] = resp[1];
+    //is this request only to validate a field value and not an actual
+    //request for additional processing
+    List<String> field2validate = request.params().getAll("validate_field");
+    Object[] resp = isValidRequest(rc, paramArray[order], errorResp, field2validate);
+    boolean isValid = (boolean) resp[0];
+    paramArray[order] = resp[1];
 
-      if (!isValid) {
-        endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true,
-            JsonUtils.entity2String(errorResp));
-        return;
-      }
-      if (!field2validate.isEmpty()) {
-        //valid request for the field to validate request made
-        AsyncResponseResult arr = new AsyncResponseResult();
-        ResponseImpl ri = new ResponseImpl();
-        ri.setStatus(200);
-        arr.setResult(ri);
-        //right now this is the only flag available to stop
-        //any additional responses for this request. to fix
-        sendResponse(rc, arr, 0, null);
-        return;
-      }
-      MetadataUtil.populateMetadata(paramArray[order], okapiHeaders);
+    if (!isValid) {
+      endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true,
+          JsonUtils.entity2String(errorResp));
+      return;
+    }
+    if (!field2validate.isEmpty()) {
+      //valid request for the field to validate request made
+      AsyncResponseResult arr = new AsyncResponseResult();
+      ResponseImpl ri = new ResponseImpl();
+      ri.setStatus(200);
+      arr.setResult(ri);
+      //right now this is the only flag available to stop
+      //any additional responses for this request. to fix
+      sendResponse(rc, arr, 0, null);
+      return;
     }
+    MetadataUtil.populateMetadata(paramArray[order], okapiHeaders);
   }
 
-  private static void parseParams1(RoutingContext rc, Buffer body, Iterator<Map.Entry<String, Object>> paramList,
-                                   Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders)
-      throws ReflectiveOperationException, JsonProcessingException, ParseException {
+  /**
+   * Resolve everything that handleRequest needs for method of aClass.
+   *
+   * @param methodInfo  the method metadata of {@link AnnotationGrabber#generateMappings}
+   */
+  static RouteDescriptor compileRoute(Class<?> aClass, Method method, JsonObject methodInfo)
+      throws IllegalAccessException {
 
-    HttpServerRequest request = rc.request();
-    MultiMap queryParams = request.params();
-    int pathParamsIndex = 0;
+    return compileRoute(aClass, instanceFactory(aClass), method, methodInfo);
+  }
+
+  /**
+   * Resolve everything that handleRequest needs for method of aClass.
+   *
+   * @param instanceFactory  the {@link #instanceFactory(Class)} of aClass, may be shared by all methods of aClass
+   * @param methodInfo  the method metadata of {@link AnnotationGrabber#generateMappings}
+   */
+  static RouteDescriptor compileRoute(Class<?> aClass, InstanceFactory instanceFactory, Method method,
+      JsonObject methodInfo) throws IllegalAccessException {
 
-    while (paramList.hasNext()) {
-      JsonObject v = (JsonObject) paramList.next().getValue();
+    JsonObject params = methodInfo.getJsonObject(AnnotationGrabber.METHOD_PARAMS);
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    ParamParser[] paramParsers = new ParamParser[params.size()];
+    int uploadParamPosition = -1;
+    int pathParamsIndex = 0;
+    int i = 0;
+    for (Map.Entry<String, Object> entry : params) {
+      JsonObject v = (JsonObject) entry.getValue();
       String valueName = v.getString("value");
       String valueType = v.getString("type");
       String paramType = v.getString("param_type");
@@ -395,111 +583,135 @@ public final class RestRouting {
 
       // validation of query params (other then enums), object in body (not including drools),
       // and some header params validated by jsr311 (aspects) - the rest are handled in the code here
-      // handle un-annotated parameters - this is assumed to be
-      // entities in HTTP BODY for post and put requests or the 3 injected params
-      // (okapi headers, vertx context and vertx handler) - file uploads are also not annotated but are not handled here due
-      // to their async upload - so explicitly skip them
+      ParamParser parser = (rc, body, pathParams, okapiHeaders, paramArray) -> { };
       if (AnnotationGrabber.NON_ANNOTATED_PARAM.equals(paramType)) {
-        parseNonAnnotated(rc, body, paramArray, okapiHeaders, valueType, order);
+        parser = nonAnnotatedParser(valueType, parameterTypes[order], order);
+        if ("java.io.InputStream".equals(valueType)) {
+          //application/octet-stream passed - this is handled in a stream like manner
+          uploadParamPosition = order;
+        }
       } else if (AnnotationGrabber.HEADER_PARAM.equals(paramType)) {
         // handle header params - read the header field from the
-        // header (valueName) and get its value
-        String value = request.getHeader(valueName);
-        // set the value passed from the header as a param to the function
-        paramArray[order] = value;
+        // header (valueName) and set its value as a param to the function
+        parser = (rc, body, pathParams, okapiHeaders, paramArray) ->
+            paramArray[order] = rc.request().getHeader(valueName);
       } else if (AnnotationGrabber.PATH_PARAM.equals(paramType)) {
         // these are placeholder values in the path - for example
         // /patrons/{patronid} - this would be the patronid value
-        paramArray[order] = pathParams[pathParamsIndex++];
+        int pathParamIndex = pathParamsIndex++;
+        parser = (rc, body, pathParams, okapiHeaders, paramArray) ->
+            paramArray[order] = pathParams[pathParamIndex];
       } else if (AnnotationGrabber.QUERY_PARAM.equals(paramType)) {
-        parseQueryParameter(rc, paramArray, queryParams, valueName, valueType, order, defaultVal);
+        parser = queryParamParser(valueName, valueType, parameterTypes[order], order, defaultVal);
       }
+      paramParsers[i++] = parser;
+    }
+    return new RouteDescriptor(aClass, instanceFactory, method,
+        Pattern.compile(methodInfo.getString(AnnotationGrabber.REGEX_URL)), paramParsers,
+        // what the api will return as output (Content-Type)
+        methodInfo.getJsonArray(AnnotationGrabber.PRODUCES),
+        // what the api expects to get (Accept)
+        methodInfo.getJsonArray(AnnotationGrabber.CONSUMES),
+        isStreamed(method.getAnnotations()), isStreamedOnce(method.getAnnotations()), uploadParamPosition);
+  }
+
+  private static void parseParams1(RoutingContext rc, Buffer body, RouteDescriptor route,
+                                   Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders)
+      throws Exception {
+
+    for (ParamParser parser : route.paramParsers) {
+      parser.parse(rc, body, pathParams, okapiHeaders, paramArray);
       if (rc.response().ended()) {
         return;
       }
     }
   }
 
-  private static void parseParams(RoutingContext rc, Buffer body, Iterator<Map.Entry<String, Object>> paramList,
+  private static void parseParams(RoutingContext rc, Buffer body, RouteDescriptor route,
                                   Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders) {
 
     try {
-      parseParams1(rc, body, paramList, paramArray, pathParams, okapiHeaders);
+      parseParams1(rc, body, route, paramArray, pathParams, okapiHeaders);
     } catch (Exception e) {
       withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
       endRequestWithError(rc, 400, true, e.getMessage());
     }
   }
 
-  static void invoke(Method method, Object[] params, Object o, RoutingContext rc,
+  static void invoke(RouteDescriptor route, Object[] params, Object o, RoutingContext rc,
                      Map<String, String> headers, Handler<AsyncResult<Response>> resultHandler) {
 
     FolioLoggingContext.put(FolioLoggingContext.TENANT_ID_LOGGING_VAR_NAME, headers.get(RestVerticle.OKAPI_HEADER_TENANT));
     FolioLoggingContext.put(FolioLoggingContext.REQUEST_ID_LOGGING_VAR_NAME, headers.get(RestVerticle.OKAPI_REQUESTID_HEADER));
-    FolioLoggingContext.put(FolioLoggingContext.USER_ID_LOGGING_VAR_NAME, headers.get(RestVerticle.OKAPI_USERID_HEADER));
+    FolioLoggingContext.put(FolioLoggingContext.USER_ID_LOGGING_VAR_NAME, rc.get(USER_ID));
     FolioLoggingContext.put(FolioLoggingContext.MODULE_ID_LOGGING_VAR_NAME, PostgresClient.getModuleName());
 
-    withRequestId(rc, () -> LOGGER.info("invoking {}", method.getName()));
+    withRequestId(rc, () -> LOGGER.info("invoking {}", route.method.getName()));
 
     // params filled, except for resultHandler (2nd last parameter)
     params[params.length - 2] = resultHandler;
     try {
-      method.invoke(o, params);
-    } catch (Exception e) {
+      route.invoker.invokeExact(o, params);
+    } catch (Throwable e) {  // NOSONAR report anything the implementation throws, like Method.invoke did
       withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
-      String message;
-      try {
-        // catch exception for now in case of null point and show generic
-        // message
-        message = e.getCause().getMessage();
-      } catch (Exception ee) {
-        message = MESSAGES.getMessage("en", MessageConsts.UnableToProcessRequest);
-      }
-      endRequestWithError(rc, 400, true, message);
+      endRequestWithError(rc, 400, true, e.getMessage());
     }
   }
 
-  private static void handleStream(Method method2Run, RoutingContext rc, Object instance,
+  private static void handleStream(RouteDescriptor route, RoutingContext rc, Object instance,
                                    String tenantId, Map<String, String> okapiHeaders,
-                                   JsonObject params, Object[] paramArray, long start) {
-    final int[] uploadParamPosition = new int[]{-1};
-    params.forEach(param -> {
-      if (((JsonObject) param.getValue()).getString("type").equals("java.io.InputStream")) {
-        //application/octet-stream passed - this is handled in a stream like manner
-        //and the corresponding function called must annotate with a @Stream - and be able
-        //to handle the function being called repeatedly on parts of the data
-        uploadParamPosition[0] = ((JsonObject) param.getValue()).getInteger("order");
-      }
-    });
+                                   Object[] paramArray, long start) {
+    //application/octet-stream passed - this is handled in a stream like manner
+    //and the corresponding function called must annotate with a @Stream - and be able
+    //to handle the function being called repeatedly on parts of the data
+    final int uploadParamPosition = route.uploadParamPosition;
     HttpServerRequest request = rc.request();
     request.handler(buff -> {
       try {
-        paramArray[uploadParamPosition[0]] = new ByteArrayInputStream(buff.getBytes());
+        paramArray[uploadParamPosition] = new ByteArrayInputStream(buff.getBytes());
         okapiHeaders.put(RestVerticle.STREAM_ID, String.valueOf(rc.hashCode()));
-        invoke(method2Run, paramArray, instance, rc, okapiHeaders, v -> {});
+        invoke(route, paramArray, instance, rc, okapiHeaders, v -> {});
       } catch (Exception e1) {
         withRequestId(rc, () -> LOGGER.error(e1.getMessage(), e1));
         rc.response().end();
       }
     });
     request.endHandler(e -> {
-      paramArray[uploadParamPosition[0]] = new ByteArrayInputStream(new byte[0]);
+      paramArray[uploadParamPosition] = new ByteArrayInputStream(new byte[0]);
       okapiHeaders.put(RestVerticle.STREAM_ID, String.valueOf(rc.hashCode()));
       okapiHeaders.put(RestVerticle.STREAM_COMPLETE, String.valueOf(rc.hashCode()));
-      invoke(method2Run, paramArray, instance, rc, okapiHeaders, v ->
+      invoke(route, paramArray, instance, rc, okapiHeaders, v ->
         //all data has been stored in memory - not necessarily all processed
         sendResponse(rc, v, start, tenantId)
       );
     });
     request.exceptionHandler(event -> {
-      paramArray[uploadParamPosition[0]] = new ByteArrayInputStream(new byte[0]);
+      paramArray[uploadParamPosition] = new ByteArrayInputStream(new byte[0]);
       okapiHeaders.put(RestVerticle.STREAM_ID, String.valueOf(rc.hashCode()));
       okapiHeaders.put(RestVerticle.STREAM_ABORT, String.valueOf(rc.hashCode()));
-      invoke(method2Run, paramArray, instance, rc, okapiHeaders, v -> {});
+      invoke(route, paramArray, instance, rc, okapiHeaders, v -> {});
       endRequestWithError(rc, 400, true, "unable to upload file " + event.getMessage());
     });
   }
 
+  /**
+   * Invoke a {@code @Stream(singleInvocation = true)} endpoint once with an InputStream
+   * that delivers the body as it arrives. The InputStream pauses the request when
+   * {@link RequestInputStream#DEFAULT_MAX_BUFFERED} bytes are waiting to be read.
+   */
+  private static void handleStreamOnce(RouteDescriptor route, RoutingContext rc, Object instance,
+      String tenantId, Map<String, String> okapiHeaders, Object[] paramArray, long start) {
+
+    paramArray[route.uploadParamPosition] = new RequestInputStream(rc.vertx().getOrCreateContext(),
+        rc.request(), RequestInputStream.DEFAULT_MAX_BUFFERED);
+    try {
+      invoke(route, paramArray, instance, rc, okapiHeaders, v -> sendResponse(rc, v, start, tenantId));
+    } catch (Exception e) {
+      withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
+      endRequestWithError(rc, 400, true, e.getMessage());
+    }
+  }
+
   static Map<String, String> getOkapiHeaders(MultiMap mm) {
     CaseInsensitiveMap<String, String> headers = new CaseInsensitiveMap<>();
     Consumer<Map.Entry<String, String>> consumer = entry -> {
@@ -512,6 +724,20 @@ public final class RestRouting {
     return headers;
   }
 
+  /**
+   * Put the user id from the X-Okapi-User-Id header into rc under the {@link #USER_ID} key,
+   * fall back to the user_id claim of the X-Okapi-Token header decoded by {@link OkapiTokenCache}.
+   */
+  static void putUserId(RoutingContext rc, Map<String, String> okapiHeaders) {
+    String userId = okapiHeaders.get(XOkapiHeaders.USER_ID);
+    if (userId == null) {
+      userId = OkapiTokenCache.getUserId(okapiHeaders.get(XOkapiHeaders.TOKEN));
+    }
+    if (userId != null) {
+      rc.put(USER_ID, userId);
+    }
+  }
+
   /**
    * Run logCommand with request id. Take request id value from headers in routingContext
    * and temporarily store it as reqId in ThreadContext. Run logCommand without reqId
@@ -573,8 +799,7 @@ public final class RestRouting {
 
       /* entity is of type OutStream - and will be written as a string */
       if (entity instanceof OutStream) {
-        var s = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(((OutStream) entity).getData());
-        buffer.appendString(s);
+        appendJson(buffer, ((OutStream) entity).getData(), isPrettyPrint(rc));
       }
       /* entity is of type BinaryOutStream - and will be written as a buffer */
       else if (entity instanceof BinaryOutStream) {
@@ -586,16 +811,20 @@ public final class RestRouting {
       }
       /* catch all - anything else will be assumed to be a pojo which needs converting to json */
       else if (entity != null) {
-        buffer.appendString(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(entity));
+        appendJson(buffer, entity, isPrettyPrint(rc));
       }
     } catch (Exception e) {
       withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
+      // drop partially written JSON
+      buffer = Buffer.buffer();
     } finally {
       rc.response().end(buffer);
     }
 
     long end = System.nanoTime();
 
+    recordRequest(rc, start, rc.response().getStatusCode(), buffer.length());
+
     StringBuilder sb = new StringBuilder();
     if (LOGGER.isDebugEnabled()) {
       try {
@@ -621,6 +850,18 @@ public final class RestRouting {
     return false;
   }
 
+  /**
+   * @return true if annotations contain {@code @Stream(singleInvocation = true)}
+   */
+  static boolean isStreamedOnce(Annotation[] annotations) {
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof Stream stream) {
+        return stream.singleInvocation();
+      }
+    }
+    return false;
+  }
+
   /**
    * Match the path agaist pattern.
    *
@@ -642,20 +883,90 @@ public final class RestRouting {
     return pathParams;
   }
 
-  static Object construct(Vertx vertx, String tenantId, Class<?> aClass)
-      throws IllegalAccessException, InvocationTargetException, InstantiationException, NoSuchMethodException {
+  /**
+   * Resolve the constructor of aClass once: the public {@code (Vertx vertx, String tenantId)}
+   * constructor if it exists, otherwise the public no-argument constructor.
+   *
+   * <p>If aClass is annotated with {@link Stateless} the factory caches the instance for each
+   * tenant, at most {@link #STATELESS_INSTANCES_MAX} tenants, or a single instance if the no-argument
+   * constructor is used. Otherwise it creates a new instance on each call.
+   *
+   * @return the factory; if aClass has none of the two constructors the factory throws
+   *   NoSuchMethodException on each call
+   */
+  static InstanceFactory instanceFactory(Class<?> aClass) throws IllegalAccessException {
+    return instanceFactory(aClass, STATELESS_INSTANCES_MAX);
+  }
+
+  /**
+   * See {@link #instanceFactory(Class)}.
+   *
+   * @param maxInstances  maximum number of cached {@link Stateless} instances, the oldest is evicted
+   */
+  static InstanceFactory instanceFactory(Class<?> aClass, int maxInstances) throws IllegalAccessException {
+    MethodHandle withArgs = findConstructor(aClass, Vertx.class, String.class);
+    MethodHandle noArgs = withArgs != null ? null : findConstructor(aClass);
+    boolean stateless = aClass.isAnnotationPresent(Stateless.class);
+    if (withArgs != null) {
+      MethodHandle constructor = withArgs.asType(MethodType.methodType(Object.class, Vertx.class, String.class));
+      InstanceFactory factory = (vertx, tenantId) -> constructor.invokeExact(vertx, tenantId);
+      if (! stateless) {
+        return factory;
+      }
+      // bounded because any client can send random tenant ids; tenantId is null for /admin
+      Map<String, Object> instances = Collections.synchronizedMap(LRUCache.newInstance(maxInstances));
+      return (vertx, tenantId) -> {
+        String key = tenantId == null ? "" : tenantId;
+        Object instance = instances.get(key);
+        if (instance == null) {
+          instance = factory.create(vertx, tenantId);
+          Object existing = instances.putIfAbsent(key, instance);
+          if (existing != null) {
+            return existing;
+          }
+        }
+        return instance;
+      };
+    }
+    if (noArgs != null) {
+      MethodHandle constructor = noArgs.asType(MethodType.methodType(Object.class));
+      InstanceFactory factory = (vertx, tenantId) -> constructor.invokeExact();
+      if (! stateless) {
+        return factory;
+      }
+      AtomicReference<Object> singleton = new AtomicReference<>();
+      return (vertx, tenantId) -> {
+        Object instance = singleton.get();
+        if (instance == null) {
+          instance = factory.create(vertx, tenantId);
+          if (! singleton.compareAndSet(null, instance)) {
+            return singleton.get();
+          }
+        }
+        return instance;
+      };
+    }
+    return (vertx, tenantId) -> {
+      throw new NoSuchMethodException(aClass.getName() + " has neither a public (Vertx, String) "
+          + "nor a public no-argument constructor");
+    };
+  }
+
+  private static MethodHandle findConstructor(Class<?> aClass, Class<?>... parameterTypes)
+      throws IllegalAccessException {
+
     try {
-      Constructor<?> constructorWithArgs = aClass.getConstructor(Vertx.class, String.class);
-      return constructorWithArgs.newInstance(vertx, tenantId);
-    } catch (NoSuchMethodException e1) {
-      Constructor<?> constructorWithNoArgs = aClass.getConstructor();
-      return constructorWithNoArgs.newInstance();
+      return MethodHandles.lookup().unreflectConstructor(aClass.getConstructor(parameterTypes));
+    } catch (NoSuchMethodException e) {
+      return null;
     }
   }
 
-  static void handleRequest(RoutingContext rc, Class<?> aClass, JsonObject ret, Method method, Pattern pattern) {
+  static void handleRequest(RoutingContext rc, RouteDescriptor route) {
     long start = System.nanoTime();
+    rc.put(START_NANO_TIME, start);
     Map<String, String> okapiHeaders = getOkapiHeaders(rc.request().headers());
+    putUserId(rc, okapiHeaders);
     String tenantId = okapiHeaders.get(XOkapiHeaders.TENANT);
     if (tenantId == null && !rc.request().path().startsWith("/admin")) {
       endRequestWithError(rc, 400, true,
@@ -664,48 +975,40 @@ public final class RestRouting {
     }
     Object instanceTmp;
     try {
-      instanceTmp = construct(rc.vertx(), tenantId, aClass);
-    } catch (Exception e) {
+      instanceTmp = route.instanceFactory.create(rc.vertx(), tenantId);
+    } catch (Throwable e) {  // NOSONAR report anything the constructor throws
       LOGGER.error(e.getMessage(), e);
       endRequestWithError(rc, 500, true, "Server error");
       return;
     }
     final Object instance = instanceTmp;
+    Object[] paramArray = new Object[route.paramCount];
 
-    JsonObject params = ret.getJsonObject(AnnotationGrabber.METHOD_PARAMS);
-
-    Iterator<Map.Entry<String, Object>> paramList = params.iterator();
-    Object[] paramArray = new Object[params.size()];
-
-    // what the api will return as output (Content-Type)
-    JsonArray produces = ret.getJsonArray(AnnotationGrabber.PRODUCES);
-    // what the api expects to get (Accept)
-    JsonArray consumes = ret.getJsonArray(AnnotationGrabber.CONSUMES);
-
-    checkAcceptContentType(produces, consumes, rc);
+    checkAcceptContentType(route, rc);
     if (rc.response().ended()) {
       return;
     }
-    String[] pathParams = matchPath(rc.request().path(), pattern);
+    String[] pathParams = matchPath(rc.request().path(), route.pattern);
 
-    boolean streamData = isStreamed(method.getAnnotations());
-    if (streamData) {
-      parseParams(rc, null, paramList, paramArray, pathParams, okapiHeaders);
+    if (route.streamed) {
+      parseParams(rc, null, route, paramArray, pathParams, okapiHeaders);
       if (rc.response().ended()) {
         return;
       }
-      handleStream(method, rc, instance, tenantId, okapiHeaders, params, paramArray, start);
+      if (route.streamedOnce) {
+        handleStreamOnce(route, rc, instance, tenantId, okapiHeaders, paramArray, start);
+      } else {
+        handleStream(route, rc, instance, tenantId, okapiHeaders, paramArray, start);
+      }
     } else {
       // regular request (no streaming).. Read the request body before checking params + body
-      Buffer body = Buffer.buffer();
-      rc.request().handler(body::appendBuffer);
-      rc.request().endHandler(endRes -> {
-        parseParams(rc, body, paramList, paramArray, pathParams, okapiHeaders);
+      readBody(rc, body -> {
+        parseParams(rc, body, route, paramArray, pathParams, okapiHeaders);
         if (rc.response().ended()) {
           return;
         }
         try {
-          invoke(method, paramArray, instance, rc, okapiHeaders, v -> sendResponse(rc, v, start, tenantId));
+          invoke(route, paramArray, instance, rc, okapiHeaders, v -> sendResponse(rc, v, start, tenantId));
         } catch (Exception e1) {
           withRequestId(rc, () -> LOGGER.error(e1.getMessage(), e1));
           rc.response().end();
@@ -714,6 +1017,60 @@ public final class RestRouting {
     }
   }
 
+  /**
+   * Read the complete request body, fail with 413 as soon as it exceeds {@link #getMaxBodySize()};
+   * this is checked against the Content-Length header before reading the body.
+   */
+  static void readBody(RoutingContext rc, Handler<Buffer> bodyHandler) {
+    HttpServerRequest request = rc.request();
+    long max = maxBodySize;
+    if (max >= 0 && contentLength(request) > max) {
+      endRequestBodyTooLarge(rc, max);
+      return;
+    }
+    Buffer body = Buffer.buffer();
+    request.handler(chunk -> {
+      if (rc.response().ended()) {
+        return;  // discard
+      }
+      if (max >= 0 && (long) body.length() + chunk.length() > max) {
+        endRequestBodyTooLarge(rc, max);
+        return;
+      }
+      body.appendBuffer(chunk);
+    });
+    request.endHandler(end -> {
+      if (rc.response().ended()) {
+        return;
+      }
+      bodyHandler.handle(body);
+    });
+  }
+
+  /**
+   * @return the Content-Length header value, or -1 if missing or invalid
+   */
+  private static long contentLength(HttpServerRequest request) {
+    String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+    if (contentLength == null) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(contentLength);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static void endRequestBodyTooLarge(RoutingContext rc, long max) {
+    if (rc.request().version() != HttpVersion.HTTP_2) {
+      // don't wait for the remaining body
+      rc.response().putHeader(HttpHeaders.CONNECTION, "close");
+    }
+    endRequestWithError(rc, HttpStatus.HTTP_PAYLOAD_TOO_LARGE.toInt(), true,
+        "Request body exceeds the maximum size of " + max + " bytes");
+  }
+
   // https://www.w3.org/Protocols/rfc2616/rfc2616-sec14.html
   // first match - no q val check
   static String acceptCheck(JsonArray l, String h) {
@@ -747,13 +1104,14 @@ public final class RestRouting {
   /**
    * check accept and content-type headers if no - set the request asa not valid and return error to user
    */
-  private static void checkAcceptContentType(JsonArray produces, JsonArray consumes, RoutingContext rc) {
+  private static void checkAcceptContentType(RouteDescriptor route, RoutingContext rc) {
     /*
      * NOTE that the content type and accept headers will accept a partial match - for example: if the raml indicates a text/plain and an
      * application/json content-type and only one is passed - it will accept it
      */
     // check allowed content types in the raml for this resource + method
     HttpServerRequest request = rc.request();
+    JsonArray consumes = route.consumes;
     if (consumes != null) {
       // get the content type passed in the request
       // if this was left out by the client they must add for request to return
@@ -764,12 +1122,13 @@ public final class RestRouting {
       if (!consumes.contains(removeBoundary(contentType))) {
         endRequestWithError(rc, 400, true, MESSAGES.getMessage("en", MessageConsts.ContentTypeError, consumes, contentType));
       }
-      if (consumes.contains(SUPPORTED_CONTENT_TYPE_FORM)) {
+      if (route.consumesForm) {
         rc.request().setExpectMultipart(true);
       }
     }
 
     // type of data expected to be returned by the server
+    JsonArray produces = route.produces;
     if (produces != null) {
       String accept = StringUtils.defaultString(request.getHeader("Accept"), "*/*");
       if (acceptCheck(produces, accept) == null) {
@@ -794,7 +1153,8 @@ public final class RestRouting {
       try {
         Class<?> aClass = InterfaceToImpl.convert2Impl(
             packageOfImplementations, iClazz, false).get(0);
-        // there is an implementation
+        // there is an implementation; all its routes share the factory and its @Stateless instances
+        InstanceFactory instanceFactory = instanceFactory(aClass);
         for (String classPaths : ret.fieldNames()) {
           Object value = ret.getValue(classPaths);
           if (value instanceof JsonArray) {
@@ -812,14 +1172,15 @@ public final class RestRouting {
               for (Method classMethod : classMethods) {
                 if (classMethod.getName().equals(function)) {
                   LOGGER.info("Adding route {} {} -> {}", httpMethod::name, () -> ramlPath, () -> function);
-                  router.routeWithRegex(httpMethod, regex).handler(ctx -> handleRequest(ctx, aClass,
-                      methodInfo, classMethod, Pattern.compile(regex)));
+                  RouteDescriptor route = compileRoute(aClass, instanceFactory, classMethod, methodInfo);
+                  router.routeWithRegex(httpMethod, regex).setName(ramlPath)
+                      .handler(ctx -> handleRequest(ctx, route));
                 }
               }
             }
           }
         }
-      } catch (IOException e) {
+      } catch (IOException | IllegalAccessException e) {
         LOGGER.warn(e.getMessage(), e);
         return Future.failedFuture(e);
       } catch (ClassNotFoundException e) {
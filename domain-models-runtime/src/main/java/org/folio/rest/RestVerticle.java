@@ -21,6 +21,7 @@ import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.StaticHandler;
+import io.vertx.micrometer.backends.BackendRegistries;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +32,7 @@ import org.folio.rest.tools.client.HttpClientFactory;
 import org.folio.rest.tools.client.test.HttpClientMock2;
 import org.folio.rest.tools.utils.InterfaceToImpl;
 import org.folio.rest.tools.utils.LogUtil;
+import org.folio.rest.tools.utils.RmbMetrics;
 
 public class RestVerticle extends AbstractVerticle {
 
@@ -46,6 +48,8 @@ public class RestVerticle extends AbstractVerticle {
   public static final Map<String, String> MODULE_SPECIFIC_ARGS  = new HashMap<>(); //NOSONAR
 
   private static final String       HTTP_PORT_SETTING               = "http.port";
+  private static final String       PRETTY_PRINT_SETTING            = "prettyPrint";
+  private static final String       MAX_BODY_SIZE_SETTING           = "maxBodySize";
   private static final Logger       log                             = LogManager.getLogger(RestVerticle.class);
   private static String             deploymentId                     = "";
 
@@ -64,8 +68,14 @@ public class RestVerticle extends AbstractVerticle {
     deploymentId = UUID.randomUUID().toString();
 
     log.info("metrics enabled: {}", vertx.isMetricsEnabled());
+    // publish RMB meters to the backend registry of vertx-micrometer-metrics, if any
+    RmbMetrics.add(BackendRegistries.getDefaultNow());
 
     packageOfImplementations = config().getString("packageOfImplementations", DomainModelConsts.PACKAGE_OF_IMPLEMENTATIONS);
+    RestRouting.setPrettyPrint(Boolean.getBoolean(PRETTY_PRINT_SETTING)
+        || config().getBoolean(PRETTY_PRINT_SETTING, false));
+    RestRouting.setMaxBodySize(Long.getLong(MAX_BODY_SIZE_SETTING,
+        config().getLong(MAX_BODY_SIZE_SETTING, -1L)));
 
     // Create a router object.
     Router router = Router.router(vertx);
@@ -0,0 +1,83 @@
+package org.folio.rest;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.web.RoutingContext;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An endpoint compiled by {@link RestRouting#populateRoutes}: everything that handleRequest needs
+ * is resolved once when the route is added so that a request needs neither the JSON metadata
+ * of {@link org.folio.rest.tools.AnnotationGrabber} nor reflection.
+ */
+final class RouteDescriptor {
+  private static final String SUPPORTED_CONTENT_TYPE_FORM = "application/x-www-form-urlencoded";
+
+  /**
+   * Sets the value of one parameter of the implementation method.
+   */
+  @FunctionalInterface
+  interface ParamParser {
+    /**
+     * Set paramArray at the position of the parameter. May end the response of rc on invalid input.
+     */
+    void parse(RoutingContext rc, Buffer body, String[] pathParams, Map<String, String> okapiHeaders,
+        Object[] paramArray) throws Exception;
+  }
+
+  /**
+   * Returns the implementation instance that handles a request.
+   */
+  @FunctionalInterface
+  interface InstanceFactory {
+    Object create(Vertx vertx, String tenantId) throws Throwable;  // NOSONAR a constructor may throw anything
+  }
+
+  final Class<?> implClass;
+  final InstanceFactory instanceFactory;
+  final Method method;
+  /** (Object instance, Object[] parameters)void */
+  final MethodHandle invoker;
+  final Pattern pattern;
+  final ParamParser[] paramParsers;
+  final int paramCount;
+  /** content types that the endpoint produces, null for any */
+  final JsonArray produces;
+  /** content types that the endpoint consumes, null for any */
+  final JsonArray consumes;
+  final boolean consumesForm;
+  final boolean streamed;
+  /** streamed endpoint that is invoked only once with an InputStream of the complete body */
+  final boolean streamedOnce;
+  /** position of the InputStream parameter of a streamed endpoint, -1 if none */
+  final int uploadParamPosition;
+
+  @SuppressWarnings("squid:S107")     // Method has >7 parameters
+  RouteDescriptor(Class<?> implClass, InstanceFactory instanceFactory, Method method, Pattern pattern,
+      ParamParser[] paramParsers, JsonArray produces, JsonArray consumes, boolean streamed, boolean streamedOnce,
+      int uploadParamPosition)
+      throws IllegalAccessException {
+
+    this.implClass = implClass;
+    this.instanceFactory = instanceFactory;
+    this.method = method;
+    this.paramCount = method.getParameterCount();
+    this.invoker = MethodHandles.lookup().unreflect(method)
+        .asSpreader(Object[].class, paramCount)
+        .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+    this.pattern = pattern;
+    this.paramParsers = paramParsers;
+    this.produces = produces;
+    this.consumes = consumes;
+    this.consumesForm = consumes != null && consumes.contains(SUPPORTED_CONTENT_TYPE_FORM);
+    this.streamed = streamed;
+    this.streamedOnce = streamedOnce;
+    this.uploadParamPosition = uploadParamPosition;
+  }
+}
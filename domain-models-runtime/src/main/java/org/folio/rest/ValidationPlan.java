@@ -0,0 +1,115 @@
+package org.folio.rest;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Bean Validation metadata of an entity class that {@link RestRouting#isValidRequest} needs,
+ * computed once for each class.
+ */
+final class ValidationPlan {
+  /** thread-safe */
+  static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+  private static final ClassValue<ValidationPlan> PLANS = new ClassValue<>() {
+    @Override
+    protected ValidationPlan computeValue(Class<?> type) {
+      return new ValidationPlan(type);
+    }
+  };
+
+  /** whether the class or a cascaded property has a constraint, if not validation can be skipped */
+  final boolean constrained;
+  /** (Object bean)void that sets a read-only property to null, for each read-only property */
+  private final Map<String, MethodHandle> readOnlyClearers = new HashMap<>();
+
+  private ValidationPlan(Class<?> type) {
+    BeanDescriptor beanDescriptor = VALIDATOR.getConstraintsForClass(type);
+    constrained = beanDescriptor.isBeanConstrained();
+    for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+      for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+        if (constraint.getAnnotation() instanceof Null) {
+          MethodHandle clearer = clearer(type, property.getPropertyName());
+          if (clearer != null) {
+            readOnlyClearers.put(property.getPropertyName(), clearer);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the plan of type
+   */
+  static ValidationPlan of(Class<?> type) {
+    return PLANS.get(type);
+  }
+
+  /**
+   * Set the read-only (annotated with {@code @Null}) property of bean to null.
+   *
+   * @param bean  an instance of the class of this plan
+   * @return false if the property is not read-only or cannot be set
+   */
+  boolean clearReadOnly(Object bean, String property) throws Throwable {  // NOSONAR a setter may throw anything
+    MethodHandle clearer = readOnlyClearers.get(property);
+    if (clearer == null) {
+      return false;
+    }
+    clearer.invokeExact(bean);
+    return true;
+  }
+
+  /**
+   * @return (Object bean)void that sets the property to null using the public setter,
+   *   or the field if there is no setter, or null if neither is accessible
+   */
+  private static MethodHandle clearer(Class<?> type, String property) {
+    MethodHandle setter = setter(type, property);
+    if (setter == null) {
+      return null;
+    }
+    Class<?> valueType = setter.type().parameterType(1);
+    if (valueType.isPrimitive()) {
+      return null;
+    }
+    return MethodHandles.insertArguments(
+        setter.asType(MethodType.methodType(void.class, Object.class, Object.class)), 1, (Object) null)
+        .asType(MethodType.methodType(void.class, Object.class));
+  }
+
+  private static MethodHandle setter(Class<?> type, String property) {
+    String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    try {
+      for (Method method : type.getMethods()) {
+        if (method.getName().equals(name) && method.getParameterCount() == 1
+            && ! Modifier.isStatic(method.getModifiers()) && method.trySetAccessible()) {
+          return MethodHandles.lookup().unreflect(method);
+        }
+      }
+      for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (field.getName().equals(property) && ! Modifier.isStatic(field.getModifiers())
+              && ! Modifier.isFinal(field.getModifiers()) && field.trySetAccessible()) {
+            return MethodHandles.lookup().unreflectSetter(field);
+          }
+        }
+      }
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+    return null;
+  }
+}
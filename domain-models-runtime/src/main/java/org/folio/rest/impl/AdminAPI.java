@@ -34,6 +34,7 @@ import org.folio.rest.tools.utils.LRUCache;
 import org.folio.rest.tools.utils.LogUtil;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.rest.tools.utils.OutStream;
+import org.folio.rest.tools.utils.RmbMetrics;
 import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.AsyncResult;
@@ -446,6 +447,14 @@ public class AdminAPI implements Admin {
 
   }
 
+  @Override
+  public void getAdminMetrics(Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    asyncResultHandler.handle(Future.succeededFuture(
+        GetAdminMetricsResponse.respond200WithTextPlain(RmbMetrics.scrape())));
+  }
+
   @Validate
   @Override
   public void getAdminTotalDbSize(String dbname, Map<String, String> okapiHeaders,
@@ -9,15 +9,20 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgConnection;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.Transaction;
 import io.vertx.sqlclient.Tuple;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
@@ -30,10 +35,12 @@ import org.folio.rest.persist.PostgresClient.FunctionWithException;
 import org.folio.rest.persist.PostgresClient.QueryHelper;
 import org.folio.rest.persist.PostgresClient.TotaledResults;
 import org.folio.rest.persist.cql.CQLWrapper;
+import org.folio.rest.persist.cql.Keyset;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.helpers.LocalRowSet;
 import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.tools.utils.MetadataUtil;
+import org.folio.rest.tools.utils.RmbMetrics;
 
 /**
  * A connection of a PostgresClient.
@@ -41,6 +48,11 @@ import org.folio.rest.tools.utils.MetadataUtil;
 public class Conn {
 
   private static final Logger log = LogManager.getLogger(Conn.class);
+  /** default number of records that {@link #bulkSave(String, List)} and {@link #bulkUpsert(String, List)}
+   * send in a single SQL statement */
+  public static final int DEFAULT_BULK_CHUNK_SIZE = 1000;
+  /** how often a bulk upsert chunk is retried after a concurrent insert of the same id */
+  private static final int BULK_UPSERT_RETRIES = 3;
 
   private final PostgresClient postgresClient;
   private final PgConnection pgConnection;
@@ -65,6 +77,30 @@ public class Conn {
     return descriptionKey + " timer: " + sql + " took " + milliseconds + " ms";
   }
 
+  /**
+   * @return handler that notifies the {@link org.folio.rest.persist.count.TotalRecordsStrategy}
+   *   after a successful write to table; within a transaction this is deferred until the commit,
+   *   otherwise a count running before the commit might be cached as current
+   */
+  private <T> Handler<T> invalidateTotalRecords(String table) {
+    return result -> {
+      Transaction transaction = pgConnection.transaction();
+      if (transaction == null) {
+        postgresClient.invalidateTotalRecords(table);
+        return;
+      }
+      transaction.completion().onSuccess(x -> postgresClient.invalidateTotalRecords(table));
+    };
+  }
+
+  /**
+   * @return handler that records the duration of the operation on table since startNanoTime
+   *   at {@link RmbMetrics#query(String, String, String, long)}
+   */
+  private <T> Handler<AsyncResult<T>> recordQuery(String operation, String table, long startNanoTime) {
+    return result -> RmbMetrics.query(postgresClient.getTenantId(), table, operation, startNanoTime);
+  }
+
   /**
    * Get the jsonb by id.
    * @param lock  whether to use SELECT FOR UPDATE to lock the selected row
@@ -77,20 +113,25 @@ public class Conn {
       FunctionWithException<String, R, Exception> function) {
 
     try {
+      long start = System.nanoTime();
       String sql = "SELECT jsonb FROM " + postgresClient.getSchemaName() + "." + table
           + " WHERE id = $1" + (lock ? " FOR UPDATE" : "");
       return pgConnection
           .preparedQuery(sql)
           .execute(Tuple.of(UUID.fromString(id)))
+          .onComplete(recordQuery("getById", table, start))
           .map(rowSet -> {
             if (rowSet.size() == 0) {
               return null;
             }
+            long deserializationStart = System.nanoTime();
             String entity = rowSet.iterator().next().getValue(0).toString();
             try {
               return function.apply(entity);
             } catch (Exception e) {
               throw new RuntimeException(e);
+            } finally {
+              RmbMetrics.deserialization(postgresClient.getTenantId(), table, deserializationStart);
             }
           });
     } catch (Exception e) {
@@ -177,7 +218,7 @@ public class Conn {
       boolean returnId, boolean upsert, boolean convertEntity) {
 
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String sql;
       if (upsert) {
         sql = (returnId ? "" : "SELECT '' FROM (")
@@ -191,7 +232,9 @@ public class Conn {
       return pgConnection.preparedQuery(sql).execute(Tuple.of(
           id == null ? UUID.randomUUID() : UUID.fromString(id),
           convertEntity ? PostgresClient.pojo2JsonObject(entity) : ((JsonArray)entity).getString(0)
-      )).map(rowSet -> {
+      )).onComplete(recordQuery("save", table, start))
+      .onSuccess(invalidateTotalRecords(table))
+      .map(rowSet -> {
         log.debug(() -> durationMsg("save", table, start));
         return rowSet.iterator().next().getValue(0).toString();
       });
@@ -302,13 +345,15 @@ public class Conn {
    */
   public <T> Future<T> saveAndReturnUpdatedEntity(String table, String id, T entity) {
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String sql = "INSERT INTO " + postgresClient.getSchemaName() + "." + table
           + " (id, jsonb) VALUES ($1, $2) RETURNING jsonb";
       return pgConnection.preparedQuery(sql).execute(Tuple.of(
           id == null ? UUID.randomUUID() : UUID.fromString(id),
           PostgresClient.pojo2JsonObject(entity)
-      )).map(rowSet -> {
+      )).onComplete(recordQuery("save", table, start))
+      .onSuccess(invalidateTotalRecords(table))
+      .map(rowSet -> {
         log.debug(() -> durationMsg("save", table, start));
         String updatedEntityString = rowSet.iterator().next().getValue(0).toString();
         try {
@@ -371,7 +416,7 @@ public class Conn {
       // vertx-pg-client fails with "Can not execute batch query with 0 sets of batch parameters."
       return Future.succeededFuture(emptyRowSetOfId());
     }
-    long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+    long start = System.nanoTime();
     log.info("starting: saveBatch size=" + batch.size());
 
     StringBuilder selectForUpdate = new StringBuilder(batch.size() * 39 + 50 + table.length());
@@ -390,6 +435,8 @@ public class Conn {
 
     return pgConnection.query(selectForUpdate.toString()).execute()
         .compose(x -> pgConnection.preparedQuery(sql).executeBatch(batch))
+        .onComplete(recordQuery("saveBatch", table, start))
+        .onSuccess(invalidateTotalRecords(table))
         .map(rowSet -> {
           log.debug(() -> durationMsg("saveBatch", table, start));
           if (rowSet == null) {
@@ -493,12 +540,201 @@ public class Conn {
     return saveBatch(true, table, entities);
   }
 
+  /**
+   * Insert a list of POJOs like {@link #saveBatch(String, List)} but send them in chunks of
+   * {@link #DEFAULT_BULK_CHUNK_SIZE} records, each chunk is a single SQL statement with
+   * two array parameters, one for the ids and one for the jsonb values.
+   *
+   * <p>A random id is generated if POJO's id is null.
+   *
+   * <p>Call {@link MetadataUtil#populateMetadata(List, Map)} before if applicable.
+   *
+   * <p>Use a transaction so that either all or no records are inserted.
+   *
+   * @param table  destination table to insert into
+   * @param entities  each list element is a POJO
+   * @return the ids of the records, in the order of entities
+   */
+  public <T> Future<List<String>> bulkSave(String table, List<T> entities) {
+    return bulkSave(false, table, entities, DEFAULT_BULK_CHUNK_SIZE);
+  }
+
+  /**
+   * Insert a list of POJOs, see {@link #bulkSave(String, List)}.
+   *
+   * @param chunkSize  maximum number of records per SQL statement
+   */
+  public <T> Future<List<String>> bulkSave(String table, List<T> entities, int chunkSize) {
+    return bulkSave(false, table, entities, chunkSize);
+  }
+
+  /**
+   * Upsert a list of POJOs like {@link #upsertBatch(String, List)} but send them in chunks of
+   * {@link #DEFAULT_BULK_CHUNK_SIZE} records, each chunk is a single SQL statement with
+   * two array parameters, one for the ids and one for the jsonb values.
+   *
+   * <p>Like the upsert SQL function it first updates the existing records and then inserts the others,
+   * this properly works with optimistic locking triggers. The existing records are locked in id order
+   * before so that concurrent bulk upserts of overlapping ids don't deadlock. If a concurrent
+   * transaction inserts the same new id the insert skips it and the chunk is retried, it then
+   * updates that record. This needs no savepoint within a transaction.
+   *
+   * <p>A random id is generated if POJO's id is null.
+   *
+   * <p>Call {@link MetadataUtil#populateMetadata(List, Map)} before if applicable.
+   *
+   * <p>Use a transaction so that either all or no records are upserted.
+   *
+   * @param table  destination table to upsert into
+   * @param entities  each list element is a POJO
+   * @return the ids of the records, in the order of entities
+   */
+  public <T> Future<List<String>> bulkUpsert(String table, List<T> entities) {
+    return bulkSave(true, table, entities, DEFAULT_BULK_CHUNK_SIZE);
+  }
+
+  /**
+   * Upsert a list of POJOs, see {@link #bulkUpsert(String, List)}.
+   *
+   * @param chunkSize  maximum number of records per SQL statement
+   */
+  public <T> Future<List<String>> bulkUpsert(String table, List<T> entities, int chunkSize) {
+    return bulkSave(true, table, entities, chunkSize);
+  }
+
+  <T> Future<List<String>> bulkSave(boolean upsert, String table, List<T> entities, int chunkSize) {
+    try {
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+      }
+      if (entities == null || entities.isEmpty()) {
+        return Future.succeededFuture(Collections.emptyList());
+      }
+      UUID[] ids = new UUID[entities.size()];
+      JsonObject[] jsonbs = new JsonObject[entities.size()];
+      // We must use reflection, the POJOs don't have an interface/superclass in common.
+      Method getIdMethod = entities.get(0).getClass().getDeclaredMethod("getId");
+      for (int i = 0; i < ids.length; i++) {
+        Object entity = entities.get(i);
+        Object obj = getIdMethod.invoke(entity);
+        ids[i] = obj == null ? UUID.randomUUID() : UUID.fromString((String) obj);
+        jsonbs[i] = PostgresClient.pojo2JsonObject(entity);
+      }
+      List<String> result = new ArrayList<>(ids.length);
+      for (UUID id : ids) {
+        result.add(id.toString());
+      }
+      if (upsert && hasDuplicates(ids)) {
+        // a single statement cannot update the same record twice, upsert one by one
+        List<Tuple> batch = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+          batch.add(Tuple.of(ids[i], jsonbs[i]));
+        }
+        return saveBatchInternal(true, table, batch).map(result);
+      }
+      return bulkSaveChunks(upsert, table, ids, jsonbs, chunkSize).map(result);
+    } catch (Exception e) {
+      log.error("bulkSave error " + e.getMessage(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private static boolean hasDuplicates(UUID[] ids) {
+    Set<UUID> set = new HashSet<>();
+    for (UUID id : ids) {
+      if (!set.add(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Future<Void> bulkSaveChunks(boolean upsert, String table, UUID[] ids, JsonObject[] jsonbs,
+      int chunkSize) {
+
+    long start = System.nanoTime();
+    log.info("starting: bulkSave size=" + ids.length);
+    String schemaTable = postgresClient.getSchemaName() + "." + table;
+    String input = "SELECT id, jsonb FROM unnest($1::uuid[], $2::jsonb[]) AS input(id, jsonb)";
+    String sql;
+    if (upsert) {
+      sql = "WITH input AS (" + input + "),"
+          + " updated AS (UPDATE " + schemaTable + " AS t SET jsonb = input.jsonb"
+          + " FROM input WHERE t.id = input.id RETURNING t.id)"
+          + " , inserted AS (INSERT INTO " + schemaTable + " (id, jsonb)"
+          + " SELECT id, jsonb FROM input WHERE id NOT IN (SELECT id FROM updated)"
+          + " ON CONFLICT (id) DO NOTHING RETURNING id)"
+          + " SELECT id FROM input WHERE id NOT IN (SELECT id FROM updated)"
+          + " AND id NOT IN (SELECT id FROM inserted)";
+    } else {
+      sql = "INSERT INTO " + schemaTable + " (id, jsonb) " + input;
+    }
+    Future<Void> future = Future.succeededFuture();
+    if (upsert) {
+      String selectForUpdate = "SELECT id FROM " + schemaTable + " WHERE id = ANY($1) ORDER BY id FOR UPDATE";
+      future = pgConnection.preparedQuery(selectForUpdate).execute(Tuple.of(ids)).mapEmpty();
+    }
+    for (int from = 0; from < ids.length; from += chunkSize) {
+      int to = Math.min(ids.length, from + chunkSize);
+      UUID[] chunkIds = Arrays.copyOfRange(ids, from, to);
+      JsonObject[] chunkJsonbs = Arrays.copyOfRange(jsonbs, from, to);
+      if (upsert) {
+        future = future.compose(x -> upsertChunk(sql, chunkIds, chunkJsonbs, BULK_UPSERT_RETRIES));
+      } else {
+        Tuple tuple = Tuple.of(chunkIds, chunkJsonbs);
+        future = future.compose(x -> pgConnection.preparedQuery(sql).execute(tuple).<Void>mapEmpty());
+      }
+    }
+    return future
+        .onComplete(recordQuery("bulkSave", table, start))
+        .onSuccess(invalidateTotalRecords(table))
+        .onSuccess(x -> log.debug(() -> durationMsg("bulkSave", table, start)))
+        .onFailure(e -> {
+          log.error("bulkSave size=" + ids.length + " " + e.getMessage(), e);
+          log.debug(() -> durationMsg("bulkSaveFailed", table, start));
+        });
+  }
+
+  /**
+   * Execute the upsert sql of a chunk, it returns the ids that have been neither updated nor inserted:
+   * A concurrent transaction has inserted them and ON CONFLICT DO NOTHING has skipped them. Retry
+   * these ids only, the retry updates them. No unique violation aborts the transaction, therefore
+   * no savepoint (subtransaction) is needed.
+   */
+  private Future<Void> upsertChunk(String sql, UUID[] ids, JsonObject[] jsonbs, int retries) {
+    return pgConnection.preparedQuery(sql).execute(Tuple.of(ids, jsonbs))
+        .compose(rowSet -> {
+          if (rowSet.rowCount() == 0) {
+            return Future.succeededFuture();
+          }
+          if (retries <= 0) {
+            return Future.failedFuture(new IllegalStateException(
+                "bulkUpsert: concurrent inserts, " + rowSet.rowCount() + " records not upserted"));
+          }
+          log.debug("bulkUpsert: concurrent insert, retrying {} records", rowSet.rowCount());
+          Set<UUID> skipped = new HashSet<>();
+          rowSet.forEach(row -> skipped.add(row.getUUID(0)));
+          List<UUID> retryIds = new ArrayList<>();
+          List<JsonObject> retryJsonbs = new ArrayList<>();
+          for (int i = 0; i < ids.length; i++) {
+            if (skipped.contains(ids[i])) {
+              retryIds.add(ids[i]);
+              retryJsonbs.add(jsonbs[i]);
+            }
+          }
+          return upsertChunk(sql, retryIds.toArray(new UUID[0]), retryJsonbs.toArray(new JsonObject[0]),
+              retries - 1);
+        });
+  }
+
   private Future<RowSet<Row>> updateBatchInternal(String table, List<Tuple> batch) {
-    long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+    long start = System.nanoTime();
     log.info("starting: updateBatchInternal size=" + batch.size());
     String sql = "UPDATE " + postgresClient.getSchemaName() + "." + table
         + " SET jsonb = $1 WHERE id = ($1::jsonb->>'id')::uuid";
     return pgConnection.preparedQuery(sql).executeBatch(batch)
+    .onComplete(recordQuery("updateBatch", table, start))
+    .onSuccess(invalidateTotalRecords(table))
     .onSuccess(x -> log.debug(() -> durationMsg("updateBatch", table, start)))
     .onFailure(e -> {
       log.error("updateBatch size=" + batch.size() + ", " + e.getMessage(), e);
@@ -590,12 +826,14 @@ public class Conn {
       String whereClause, boolean returnUpdatedIds) {
 
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String sql = "UPDATE " + postgresClient.getSchemaName() + "." + table
           + " SET " + jsonbField + " = $1::jsonb " + whereClause
           + (returnUpdatedIds ? " RETURNING id" : "");
       log.debug("update query = {}", sql);
       return pgConnection.preparedQuery(sql).execute(Tuple.of(PostgresClient.pojo2JsonObject(entity)))
+      .onComplete(recordQuery("update", table, start))
+      .onSuccess(invalidateTotalRecords(table))
       .onComplete(query -> log.debug(() -> durationMsg("update", table, start)))
       .onFailure(e -> log.error(e.getMessage(), e));
     } catch (Exception e) {
@@ -712,7 +950,7 @@ public class Conn {
    */
   public Future<RowSet<Row>> update(String table, UpdateSection section, Criterion when, boolean returnUpdatedIds) {
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String value = section.getValue().replace("'", "''");
       String where = when == null ? "" : when.toString();
       String returning = returnUpdatedIds ? " RETURNING id" : "";
@@ -723,6 +961,8 @@ public class Conn {
           + where + returning;
       log.debug("update query = {}", sql);
       return pgConnection.preparedQuery(sql).execute()
+      .onComplete(recordQuery("update", table, start))
+      .onSuccess(invalidateTotalRecords(table))
       .onComplete(query -> log.debug(() -> durationMsg("update", table, start)))
       .onFailure(e -> log.error(e.getMessage(), e));
     } catch (Exception e) {
@@ -733,10 +973,12 @@ public class Conn {
 
   private Future<RowSet<Row>> doDelete(String table, String where) {
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String sql = "DELETE FROM " + postgresClient.getSchemaName() + "." + table + " " + where;
       log.debug("doDelete query = {}", sql);
       return pgConnection.preparedQuery(sql).execute()
+          .onComplete(recordQuery("delete", table, start))
+          .onSuccess(invalidateTotalRecords(table))
           .onFailure(e -> log.error(e.getMessage(), e))
           .onComplete(done -> log.debug(() -> durationMsg("delete", table, start)));
     } catch (Exception e) {
@@ -755,7 +997,8 @@ public class Conn {
     try {
       return pgConnection.preparedQuery(
           "DELETE FROM " + postgresClient.getSchemaName() + "." + table + " WHERE id=$1")
-          .execute(Tuple.of(UUID.fromString(id)));
+          .execute(Tuple.of(UUID.fromString(id)))
+          .onSuccess(invalidateTotalRecords(table));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       return Future.failedFuture(e);
@@ -770,11 +1013,13 @@ public class Conn {
    */
   public Future<RowSet<Row>> delete(String table, Object entity) {
     try {
-      long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+      long start = System.nanoTime();
       String sql = "DELETE FROM " + postgresClient.getSchemaName() + "." + table
           + " WHERE jsonb @> $1";
       log.debug("delete by entity, query = {}; $1 = {}", sql, entity);
       return pgConnection.preparedQuery(sql).execute(Tuple.of(PostgresClient.pojo2JsonObject(entity)))
+          .onComplete(recordQuery("delete", table, start))
+          .onSuccess(invalidateTotalRecords(table))
           .onFailure(e -> log.error(e.getMessage(), e))
           .onComplete(done -> log.debug(() -> durationMsg("delete", table, start)));
     } catch (Exception e) {
@@ -931,6 +1176,47 @@ public class Conn {
     return get(table, clazz, PostgresClient.DEFAULT_JSONB_FIELD_NAME, filter, returnCount, false, null, null);
   }
 
+  /**
+   * Returns a page of the records selected by the CQL query of the {@link CQLWrapper} filter
+   * using keyset pagination, see {@link Keyset}.
+   *
+   * <p>Doesn't calculate totalRecords. {@link Results#getNextToken()} is the token for the next page,
+   * null if this is the last page.
+   *
+   * @param table - table to query
+   * @param clazz - class of objects to be returned
+   * @param filter - CQL query and limit (page size), the offset is ignored
+   * @param token - the {@link Results#getNextToken()} of the previous page, null for the first page
+   */
+  public <T> Future<Results<T>> getWithKeyset(String table, Class<T> clazz, CQLWrapper filter, String token) {
+    try {
+      Keyset keyset = new Keyset(filter);
+      Tuple params = Tuple.tuple();
+      String sql = keyset.selectSql(PostgresClient.DEFAULT_JSONB_FIELD_NAME,
+          postgresClient.getSchemaName() + "." + table, token, params);
+      return execute(sql, params).map(rowSet -> {
+        int limit = keyset.getLimit();
+        Results<T> results = postgresClient.processResults(rowSet, null, 0, limit, clazz);
+        List<T> list = results.getResults();
+        if (limit >= 0 && list.size() > limit) {
+          // the extra record indicates that there is a next page
+          list.subList(limit, list.size()).clear();
+          if (limit > 0) {
+            RowIterator<Row> iterator = rowSet.iterator();
+            for (int i = 1; i < limit; i++) {
+              iterator.next();
+            }
+            results.setNextToken(keyset.token(iterator.next()));
+          }
+        }
+        return results;
+      });
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
   /**
    * Stream records selected by CQLWrapper.
    *
@@ -1107,4 +1393,19 @@ public class Conn {
     }
   }
 
+  /**
+   * The current WAL write position of the write instance, for example {@code 16/B374D848}.
+   *
+   * <p>Take it after a write and pass it to {@link PostgresClient#withReadConn(String, java.util.function.Function)}
+   * so that a following read sees the write (read-your-writes) even if a read replica serves the read.
+   * Within a transaction this is a position before the commit, take it after the transaction has been committed.
+   * RMB doesn't take it automatically, a read without this token may miss the write.
+   *
+   * @return the session LSN token
+   */
+  public Future<String> getCurrentLsn() {
+    return execute("SELECT pg_current_wal_lsn()::text")
+        .map(rowSet -> rowSet.iterator().next().getString(0));
+  }
+
 }
@@ -2,6 +2,7 @@ package org.folio.rest.persist;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -10,20 +11,26 @@ import io.vertx.core.Promise;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -45,6 +52,7 @@ import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
 import org.folio.rest.jaxrs.model.Diagnostic;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.facets.FacetManager;
+import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.jaxrs.model.ResultInfo;
 import org.z3950.zing.cql.CQLDefaultNodeVisitor;
 import org.z3950.zing.cql.CQLNode;
@@ -76,6 +84,15 @@ public final class PgUtil {
       + "x is 0-9, a-f or A-F.";
   /** This is the name of the column used by all modules to store actual data */
   private static final String JSON_COLUMN = "jsonb";
+  /** jsonb passthrough: the pg client returns the text as String without decoding it into a JsonObject */
+  private static final String JSON_COLUMN_AS_TEXT = JSON_COLUMN + "::text AS " + JSON_COLUMN;
+  /**
+   * Header to opt into reading from the asynchronously replicated reader instance (DB_HOST_READER_ASYNC)
+   * if its value is {@code true}: get and streamGet may return stale data. It has the x-okapi prefix
+   * because RMB passes only those headers in okapiHeaders; a module may also put it into okapiHeaders
+   * of an API that accepts stale data.
+   */
+  public static final String ASYNC_READ_HEADER = "X-Okapi-Async-Read";
   /** mapper between JSON and Java instance (POJO) */
   private static final ObjectMapper OBJECT_MAPPER = ObjectMapperTool.getMapper();
   /**
@@ -121,8 +138,55 @@ public final class PgUtil {
    */
   private static final Pattern KEY_STILL_REFERENCED_PATTERN = Pattern.compile(
       "^Key [(]([^=]+)[)]=[(](.*)[)] is still referenced from table \"(.*)\".$");
+  /** Public methods by class, name and parameter types, an empty Optional if not found */
+  private static final ClassValue<Map<MethodKey, Optional<Method>>> METHODS = new ClassValue<>() {
+    @Override
+    protected Map<MethodKey, Optional<Method>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+  /** The set...(java.util.List) method of a collection class, see {@link #getListSetter(Class)} */
+  private static final ClassValue<Optional<Method>> LIST_SETTERS = new ClassValue<>() {
+    @Override
+    protected Optional<Method> computeValue(Class<?> type) {
+      return findListSetter(type);
+    }
+  };
+  /** The JSON property name of the list of a collection class, see {@link #getListProperty(Class)} */
+  private static final ClassValue<Optional<String>> LIST_PROPERTIES = new ClassValue<>() {
+    @Override
+    protected Optional<String> computeValue(Class<?> type) {
+      return LIST_SETTERS.get(type).map(setList -> findListProperty(type, setList));
+    }
+  };
+  /** The HeadersFor201 class of a ResponseDelegate class */
+  private static final ClassValue<Optional<Class<?>>> HEADERS_FOR_201_CLASSES = new ClassValue<>() {
+    @Override
+    protected Optional<Class<?>> computeValue(Class<?> type) {
+      return Arrays.stream(type.getClasses())
+          .filter(declaredClass -> declaredClass.getName().endsWith("$HeadersFor201"))
+          .findFirst();
+    }
+  };
+  /** The no-args constructor of a collection class, null if there is none */
+  private static final ClassValue<Constructor<?>> NO_ARG_CONSTRUCTORS = new ClassValue<>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      try {
+        return type.getDeclaredConstructor();
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+  };
+
   /** Number of records to read from the sort index in getWithOptimizedSql and generateOptimizedSql method */
   private static int optimizedSqlSize = 10000;
+  /** Whether get and streamGet write the jsonb of the records without converting them into POJOs */
+  private static boolean jsonbPassthrough = false;
+  /** default of {@link #setStreamWriteQueueMaxSize(int)}, same as Netty's default high water mark */
+  public static final int DEFAULT_STREAM_WRITE_QUEUE_MAX_SIZE = 64 * 1024;
+  private static int streamWriteQueueMaxSize = DEFAULT_STREAM_WRITE_QUEUE_MAX_SIZE;
 
   private PgUtil() {
     throw new UnsupportedOperationException("Cannot instantiate utility class.");
@@ -220,6 +284,21 @@ public final class PgUtil {
     }
   }
 
+  /**
+   * Create a Response with status and headers of valueMethod(null) and the JSON text json as entity:
+   * valueMethod can't take json because its parameter type is the collection class.
+   * On exception create a Response using failResponseMethod(String exceptionMessage).
+   * If that also throws an exception create a failed future.
+   */
+  static Future<Response> jsonResponse(String json, Method valueMethod, Method failResponseMethod) {
+    try {
+      Response response = (Response) valueMethod.invoke(null, (Object) null);
+      return Future.succeededFuture(Response.fromResponse(response).entity(json).build());
+    } catch (Exception e) {
+      return response(e, failResponseMethod);
+    }
+  }
+
   /**
    * Return a Response using responseMethod() wrapped in a succeeded future.
    *
@@ -262,16 +341,8 @@ public final class PgUtil {
    * @return the found method, or null if not found
    */
   static Method respond422method(Class<? extends ResponseDelegate> clazz) {
-    // this loop is 20 times faster than getMethod(...) if the method doesn't exist
-    // because it avoids the Exception that getMethod(...) throws.
-    for (Method method : clazz.getMethods()) {
-      if (method.getName().equals(RESPOND_422_WITH_APPLICATION_JSON)
-          && method.getParameterCount() == 1
-          && method.getParameters()[0].getType().equals(Errors.class)) {
-        return method;
-      }
-    }
-    return null;
+    // findMethod avoids the Exception that getMethod(...) throws if the method doesn't exist
+    return findMethod(clazz, RESPOND_422_WITH_APPLICATION_JSON, Errors.class);
   }
 
   /**
@@ -406,16 +477,16 @@ public final class PgUtil {
       Class<? extends ResponseDelegate> clazz) {
         final Method respond500;
     try {
-      respond500 = clazz.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(clazz, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
     }
 
     try {
-      Method respond204 = clazz.getMethod(RESPOND_204);
-      Method respond400 = clazz.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
-      Method respond404 = clazz.getMethod(RESPOND_404_WITH_TEXT_PLAIN, Object.class);
+      Method respond204 = getMethod(clazz, RESPOND_204);
+      Method respond400 = getMethod(clazz, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      Method respond404 = getMethod(clazz, RESPOND_404_WITH_TEXT_PLAIN, Object.class);
       if (! UuidUtil.isUuid(id)) {
         return responseInvalidUuid(table + ".id", id, clazz, respond400, respond500);
       }
@@ -477,32 +548,115 @@ public final class PgUtil {
    * @throws NoSuchMethodException if not found
    */
   static <C> Method getListSetter(Class<C> collectionClass) throws NoSuchMethodException {
+    Method listSetter = LIST_SETTERS.get(collectionClass).orElse(null);
+    if (listSetter == null) {
+      throw new NoSuchMethodException(collectionClass.getName() + " must have a set...(java.util.List<>) method.");
+    }
+    return listSetter;
+  }
+
+  private static Optional<Method> findListSetter(Class<?> collectionClass) {
     for (Method method : collectionClass.getMethods()) {
       Class<?> [] parameterTypes = method.getParameterTypes();
 
       if (method.getName().startsWith("set")
           && parameterTypes.length == 1
           && parameterTypes[0].equals(List.class)) {
-        return method;
+        return Optional.of(method);
       }
     }
-
-    throw new NoSuchMethodException(collectionClass.getName() + " must have a set...(java.util.List<>) method.");
+    return Optional.empty();
   }
 
   private static <T, C> C collection(Class<C> collectionClazz, List<T> list, Integer totalRecords)
       throws ReflectiveOperationException {
 
     Method setList = getListSetter(collectionClazz);
-    C collection = collectionClazz.getDeclaredConstructor().newInstance();
+    Constructor<?> constructor = NO_ARG_CONSTRUCTORS.get(collectionClazz);
+    if (constructor == null) {
+      throw new NoSuchMethodException(collectionClazz.getName() + ".<init>()");
+    }
+    C collection = collectionClazz.cast(constructor.newInstance());
     setList.invoke(collection, list);
     if (totalRecords != null) {
-      Method setTotalRecords = collectionClazz.getMethod("setTotalRecords", Integer.class);
+      Method setTotalRecords = getMethod(collectionClazz, "setTotalRecords", Integer.class);
       setTotalRecords.invoke(collection, totalRecords);
     }
     return collection;
   }
 
+  /**
+   * The JSON property name of the list of the collection class, for example "users" for
+   * UserdataCollection.
+   *
+   * @param collectionClass  class with a set...(java.util.List&lt;&gt;) method
+   * @return the property name
+   * @throws NoSuchMethodException if there is no list setter
+   */
+  static String getListProperty(Class<?> collectionClass) throws NoSuchMethodException {
+    String listProperty = LIST_PROPERTIES.get(collectionClass).orElse(null);
+    if (listProperty == null) {
+      getListSetter(collectionClass);  // throws NoSuchMethodException
+    }
+    return listProperty;
+  }
+
+  private static String findListProperty(Class<?> collectionClass, Method setList) {
+    for (BeanPropertyDefinition property : OBJECT_MAPPER.getSerializationConfig()
+        .introspect(OBJECT_MAPPER.constructType(collectionClass)).findProperties()) {
+      if (property.hasSetter() && setList.equals(property.getSetter().getAnnotated())) {
+        return property.getName();
+      }
+    }
+    return StringUtils.uncapitalize(setList.getName().substring(3));
+  }
+
+  /**
+   * The JSON of a collection with the records as they are stored in the jsonb column.
+   *
+   * @param listProperty  JSON property name of the records array
+   * @param list  the JSON text of the records, null elements become JSON null
+   * @param totalRecords  value for the totalRecords property, null to omit it
+   * @return <code>{"listProperty":[...],"totalRecords":totalRecords}</code>
+   */
+  static String jsonbCollection(String listProperty, List<String> list, Integer totalRecords) {
+    int length = 64;
+    for (String record : list) {
+      length += record == null ? 5 : record.length() + 1;
+    }
+    StringBuilder json = new StringBuilder(length);
+    json.append("{\"").append(listProperty).append("\":[");
+    for (int i = 0; i < list.size(); i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      String record = list.get(i);
+      json.append(record == null ? "null" : record);
+    }
+    json.append(']');
+    if (totalRecords != null) {
+      json.append(",\"totalRecords\":").append(totalRecords);
+    }
+    return json.append('}').toString();
+  }
+
+  private static String encode(Object item) {
+    if (item instanceof String) {
+      // jsonb passthrough, the JSON text of the jsonb column
+      return (String) item;
+    }
+    if (item instanceof JsonObject) {
+      // jsonb passthrough with facets, the facet query needs the jsonb type
+      return ((JsonObject) item).encode();
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(item);
+    } catch (JsonProcessingException ex) {
+      logger.error(ex.getMessage(), ex);
+      throw new IllegalArgumentException(ex.getCause());
+    }
+  }
+
   private static void streamTrailer(HttpServerResponse response, ResultInfo resultInfo) {
     response.write("],\n");
     if (resultInfo.getTotalRecords() != null) {
@@ -511,15 +665,22 @@ public final class PgUtil {
     response.end("  \"resultInfo\": " + Json.encode(resultInfo) + "\n}");
   }
 
-  private static <T> void streamGetResult(PostgresClientStreamResult<T> result,
+  static <T> void streamGetResult(PostgresClientStreamResult<T> result,
     String element, HttpServerResponse response) {
     response.setStatusCode(200);
     response.setChunked(true);
     response.putHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+    response.setWriteQueueMaxSize(streamWriteQueueMaxSize);
     response.write("{\n");
     response.write(String.format("  \"%s\": [%n", element));
     AtomicBoolean first = new AtomicBoolean(true);
+    // flow control: stop fetching rows while the client doesn't consume the written ones
+    response.drainHandler(drain -> result.resume());
+    response.closeHandler(close -> result.cancel(new IllegalStateException("HTTP connection closed")));
     result.exceptionHandler(res -> {
+      if (response.closed()) {
+        return;
+      }
       String message = res.getMessage();
       List<Diagnostic> diag = new ArrayList<>();
       diag.add(new Diagnostic().withCode("500").withMessage(message));
@@ -528,19 +689,16 @@ public final class PgUtil {
     });
     result.endHandler(res -> streamTrailer(response, result.resultInfo()));
     result.handler(res -> {
-      String itemString = null;
-      try {
-        itemString = OBJECT_MAPPER.writeValueAsString(res);
-      } catch (JsonProcessingException ex) {
-        logger.error(ex.getMessage(), ex);
-        throw new IllegalArgumentException(ex.getCause());
-      }
+      String itemString = encode(res);
       if (first.get()) {
         first.set(false);
       } else {
         response.write(String.format(",%n"));
       }
       response.write(itemString);
+      if (response.writeQueueFull()) {
+        result.pause();
+      }
     });
   }
 
@@ -739,22 +897,47 @@ public final class PgUtil {
 
     HttpServerResponse response = routingContext.response();
     PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
-    postgresClient.streamGet(table, clazz, JSON_COLUMN, filter, true, null,
-      facetList, queryTimeout, reply -> {
-        if (reply.failed()) {
-          String message = PgExceptionUtil.badRequestMessage(reply.cause());
-          if (message == null) {
-            message = reply.cause().getMessage();
-          }
-          message = message + ": " + filter.getQuery();
-          logger.error(message, reply.cause());
-          response.setStatusCode(400);
-          response.putHeader(HttpHeaders.CONTENT_TYPE, "text/plain");
-          response.end(message);
-          return;
+    boolean asyncRead = isAsyncRead(okapiHeaders);
+    if (! jsonbPassthrough) {
+      streamGet(postgresClient, asyncRead, table, clazz, JSON_COLUMN, filter, facetList, element, queryTimeout,
+          response);
+    } else if (facetList == null || facetList.isEmpty()) {
+      streamGet(postgresClient, asyncRead, table, String.class, JSON_COLUMN_AS_TEXT, filter, facetList, element,
+          queryTimeout, response);
+    } else {
+      // the facet query template needs the jsonb type
+      streamGet(postgresClient, asyncRead, table, JsonObject.class, JSON_COLUMN, filter, facetList, element,
+          queryTimeout, response);
+    }
+  }
+
+  @SuppressWarnings("squid:S107")     // Method has >7 parameters
+  private static <T> void streamGet(PostgresClient postgresClient, boolean asyncRead, String table, Class<T> clazz,
+      String fieldName, CQLWrapper filter, List<FacetField> facetList, String element, int queryTimeout,
+      HttpServerResponse response) {
+
+    Handler<AsyncResult<PostgresClientStreamResult<T>>> replyHandler = reply -> {
+      if (reply.failed()) {
+        String message = PgExceptionUtil.badRequestMessage(reply.cause());
+        if (message == null) {
+          message = reply.cause().getMessage();
         }
-        streamGetResult(reply.result(), element, response);
-      });
+        message = message + ": " + filter.getQuery();
+        logger.error(message, reply.cause());
+        response.setStatusCode(400);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, "text/plain");
+        response.end(message);
+        return;
+      }
+      streamGetResult(reply.result(), element, response);
+    };
+    if (asyncRead) {
+      postgresClient.streamGetAsyncRead(table, clazz, fieldName, filter, true, null,
+          facetList, queryTimeout, replyHandler);
+    } else {
+      postgresClient.streamGet(table, clazz, fieldName, filter, true, null,
+          facetList, queryTimeout, replyHandler);
+    }
   }
 
   /**
@@ -864,7 +1047,7 @@ public final class PgUtil {
       logger.error(e.getMessage(), e);
       final Method respond500;
       try {
-        respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+        respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
       } catch (Exception e2) {
         logger.error(e2.getMessage(), e2);
         return response(e2.getMessage(), null, null);
@@ -880,22 +1063,44 @@ public final class PgUtil {
 
     final Method respond500;
     try {
-      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
     }
 
     try {
-      Method respond200 = responseDelegateClass.getMethod(RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
-      Method respond400 = responseDelegateClass.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      Method respond200 = getMethod(responseDelegateClass, RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
+      Method respond400 = getMethod(responseDelegateClass, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
 
       Promise<Response> promise = Promise.promise();
 
       PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
       CQLWrapper cqlWrapper = preparedCql.getCqlWrapper();
       boolean returnCount = cqlWrapper.hasReturnCount();
-      postgresClient.get(preparedCql.getTableName(), clazz, cqlWrapper, returnCount, reply -> {
+      if (jsonbPassthrough) {
+        String listProperty = getListProperty(collectionClazz);
+        getResults(postgresClient, preparedCql.getTableName(), String.class, JSON_COLUMN_AS_TEXT, cqlWrapper,
+            returnCount, okapiHeaders)
+        .onComplete(reply -> {
+          if (reply.failed()) {
+            String message = PgExceptionUtil.badRequestMessage(reply.cause());
+            if (message == null) {
+              message = reply.cause().getMessage();
+            }
+            logger.error(message, reply.cause());
+            response(message, respond400, respond500).onComplete(promise);
+            return;
+          }
+          String json = jsonbCollection(listProperty, reply.result().getResults(),
+              reply.result().getResultInfo().getTotalRecords());
+          jsonResponse(json, respond200, respond500).onComplete(promise);
+        });
+        return promise.future();
+      }
+      getResults(postgresClient, preparedCql.getTableName(), clazz, JSON_COLUMN, cqlWrapper, returnCount,
+          okapiHeaders)
+      .onComplete(reply -> {
         try {
           if (reply.failed()) {
             String message = PgExceptionUtil.badRequestMessage(reply.cause());
@@ -921,6 +1126,85 @@ public final class PgUtil {
     }
   }
 
+  /**
+   * Get a page of the records by CQL using keyset pagination: Unlike offset pagination deep pages are
+   * as fast as the first page. See {@link org.folio.rest.persist.cql.Keyset}.
+   *
+   * <p>The collection class must have a {@code setNextToken(String)} method; it gets the token for
+   * the next page, or null if this is the last page. totalRecords is not calculated.
+   *
+   * @param table  the table that contains the records
+   * @param clazz  the class of the record type T
+   * @param collectionClazz  the class of the collection type C containing records of type T
+   * @param cql  the CQL query for filtering and sorting the records
+   * @param token  the nextToken of the previous page, null for the first page
+   * @param limit  maximum number of records to return (page size)
+   * @param okapiHeaders  http headers provided by okapi
+   * @param vertxContext  the current context
+   * @param responseDelegateClass  the ResponseDelegate class generated as defined by the RAML file,
+   *    must have these methods: respond200(C), respond400WithTextPlain(Object), respond500WithTextPlain(Object).
+   * @return future  where to return the result created by the responseDelegateClass
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  public static <T, C> Future<Response> getWithKeyset(String table, Class<T> clazz, Class<C> collectionClazz,
+      String cql, String token, int limit,
+      Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
+    final Method respond500;
+    try {
+      respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
+      return response(e.getMessage(), null, null);
+    }
+
+    try {
+      Method respond200 = getMethod(responseDelegateClass, RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
+      Method respond400 = getMethod(responseDelegateClass, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      Method setNextToken = getMethod(collectionClazz, "setNextToken", String.class);
+      CQL2PgJSON cql2pgJson = new CQL2PgJSON(table + "." + JSON_COLUMN);
+      CQLWrapper cqlWrapper = new CQLWrapper(cql2pgJson, cql, limit, -1);
+      return postgresClient(vertxContext, okapiHeaders).getWithKeyset(table, clazz, cqlWrapper, token)
+      .compose(results -> {
+        try {
+          C collection = collection(collectionClazz, results.getResults(), null);
+          setNextToken.invoke(collection, results.getNextToken());
+          return response(collection, respond200, respond500);
+        } catch (Exception e) {
+          logger.error(e.getMessage(), e);
+          return response(e.getMessage(), respond500, respond500);
+        }
+      }, e -> {
+        String message = PgExceptionUtil.badRequestMessage(e);
+        if (message == null) {
+          message = e.getMessage();
+        }
+        logger.error(message, e);
+        return response(message, respond400, respond500);
+      });
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
+      return response(e.getMessage(), respond500, respond500);
+    }
+  }
+
+  /**
+   * Get a page of the records by CQL using keyset pagination.
+   * See {@link #getWithKeyset(String, Class, Class, String, String, int, Map, Context, Class)}.
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  public static <T, C> void getWithKeyset(String table, Class<T> clazz, Class<C> collectionClazz,
+      String cql, String token, int limit,
+      Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass,
+      Handler<AsyncResult<Response>> asyncResultHandler) {
+
+    getWithKeyset(table, clazz, collectionClazz, cql, token, limit,
+        okapiHeaders, vertxContext, responseDelegateClass)
+    .onComplete(asyncResultHandler);
+  }
+
   /**
    * Delete records by CQL.
    * @param table  the table that contains the records
@@ -956,7 +1240,7 @@ public final class PgUtil {
 
     final Method respond500;
     try {
-      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
@@ -965,8 +1249,8 @@ public final class PgUtil {
     final Method respond400;
     final Method respond204;
     try {
-      respond400 = responseDelegateClass.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
-      respond204 = responseDelegateClass.getMethod(RESPOND_204);
+      respond400 = getMethod(responseDelegateClass, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      respond204 = getMethod(responseDelegateClass, RESPOND_204);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), respond500, respond500);
@@ -1049,14 +1333,14 @@ public final class PgUtil {
 
     final Method respond500;
     try {
-      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
     }
     try {
-      Method respond200 = responseDelegateClass.getMethod(RESPOND_200_WITH_APPLICATION_JSON, clazz);
-      Method respond404 = responseDelegateClass.getMethod(RESPOND_404_WITH_TEXT_PLAIN, Object.class);
+      Method respond200 = getMethod(responseDelegateClass, RESPOND_200_WITH_APPLICATION_JSON, clazz);
+      Method respond404 = getMethod(responseDelegateClass, RESPOND_404_WITH_TEXT_PLAIN, Object.class);
       if (! UuidUtil.isUuid(id)) {
         return responseInvalidUuid(table + ".id", id, responseDelegateClass, respond404, respond500);
       }
@@ -1088,7 +1372,7 @@ public final class PgUtil {
    * <p>Use reflection, the POJOs don't have a interface/superclass in common.
    */
   private static <T> Object getId(T entity) throws ReflectiveOperationException {
-    return entity.getClass().getMethod("getId").invoke(entity);
+    return getMethod(entity.getClass(), "getId").invoke(entity);
   }
 
   /**
@@ -1099,7 +1383,7 @@ public final class PgUtil {
    * @param id  the new id value
    */
   private static <T> void setId(T entity, String id) throws ReflectiveOperationException {
-    entity.getClass().getMethod("setId", String.class).invoke(entity, id);
+    getMethod(entity.getClass(), "setId", String.class).invoke(entity, id);
   }
 
   /**
@@ -1129,20 +1413,64 @@ public final class PgUtil {
   private static <T> Method getResponse201Method(Class<? extends ResponseDelegate> clazz, Class<T> entityClass,
       Class<?> headersFor201Class) throws NoSuchMethodException {
 
-    for (Method method : clazz.getMethods()) {
-      if (! method.getName().equals(RESPOND_201_WITH_APPLICATION_JSON)) {
-        continue;
+    MethodKey key = new MethodKey(RESPOND_201_WITH_APPLICATION_JSON, true, entityClass, headersFor201Class);
+    Method method = METHODS.get(clazz).computeIfAbsent(key, k -> findAssignableMethod(clazz, k)).orElse(null);
+    if (method == null) {
+      throw new NoSuchMethodException(RESPOND_201_WITH_APPLICATION_JSON
+          + "(" + entityClass.getName() + ", " + headersFor201Class.getName() + ") not found in "
+          + clazz.getCanonicalName());
+    }
+    return method;
+  }
+
+  /**
+   * Cached {@link Class#getMethod(String, Class...)}.
+   *
+   * @throws NoSuchMethodException if not found
+   */
+  static Method getMethod(Class<?> clazz, String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+    Method method = findMethod(clazz, name, parameterTypes);
+    if (method == null) {
+      throw new NoSuchMethodException(clazz.getName() + "." + name + Arrays.stream(parameterTypes)
+          .map(type -> type == null ? "null" : type.getName())
+          .collect(Collectors.joining(", ", "(", ")")));
+    }
+    return method;
+  }
+
+  /**
+   * Cached {@link Class#getMethod(String, Class...)} without exception.
+   *
+   * @return the method, or null if not found
+   */
+  static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+    return METHODS.get(clazz).computeIfAbsent(new MethodKey(name, false, parameterTypes), key -> {
+      try {
+        return Optional.of(clazz.getMethod(name, parameterTypes));
+      } catch (NoSuchMethodException e) {
+        return Optional.empty();
       }
-      Class<?> [] parameterType = method.getParameterTypes();
-      if (parameterType.length == 2
-          && parameterType[0].isAssignableFrom(entityClass)
-          && parameterType[1].isAssignableFrom(headersFor201Class)) {
-        return method;
+    }).orElse(null);
+  }
+
+  /**
+   * The public method where the parameter types are assignable from key's parameter types.
+   */
+  private static Optional<Method> findAssignableMethod(Class<?> clazz, MethodKey key) {
+    for (Method method : clazz.getMethods()) {
+      if (method.getName().equals(key.name)
+          && method.getParameterCount() == key.parameterTypes.length) {
+        Class<?> [] parameterTypes = method.getParameterTypes();
+        boolean assignable = true;
+        for (int i = 0; i < parameterTypes.length; i++) {
+          assignable &= parameterTypes[i].isAssignableFrom(key.parameterTypes[i]);
+        }
+        if (assignable) {
+          return Optional.of(method);
+        }
       }
     }
-    throw new NoSuchMethodException(RESPOND_201_WITH_APPLICATION_JSON
-        + "(" + entityClass.getName() + ", " + headersFor201Class.getName() + ") not found in "
-        + clazz.getCanonicalName());
+    return Optional.empty();
   }
 
   /**
@@ -1193,27 +1521,21 @@ public final class PgUtil {
     final Method respond500;
 
     try {
-      respond500 = clazz.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(clazz, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return Future.failedFuture(e);
     }
 
     try {
-      Method headersFor201Method = clazz.getMethod("headersFor201");
-      Class<?> headersFor201Class = null;
-      for (Class<?> declaredClass : clazz.getClasses()) {
-        if (declaredClass.getName().endsWith("$HeadersFor201")) {
-          headersFor201Class = declaredClass;
-          break;
-        }
-      }
+      Method headersFor201Method = getMethod(clazz, "headersFor201");
+      Class<?> headersFor201Class = HEADERS_FOR_201_CLASSES.get(clazz).orElse(null);
       if (headersFor201Class == null) {
         throw new ClassNotFoundException("Class HeadersFor201 not found in " + clazz.getCanonicalName());
       }
-      Method withLocation = headersFor201Class.getMethod("withLocation", String.class);
+      Method withLocation = getMethod(headersFor201Class, "withLocation", String.class);
       Method respond201 = getResponse201Method(clazz, entity.getClass(), headersFor201Class);
-      Method respond400 = clazz.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      Method respond400 = getMethod(clazz, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
 
       String id = initId(entity);
       if (! UuidUtil.isUuid(id)) {
@@ -1283,16 +1605,16 @@ public final class PgUtil {
     final Method respond500;
 
     try {
-      respond500 = clazz.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(clazz, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
     }
 
     try {
-      Method respond204 = clazz.getMethod(RESPOND_204);
-      Method respond400 = clazz.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
-      Method respond404 = clazz.getMethod(RESPOND_404_WITH_TEXT_PLAIN, Object.class);
+      Method respond204 = getMethod(clazz, RESPOND_204);
+      Method respond400 = getMethod(clazz, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      Method respond404 = getMethod(clazz, RESPOND_404_WITH_TEXT_PLAIN, Object.class);
       Method respond409 = getRespond409(clazz);
       if (! UuidUtil.isUuid(id)) {
         return responseInvalidUuid(table + ".id", id, clazz, respond400, respond500);
@@ -1332,12 +1654,9 @@ public final class PgUtil {
   }
 
   private static Method getRespond409(Class<? extends ResponseDelegate> clazz) {
-    Method respond409;
-    try {
-      respond409 = clazz.getMethod(RESPOND_409_WITH_TEXT_PLAIN, Object.class);
-    } catch (NoSuchMethodException e) {
+    Method respond409 = findMethod(clazz, RESPOND_409_WITH_TEXT_PLAIN, Object.class);
+    if (respond409 == null) {
       logger.warn("Response 409 is not defined for class " + clazz);
-      respond409 = null;
     }
     return respond409;
   }
@@ -1433,16 +1752,16 @@ public final class PgUtil {
     final Method respond500;
 
     try {
-      respond500 = responseClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(responseClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
     }
 
     try {
-      Method respond201 = responseClass.getMethod(RESPOND_201);
+      Method respond201 = getMethod(responseClass, RESPOND_201);
       Method respond409 = getRespond409(responseClass);
-      Method respond413 = responseClass.getMethod(RESPOND_413_WITH_TEXT_PLAIN, Object.class);
+      Method respond413 = getMethod(responseClass, RESPOND_413_WITH_TEXT_PLAIN, Object.class);
       if (entities != null && entities.size() > maxEntities) {
         String message = "Expected a maximum of " + maxEntities
             + " records to prevent out of memory but got " + entities.size();
@@ -1464,7 +1783,7 @@ public final class PgUtil {
 
       Promise<Response> promise = Promise.promise();
       PostgresClient postgresClient = postgresClient(vertxContext, okapiHeaders);
-      Handler<AsyncResult<RowSet<Row>>> replyHandler = result -> {
+      Handler<AsyncResult<List<String>>> replyHandler = result -> {
         if (result.failed()) {
           if (PgExceptionUtil.isVersionConflict(result.cause())) {
             Method method = respond409 == null ? respond500 : respond409;
@@ -1477,9 +1796,9 @@ public final class PgUtil {
         response(respond201, respond500).onComplete(promise);
       };
       if (upsert) {
-        postgresClient.upsertBatch(table, entities, replyHandler);
+        postgresClient.bulkUpsert(table, entities).onComplete(replyHandler);
       } else {
-        postgresClient.saveBatch(table, entities, replyHandler);
+        postgresClient.bulkSave(table, entities).onComplete(replyHandler);
       }
       return promise.future();
     } catch (Exception e) {
@@ -1536,6 +1855,38 @@ public final class PgUtil {
     return ascDesc;
   }
 
+  /**
+   * Get the records using the reader instance, or the asynchronously replicated reader instance
+   * if okapiHeaders opt into it, see {@link #ASYNC_READ_HEADER}.
+   */
+  @SuppressWarnings("squid:S107")     // Method has >7 parameters
+  private static <T> Future<Results<T>> getResults(PostgresClient postgresClient, String table, Class<T> clazz,
+      String fieldName, CQLWrapper cqlWrapper, boolean returnCount, Map<String, String> okapiHeaders) {
+
+    if (isAsyncRead(okapiHeaders)) {
+      return postgresClient.withAsyncReadConn(conn ->
+          conn.get(table, clazz, fieldName, cqlWrapper, returnCount, false, null, null));
+    }
+    return Future.future(promise ->
+        postgresClient.get(table, clazz, new String[] { fieldName }, cqlWrapper, returnCount, promise));
+  }
+
+  /**
+   * Whether okapiHeaders contain {@link #ASYNC_READ_HEADER} with value true, the header name is
+   * case insensitive.
+   */
+  static boolean isAsyncRead(Map<String, String> okapiHeaders) {
+    if (okapiHeaders == null) {
+      return false;
+    }
+    for (Map.Entry<String, String> header : okapiHeaders.entrySet()) {
+      if (ASYNC_READ_HEADER.equalsIgnoreCase(header.getKey())) {
+        return "true".equalsIgnoreCase(header.getValue());
+      }
+    }
+    return false;
+  }
+
   /**
    * Return a PostgresClient.
    * @param vertxContext  Where to get a Vertx from.
@@ -1563,6 +1914,50 @@ public final class PgUtil {
     optimizedSqlSize = size;
   }
 
+  /** Whether get and streamGet write the jsonb of the records without converting them into POJOs */
+  public static boolean isJsonbPassthrough() {
+    return jsonbPassthrough;
+  }
+
+  /**
+   * Enable or disable the jsonb passthrough mode of {@link #get(String, Class, Class, String, String, int, int,
+   * Map, Context, Class) get} and {@link #streamGet(String, Class, CQLWrapper, List, String, int, RoutingContext,
+   * Map, Context) streamGet}, default is disabled.
+   *
+   * <p>In passthrough mode the jsonb of each record is written into the response envelope
+   * <code>{"users":[...],"totalRecords":n}</code> as it is stored in the database, the records
+   * are not deserialized into the record class and serialized again. Therefore the
+   * response contains properties that the record class doesn't declare, and no defaults
+   * of the record class are applied. get takes status and headers from the respond200WithApplicationJson
+   * method of the ResponseDelegate class and returns the JSON as String entity.
+   *
+   * <p>Enable it only if the stored jsonb is exactly what the API returns.
+   *
+   * @param enable true to enable passthrough
+   */
+  public static void setJsonbPassthrough(boolean enable) {
+    jsonbPassthrough = enable;
+  }
+
+  /** The number of bytes streamGet buffers for a slow HTTP client before it pauses the database query. */
+  public static int getStreamWriteQueueMaxSize() {
+    return streamWriteQueueMaxSize;
+  }
+
+  /**
+   * Set the high water mark of {@link #streamGet(String, Class, CQLWrapper, List, String, int, RoutingContext,
+   * Map, Context) streamGet}, default is {@link #DEFAULT_STREAM_WRITE_QUEUE_MAX_SIZE}.
+   *
+   * <p>When the HTTP response has buffered more than this number of bytes streamGet stops fetching records
+   * from the database until the client has consumed the buffered bytes. Therefore the memory usage
+   * doesn't depend on the number of records.
+   *
+   * @param maxSize  maximum number of bytes
+   */
+  public static void setStreamWriteQueueMaxSize(int maxSize) {
+    streamWriteQueueMaxSize = maxSize;
+  }
+
    /**
    * Run the cql query using optimized SQL (if possible) or standard SQL.
    * <p>
@@ -1680,7 +2075,7 @@ public final class PgUtil {
 
     final Method respond500;
     try {
-      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+      respond500 = getMethod(responseDelegateClass, RESPOND_500_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), null, null);
@@ -1689,8 +2084,8 @@ public final class PgUtil {
     final Method respond200;
     final Method respond400;
     try {
-      respond200 = responseDelegateClass.getMethod(RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
-      respond400 = responseDelegateClass.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      respond200 = getMethod(responseDelegateClass, RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
+      respond400 = getMethod(responseDelegateClass, RESPOND_400_WITH_TEXT_PLAIN, Object.class);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), respond500, respond500);
@@ -1893,4 +2288,42 @@ public final class PgUtil {
       return cqlWrapper;
     }
   }
+
+  /**
+   * Key of {@link #METHODS}.
+   */
+  private static final class MethodKey {
+    private final String name;
+    /** whether the method's parameter types are assignable from parameterTypes rather than equal */
+    private final boolean assignable;
+    private final Class<?> [] parameterTypes;
+    private final int hashCode;
+
+    MethodKey(String name, boolean assignable, Class<?>... parameterTypes) {
+      this.name = name;
+      this.assignable = assignable;
+      this.parameterTypes = parameterTypes;
+      this.hashCode = 31 * (31 * name.hashCode() + Boolean.hashCode(assignable)) + Arrays.hashCode(parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MethodKey)) {
+        return false;
+      }
+      MethodKey key = (MethodKey) o;
+      return hashCode == key.hashCode
+          && assignable == key.assignable
+          && name.equals(key.name)
+          && Arrays.equals(parameterTypes, key.parameterTypes);
+    }
+  }
 }
@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -46,6 +47,9 @@ import org.folio.rest.jaxrs.model.ResultInfo;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.Criteria.UpdateSection;
 import org.folio.rest.persist.cache.CachedConnectionManager;
+import org.folio.rest.persist.count.CountQuery;
+import org.folio.rest.persist.count.EstimateTotalRecordsStrategy;
+import org.folio.rest.persist.count.TotalRecordsStrategy;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.facets.FacetManager;
@@ -53,6 +57,7 @@ import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.security.AES;
 import org.folio.rest.tools.utils.Envs;
 import org.folio.rest.tools.utils.MetadataUtil;
+import org.folio.rest.tools.utils.RmbMetrics;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.util.PostgresTester;
 
@@ -91,6 +96,8 @@ public class PostgresClient {
   static final String HOST_READER = "host_reader";
   static final String PORT = "port";
   static final String PORT_READER = "port_reader";
+  static final String READER_MAX_STALENESS = "readerMaxStaleness";
+  static final String READER_LAG_PROBE_INTERVAL = "readerLagProbeInterval";
   static final String DATABASE  = "database";
 
   /**
@@ -104,6 +111,9 @@ public class PostgresClient {
   private static boolean sharedPgPool;
 
   private static final String    ID_FIELD                 = "id";
+  /** id of the facet rows of a facet query, see templates/facets/base_facet_query.ftl */
+  static final String            FACET_ROW_ID_STRING      = "00000000-0000-0000-0000-000000000000";
+  static final UUID              FACET_ROW_ID             = UUID.fromString(FACET_ROW_ID_STRING);
 
   private static final String    POSTGRES_LOCALHOST_CONFIG = "/postgres-conf.json";
 
@@ -136,6 +146,16 @@ public class PostgresClient {
    */
   private static final Map<Vertx,PgPool> PG_POOLS_READER = new HashMap<>();
 
+  /**
+   * Used only if {@link #sharedPgPool} is true.
+   */
+  private static final Map<Vertx,PgPool> PG_POOLS_READER_ASYNC = new HashMap<>();
+
+  /**
+   * One probe per Vertx, shared by all tenants; the reader instance is the same for all tenants.
+   */
+  private static final Map<Vertx,ReplicaLagProbe> REPLICA_LAG_PROBES = new HashMap<>();
+
   /** map (Vertx, String tenantId) to PostgresClient */
   private static final MultiKeyMap<Object, PostgresClient> CONNECTION_POOL =
       MultiKeyMap.multiKeyMap(new HashedMap<>());
@@ -154,6 +174,8 @@ public class PostgresClient {
   /** analyze threshold value in milliseconds */
   private static long explainQueryThreshold = EXPLAIN_QUERY_THRESHOLD_DEFAULT;
 
+  private static volatile TotalRecordsStrategy totalRecordsStrategy = new EstimateTotalRecordsStrategy();
+
   private final Vertx vertx;
   private JsonObject postgreSQLClientConfig = null;
 
@@ -166,6 +188,15 @@ public class PostgresClient {
    * When there is no reader instance, then this client should be initialized with the writer's connection string
    */
   private PgPool readClient;
+  /**
+   * PgPool client that is initialized with the asynchronously replicated database reader instance's connection string
+   * (DB_HOST_READER_ASYNC). When there is no such instance it is the same as {@link #readClient}.
+   */
+  private PgPool asyncReadClient;
+  /** Samples the lag of {@link #readClient}, null if DB_READER_MAX_STALENESS is not configured */
+  private ReplicaLagProbe readLagProbe;
+  /** Maximum lag in milliseconds of {@link #readClient}, reads go to {@link #client} if exceeded */
+  private long readerMaxStaleness = -1;
   private final String tenantId;
   private final String schemaName;
   private PostgresClientInitializer postgresClientInitializer;
@@ -296,6 +327,30 @@ public class PostgresClient {
     return explainQueryThreshold;
   }
 
+  /**
+   * Set how get and streamGet calculate totalRecords, for example
+   * {@code new CachedTotalRecordsStrategy(Duration.ofSeconds(30))} to calculate the count only once
+   * when paging through a result set. Applies to all tenants.
+   *
+   * @param strategy  the new strategy, default is {@link EstimateTotalRecordsStrategy}
+   */
+  public static void setTotalRecordsStrategy(TotalRecordsStrategy strategy) {
+    totalRecordsStrategy = strategy;
+  }
+
+  public static TotalRecordsStrategy getTotalRecordsStrategy() {
+    return totalRecordsStrategy;
+  }
+
+  /**
+   * Notify the {@link TotalRecordsStrategy} that table of this tenant has been written.
+   *
+   * @param table  table name without schema
+   */
+  void invalidateTotalRecords(String table) {
+    totalRecordsStrategy.invalidate(schemaName, table);
+  }
+
   /**
    * Instance for the tenantId from CONNECTION_POOL, or created and
    * added to CONNECTION_POOL.
@@ -394,6 +449,26 @@ public class PostgresClient {
     this.readClient = readClient;
   }
 
+  /**
+   * This instance's PgPool for the asynchronously replicated reader instance. The data may be stale,
+   * use it only where eventually consistent data is acceptable.
+   *
+   * @see #withAsyncReadConn(Function)
+   * @see #withAsyncReadConnection(Function)
+   * @see #getReaderClient()
+   */
+  PgPool getAsyncReadClient() {
+    return asyncReadClient;
+  }
+
+  /**
+   * Set this instance's PgPool for the asynchronously replicated reader instance.
+   * @param asyncReadClient  the new client
+   */
+  void setAsyncReadClient(PgPool asyncReadClient) {
+    this.asyncReadClient = asyncReadClient;
+  }
+
   /**
    * This instance's PgPool for database connections. It is instantiated with the "write" db instance's
    * connection string and is responsible for executing all the non-read queries (upsert & delete)
@@ -437,11 +512,18 @@ public class PostgresClient {
     }
     PgPool clientToClose = client;
     PgPool readClientToClose = client == readClient ? null : readClient;
+    PgPool asyncReadClientToClose = asyncReadClient == client || asyncReadClient == readClient ? null : asyncReadClient;
     client = null;
     readClient = null;
+    asyncReadClient = null;
+    if (readLagProbe != null && ! sharedPgPool) {
+      releaseReplicaLagProbe(readLagProbe, readClientToClose);
+    }
+    readLagProbe = null;
 
     // this method may be called when Vert.x is not using event loop, so no compose. Just wait for the one!
     closeClient(clientToClose);
+    closeClient(asyncReadClientToClose);
     return closeClient(readClientToClose);
   }
 
@@ -504,6 +586,16 @@ public class PostgresClient {
 
     PG_POOLS.values().forEach(PgPool::close);
     PG_POOLS.clear();
+    synchronized (REPLICA_LAG_PROBES) {
+      REPLICA_LAG_PROBES.values().forEach(ReplicaLagProbe::close);
+      REPLICA_LAG_PROBES.clear();
+    }
+    PG_POOLS_READER_ASYNC.forEach((vertx, pool) -> {
+      if (pool != PG_POOLS_READER.get(vertx)) {
+        pool.close();
+      }
+    });
+    PG_POOLS_READER_ASYNC.clear();
     PG_POOLS_READER.values().forEach(PgPool::close);
     PG_POOLS_READER.clear();
   }
@@ -530,9 +622,32 @@ public class PostgresClient {
     if (sharedPgPool) {
       client = PG_POOLS.computeIfAbsent(vertx, x -> postgresClientInitializer.getClient());
       readClient = PG_POOLS_READER.computeIfAbsent(vertx, x -> postgresClientInitializer.getSyncReadClient());
+      asyncReadClient = PG_POOLS_READER_ASYNC.computeIfAbsent(vertx, x -> postgresClientInitializer.getAsyncReadClient());
     } else {
       client = postgresClientInitializer.getClient();
       readClient = postgresClientInitializer.getSyncReadClient();
+      asyncReadClient = postgresClientInitializer.getAsyncReadClient();
+    }
+    startReplicaLagProbe();
+  }
+
+  private void startReplicaLagProbe() {
+    readerMaxStaleness = postgreSQLClientConfig.getLong(READER_MAX_STALENESS, -1L);
+    if (readerMaxStaleness < 0 || readClient == client) {
+      return;
+    }
+    long interval = postgreSQLClientConfig.getLong(READER_LAG_PROBE_INTERVAL, ReplicaLagProbe.DEFAULT_INTERVAL);
+    synchronized (REPLICA_LAG_PROBES) {
+      readLagProbe = REPLICA_LAG_PROBES.computeIfAbsent(vertx, x -> new ReplicaLagProbe(vertx, interval));
+      readLagProbe.add(client, readClient);
+    }
+  }
+
+  private void releaseReplicaLagProbe(ReplicaLagProbe probe, PgPool pool) {
+    synchronized (REPLICA_LAG_PROBES) {
+      if (probe.remove(pool) && REPLICA_LAG_PROBES.remove(vertx, probe)) {
+        probe.close();
+      }
     }
   }
 
@@ -1237,6 +1352,37 @@ public class PostgresClient {
     upsertBatch(table, entities).onComplete(replyHandler);
   }
 
+  /**
+   * Insert a list of POJOs in a single transaction, sending chunks of
+   * {@link Conn#DEFAULT_BULK_CHUNK_SIZE} records per SQL statement.
+   * This is much faster than {@link #saveBatch(String, List)} for many records.
+   * A random id is generated if POJO's id is null.
+   * Call {@link MetadataUtil#populateMetadata(List, Map)} before if applicable.
+   * @param table  destination table to insert into
+   * @param entities  each list element is a POJO
+   * @return the ids of the records, in the order of entities
+   * @see Conn#bulkSave(String, List, int)
+   */
+  public <T> Future<List<String>> bulkSave(String table, List<T> entities) {
+    return withTrans(conn -> conn.bulkSave(table, entities));
+  }
+
+  /**
+   * Upsert a list of POJOs in a single transaction, sending chunks of
+   * {@link Conn#DEFAULT_BULK_CHUNK_SIZE} records per SQL statement.
+   * This is much faster than {@link #upsertBatch(String, List)} for many records.
+   * A random id is generated if POJO's id is null.
+   * If a record with the id already exists it is updated (upsert).
+   * Call {@link MetadataUtil#populateMetadata(List, Map)} before if applicable.
+   * @param table  destination table to upsert into
+   * @param entities  each list element is a POJO
+   * @return the ids of the records, in the order of entities
+   * @see Conn#bulkUpsert(String, List, int)
+   */
+  public <T> Future<List<String>> bulkUpsert(String table, List<T> entities) {
+    return withTrans(conn -> conn.bulkUpsert(table, entities));
+  }
+
   /***
    * Save a list of POJOs.
    * POJOs are converted to a JSON String.
@@ -1694,7 +1840,12 @@ public class PostgresClient {
   static class QueryHelper {
     String table;
     String selectQuery;
+    /** values of the $n placeholders of selectQuery */
+    Tuple selectParameters = Tuple.tuple();
+    /** estimation if there is a filter, otherwise exact */
     String countQuery;
+    /** exact count, null to use countQuery */
+    String exactCountQuery;
     int offset;
     int limit;
     public QueryHelper(String table) {
@@ -1844,6 +1995,42 @@ public class PostgresClient {
             distinctOn, facets, closeAtEnd(conn, replyHandler)));
   }
 
+  /**
+   * Like {@link #streamGet(String, Class, String, CQLWrapper, boolean, String, List, int)} but using the
+   * asynchronously replicated reader instance: The result may be stale, use it only for exports, reports
+   * and similar where eventually consistent data is acceptable.
+   *
+   * @param queryTimeout query timeout in milliseconds, or 0 for no timeout
+   * @return AsyncResult; on success with result {@link PostgresClientStreamResult}
+   */
+  @SuppressWarnings({"squid:S00107"})    // Method has >7 parameters
+  public <T> Future<PostgresClientStreamResult<T>> streamGetAsyncRead(String table, Class<T> clazz,
+      String fieldName, CQLWrapper filter, boolean returnIdField, String distinctOn,
+      List<FacetField> facets, int queryTimeout) {
+
+    return Future.future(promise -> streamGetAsyncRead(table, clazz, fieldName, filter, returnIdField,
+        distinctOn, facets, queryTimeout, promise));
+  }
+
+  /**
+   * Like {@link #streamGet(String, Class, String, CQLWrapper, boolean, String, List, int, Handler)} but using the
+   * asynchronously replicated reader instance: The result may be stale, use it only for exports, reports
+   * and similar where eventually consistent data is acceptable.
+   *
+   * @param queryTimeout query timeout in milliseconds, or 0 for no timeout
+   * @param replyHandler AsyncResult; on success with result {@link PostgresClientStreamResult}
+   */
+  @SuppressWarnings({"squid:S00107"})    // Method has >7 parameters
+  public <T> void streamGetAsyncRead(String table, Class<T> clazz, String fieldName,
+      CQLWrapper filter, boolean returnIdField, String distinctOn,
+      List<FacetField> facets, int queryTimeout,
+      Handler<AsyncResult<PostgresClientStreamResult<T>>> replyHandler) {
+
+    getSQLAsyncReadConnection(queryTimeout, conn ->
+        streamGet(conn, table, clazz, fieldName, filter, returnIdField,
+            distinctOn, facets, closeAtEnd(conn, replyHandler)));
+  }
+
   /**
    * Stream records selected by CQLWrapper.
    *
@@ -1931,8 +2118,7 @@ public class PostgresClient {
 
       Future<Integer> countQuery;
       if (wrapper == null || wrapper.hasReturnCount()) {
-        countQuery = connection.query(queryHelper.countQuery).execute()
-            .map(result -> result.iterator().next().getInteger(0));
+        countQuery = count(connection, queryHelper);
       } else {
         countQuery = Future.succeededFuture(null);
       }
@@ -1985,7 +2171,7 @@ public class PostgresClient {
       }
       PreparedStatement preparedStatement = prepareRes.result();
       RowStream<Row> rowStream = new PreparedRowStream(
-          preparedStatement, STREAM_GET_DEFAULT_CHUNK_SIZE, Tuple.tuple());
+          preparedStatement, STREAM_GET_DEFAULT_CHUNK_SIZE, queryHelper.selectParameters);
       PostgresClientStreamResult<T> streamResult = new PostgresClientStreamResult<>(resultInfo);
       doStreamRowResults(rowStream, clazz, transaction, queryHelper,
           streamResult, replyHandler);
@@ -2019,19 +2205,20 @@ public class PostgresClient {
     ResultInfo resultInfo = streamResult.resultInfo();
     Promise<PostgresClientStreamResult<T>> promise = Promise.promise();
     ResultsHelper<T> resultsHelper = new ResultsHelper<>(clazz);
-    boolean isAuditFlavored = isAuditFlavored(resultsHelper.clazz);
-    Map<String, Method> externalColumnSetters = new HashMap<>();
+    AtomicReference<RowMappingPlan> plan = new AtomicReference<>();
     AtomicInteger resultCount = new AtomicInteger();
+    streamResult.setSource(rowStream, cause -> {
+      rowStream.close();
+      closeIfNonNull(transaction).onComplete(ignore -> streamResult.fireExceptionHandler(cause));
+    });
     rowStream.handler(r -> {
       try {
         // for first row, get column names
         if (resultsHelper.offset == 0) {
-          List<String> columnNames = getColumnNames(r);
-          collectExternalColumnSetters(columnNames,
-              resultsHelper.clazz, isAuditFlavored, externalColumnSetters);
+          plan.set(RowMappingPlan.of(resultsHelper.clazz, getColumnNames(r)));
         }
         @SuppressWarnings("unchecked")
-        T objRow = (T) deserializeRow(resultsHelper, externalColumnSetters, isAuditFlavored, r);
+        T objRow = (T) deserializeRow(resultsHelper, plan.get(), r);
         if (!resultsHelper.facet) {
           resultCount.incrementAndGet();
           if (!promise.future().isComplete()) { // end of facets (if any) .. produce result
@@ -2110,10 +2297,9 @@ public class PostgresClient {
       distinctOnClause = String.format("DISTINCT ON(%s) ", distinctOn);
       countOn = String.format("DISTINCT(%s)", distinctOn);
     }
-    queryHelper.selectQuery = SELECT + distinctOnClause + fieldName + addIdField
-      + FROM + schemaName + DOT + table + SPACE + wrapper.toString();
     queryHelper.countQuery = SELECT + "COUNT(" + countOn + ")"
       + FROM + schemaName + DOT + table + SPACE + wrapper.getWhereClause();
+    queryHelper.exactCountQuery = queryHelper.countQuery;
 
     if (facets != null && !facets.isEmpty()) {
       String mainQuery = SELECT + distinctOnClause + fieldName + addIdField
@@ -2122,6 +2308,13 @@ public class PostgresClient {
       FacetManager facetManager = buildFacetManager(wrapper, queryHelper, mainQuery, facets);
       // this method call invokes freemarker templating
       queryHelper.selectQuery = facetManager.generateFacetQuery();
+    } else {
+      // bind the CQL search terms so that the prepared statement cache can reuse the
+      // statement for all queries of the same shape
+      List<Object> parameters = new ArrayList<>();
+      queryHelper.selectQuery = SELECT + distinctOnClause + fieldName + addIdField
+          + FROM + schemaName + DOT + table + SPACE + wrapper.toString(parameters);
+      queryHelper.selectParameters = Tuple.from(parameters);
     }
     int offset = wrapper.getOffset().get();
     if (offset != -1) {
@@ -2135,6 +2328,7 @@ public class PostgresClient {
     if (limit == 0) {
       // calculate exact total count without returning records
       queryHelper.countQuery = SELECT + "count(*) FROM (" + query + ") x";
+      queryHelper.exactCountQuery = queryHelper.countQuery;
     } else if (!wrapper.getWhereClause().isEmpty()) {
       // only do estimation when filter is in use (such as CQL).
       queryHelper.countQuery = SELECT + schemaName + DOT + "count_estimate('"
@@ -2150,26 +2344,43 @@ public class PostgresClient {
     long start = log.isDebugEnabled() ? System.nanoTime() : 0;
 
     log.debug("Attempting count query: " + queryHelper.countQuery);
-    return connection.query(queryHelper.countQuery).execute()
-    .compose(countQueryResult -> {
+    return count(connection, queryHelper)
+    .compose(estimatedTotal -> {
       log.debug(() -> "timer: get " + queryHelper.countQuery + " " + (System.nanoTime() - start) + " ns");
-      int estimatedTotal = countQueryResult.iterator().next().getInteger(0);
       return Future.<T>future(promise -> processQuery(connection, queryHelper, estimatedTotal, statMethod, resultSetMapper, promise));
     })
     .onFailure(e -> log.error("query with count: {} - {}", e.getMessage(), queryHelper.countQuery, e));
   }
 
+  /**
+   * Run the count query of queryHelper using the {@link TotalRecordsStrategy}; the strategy records
+   * the metrics of the queries it actually runs, a count served from a cache is not a query.
+   */
+  private Future<Integer> count(PgConnection connection, QueryHelper queryHelper) {
+    return totalRecordsStrategy.count(connection, countQuery(queryHelper));
+  }
+
+  CountQuery countQuery(QueryHelper queryHelper) {
+    return new CountQuery(tenantId, schemaName, queryHelper.table, queryHelper.countQuery,
+        queryHelper.exactCountQuery == null ? queryHelper.countQuery : queryHelper.exactCountQuery);
+  }
+
   <T> void processQuery(
     PgConnection connection, QueryHelper queryHelper, Integer estimatedTotal, String statMethod,
     Function<TotaledResults, T> resultSetMapper, Handler<AsyncResult<T>> replyHandler
   ) {
     try {
-      queryAndAnalyze(connection, queryHelper.selectQuery, statMethod, query -> {
+      long start = System.nanoTime();
+      queryAndAnalyze(connection, queryHelper.selectQuery, queryHelper.selectParameters, statMethod,
+          () -> RmbMetrics.query(tenantId, queryHelper.table, statMethod, start), query -> {
         if (query.failed()) {
           replyHandler.handle(Future.failedFuture(query.cause()));
           return;
         }
-        replyHandler.handle(Future.succeededFuture(resultSetMapper.apply(new TotaledResults(query.result(), estimatedTotal))));
+        long deserializationStart = System.nanoTime();
+        T result = resultSetMapper.apply(new TotaledResults(query.result(), estimatedTotal));
+        RmbMetrics.deserialization(tenantId, queryHelper.table, deserializationStart);
+        replyHandler.handle(Future.succeededFuture(result));
       });
     } catch (Exception e) {
       log.error(e.getMessage(), e);
@@ -2333,6 +2544,23 @@ public class PostgresClient {
     return withConn(conn -> conn.get(table, clazz, filter, returnCount));
   }
 
+  /**
+   * Return a page of the records that match the CQL query of the {@link CQLWrapper} filter
+   * using keyset pagination, see {@link org.folio.rest.persist.cql.Keyset}.
+   *
+   * <p>Unlike OFFSET deep pages are as fast as the first page. Doesn't calculate totalRecords.
+   *
+   * @param table - table to query
+   * @param clazz - class of objects to be returned
+   * @param filter - CQL query and limit (page size), the offset is ignored
+   * @param token - {@link Results#getNextToken()} of the previous page, null for the first page
+   * @return {@link Results} with the entities found and the token for the next page, the token
+   *     is null if this is the last page
+   */
+  public <T> Future<Results<T>> getWithKeyset(String table, Class<T> clazz, CQLWrapper filter, String token) {
+    return withReadConn(conn -> conn.getWithKeyset(table, clazz, filter, token));
+  }
+
   /**
    * Return records that match the {@link CQLWrapper} filter.
    * @param table - table to query
@@ -2674,21 +2902,18 @@ public class PostgresClient {
         replyHandler.handle(Future.failedFuture(res.cause()));
         return;
       }
-      Tuple list = Tuple.tuple();
+      UUID[] uuids = new UUID[ids.size()];
       for (int i = 0; i < ids.size(); i++) {
-        list.addUUID(UUID.fromString(ids.getString(i)));
+        uuids[i] = UUID.fromString(ids.getString(i));
       }
 
       PgConnection connection = res.result();
-      StringBuilder sql = new StringBuilder()
-          .append(SELECT).append(ID_FIELD).append(", ").append(DEFAULT_JSONB_FIELD_NAME)
-          .append(FROM).append(schemaName).append(DOT).append(table)
-          .append(WHERE).append(ID_FIELD).append(" IN ($1");
-      for (int i = 2; i <= ids.size(); i++) {
-        sql.append(", $" + i);
-      }
-      sql.append(")");
-      connection.preparedQuery(sql.toString()).execute(list, query -> {
+      // one parameter for all ids so that the SQL is the same for any number of ids
+      // and the prepared statement cache can reuse it
+      String sql = SELECT + ID_FIELD + ", " + DEFAULT_JSONB_FIELD_NAME
+          + FROM + schemaName + DOT + table
+          + WHERE + ID_FIELD + " = ANY($1)";
+      connection.preparedQuery(sql).execute(Tuple.tuple().addArrayOfUUID(uuids), query -> {
         connection.close();
         if (query.failed()) {
           replyHandler.handle(Future.failedFuture(query.cause()));
@@ -2819,20 +3044,17 @@ public class PostgresClient {
     if (resultsHelper.resultSet == null) {
       return;
     }
-    boolean isAuditFlavored = isAuditFlavored(resultsHelper.clazz);
-
-    Map<String, Method> externalColumnSetters = new HashMap<>();
-    collectExternalColumnSetters(
-        resultsHelper.resultSet.columnsNames(),
-        resultsHelper.clazz,
-        isAuditFlavored,
-        externalColumnSetters
-    );
+    RowMappingPlan plan;
+    try {
+      plan = RowMappingPlan.of(resultsHelper.clazz, resultsHelper.resultSet.columnsNames());
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException(e);
+    }
     RowIterator<Row> iterator = resultsHelper.resultSet.iterator();
     while (iterator.hasNext()) {
       Row row = iterator.next();
       try {
-        T objRow = (T) deserializeRow(resultsHelper, externalColumnSetters, isAuditFlavored, row);
+        T objRow = (T) deserializeRow(resultsHelper, plan, row);
         if (!resultsHelper.facet) {
           resultsHelper.list.add(objRow);
         }
@@ -2846,25 +3068,19 @@ public class PostgresClient {
   /**
    *
    * @param resultsHelper
-   * @param externalColumnSetters
-   * @param isAuditFlavored
+   * @param plan  the mapping of the columns of row to resultsHelper.clazz
    * @param row
    */
   <T> Object deserializeRow(
-    ResultsHelper<T> resultsHelper, Map<String, Method> externalColumnSetters,
-    boolean isAuditFlavored, Row row
+    ResultsHelper<T> resultsHelper, RowMappingPlan plan, Row row
   ) throws IOException, InstantiationException, IllegalAccessException, InvocationTargetException {
-    int columnIndex = row.getColumnIndex(DEFAULT_JSONB_FIELD_NAME);
-    Object jo = columnIndex == -1 ? null : row.getValue(columnIndex);
+    Object jo = plan.jsonbIndex == -1 ? null : row.getValue(plan.jsonbIndex);
     Object o;
     resultsHelper.facet = false;
 
-    if (!isAuditFlavored && jo != null) {
-      try {
-        // is this a facet entry - if so process it, otherwise will throw an exception
-        // and continue trying to map to the pojos
-        o =  MAPPER.readValue(jo.toString(), org.folio.rest.jaxrs.model.Facet.class);
-        org.folio.rest.jaxrs.model.Facet of = (org.folio.rest.jaxrs.model.Facet) o;
+    if (!plan.auditFlavored && jo != null) {
+      if (isFacetRow(row)) {
+        org.folio.rest.jaxrs.model.Facet of = MAPPER.readValue(jo.toString(), org.folio.rest.jaxrs.model.Facet.class);
         org.folio.rest.jaxrs.model.Facet facet = resultsHelper.facets.get(of.getType());
         if (facet == null) {
           resultsHelper.facets.put(of.getType(), of);
@@ -2872,19 +3088,46 @@ public class PostgresClient {
           facet.getFacetValues().add(of.getFacetValues().get(0));
         }
         resultsHelper.facet = true;
-        return o;
-      } catch (Exception e) {
+        return of;
+      }
+      if (resultsHelper.clazz == String.class && jo instanceof String) {
+        // jsonb passthrough, jsonb::text as selected
+        o = jo;
+      } else if (resultsHelper.clazz == JsonObject.class && jo instanceof JsonObject) {
+        // jsonb passthrough, the pg client has already decoded the jsonb
+        o = jo;
+      } else {
         o = MAPPER.readValue(jo.toString(), resultsHelper.clazz);
       }
     } else {
       o = resultsHelper.clazz.newInstance();
     }
 
-    populateExternalColumns(externalColumnSetters, o, row);
+    plan.populateExternalColumns(o, row);
 
     return o;
   }
 
+  /**
+   * Whether the row is a facet entry. The facet query (templates/facets/base_facet_query.ftl)
+   * returns the facets with the static {@link #FACET_ROW_ID} in the id column,
+   * the records with their real id.
+   *
+   * @param row  the row to check
+   * @return true if the id column contains FACET_ROW_ID
+   */
+  static boolean isFacetRow(Row row) {
+    int idIndex = row.getColumnIndex(ID_FIELD);
+    if (idIndex == -1) {
+      return false;
+    }
+    Object id = row.getValue(idIndex);
+    if (id instanceof UUID) {
+      return FACET_ROW_ID.equals(id);
+    }
+    return FACET_ROW_ID_STRING.equals(id);
+  }
+
   /**
    * an exception to having the jsonb column and the fields within the json
    * get mapped to the corresponding clazz is a case where the
@@ -2898,16 +3141,7 @@ public class PostgresClient {
    * @return
    */
   <T> boolean isAuditFlavored(Class<T> clazz) {
-    boolean isAuditFlavored = false;
-    try {
-      clazz.getDeclaredField(DEFAULT_JSONB_FIELD_NAME);
-      isAuditFlavored = true;
-    } catch (NoSuchFieldException nse) {
-      if (log.isDebugEnabled()) {
-        log.debug("non audit table, no " + DEFAULT_JSONB_FIELD_NAME + " found in json");
-      }
-    }
-    return isAuditFlavored;
+    return RowMappingPlan.isAuditFlavored(clazz);
   }
 
   /**
@@ -2921,23 +3155,7 @@ public class PostgresClient {
    */
   <T> void collectExternalColumnSetters(List<String> columnNames, Class<T> clazz, boolean isAuditFlavored,
                                         Map<String, Method> externalColumnSetters) {
-    for (String columnName : columnNames) {
-      if ((isAuditFlavored || !columnName.equals(DEFAULT_JSONB_FIELD_NAME)) && !columnName.equals(ID_FIELD)) {
-        String methodName = databaseFieldToPojoSetter(columnName);
-        for (Method method : clazz.getMethods()) {
-          if (method.getName().equals(methodName)) {
-            externalColumnSetters.put(columnName, method);
-          }
-        }
-      }
-    }
-  }
-
-  private boolean isStringArrayType(Object value) {
-    // https://github.com/eclipse-vertx/vertx-sql-client/blob/4.0.0.CR1/vertx-sql-client/src/main/java/io/vertx/sqlclient/Tuple.java#L910
-    return value instanceof String[] ||
-        value instanceof Enum[] ||
-        (value != null && value.getClass() == Object[].class);
+    externalColumnSetters.putAll(RowMappingPlan.externalColumnSetters(columnNames, clazz, isAuditFlavored));
   }
 
   /**
@@ -2959,7 +3177,7 @@ public class PostgresClient {
       Method method = entry.getValue();
       int columnIndex = row.getColumnIndex(columnName);
       Object value = columnIndex == -1 ? null : row.getValue(columnIndex);
-      if (isStringArrayType(value)) {
+      if (RowMappingPlan.isStringArrayType(value)) {
         method.invoke(o, Arrays.asList(row.getArrayOfStrings(columnIndex)));
       } else {
         method.invoke(o, value);
@@ -2974,15 +3192,7 @@ public class PostgresClient {
    * @return
    */
   String databaseFieldToPojoSetter(String str) {
-    StringBuilder sb = new StringBuilder(str);
-    sb.replace(0, 1, String.valueOf(Character.toUpperCase(sb.charAt(0))));
-    for (int i = 0; i < sb.length(); i++) {
-        if (sb.charAt(i) == '_') {
-            sb.deleteCharAt(i);
-            sb.replace(i, i + 1, String.valueOf(Character.toUpperCase(sb.charAt(i))));
-        }
-    }
-    return "set" + sb.toString();
+    return RowMappingPlan.setterName(str);
   }
 
   /**
@@ -3042,9 +3252,22 @@ public class PostgresClient {
   static void queryAndAnalyze(PgConnection conn, String sql, String statMethod,
     Handler<AsyncResult<RowSet<Row>>> replyHandler) {
 
+    queryAndAnalyze(conn, sql, Tuple.tuple(), statMethod, () -> { }, replyHandler);
+  }
+
+  /**
+   * Run the query, log EXPLAIN ANALYZE if the query took at least explainQueryThreshold.
+   *
+   * @param parameters  values of the $n placeholders of sql, an empty Tuple runs sql as a simple query
+   * @param queryDone  called when the query has completed, before EXPLAIN ANALYZE runs
+   */
+  static void queryAndAnalyze(PgConnection conn, String sql, Tuple parameters, String statMethod,
+    Runnable queryDone, Handler<AsyncResult<RowSet<Row>>> replyHandler) {
+
     long start = System.nanoTime();
-    conn.query(sql).execute(res -> {
+    query(conn, sql, parameters).onComplete(res -> {
       long queryTime = (System.nanoTime() - start);
+      queryDone.run();
       if (res.failed()) {
         log.error("queryAndAnalyze: " + res.cause().getMessage() + " - "
           + sql, res.cause());
@@ -3053,7 +3276,7 @@ public class PostgresClient {
       }
       if (queryTime >= explainQueryThreshold * 1000000) {
         final String explainQuery = "EXPLAIN ANALYZE " + sql;
-        conn.query(explainQuery).execute(explain -> {
+        query(conn, explainQuery, parameters).onComplete(explain -> {
           replyHandler.handle(res); // not before, so we have conn if it gets closed
           if (explain.failed()) {
             log.warn(explainQuery + ": ", explain.cause().getMessage(), explain.cause());
@@ -3073,6 +3296,16 @@ public class PostgresClient {
     });
   }
 
+  /**
+   * Run sql as a simple query if there are no parameters, as a prepared query otherwise.
+   */
+  private static Future<RowSet<Row>> query(PgConnection conn, String sql, Tuple parameters) {
+    if (parameters.size() == 0) {
+      return conn.query(sql).execute();
+    }
+    return conn.preparedQuery(sql).execute(parameters);
+  }
+
   /**
    * Run a select query.
    *
@@ -3124,6 +3357,33 @@ public class PostgresClient {
     getSQLReadConnection(conn -> select(conn, sql, params, closeAndHandleResult(conn, replyHandler)));
   }
 
+  /**
+   * Run a parameterized/prepared select query using the asynchronously replicated reader instance.
+   * The result may be stale, use it only where eventually consistent data is acceptable.
+   *
+   * @param sql  The sql query to run.
+   * @param params  The parameters for the placeholders in sql.
+   * @return The query result or the failure.
+   * @see #selectRead(String, Tuple, Handler)
+   */
+  public Future<RowSet<Row>> selectAsyncRead(String sql, Tuple params) {
+    return selectAsyncRead(sql, params, 0);
+  }
+
+  /**
+   * Run a parameterized/prepared select query using the asynchronously replicated reader instance.
+   * The result may be stale, use it only where eventually consistent data is acceptable.
+   *
+   * @param sql  The sql query to run.
+   * @param params  The parameters for the placeholders in sql.
+   * @param queryTimeout query timeout in milliseconds, or 0 for no timeout
+   * @return The query result or the failure.
+   * @see #selectRead(String, Tuple, Handler)
+   */
+  public Future<RowSet<Row>> selectAsyncRead(String sql, Tuple params, int queryTimeout) {
+    return withAsyncReadConn(queryTimeout, conn -> conn.execute(sql, params));
+  }
+
   /**
    * Run a parameterized/prepared select query.
    *
@@ -3421,9 +3681,27 @@ public class PostgresClient {
   }
 
   /**
-   * Get read-only vertx-pg-client connection using the Reader client
+   * Get read-only vertx-pg-client connection using the Reader client, or the Writer client
+   * if the Reader exceeds DB_READER_MAX_STALENESS.
    */
   public Future<PgConnection> getReadConnection() {
+    return getReadConnection((String) null);
+  }
+
+  /**
+   * Get read-only vertx-pg-client connection using the Reader client, or the Writer client
+   * if the Reader exceeds DB_READER_MAX_STALENESS or hasn't replayed lsn yet.
+   *
+   * @param lsn  the {@link Conn#getCurrentLsn()} of a previous write the read must see, or null
+   */
+  public Future<PgConnection> getReadConnection(String lsn) {
+    try {
+      if (! isReaderUsable(lsn)) {
+        return getConnection();
+      }
+    } catch (IllegalArgumentException e) {
+      return Future.failedFuture(e);
+    }
     return getConnection(getReaderClient())
         .recover(e -> {
           if (! "Timeout".equals(e.getMessage())) {
@@ -3441,6 +3719,67 @@ public class PostgresClient {
         });
   }
 
+  /**
+   * Whether a read can use the Reader client: It is the Writer client, or it is known to lag at most
+   * DB_READER_MAX_STALENESS and to have replayed lsn. If DB_READER_MAX_STALENESS is not configured
+   * the lag is not checked, and the Writer client is used if lsn is not null.
+   *
+   * @param lsn  the {@link Conn#getCurrentLsn()} of a previous write the read must see, or null
+   * @throws IllegalArgumentException if lsn is not a valid WAL position
+   */
+  boolean isReaderUsable(String lsn) {
+    if (getReaderClient() == getClient()) {
+      return true;
+    }
+    if (readLagProbe == null || ! readLagProbe.samples(getReaderClient())) {
+      return lsn == null;
+    }
+    return readLagProbe.isWithin(readerMaxStaleness) && (lsn == null || readLagProbe.hasReplayed(lsn));
+  }
+
+  /**
+   * Set the replica lag probe of the Reader client and the max staleness in milliseconds.
+   */
+  void setReplicaLagProbe(ReplicaLagProbe readLagProbe, long readerMaxStaleness) {
+    this.readLagProbe = readLagProbe;
+    this.readerMaxStaleness = readerMaxStaleness;
+  }
+
+  /**
+   * The lag of the Reader client in milliseconds as sampled by the replica lag probe, -1 if unknown
+   * or if DB_READER_MAX_STALENESS is not configured.
+   */
+  public long getReaderLag() {
+    return readLagProbe == null ? -1 : readLagProbe.getLag();
+  }
+
+  /**
+   * The current WAL write position of the write instance, the session LSN token for
+   * {@link #withReadConn(String, Function)}, see {@link Conn#getCurrentLsn()}.
+   */
+  public Future<String> getCurrentLsn() {
+    return withConn(Conn::getCurrentLsn);
+  }
+
+  /**
+   * Get read-only vertx-pg-client connection using the asynchronously replicated reader client,
+   * falls back to {@link #getReadConnection()} if DB_HOST_READER_ASYNC is not configured.
+   */
+  public Future<PgConnection> getAsyncReadConnection() {
+    if (getAsyncReadClient() == getReaderClient()) {
+      return getReadConnection();
+    }
+    return getConnection(getAsyncReadClient())
+        .recover(e -> {
+          if (! "Timeout".equals(e.getMessage())) {
+            return Future.failedFuture(e);
+          }
+          return Future.failedFuture("Timeout for DB_HOST_READER_ASYNC:DB_PORT_READER_ASYNC="
+              + postgreSQLClientConfig.getString(PostgresClientInitializer.HOST_READER_ASYNC) + ":"
+              + postgreSQLClientConfig.getString(PostgresClientInitializer.PORT_READER_ASYNC));
+        });
+  }
+
   /**
    * Get vertx-pg-client connection
    *
@@ -3451,11 +3790,14 @@ public class PostgresClient {
    * @see #withTransaction(Function)
    */
   public Future<PgConnection> getConnection(PgPool client) {
+    long start = System.nanoTime();
+    Future<PgConnection> future;
     if (!sharedPgPool) {
-      return client.getConnection().map(PgConnection.class::cast);
+      future = client.getConnection().map(PgConnection.class::cast);
+    } else {
+      future = CACHED_CONNECTION_MANAGER.getConnection(vertx, client, schemaName, tenantId);
     }
-
-    return CACHED_CONNECTION_MANAGER.getConnection(vertx, client, schemaName, tenantId);
+    return future.onSuccess(x -> RmbMetrics.poolWait(tenantId, start));
   }
   /**
    * Get Vert.x {@link PgConnection}.
@@ -3583,6 +3925,17 @@ public class PostgresClient {
     getReadConnection(res -> getSQLConnection(res, queryTimeout, handler));
   }
 
+  /**
+   * Get the SQL connection of the asynchronously replicated reader instance
+   *
+   * @see #withAsyncReadConn(Function)
+   * @see #withAsyncReadConnection(Function)
+   * @see #withAsyncReadTrans(Function)
+   */
+  void getSQLAsyncReadConnection(int queryTimeout, Handler<AsyncResult<SQLConnection>> handler) {
+    getAsyncReadConnection().onComplete(res -> getSQLConnection(res, queryTimeout, handler));
+  }
+
   /**
    * Execute the given function within a transaction.
    * <p>Similar to {@link #withTransaction(Function)} but with RMB specific {@link Conn}.
@@ -3607,6 +3960,14 @@ public class PostgresClient {
     return withReadTransaction(pgConnection -> withTimeout(pgConnection, 0, function));
   }
 
+  /**
+   * Execute the given function within a transaction using the asynchronously replicated reader instance.
+   * <p>Similar {@link #withReadTrans(Function)}, the data may be stale.
+   */
+  public <T> Future<T> withAsyncReadTrans(Function<Conn, Future<T>> function) {
+    return withTransaction(getAsyncReadConnection(), pgConnection -> withTimeout(pgConnection, 0, function));
+  }
+
   private <T> Future<T> withTimeout(PgConnection pgConnection, int queryTimeout,
       Function<Conn, Future<T>> function) {
     if (queryTimeout == 0) {
@@ -3747,6 +4108,43 @@ public class PostgresClient {
     return withReadConnection(pgConnection -> withTimeout(pgConnection, queryTimeout, function));
   }
 
+  /**
+   * Get a readonly {@link Conn} that sees the write with the session LSN token lsn and execute the given function.
+   * <p>Similar to {@link #withReadConn(Function)} but uses the Writer client if the Reader client
+   * hasn't replayed lsn yet (read-your-writes).
+   *
+   * @param lsn  the {@link Conn#getCurrentLsn()} or {@link #getCurrentLsn()} after a write, or null
+   * @param function code to execute
+   */
+  public <T> Future<T> withReadConn(String lsn, Function<Conn, Future<T>> function) {
+    return getReadConnection(lsn)
+        .flatMap(conn -> withTimeout(conn, 0, function).onComplete(ar -> conn.close()));
+  }
+
+  /**
+   * Get a readonly {@link Conn} of the asynchronously replicated reader instance and execute the given function.
+   * <p>Similar to {@link #withReadConn(Function)} but the data may be stale, use it only for exports, reports
+   * and similar where eventually consistent data is acceptable. Falls back to the reader instance
+   * if DB_HOST_READER_ASYNC is not configured.
+   *
+   * @param function code to execute
+   */
+  public <T> Future<T> withAsyncReadConn(Function<Conn, Future<T>> function) {
+    return withAsyncReadConn(0, function);
+  }
+
+  /**
+   * Execute the given function on a {@link Conn} of the asynchronously replicated reader instance
+   * and with query timeout.
+   * <p>Similar to {@link #withReadConn(int, Function)} but the data may be stale.
+   *
+   * @param queryTimeout in milliseconds, 0 for no timeout
+   * @param function code to execute
+   */
+  public <T> Future<T> withAsyncReadConn(int queryTimeout, Function<Conn, Future<T>> function) {
+    return withAsyncReadConnection(pgConnection -> withTimeout(pgConnection, queryTimeout, function));
+  }
+
   /**
    * Take the connection from the {@link SQLConnection}, wrap it into a {@link Conn} and execute the function.
    *
@@ -3802,6 +4200,17 @@ public class PostgresClient {
     return getReadConnection().flatMap(conn -> function.apply(conn).onComplete(ar -> conn.close()));
   }
 
+  /**
+   * Get a readonly {@link PgConnection} of the asynchronously replicated reader instance and execute
+   * the given function.
+   * <p>Similar to {@link #withReadConnection(Function)} but the data may be stale.
+   *
+   * @param function code to execute
+   */
+  public <T> Future<T> withAsyncReadConnection(Function<PgConnection, Future<T>> function) {
+    return getAsyncReadConnection().flatMap(conn -> function.apply(conn).onComplete(ar -> conn.close()));
+  }
+
   /**
    * Execute a parameterized/prepared INSERT, UPDATE or DELETE statement.
    * @param sql  The SQL statement to run.
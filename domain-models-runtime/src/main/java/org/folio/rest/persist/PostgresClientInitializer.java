@@ -11,14 +11,18 @@ import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.pgclient.SslMode;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlConnectOptions;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class PostgresClientInitializer {
   /** default release delay in milliseconds; after this time an idle database connection is closed */
   public static final int DEFAULT_CONNECTION_RELEASE_DELAY = 60000;
+  /** default maximum number of cached prepared statements of a connection, 0 disables the cache */
+  public static final int DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 256;
   static final String HOST_READER_ASYNC = "host_reader_async";
   static final String PORT_READER_ASYNC = "port_reader_async";
 
@@ -27,7 +31,12 @@ public class PostgresClientInitializer {
   private static final String MAX_POOL_SIZE = "maxPoolSize";
   private static final String RECONNECT_ATTEMPTS = "reconnectAttempts";
   private static final String RECONNECT_INTERVAL = "reconnectInterval";
+  private static final String PREPARED_STATEMENT_CACHE_SIZE = "preparedStatementCacheSize";
   private static final String SERVER_PEM = "server_pem";
+  /** SELECT *, SELECT t.*, SELECT a, *, SELECT DISTINCT ON (a) *, RETURNING * and similar */
+  private static final Pattern SELECT_STAR = Pattern.compile(
+      "(?:\\b(?:SELECT|RETURNING|DISTINCT)\\s+|\\bON\\s*\\([^()]*\\)\\s*|,\\s*|\\.)\\*",
+      Pattern.CASE_INSENSITIVE);
 
   private final PgPool client;
   private PgPool syncReadClient;
@@ -123,9 +132,31 @@ public class PostgresClientInitializer {
     if (serverPem != null) {
       setUpSsl(pgConnectOptions, serverPem);
     }
+    var preparedStatementCacheSize =
+        sqlConfig.getInteger(PREPARED_STATEMENT_CACHE_SIZE, DEFAULT_PREPARED_STATEMENT_CACHE_SIZE);
+    if (preparedStatementCacheSize > 0) {
+      pgConnectOptions.setCachePreparedStatements(true);
+      pgConnectOptions.setPreparedStatementCacheMaxSize(preparedStatementCacheSize);
+      pgConnectOptions.setPreparedStatementCacheSqlFilter(PostgresClientInitializer::isCacheable);
+    }
     return pgConnectOptions;
   }
 
+  /**
+   * Whether to cache the prepared statement of sql so that PostgreSQL can skip parsing and planning
+   * when it is run again on the same connection.
+   *
+   * <p>Only SQL with parameters is cached, SQL with literals (like most CQL queries) rarely repeats and
+   * would evict useful entries. SQL that selects or returns * is not cached because a cached plan fails with
+   * "cached plan must not change result type" when a table gets a new column; other * like count(*)
+   * don't change the result type.
+   */
+  static boolean isCacheable(String sql) {
+    return sql.length() <= SqlConnectOptions.DEFAULT_PREPARED_STATEMENT_CACHE_SQL_LIMIT
+        && sql.contains("$1")
+        && ! SELECT_STAR.matcher(sql).find();
+  }
+
   private static boolean trySetHostAndPort(PgConnectOptions pgConnectOptions,
                                            JsonObject sqlConfig,
                                            String hostToResolve,
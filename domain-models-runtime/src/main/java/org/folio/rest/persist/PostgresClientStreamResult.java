@@ -19,6 +19,9 @@ public class PostgresClientStreamResult<T> implements ReadStream<T> {
   private Handler<Void> closeHandler;
   private Handler<Throwable> doneHandler;
   private boolean failed = false; // to ensure exceptionHandler being called at most once
+  private boolean cancelled = false;
+  private ReadStream<?> source;
+  private Handler<Throwable> cancelHandler;
 
   /**
    * Only to be constructed from PostgresClient itself
@@ -95,13 +98,44 @@ public class PostgresClientStreamResult<T> implements ReadStream<T> {
     return this;
   }
 
+  /**
+   * Set the stream of database rows that pause, resume and fetch control, and the handler
+   * that stops the query when {@link #cancel(Throwable)} is called.
+   */
+  PostgresClientStreamResult<T> setSource(ReadStream<?> source, Handler<Throwable> cancelHandler) {
+    this.source = source;
+    this.cancelHandler = cancelHandler;
+    return this;
+  }
+
+  /**
+   * Stop streaming, for example because the HTTP client has disconnected. No more items
+   * are delivered, the query is closed and the database connection is released. Then the
+   * exceptionHandler is called with the cause.
+   *
+   * <p>Does nothing if the stream has already failed or has been cancelled.
+   *
+   * @param cause  the reason to pass to the exceptionHandler
+   */
+  public void cancel(Throwable cause) {
+    if (failed || cancelled) {
+      return;
+    }
+    cancelled = true;
+    if (cancelHandler != null) {
+      cancelHandler.handle(cause);
+    } else {
+      fireExceptionHandler(cause);
+    }
+  }
+
   /**
    * Only to be called by PostgresClient itself
    *
    * @param t
    */
   void fireHandler(T t) {
-    if (!failed && streamHandler != null) {
+    if (!failed && !cancelled && streamHandler != null) {
       streamHandler.handle(t);
     }
   }
@@ -110,6 +144,9 @@ public class PostgresClientStreamResult<T> implements ReadStream<T> {
    * Only to be called by PostgresClient itself
    */
   void fireEndHandler() {
+    if (cancelled) {
+      return;
+    }
     if (closeHandler != null) {
       closeHandler.handle(null);
     }
@@ -146,18 +183,32 @@ public class PostgresClientStreamResult<T> implements ReadStream<T> {
     }
   }
 
+  /**
+   * Stop fetching rows from the database until {@link #resume()} or {@link #fetch(long)} is called.
+   * Use it for flow control when the consumer cannot keep up, for example when the HTTP write queue
+   * is full.
+   */
   @Override
-  public ReadStream<T> pause() {
-    throw new UnsupportedOperationException("Not supported yet: pause");
+  public PostgresClientStreamResult<T> pause() {
+    if (source != null) {
+      source.pause();
+    }
+    return this;
   }
 
   @Override
-  public ReadStream<T> resume() {
-    throw new UnsupportedOperationException("Not supported yet: resume");
+  public PostgresClientStreamResult<T> resume() {
+    if (source != null) {
+      source.resume();
+    }
+    return this;
   }
 
   @Override
-  public ReadStream<T> fetch(long amount) {
-    throw new UnsupportedOperationException("Not supported yet: fetch");
+  public PostgresClientStreamResult<T> fetch(long amount) {
+    if (source != null) {
+      source.fetch(amount);
+    }
+    return this;
   }
 }
@@ -0,0 +1,209 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgPool;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically samples how far a read replica lags behind the write instance, and the
+ * WAL position it has replayed. {@link PostgresClient} uses this to send a read to the write
+ * instance if the replica exceeds the max staleness budget (DB_READER_MAX_STALENESS) or
+ * hasn't replayed a write of the same user yet (read-your-writes).
+ *
+ * <p>Each sample reads the current WAL position of the write instance and then the replayed
+ * position of the replica. The lag is the age of the oldest sampled write position the replica
+ * hasn't replayed yet, 0 if it has replayed all of them. A replica whose WAL receiver is
+ * disconnected or stalled falls behind the write instance and its lag grows; an idle write
+ * instance is not reported as lag.
+ *
+ * <p>One probe is shared by all tenants of a Vertx instance; each {@link PostgresClient} registers
+ * its write and read pool with {@link #add(PgPool, PgPool)}, the probe queries the first registered pair.
+ */
+public class ReplicaLagProbe {
+  private static final Logger log = LogManager.getLogger(ReplicaLagProbe.class);
+
+  static final String PRIMARY_SQL = "SELECT pg_current_wal_lsn()::text AS lsn";
+  static final String REPLICA_SQL = "SELECT (CASE WHEN pg_is_in_recovery()"
+      + " THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END)::text AS lsn";
+  /** maximum number of unreplayed write positions kept, further ones are dropped */
+  static final int MAX_PENDING = 1000;
+
+  /** default of DB_READER_LAG_PROBE_INTERVAL in milliseconds */
+  public static final long DEFAULT_INTERVAL = 1000;
+
+  private final Vertx vertx;
+  private final long interval;
+  private final long timerId;
+  private final List<PgPool []> pools = new CopyOnWriteArrayList<>();
+  /** sampled write positions the replica hasn't replayed yet: {lsn, System.nanoTime()}, the oldest first */
+  private final Deque<long []> pending = new ArrayDeque<>();
+  private volatile long lag = -1;
+  private volatile String lsn;
+  private volatile long sampledAt;
+  private volatile boolean failing;
+
+  /**
+   * Sample every interval milliseconds once a pool pair has been added.
+   */
+  public ReplicaLagProbe(Vertx vertx, long interval) {
+    this.vertx = vertx;
+    this.interval = interval;
+    timerId = vertx.setPeriodic(interval, id -> sample());
+  }
+
+  /**
+   * Register the write pool primary and the read pool replica, nothing happens if replica is
+   * already registered. The first registration takes a sample immediately.
+   */
+  public synchronized void add(PgPool primary, PgPool replica) {
+    if (samples(replica)) {
+      return;
+    }
+    pools.add(new PgPool [] { primary, replica });
+    if (pools.size() == 1) {
+      sample();
+    }
+  }
+
+  /**
+   * Unregister the read pool replica, for example because it gets closed.
+   *
+   * @return true if no pool is left, the caller should {@link #close()} this probe
+   */
+  public synchronized boolean remove(PgPool replica) {
+    pools.removeIf(pair -> pair[1] == replica);
+    return pools.isEmpty();
+  }
+
+  /**
+   * Whether the read pool replica is registered, the lag of this probe applies to it.
+   */
+  boolean samples(PgPool replica) {
+    for (PgPool [] pair : pools) {
+      if (pair[1] == replica) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Query the write position of the write instance, then the replayed position of the replica,
+   * and update lag and LSN.
+   */
+  Future<Void> sample() {
+    // single read, remove may run concurrently
+    Iterator<PgPool []> iterator = pools.iterator();
+    if (! iterator.hasNext()) {
+      return Future.succeededFuture();
+    }
+    PgPool [] pair = iterator.next();
+    long start = System.nanoTime();
+    return pair[0].query(PRIMARY_SQL).execute()
+        .compose(primary -> pair[1].query(REPLICA_SQL).execute()
+            .onSuccess(replica -> update(start, primary.iterator().next().getString("lsn"),
+                replica.iterator().next().getString("lsn"))))
+        .onFailure(e -> {
+          if (! failing) {
+            log.warn("Replica lag probe failed, reading from the write instance: {}", e.getMessage(), e);
+          }
+          failing = true;
+          lag = -1;
+        })
+        .mapEmpty();
+  }
+
+  /**
+   * Update lag and LSN.
+   *
+   * @param start  System.nanoTime() when primaryLsn was queried
+   * @param primaryLsn  the write position of the write instance
+   * @param replicaLsn  the replayed position of the replica, queried after primaryLsn
+   */
+  void update(long start, String primaryLsn, String replicaLsn) {
+    long replayed = parseLsn(replicaLsn);
+    long now = System.nanoTime();
+    synchronized (pending) {
+      if (pending.size() < MAX_PENDING) {
+        pending.addLast(new long [] { parseLsn(primaryLsn), start });
+      }
+      while (! pending.isEmpty() && pending.peekFirst()[0] <= replayed) {
+        pending.removeFirst();
+      }
+      this.lag = pending.isEmpty() ? 0 : (now - pending.peekFirst()[1]) / 1_000_000;
+    }
+    this.lsn = replicaLsn;
+    this.sampledAt = now;
+    this.failing = false;
+  }
+
+  /**
+   * The lag of the last sample in milliseconds; -1 if unknown because the last sample failed,
+   * or because the last sample is older than three intervals.
+   */
+  public long getLag() {
+    if (lag < 0 || System.nanoTime() - sampledAt > 3 * interval * 1_000_000) {
+      return -1;
+    }
+    return lag;
+  }
+
+  /**
+   * The WAL position the replica had replayed when sampled, for example {@code 16/B374D848};
+   * null if unknown.
+   */
+  public String getLsn() {
+    return lsn;
+  }
+
+  /**
+   * Whether the replica is known to lag at most maxStaleness milliseconds.
+   */
+  public boolean isWithin(long maxStaleness) {
+    long l = getLag();
+    return l >= 0 && l <= maxStaleness;
+  }
+
+  /**
+   * Whether the replica is known to have replayed the WAL position lsn, for example the
+   * {@link Conn#getCurrentLsn()} after a write.
+   *
+   * @throws IllegalArgumentException if lsn is not a valid WAL position
+   */
+  public boolean hasReplayed(String lsn) {
+    String replayed = this.lsn;
+    return replayed != null && parseLsn(replayed) >= parseLsn(lsn);
+  }
+
+  /**
+   * Convert a pg_lsn text like {@code 16/B374D848} into a number.
+   *
+   * @throws IllegalArgumentException if lsn is not a valid WAL position
+   */
+  static long parseLsn(String lsn) {
+    int slash = lsn == null ? -1 : lsn.indexOf('/');
+    if (slash < 1 || slash == lsn.length() - 1) {
+      throw new IllegalArgumentException("Invalid LSN: " + lsn);
+    }
+    try {
+      return Long.parseUnsignedLong(lsn.substring(0, slash), 16) << 32
+          | Long.parseUnsignedLong(lsn.substring(slash + 1), 16);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid LSN: " + lsn, e);
+    }
+  }
+
+  /**
+   * Stop sampling.
+   */
+  public void close() {
+    vertx.cancelTimer(timerId);
+  }
+}
@@ -0,0 +1,197 @@
+package org.folio.rest.persist;
+
+import io.vertx.sqlclient.Row;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * How the rows of a query result are mapped to a class: whether the class is audit flavored,
+ * the position of the jsonb column and the setter of each external column.
+ *
+ * <p>A plan is created once for each combination of class and column names and is then applied
+ * to each row without any reflective lookup.
+ *
+ * @see PostgresClient#processResults
+ */
+final class RowMappingPlan {
+  private static final Logger LOG = LogManager.getLogger(RowMappingPlan.class);
+  private static final String JSONB_FIELD = PostgresClient.DEFAULT_JSONB_FIELD_NAME;
+  private static final String ID_FIELD = "id";
+  /** cached plans per class, more column name lists (ad hoc queries) are not cached */
+  private static final int MAX_PLANS_PER_CLASS = 100;
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<Boolean> AUDIT_FLAVORED = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> clazz) {
+      try {
+        clazz.getDeclaredField(JSONB_FIELD);
+        return true;
+      } catch (NoSuchFieldException e) {
+        LOG.debug("non audit table, no {} found in {}", JSONB_FIELD, clazz.getName());
+        return false;
+      }
+    }
+  };
+
+  /** public methods of a class by name, the last one wins if overloaded */
+  private static final ClassValue<Map<String, Method>> METHODS_BY_NAME = new ClassValue<>() {
+    @Override
+    protected Map<String, Method> computeValue(Class<?> clazz) {
+      Map<String, Method> methods = new HashMap<>();
+      for (Method method : clazz.getMethods()) {
+        methods.put(method.getName(), method);
+      }
+      return methods;
+    }
+  };
+
+  private static final ClassValue<Map<List<String>, RowMappingPlan>> PLANS = new ClassValue<>() {
+    @Override
+    protected Map<List<String>, RowMappingPlan> computeValue(Class<?> clazz) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  final boolean auditFlavored;
+  /** position of the jsonb column, -1 if none */
+  final int jsonbIndex;
+  private final String[] columnNames;
+  private final int[] columnIndexes;
+  private final MethodHandle[] setters;
+
+  private RowMappingPlan(Class<?> clazz, List<String> columnNames) throws IllegalAccessException {
+    this.auditFlavored = isAuditFlavored(clazz);
+    this.jsonbIndex = columnNames.indexOf(JSONB_FIELD);
+    Map<String, Method> externalColumnSetters = externalColumnSetters(columnNames, clazz, auditFlavored);
+    List<String> names = new ArrayList<>(externalColumnSetters.size());
+    List<Integer> indexes = new ArrayList<>(externalColumnSetters.size());
+    List<MethodHandle> handles = new ArrayList<>(externalColumnSetters.size());
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    for (int i = 0; i < columnNames.size(); i++) {
+      Method method = externalColumnSetters.get(columnNames.get(i));
+      if (method != null) {
+        names.add(columnNames.get(i));
+        indexes.add(i);
+        handles.add(lookup.unreflect(method).asType(SETTER_TYPE));
+      }
+    }
+    this.columnNames = names.toArray(new String[0]);
+    this.columnIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+    this.setters = handles.toArray(new MethodHandle[0]);
+  }
+
+  /**
+   * @param clazz the class the rows are mapped to
+   * @param columnNames the column names of the rows, in column order
+   * @return the plan, cached unless there are already too many plans for clazz
+   * @throws IllegalAccessException if a setter of an external column is not accessible
+   */
+  static RowMappingPlan of(Class<?> clazz, List<String> columnNames) throws IllegalAccessException {
+    Map<List<String>, RowMappingPlan> plans = PLANS.get(clazz);
+    RowMappingPlan plan = plans.get(columnNames);
+    if (plan != null) {
+      return plan;
+    }
+    plan = new RowMappingPlan(clazz, columnNames);
+    if (plans.size() < MAX_PLANS_PER_CLASS) {
+      plans.putIfAbsent(List.copyOf(columnNames), plan);
+    }
+    return plan;
+  }
+
+  /**
+   * @return whether clazz has a jsonb field that takes the jsonb column
+   * @see PostgresClient#isAuditFlavored
+   */
+  static boolean isAuditFlavored(Class<?> clazz) {
+    return AUDIT_FLAVORED.get(clazz);
+  }
+
+  /**
+   * @return the setter for each column that has a setter in clazz, excluding the id column and,
+   *   unless auditFlavored, the jsonb column
+   * @see PostgresClient#collectExternalColumnSetters
+   */
+  static Map<String, Method> externalColumnSetters(List<String> columnNames, Class<?> clazz,
+      boolean auditFlavored) {
+
+    Map<String, Method> methods = METHODS_BY_NAME.get(clazz);
+    Map<String, Method> externalColumnSetters = new HashMap<>();
+    for (String columnName : columnNames) {
+      if ((auditFlavored || !columnName.equals(JSONB_FIELD)) && !columnName.equals(ID_FIELD)) {
+        Method method = methods.get(setterName(columnName));
+        if (method != null) {
+          externalColumnSetters.put(columnName, method);
+        }
+      }
+    }
+    return externalColumnSetters;
+  }
+
+  /**
+   * assumes column names are all lower case with multi word column names
+   * separated by an '_'
+   * @return the setter name, for example setUpdateDate for update_date
+   */
+  static String setterName(String columnName) {
+    StringBuilder sb = new StringBuilder(columnName);
+    sb.replace(0, 1, String.valueOf(Character.toUpperCase(sb.charAt(0))));
+    for (int i = 0; i < sb.length(); i++) {
+      if (sb.charAt(i) == '_') {
+        sb.deleteCharAt(i);
+        sb.replace(i, i + 1, String.valueOf(Character.toUpperCase(sb.charAt(i))));
+      }
+    }
+    return "set" + sb.toString();
+  }
+
+  /**
+   * Set the external column values of row in o.
+   *
+   * @param o the instance to populate
+   * @param row a row with the column names of this plan
+   * @throws InvocationTargetException if a setter throws a checked exception
+   */
+  void populateExternalColumns(Object o, Row row) throws InvocationTargetException {
+    for (int i = 0; i < setters.length; i++) {
+      Object value = row.getValue(columnIndexes[i]);
+      if (isStringArrayType(value)) {
+        value = Arrays.asList(row.getArrayOfStrings(columnIndexes[i]));
+      }
+      try {
+        setters[i].invokeExact(o, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new InvocationTargetException(e, columnNames[i]);
+      }
+    }
+  }
+
+  static boolean isStringArrayType(Object value) {
+    // https://github.com/eclipse-vertx/vertx-sql-client/blob/4.0.0.CR1/vertx-sql-client/src/main/java/io/vertx/sqlclient/Tuple.java#L910
+    return value instanceof String[] ||
+        value instanceof Enum[] ||
+        (value != null && value.getClass() == Object[].class);
+  }
+
+  /**
+   * @return the names of the columns that are set by {@link #populateExternalColumns}
+   */
+  List<String> externalColumnNames() {
+    return Collections.unmodifiableList(Arrays.asList(columnNames));
+  }
+}
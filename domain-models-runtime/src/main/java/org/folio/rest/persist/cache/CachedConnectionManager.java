@@ -5,6 +5,7 @@ import org.apache.logging.log4j.LogManager;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.PostgresClientInitializer;
 import org.folio.rest.tools.utils.Envs;
+import org.folio.rest.tools.utils.RmbMetrics;
 import io.vertx.core.Vertx;
 import io.vertx.core.Future;
 import io.vertx.pgclient.PgConnection;
@@ -30,6 +31,10 @@ public class CachedConnectionManager {
 
   private final ConnectionCache connectionCache = new ConnectionCache();
 
+  public CachedConnectionManager() {
+    RmbMetrics.connectionCacheSize(connectionCache, ConnectionCache::size);
+  }
+
   public int getCacheSize() {
     return connectionCache.size();
   }
@@ -65,10 +70,12 @@ public class CachedConnectionManager {
 
       // If it is being used from another tenant (recycled), we now need to set a new role and schema for it.
       if (!connection.getTenantId().equals(tenantId)) {
+        RmbMetrics.checkout(tenantId, RmbMetrics.CHECKOUT_RECYCLE);
         connection.setTenantId(tenantId);
         return setRoleAndSchema(vertx, schemaName, tenantId, connection);
       }
 
+      RmbMetrics.checkout(tenantId, RmbMetrics.CHECKOUT_HIT);
       var event = String.format("cache hit %s %s", connection.getTenantId(), connection.getSessionId());
       connectionCache.log(event);
 
@@ -76,6 +83,7 @@ public class CachedConnectionManager {
     }
 
     connectionCache.incrementMisses();
+    RmbMetrics.checkout(tenantId, RmbMetrics.CHECKOUT_MISS);
     var event = String.format("cache miss %s", tenantId);
     connectionCache.log(event);
 
@@ -32,9 +32,10 @@ public class CachedPgConnection implements PgConnection {
   private final PgConnection connection;
   private final CachedConnectionManager manager;
   private final UUID sessionId;
-  private String tenantId;
-  private long idleSince;
-  private boolean available;
+  private volatile String tenantId;
+  private volatile long idleSince;
+  private volatile boolean available;
+  private volatile ConnectionCache cache;
   private Handler<Void> closeHandler;
 
   private final ReleaseDelayObserver observer;
@@ -60,7 +61,7 @@ public class CachedPgConnection implements PgConnection {
   public Future<Void> close() {
     LOG.debug("Calling close: {} {}", tenantId, sessionId);
 
-    available = true;
+    setAvailable();
     observer.startCountdown(this::handleReleaseDelayCompletion);
     manager.tryAddToCache(this);
 
@@ -183,9 +184,16 @@ public class CachedPgConnection implements PgConnection {
     return available;
   }
 
+  /**
+   * Set the connection available and return it to the cache it has been added to.
+   */
   public void setAvailable() {
     available = true;
     idleSince = System.currentTimeMillis();
+    ConnectionCache connectionCache = cache;
+    if (connectionCache != null) {
+      connectionCache.release(this);
+    }
   }
 
   public void setUnavailable() {
@@ -205,6 +213,13 @@ public class CachedPgConnection implements PgConnection {
     this.tenantId = tenantId;
   }
 
+  /**
+   * @param cache the cache this connection has been added to, see {@link ConnectionCache#tryAdd(CachedPgConnection)}
+   */
+  void setCache(ConnectionCache cache) {
+    this.cache = cache;
+  }
+
   public PgConnection getWrappedConnection() {
     return connection;
   }
@@ -213,10 +228,18 @@ public class CachedPgConnection implements PgConnection {
     return idleSince;
   }
 
-  private void handleReleaseDelayCompletion() {
+  /**
+   * Close the connection unless it has been checked out in the meantime. It is taken out of the cache
+   * before closing so that no checkout can get the closing connection.
+   */
+  void handleReleaseDelayCompletion() {
+    ConnectionCache connectionCache = cache;
+    if (connectionCache != null && !connectionCache.removeIfAvailable(this)) {
+      LOG.debug("Release delay completed but connection is in use: {} {}", tenantId, sessionId);
+      return;
+    }
     available = false;
     connection.close();
-    manager.removeFromCache(this);
 
     LOG.debug("Release delay completed after {} seconds: {} {}",
         observer.getReleaseDelaySeconds(), tenantId, sessionId);
@@ -1,10 +1,15 @@
 package org.folio.rest.persist.cache;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Deque;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -12,59 +17,111 @@ import org.apache.logging.log4j.Logger;
 
 /**
  * Provides a thread-safe cache that stores {@link CachedPgConnection} objects.
+ *
+ * <p>Each time a connection becomes available an idle entry is added to a deque of its tenant and to a
+ * queue of all tenants. The tenant deque is used in LIFO order for O(1) checkout of a connection of the
+ * same tenant, the queue is used in FIFO order for O(1) checkout of the oldest available connection of
+ * any tenant. A checkout claims the entry with a compare-and-set, this decides which thread gets the
+ * connection; no global lock is needed. Claimed entries are skipped when they are polled and are purged
+ * when too many of them have accumulated.
  * @see CachedConnectionManager
  */
 public class ConnectionCache {
   private static final Logger LOG = LogManager.getLogger(ConnectionCache.class);
   private static final String LOGGER_LABEL = "CONNECTION MANAGER CACHE STATE";
   private static final int INFO_LOG_LIMIT = 100;
-  private final List<CachedPgConnection> cache;
+  private static final int MIN_PURGE_THRESHOLD = 64;
+  private final Set<CachedPgConnection> cache = ConcurrentHashMap.newKeySet();
+  /** the unclaimed idle entry of each available connection */
+  private final Map<CachedPgConnection, IdleEntry> idleEntries = new ConcurrentHashMap<>();
+  /** idle entries of all tenants, the oldest comes first */
+  private final Queue<IdleEntry> idle = new ConcurrentLinkedQueue<>();
+  /** idle entries of each tenant, the most recently released comes first */
+  private final Map<String, Deque<IdleEntry>> idleByTenant = new ConcurrentHashMap<>();
+  /** approximate number of claimed entries still in idle and idleByTenant */
+  private final AtomicInteger claimedEntries = new AtomicInteger();
   private final Metrics metrics = new Metrics();
 
-  public ConnectionCache() {
-    cache = Collections.synchronizedList(new ArrayList<>());
-  }
-
   public void remove(CachedPgConnection connection) {
-    synchronized (cache) {
-      cache.remove(connection);
-      metrics.active--;
+    IdleEntry entry = idleEntries.get(connection);
+    if (entry != null && entry.claim()) {
+      idleEntries.remove(connection, entry);
+      entryClaimed(2);
+    }
+    if (cache.remove(connection)) {
+      metrics.active.decrementAndGet();
       LOG.debug("Removed connection: {} {}",
           connection.getTenantId(), connection.getSessionId());
     }
   }
 
   /**
-   * Add the connection to the cache if it does not already exist. If it exists do nothing.
+   * Remove the connection if it is available. Like a checkout this claims the idle entry, therefore
+   * {@link #getAvailableConnection(String)} cannot return the connection afterwards.
+   * @return true if the connection has been removed or is not in this cache, false if it is checked out
+   */
+  boolean removeIfAvailable(CachedPgConnection connection) {
+    IdleEntry entry = idleEntries.get(connection);
+    if (entry == null || !entry.claim()) {
+      return !cache.contains(connection);
+    }
+    idleEntries.remove(connection, entry);
+    entryClaimed(2);
+    if (cache.remove(connection)) {
+      metrics.active.decrementAndGet();
+    }
+    LOG.debug("Removed available connection: {} {}", connection.getTenantId(), connection.getSessionId());
+    return true;
+  }
+
+  /**
+   * Add the connection to the cache if it does not already exist. If {@link CachedPgConnection#isAvailable()}
+   * is true the connection can be checked out afterwards.
    * @param connection The connection to try adding.
    */
   public void tryAdd(CachedPgConnection connection) {
-    synchronized (cache) {
-      if (cache.contains(connection)) {
-        LOG.debug("Item already exists in cache: {} {} {}",
-            connection.getTenantId(), connection.getSessionId(), connection.isAvailable());
-        return;
-      }
-      cache.add(connection);
+    if (!cache.add(connection)) {
+      LOG.debug("Item already exists in cache: {} {} {}",
+          connection.getTenantId(), connection.getSessionId(), connection.isAvailable());
+    }
+    connection.setCache(this);
+    if (connection.isAvailable()) {
+      release(connection);
     }
   }
 
+  /**
+   * Make the connection available for {@link #getAvailableConnection(String)}. Nothing happens if it
+   * already is.
+   * @param connection a connection of this cache
+   */
+  void release(CachedPgConnection connection) {
+    if (!cache.contains(connection)) {
+      return;
+    }
+    IdleEntry entry = new IdleEntry(connection);
+    if (idleEntries.putIfAbsent(connection, entry) != null) {
+      return;
+    }
+    idle.add(entry);
+    idleByTenant.computeIfAbsent(connection.getTenantId(), t -> new ConcurrentLinkedDeque<>())
+        .addFirst(entry);
+  }
+
   /**
    * Remove the oldest available connection and close the underlying (wrapped) connection if it is the oldest available.
    */
   public void removeOldestAvailableAndClose() {
-    synchronized (cache) {
-      cache.stream()
-          .filter(CachedPgConnection::isAvailable)
-          .min(Comparator.comparingLong(CachedPgConnection::getIdleSince))
-          .ifPresent(connection -> {
-            connection.getWrappedConnection().close();
-            cache.remove(connection);
-            metrics.active--;
-            LOG.debug("Removed and closed oldest available connection: {} {}",
-                connection.getTenantId(), connection.getSessionId());
-          });
+    CachedPgConnection connection = claim(idle);
+    if (connection == null) {
+      return;
     }
+    connection.getWrappedConnection().close();
+    if (cache.remove(connection)) {
+      metrics.active.decrementAndGet();
+    }
+    LOG.debug("Removed and closed oldest available connection: {} {}",
+        connection.getTenantId(), connection.getSessionId());
   }
 
   /**
@@ -76,36 +133,64 @@ public class ConnectionCache {
    * @return An optional wrapping the potentially null connection.
    */
   public Optional<CachedPgConnection> getAvailableConnection(String tenantId) {
-    synchronized (cache) {
-      // First attempt to find a connection for the tenant that is available.
-      Optional<CachedPgConnection> connectionOptional =
-          cache.stream().filter(connection ->
-              connection.getTenantId().equals(tenantId) && connection.isAvailable()).findFirst();
-
-      // If The first attempt fails, try to find the oldest connection for another tenant that is available.
-      if (connectionOptional.isEmpty()) {
-        connectionOptional = cache.stream()
-            .filter(CachedPgConnection::isAvailable)
-            .min(Comparator.comparingLong(CachedPgConnection::getIdleSince));
-      }
+    // First attempt to find a connection for the tenant that is available.
+    CachedPgConnection connection = null;
+    Deque<IdleEntry> tenantIdle = idleByTenant.get(tenantId);
+    if (tenantIdle != null) {
+      connection = claim(tenantIdle);
+    }
 
-      connectionOptional.ifPresent(CachedPgConnection::setUnavailable);
+    // If The first attempt fails, try to find the oldest connection for another tenant that is available.
+    if (connection == null) {
+      connection = claim(idle);
+    }
 
-      return connectionOptional;
+    if (connection != null) {
+      connection.setUnavailable();
     }
+    return Optional.ofNullable(connection);
   }
 
-  public void clear() {
-    synchronized (cache) {
-      cache.clear();
-      metrics.clear();
+  /**
+   * Poll entries until an entry can be claimed.
+   * @return the connection of the claimed entry, or null if none
+   */
+  private CachedPgConnection claim(Queue<IdleEntry> entries) {
+    IdleEntry entry;
+    while ((entry = entries.poll()) != null) {
+      if (entry.claim()) {
+        idleEntries.remove(entry.connection, entry);
+        // the entry remains in the other queue
+        entryClaimed(1);
+        return entry.connection;
+      }
+      // claimed by another thread or by remove, polling has removed it
+      claimedEntries.decrementAndGet();
     }
+    return null;
   }
 
-  public int size() {
-    synchronized (cache) {
-      return cache.size();
+  private void entryClaimed(int remainingEntries) {
+    int threshold = Math.max(MIN_PURGE_THRESHOLD, 4 * cache.size());
+    if (claimedEntries.addAndGet(remainingEntries) <= threshold) {
+      return;
     }
+    claimedEntries.set(0);
+    idle.removeIf(IdleEntry::isClaimed);
+    idleByTenant.values().forEach(entries -> entries.removeIf(IdleEntry::isClaimed));
+  }
+
+  public void clear() {
+    cache.clear();
+    idleEntries.clear();
+    idle.clear();
+    idleByTenant.clear();
+    claimedEntries.set(0);
+    metrics.clear();
+  }
+
+  public int size() {
+    return cache.size();
   }
 
   /**
@@ -122,7 +207,8 @@ public class ConnectionCache {
       LOG.debug("{} {}", msgSupplier.get(), msgDebugSupplier.get());
     }
 
-    if (LOG.isInfoEnabled() && (metrics.hits % INFO_LOG_LIMIT == 0 || metrics.misses % INFO_LOG_LIMIT == 0)) {
+    if (LOG.isInfoEnabled()
+        && (metrics.hits.get() % INFO_LOG_LIMIT == 0 || metrics.misses.get() % INFO_LOG_LIMIT == 0)) {
       LOG.info(msgSupplier.get());
     }
   }
@@ -136,50 +222,72 @@ public class ConnectionCache {
   }
 
   public void incrementActive() {
-    metrics.active++;
+    metrics.active.incrementAndGet();
   }
 
   public void setPoolSizeMetric(int size) {
     metrics.poolSize = size;
   }
 
+  private static int increment(int i) {
+    return (i == Integer.MAX_VALUE) ? 0 : (i + 1);
+  }
+
+  private static final class IdleEntry {
+    private final CachedPgConnection connection;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private IdleEntry(CachedPgConnection connection) {
+      this.connection = connection;
+    }
+
+    /**
+     * @return true if this call has claimed the entry, false if it had already been claimed
+     */
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private boolean isClaimed() {
+      return claimed.get();
+    }
+  }
+
   class Metrics {
-    int hits;
-    int misses;
-    int active;
-    int poolSize;
+    final AtomicInteger hits = new AtomicInteger();
+    final AtomicInteger misses = new AtomicInteger();
+    final AtomicInteger active = new AtomicInteger();
+    volatile int poolSize;
 
     void clear() {
-      hits = 0;
-      misses = 0;
-      active = 0;
+      hits.set(0);
+      misses.set(0);
+      active.set(0);
     }
 
     void incrementHits() {
-      hits = (hits == Integer.MAX_VALUE) ? 0 : (hits + 1);
+      hits.updateAndGet(ConnectionCache::increment);
     }
 
     void incrementMisses() {
-      misses = (misses == Integer.MAX_VALUE) ? 0 : (misses + 1);
+      misses.updateAndGet(ConnectionCache::increment);
     }
 
     String toString(String msg) {
       return msg + String.format(":: %s hits, %s misses, %s size, %s active, %s pool",
-          hits, misses, cache.size(), active, poolSize);
+          hits.get(), misses.get(), cache.size(), active.get(), poolSize);
     }
 
     String toStringDebug() {
       var items = "\nCONNECTION MANAGER CACHE ITEMS (DEBUG):\n" ;
-      synchronized (cache) {
-        items += cache.stream()
-            .map(item -> String.format("%s %s %s %s",
-                item.getSessionId(),
-                item.isAvailable(),
-                item.getIdleSince(),
-                item.getTenantId()
-            ))
-            .collect(Collectors.joining("\n"));
-      }
+      items += cache.stream()
+          .map(item -> String.format("%s %s %s %s",
+              item.getSessionId(),
+              item.isAvailable(),
+              item.getIdleSince(),
+              item.getTenantId()
+          ))
+          .collect(Collectors.joining("\n"));
       return items;
     }
   }
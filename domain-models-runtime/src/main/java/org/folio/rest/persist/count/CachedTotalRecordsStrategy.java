@@ -0,0 +1,123 @@
+package org.folio.rest.persist.count;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.SqlClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Memoizes the totalRecords of another strategy for each count query, this is each combination of
+ * tenant, table and WHERE clause. Paging through a result set calculates the count only once.
+ *
+ * <p>An entry expires after the time to live, and when PostgresClient writes to the table. Writes
+ * using plain SQL (PostgresClient.execute and similar) are not detected, for them the time to live
+ * limits how long the count may be outdated.
+ *
+ * <p>A bounded least recently used cache.
+ */
+public class CachedTotalRecordsStrategy implements TotalRecordsStrategy {
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final TotalRecordsStrategy strategy;
+  private final long timeToLiveNanos;
+  private final LongSupplier nanoTime;
+  private final Map<String, Entry> cache;
+  /** write counter for each schema.table, an entry is outdated if the table has been written since */
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  /**
+   * Cache the counts of {@link EstimateTotalRecordsStrategy}, at most {@link #DEFAULT_MAX_SIZE} entries.
+   *
+   * @param timeToLive  how long to cache a count
+   */
+  public CachedTotalRecordsStrategy(Duration timeToLive) {
+    this(new EstimateTotalRecordsStrategy(), timeToLive, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * @param strategy  the strategy that calculates the counts to cache
+   * @param timeToLive  how long to cache a count
+   * @param maxSize  maximum number of counts to cache
+   */
+  public CachedTotalRecordsStrategy(TotalRecordsStrategy strategy, Duration timeToLive, int maxSize) {
+    this(strategy, timeToLive, maxSize, System::nanoTime);
+  }
+
+  CachedTotalRecordsStrategy(TotalRecordsStrategy strategy, Duration timeToLive, int maxSize,
+      LongSupplier nanoTime) {
+
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+    }
+    this.strategy = strategy;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.nanoTime = nanoTime;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public Future<Integer> count(SqlClient sqlClient, CountQuery countQuery) {
+    AtomicLong generation = generation(countQuery.getSchemaName(), countQuery.getTable());
+    // read before the count query starts: a concurrent write makes the result outdated
+    long currentGeneration = generation.get();
+    String key = countQuery.getSql();
+    Entry entry;
+    synchronized (cache) {
+      entry = cache.get(key);
+    }
+    if (entry != null && entry.generation == currentGeneration
+        && nanoTime.getAsLong() - entry.created < timeToLiveNanos) {
+      return Future.succeededFuture(entry.count);
+    }
+    return strategy.count(sqlClient, countQuery)
+        .onSuccess(count -> {
+          if (count == null) {
+            return;
+          }
+          Entry newEntry = new Entry(count, currentGeneration, nanoTime.getAsLong());
+          synchronized (cache) {
+            cache.put(key, newEntry);
+          }
+        });
+  }
+
+  @Override
+  public void invalidate(String schemaName, String table) {
+    generation(schemaName, table).incrementAndGet();
+    strategy.invalidate(schemaName, table);
+  }
+
+  /**
+   * @return number of cached counts, including expired and outdated counts
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  private AtomicLong generation(String schemaName, String table) {
+    return generations.computeIfAbsent(schemaName + "." + table, key -> new AtomicLong());
+  }
+
+  private static final class Entry {
+    private final Integer count;
+    private final long generation;
+    private final long created;
+
+    private Entry(Integer count, long generation, long created) {
+      this.count = count;
+      this.generation = generation;
+      this.created = created;
+    }
+  }
+}
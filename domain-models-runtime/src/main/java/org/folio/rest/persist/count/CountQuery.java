@@ -0,0 +1,69 @@
+package org.folio.rest.persist.count;
+
+/**
+ * The SQL queries a {@link TotalRecordsStrategy} can use to calculate totalRecords of a query.
+ */
+public final class CountQuery {
+  private final String tenantId;
+  private final String schemaName;
+  private final String table;
+  private final String sql;
+  private final String exactSql;
+
+  /**
+   * @param schemaName  schema of the tenant
+   * @param table  table name without schema
+   * @param sql  SELECT returning the count in the first column: an estimation if the query has a filter,
+   *   otherwise exact
+   * @param exactSql  SELECT returning the exact count in the first column
+   */
+  public CountQuery(String schemaName, String table, String sql, String exactSql) {
+    this(null, schemaName, table, sql, exactSql);
+  }
+
+  /**
+   * @param tenantId  tenant for the metrics, null if unknown
+   * @param schemaName  schema of the tenant
+   * @param table  table name without schema
+   * @param sql  SELECT returning the count in the first column: an estimation if the query has a filter,
+   *   otherwise exact
+   * @param exactSql  SELECT returning the exact count in the first column
+   */
+  public CountQuery(String tenantId, String schemaName, String table, String sql, String exactSql) {
+    this.tenantId = tenantId;
+    this.schemaName = schemaName;
+    this.table = table;
+    this.sql = sql;
+    this.exactSql = exactSql;
+  }
+
+  /**
+   * @return tenant for the metrics, null if unknown
+   */
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public String getSchemaName() {
+    return schemaName;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  /**
+   * @return SELECT returning the count in the first column, an estimation if the query has a filter,
+   *   otherwise exact
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  /**
+   * @return SELECT returning the exact count in the first column
+   */
+  public String getExactSql() {
+    return exactSql;
+  }
+}
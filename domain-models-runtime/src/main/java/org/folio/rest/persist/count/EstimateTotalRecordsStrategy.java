@@ -0,0 +1,17 @@
+package org.folio.rest.persist.count;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.SqlClient;
+
+/**
+ * Exact count if the query has no filter or limit is 0, otherwise an estimation using count_estimate,
+ * see README.md section "Estimated totalRecords".
+ *
+ * <p>This is the default.
+ */
+public class EstimateTotalRecordsStrategy implements TotalRecordsStrategy {
+  @Override
+  public Future<Integer> count(SqlClient sqlClient, CountQuery countQuery) {
+    return TotalRecordsStrategy.query(sqlClient, countQuery, countQuery.getSql());
+  }
+}
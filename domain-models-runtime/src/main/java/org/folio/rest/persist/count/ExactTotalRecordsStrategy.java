@@ -0,0 +1,16 @@
+package org.folio.rest.persist.count;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.SqlClient;
+
+/**
+ * Always calculate the exact count.
+ *
+ * <p>This may take long and may put load on the database, see README.md section "Estimated totalRecords".
+ */
+public class ExactTotalRecordsStrategy implements TotalRecordsStrategy {
+  @Override
+  public Future<Integer> count(SqlClient sqlClient, CountQuery countQuery) {
+    return TotalRecordsStrategy.query(sqlClient, countQuery, countQuery.getExactSql());
+  }
+}
@@ -0,0 +1,62 @@
+package org.folio.rest.persist.count;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.SqlClient;
+import org.folio.rest.tools.utils.RmbMetrics;
+
+/**
+ * How PostgresClient calculates totalRecords of a get or streamGet query.
+ *
+ * <p>Set it using {@link org.folio.rest.persist.PostgresClient#setTotalRecordsStrategy(TotalRecordsStrategy)},
+ * the default is {@link EstimateTotalRecordsStrategy}.
+ *
+ * @see ExactTotalRecordsStrategy
+ * @see CachedTotalRecordsStrategy
+ */
+public interface TotalRecordsStrategy {
+  /**
+   * Calculate totalRecords.
+   *
+   * <p>Use {@link #query(SqlClient, CountQuery, String)} to run a count query so that it shows up
+   * in the {@link RmbMetrics}.
+   *
+   * @param sqlClient  the connection to run the count query on
+   * @param countQuery  the queries to choose from
+   * @return the number of records, may be an estimation
+   */
+  Future<Integer> count(SqlClient sqlClient, CountQuery countQuery);
+
+  /**
+   * Called after PostgresClient has written to the table, records may have been added or removed.
+   *
+   * @param schemaName  schema of the tenant
+   * @param table  table name without schema
+   */
+  default void invalidate(String schemaName, String table) {
+    // nothing to invalidate
+  }
+
+  /**
+   * Run the count query.
+   *
+   * @param sql  SELECT returning the count in the first column
+   * @return the count
+   */
+  static Future<Integer> query(SqlClient sqlClient, String sql) {
+    return sqlClient.query(sql).execute()
+        .map(rowSet -> rowSet.iterator().next().getInteger(0));
+  }
+
+  /**
+   * Run the count query and record its duration as count operation of the
+   * tenant and table of countQuery in the {@link RmbMetrics}.
+   *
+   * @param sql  SELECT returning the count in the first column, for example {@link CountQuery#getSql()}
+   * @return the count
+   */
+  static Future<Integer> query(SqlClient sqlClient, CountQuery countQuery, String sql) {
+    long start = System.nanoTime();
+    return query(sqlClient, sql)
+        .onComplete(x -> RmbMetrics.query(countQuery.getTenantId(), countQuery.getTable(), "count", start));
+  }
+}
@@ -6,6 +6,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.cql2pgjson.CQL2PgJSON;
 import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.Criteria.Limit;
 import org.folio.rest.persist.Criteria.Offset;
@@ -190,22 +191,33 @@ public class CQLWrapper {
     return this;
   }
 
+  /**
+   * Convert the CQL query.
+   * @param parameters  where to append the values of the $n placeholders, null to inline the search terms
+   * @return the SqlSelect, or null if there is no CQL query
+   */
+  private SqlSelect toSql(List<Object> parameters) {
+    if (field == null || query == null) {
+      return null;
+    }
+    try {
+      return parameters == null ? field.toSql(query) : field.toSql(query, parameters);
+    } catch (QueryValidationException e) {
+      throw new CQLQueryValidationException(e);
+    }
+  }
+
   /**
    * Get where clause (without WHERE prefix) for Criterion/CQL cases
+   * @param parameters  where to append the values of the $n placeholders, null to inline the search terms
    * @return clause or empty string if none
    */
-  private String getWhereThis() {
+  private String getWhereThis(List<Object> parameters) {
     if (criterion != null) {
       return criterion.getWhere();
     }
-    if (field != null && query != null) {
-      try {
-        return field.toSql(query).getWhere();
-      } catch (QueryValidationException e) {
-        throw new CQLQueryValidationException(e);
-      }
-    }
-    return "";
+    SqlSelect sqlSelect = toSql(parameters);
+    return sqlSelect == null ? "" : sqlSelect.getWhere();
   }
 
   /**
@@ -225,13 +237,15 @@ public class CQLWrapper {
   }
 
   /**
+   * @param whereThis  where clause of this wrapper without the added wrappers
+   * @param parameters  where to append the values of the $n placeholders, null to inline the search terms
    * @return where clause excluding WHERE prefix or empty string if for no where
    */
-  private String getWhereOp() {
+  private String getWhereOp(String whereThis, List<Object> parameters) {
     StringBuilder sb = new StringBuilder();
-    sb.append(getWhereThis());
+    sb.append(whereThis);
     for (WrapTheWrapper wrap : addedWrappers) {
-      String a = wrap.wrapper.getWhereThis();
+      String a = wrap.wrapper.getWhereThis(parameters);
       if (!a.isEmpty()) {
         if (sb.length() > 0) {
           sb.insert(0, '(');
@@ -252,11 +266,14 @@ public class CQLWrapper {
     if (whereClause != null) {
       return whereClause;
     }
-    String s = getWhereOp();
-    if (s.isEmpty()) {
+    return whereClause(getWhereOp(getWhereThis(null), null));
+  }
+
+  private static String whereClause(String whereOp) {
+    if (whereOp.isEmpty()) {
       return "";
     }
-    return "WHERE " + s;
+    return "WHERE " + whereOp;
   }
 
 
@@ -292,11 +309,14 @@ public class CQLWrapper {
     if (criterion != null) {
       return criterion.getOrderBy();
     }
-    String s = getOrderByOp();
-    if (s.isEmpty()) {
+    return orderByClause(getOrderByOp());
+  }
+
+  private static String orderByClause(String orderByOp) {
+    if (orderByOp.isEmpty()) {
       return "";
     }
-    return "ORDER BY " + s;
+    return "ORDER BY " + orderByOp;
   }
 
   /**
@@ -313,7 +333,30 @@ public class CQLWrapper {
    */
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder(getWithoutLimOff());
+    return withLimOff(getWithoutLimOff());
+  }
+
+  /**
+   * The CQL search terms are $n placeholders so that the prepared statement can be reused for
+   * any query of the same shape. A Criterion or a where clause set by {@link #setWhereClause(String)}
+   * is taken as is.
+   *
+   * @param parameters  where to append the values of the $n placeholders
+   * @return full query including SQL clauses of WHERE, ORDER BY, OFFSET and LIMIT.
+   */
+  public String toString(List<Object> parameters) {
+    if (whereClause != null || criterion != null) {
+      return toString();
+    }
+    SqlSelect sqlSelect = toSql(parameters);
+    StringBuilder sb = new StringBuilder(
+        whereClause(getWhereOp(sqlSelect == null ? "" : sqlSelect.getWhere(), parameters)));
+    spaceAppend(sb, orderByClause(sqlSelect == null ? "" : sqlSelect.getOrderBy()));
+    return withLimOff(sb.toString());
+  }
+
+  private String withLimOff(String withoutLimOff) {
+    StringBuilder sb = new StringBuilder(withoutLimOff);
     spaceAppend(sb, limit.toString());
     spaceAppend(sb, offset.toString());
     String sql = sb.toString();
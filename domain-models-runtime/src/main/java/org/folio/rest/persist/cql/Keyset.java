@@ -0,0 +1,201 @@
+package org.folio.rest.persist.cql;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.StringJoiner;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSortKey;
+
+/**
+ * Keyset (seek) pagination of a CQL query: Instead of skipping OFFSET records the next page
+ * starts after the sort key values of the last record of the previous page. Deep pages are as
+ * fast as the first page if there is an index for the sort keys.
+ *
+ * <p>The sort keys are those of the CQL sortBy clause, {@code id} is appended as tie-breaker
+ * unless already sorted by id; it has the direction of the last sort key so that a sortBy with a
+ * single direction can use the row comparison. The opaque continuation token contains the sort
+ * key values of the last record of a page.
+ */
+public class Keyset {
+  /** alias prefix of the sort key columns the SELECT returns */
+  public static final String COLUMN_PREFIX = "keyset_";
+  private static final String ID = "id";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final String where;
+  private final List<SqlSortKey> sortKeys;
+  private final String fingerprint;
+  private final int limit;
+
+  /**
+   * @param wrapper  the CQL query with optional sortBy; Criterion and raw WHERE clauses are not supported,
+   *     the limit of wrapper is the page size, the offset of wrapper is ignored
+   * @throws IllegalArgumentException if wrapper doesn't contain a CQL query
+   * @throws CQLQueryValidationException if the CQL query is invalid
+   */
+  public Keyset(CQLWrapper wrapper) {
+    if (wrapper.field == null || wrapper.query == null || wrapper.criterion != null
+        || wrapper.whereClause != null) {
+      throw new IllegalArgumentException("Keyset pagination requires a CQL query");
+    }
+    try {
+      sortKeys = new ArrayList<>(wrapper.field.toSql(wrapper.query).getSortKeys());
+    } catch (QueryValidationException e) {
+      throw new CQLQueryValidationException(e);
+    }
+    if (sortKeys.stream().noneMatch(sortKey -> ID.equals(sortKey.getExpression()))) {
+      boolean descending = ! sortKeys.isEmpty() && sortKeys.get(sortKeys.size() - 1).isDescending();
+      sortKeys.add(new SqlSortKey(ID, "uuid", descending));
+    }
+    where = wrapper.getWhereClause();
+    fingerprint = Integer.toHexString(sortKeys.toString().hashCode());
+    limit = wrapper.getLimit().get();
+  }
+
+  /**
+   * @return the page size, -1 for no limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * The SELECT statement for the page after the token. It fetches one record more than
+   * the limit to detect whether there is a next page.
+   *
+   * @param columns  the columns to return, for example "jsonb"
+   * @param schemaTable  the table including the schema, for example "diku_mod_inventory.instance"
+   * @param token  the continuation token of the previous page, null for the first page
+   * @param params  where to add the values of the $ parameters
+   * @throws IllegalArgumentException if token is invalid or belongs to a different sortBy clause
+   */
+  public String selectSql(String columns, String schemaTable, String token, Tuple params) {
+    StringBuilder sql = new StringBuilder("SELECT ").append(columns);
+    for (int i = 0; i < sortKeys.size(); i++) {
+      sql.append(", (").append(sortKeys.get(i).getExpression()).append(")::text AS ")
+      .append(COLUMN_PREFIX).append(i);
+    }
+    sql.append(" FROM ").append(schemaTable);
+    if (token == null) {
+      sql.append(' ').append(where);
+    } else {
+      String condition = condition(decode(token), params);
+      if (where.isEmpty()) {
+        sql.append(" WHERE ").append(condition);
+      } else {
+        sql.append(" WHERE (").append(where.substring("WHERE ".length())).append(") AND ").append(condition);
+      }
+    }
+    StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+    sortKeys.forEach(sortKey -> orderBy.add(sortKey.toString()));
+    sql.append(orderBy);
+    if (limit >= 0) {
+      sql.append(" LIMIT ").append(limit + 1);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * The continuation token of a page that ends with row.
+   *
+   * @param row  a row returned by the {@link #selectSql(String, String, String, Tuple)} statement
+   */
+  public String token(Row row) {
+    JsonArray values = new JsonArray().add(fingerprint);
+    for (int i = 0; i < sortKeys.size(); i++) {
+      values.add(row.getString(COLUMN_PREFIX + i));
+    }
+    return ENCODER.encodeToString(values.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the sort key values of the token
+   */
+  List<String> decode(String token) {
+    JsonArray values;
+    try {
+      values = new JsonArray(new String(DECODER.decode(token), StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException | DecodeException e) {
+      throw new IllegalArgumentException("Invalid keyset token: " + token, e);
+    }
+    if (values.size() != sortKeys.size() + 1 || ! fingerprint.equals(values.getValue(0))) {
+      throw new IllegalArgumentException("Keyset token doesn't match the sortBy clause: " + token);
+    }
+    List<String> result = new ArrayList<>();
+    for (int i = 1; i < values.size(); i++) {
+      Object value = values.getValue(i);
+      if (value != null && ! (value instanceof String)) {
+        throw new IllegalArgumentException("Invalid keyset token: " + token);
+      }
+      result.add((String) value);
+    }
+    return result;
+  }
+
+  /**
+   * The condition that selects the records after values. PostgreSQL sorts NULL after any
+   * other value when ascending and before any other value when descending.
+   *
+   * <p>If no value is NULL and all keys have the same direction the sargable row comparison
+   * {@code (k1, k2, id) > ($1, $2, $3)} is used, extended by NULL checks for nullable keys.
+   */
+  String condition(List<String> values, Tuple params) {
+    List<String> placeholders = new ArrayList<>();
+    for (int i = 0; i < values.size(); i++) {
+      String value = values.get(i);
+      if (value == null) {
+        placeholders.add(null);
+        continue;
+      }
+      params.addString(value);
+      String type = sortKeys.get(i).getType();
+      placeholders.add("$" + params.size() + "::text" + ("text".equals(type) ? "" : "::" + type));
+    }
+    boolean descending = sortKeys.get(0).isDescending();
+    boolean rowComparison = ! placeholders.contains(null)
+        && sortKeys.stream().allMatch(sortKey -> sortKey.isDescending() == descending);
+    List<String> terms = new ArrayList<>();
+    if (rowComparison) {
+      StringJoiner keys = new StringJoiner(", ", "(", ")");
+      StringJoiner vals = new StringJoiner(", ", "(", ")");
+      for (int i = 0; i < sortKeys.size(); i++) {
+        keys.add(sortKeys.get(i).getExpression());
+        vals.add(placeholders.get(i));
+      }
+      terms.add(keys + (descending ? " < " : " > ") + vals);
+    }
+    StringBuilder equalPrefix = new StringBuilder();
+    for (int i = 0; i < sortKeys.size(); i++) {
+      SqlSortKey sortKey = sortKeys.get(i);
+      String key = sortKey.getExpression();
+      String placeholder = placeholders.get(i);
+      if (placeholder == null) {
+        if (sortKey.isDescending()) {
+          terms.add(equalPrefix + key + " IS NOT NULL");
+        }
+        equalPrefix.append(key).append(" IS NULL AND ");
+        continue;
+      }
+      if (! rowComparison) {
+        terms.add(equalPrefix + key + (sortKey.isDescending() ? " < " : " > ") + placeholder);
+      }
+      if (! sortKey.isDescending() && ! ID.equals(key)) {
+        terms.add(equalPrefix + key + " IS NULL");
+      }
+      equalPrefix.append(key).append(" = ").append(placeholder).append(" AND ");
+    }
+    if (terms.isEmpty()) {
+      return "false";
+    }
+    StringJoiner condition = new StringJoiner(") OR (", "((", "))");
+    terms.forEach(condition::add);
+    return condition.toString();
+  }
+}
@@ -12,6 +12,7 @@ public class Results <T> {
 
   private List<T> list;
   private ResultInfo rInfo;
+  private String nextToken;
 
   public void setResults(List<T> list){
     this.list = list;
@@ -29,4 +30,19 @@ public class Results <T> {
     return this.rInfo;
   }
 
+  /**
+   * @param nextToken  keyset pagination token for the next page, null if this is the last page
+   */
+  public void setNextToken(String nextToken) {
+    this.nextToken = nextToken;
+  }
+
+  /**
+   * @return keyset pagination token for the next page, null if this is the last page or
+   *   keyset pagination is not used
+   */
+  public String getNextToken() {
+    return nextToken;
+  }
+
 }
@@ -23,7 +23,10 @@ public enum Envs {
   DB_CONNECTIONRELEASEDELAY,
   DB_RECONNECTATTEMPTS,
   DB_RECONNECTINTERVAL,
-  DB_EXPLAIN_QUERY_THRESHOLD;
+  DB_PREPAREDSTATEMENTCACHESIZE,
+  DB_EXPLAIN_QUERY_THRESHOLD,
+  DB_READER_MAX_STALENESS,
+  DB_READER_LAG_PROBE_INTERVAL;
 
   private static Map<String, String> env = System.getenv();
 
@@ -58,7 +61,10 @@ public enum Envs {
     case DB_CONNECTIONRELEASEDELAY:  return "connectionReleaseDelay";
     case DB_RECONNECTATTEMPTS:       return "reconnectAttempts";
     case DB_RECONNECTINTERVAL:       return "reconnectInterval";
+    case DB_PREPAREDSTATEMENTCACHESIZE: return "preparedStatementCacheSize";
     case DB_EXPLAIN_QUERY_THRESHOLD: return envs.name();
+    case DB_READER_MAX_STALENESS:    return "readerMaxStaleness";
+    case DB_READER_LAG_PROBE_INTERVAL: return "readerLagProbeInterval";
     default:                         return envs.name().substring(3).toLowerCase();
     }
   }
@@ -74,9 +80,12 @@ public enum Envs {
       case DB_MAXSHAREDPOOLSIZE:
       case DB_CONNECTIONRELEASEDELAY:
       case DB_RECONNECTATTEMPTS:
+      case DB_PREPAREDSTATEMENTCACHESIZE:
         return Integer.parseInt(value);
       case DB_RECONNECTINTERVAL:
       case DB_EXPLAIN_QUERY_THRESHOLD:
+      case DB_READER_MAX_STALENESS:
+      case DB_READER_LAG_PROBE_INTERVAL:
         return Long.parseLong(value);
       default:
         return value;
@@ -2,7 +2,9 @@ package org.folio.rest.tools.utils;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.google.common.collect.HashBasedTable;
@@ -19,7 +21,7 @@ public class InterfaceToImpl {
   private static final Logger log = LogManager.getLogger(InterfaceToImpl.class);
 
   /**
-   * Return the implementing class.
+   * Return the implementing class. Scan the class path if the {@link ClassIndex} of implDir has none.
    *
    * @param implDir
    *          - package name where to search
@@ -32,26 +34,49 @@ public class InterfaceToImpl {
    *           - if no class in implDir implements the interface
    */
   public static ArrayList<Class<?>> convert2Impl(String implDir, String interface2check, boolean allowMultiple) throws IOException, ClassNotFoundException {
-    ArrayList<Class<?>> impl = new ArrayList<>();
     ArrayList<Class<?>> cachedClazz = clazzCache.get(implDir, interface2check);
     if(cachedClazz != null){
       log.debug("returned {} class/es from cache", cachedClazz.size());
       return cachedClazz;
     }
 
-    ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
-    Set<ClassPath.ClassInfo> classes = classPath.getTopLevelClasses(implDir);
+    List<String> indexed = ClassIndex.getTopLevelClasses(implDir);
+    ArrayList<Class<?>> impl = new ArrayList<>();
+    if (indexed != null) {
+      impl = findImpl(indexed, implDir, interface2check, allowMultiple);
+      if (impl.isEmpty()) {
+        // for example a test-only implementation in target/test-classes that the index of target/classes misses
+        log.warn("Implementation of {} not found in {} of {}, scanning the class path",
+            interface2check, ClassIndex.RESOURCE, implDir);
+      }
+    }
+    if (impl.isEmpty()) {
+      impl = findImpl(scanTopLevelClasses(implDir), implDir, interface2check, allowMultiple);
+    }
+    if (impl.isEmpty()) {
+      throw new ClassNotFoundException("Implementation of " + interface2check + " not found in " + implDir);
+    }
+    clazzCache.put(implDir, interface2check, impl);
+    return impl;
+  }
 
+  /**
+   * The classes named in classes that implement interface2check, empty if none.
+   */
+  private static ArrayList<Class<?>> findImpl(Collection<String> classes, String implDir, String interface2check,
+      boolean allowMultiple) {
+
+    ArrayList<Class<?>> impl = new ArrayList<>();
     Class<?> userImpl = null;
     /** iterate over all classes in the org.folio.rest.impl package to find the one implementing the
      * requested interface */
-    for (ClassPath.ClassInfo info : classes) {
+    for (String className : classes) {
       if(userImpl != null && impl.size() == 1){
         /** we found a user impl that matches the interface2check, we are done, since we can only have one of these */
         break;
       }
       try {
-        Class<?> clazz = Class.forName(info.getName());
+        Class<?> clazz = Class.forName(className);
         if(!clazz.getSuperclass().getName().equals("java.lang.Object") && clazz.getSuperclass().getInterfaces().length > 0){ //NOSONAR
           /** user defined class which overrides one of the out of the box RMB implementations
            * set the clazz to the interface. find the correct implementation below */
@@ -90,11 +115,18 @@ public class InterfaceToImpl {
         log.error(e.getMessage(), e);
       }
     }
-    if (impl.isEmpty()) {
-      throw new ClassNotFoundException("Implementation of " + interface2check + " not found in " + implDir);
-    }
-    clazzCache.put(implDir, interface2check, impl);
     return impl;
   }
 
+  /**
+   * The names of the top level classes in packageName found by scanning the class path,
+   * slower than the build time {@link ClassIndex}.
+   */
+  private static Collection<String> scanTopLevelClasses(String packageName) throws IOException {
+    ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
+    return classPath.getTopLevelClasses(packageName).stream()
+        .map(ClassPath.ClassInfo::getName)
+        .collect(Collectors.toList());
+  }
+
 }
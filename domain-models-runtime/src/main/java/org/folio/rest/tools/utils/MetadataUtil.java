@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import org.folio.okapi.common.OkapiToken;
 import org.folio.rest.RestVerticle;
 import org.folio.rest.jaxrs.model.Metadata;
 
@@ -35,16 +34,12 @@ public final class MetadataUtil {
    * createdByUserId and updatedByUserId are set to the
    * {@link RestVerticle#OKAPI_USERID_HEADER} header, using {@code user_id} from the
    * {@link RestVerticle#OKAPI_HEADER_TOKEN} as a fall-back. The token is used without
-   * validation.
+   * validation, its decoded claims are cached in {@link OkapiTokenCache}.
    */
   public static Metadata createMetadata(Map<String, String> okapiHeaders) {
     String userId = okapiHeaders.get(RestVerticle.OKAPI_USERID_HEADER);
     if (userId == null) {
-      try {
-        userId = new OkapiToken(okapiHeaders.get(RestVerticle.OKAPI_HEADER_TOKEN)).getUserIdWithoutValidation();
-      } catch (Exception e) {
-        // ignore, userId remains null
-      }
+      userId = OkapiTokenCache.getUserId(okapiHeaders.get(RestVerticle.OKAPI_HEADER_TOKEN));
     }
     Metadata md = new Metadata();
     md.setUpdatedDate(new Date());
@@ -0,0 +1,182 @@
+package org.folio.rest.tools.utils;
+
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.folio.okapi.common.OkapiToken;
+import org.folio.util.LruCache;
+
+/**
+ * Bounded least recently used cache of the decoded payload (claims) of X-Okapi-Token values.
+ *
+ * <p>Decoding base64 and parsing the JSON payload of the same token again and again is wasted
+ * work when a client sends many requests with the identical token, for example a batch import.
+ * The key is the token string, an entry expires at the {@code exp} claim of the token; tokens
+ * without {@code exp} stay until evicted. A token that cannot be decoded is cached with an
+ * empty payload.
+ *
+ * <p>Like {@link OkapiToken#getPayloadWithoutValidation()} the token is not validated.
+ *
+ * <p>The environment variable {@link #TOKEN_CACHE_SIZE} sets the maximum number of entries, default is
+ * {@link #DEFAULT_MAX_SIZE}, 0 disables the cache.
+ */
+public final class OkapiTokenCache {
+  public static final String TOKEN_CACHE_SIZE = "TOKEN_CACHE_SIZE";
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private static final LruCache<String, Entry> CACHE = new LruCache<>(TOKEN_CACHE_SIZE, DEFAULT_MAX_SIZE);
+  private static LongSupplier currentTimeMillis = System::currentTimeMillis;
+
+  static {
+    configureMaxSize(System.getenv());
+  }
+
+  private OkapiTokenCache() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  /**
+   * Set the maximum size from the {@link #TOKEN_CACHE_SIZE} value of env, or {@link #DEFAULT_MAX_SIZE} if not set.
+   *
+   * @param env  environment variables
+   * @throws NumberFormatException  if the value is not an integer
+   */
+  public static void configureMaxSize(Map<String, String> env) {
+    CACHE.configureMaxSize(env);
+  }
+
+  /**
+   * Set the maximum number of entries, evict the least recently used entries if needed.
+   *
+   * @param maxSize  maximum number of entries, 0 disables the cache
+   * @throws IllegalArgumentException  if maxSize is negative
+   */
+  public static void setMaxSize(int maxSize) {
+    CACHE.setMaxSize(maxSize);
+  }
+
+  public static int getMaxSize() {
+    return CACHE.getMaxSize();
+  }
+
+  /**
+   * @return current number of entries
+   */
+  public static int size() {
+    return CACHE.size();
+  }
+
+  /**
+   * @return number of lookups that found an entry since start or the last {@link #clear()}
+   */
+  public static long getHits() {
+    return CACHE.getHits();
+  }
+
+  /**
+   * @return number of lookups that didn't find an entry since start or the last {@link #clear()}
+   */
+  public static long getMisses() {
+    return CACHE.getMisses();
+  }
+
+  /**
+   * Remove all entries and reset the hit and miss counters.
+   */
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  /**
+   * For unit tests.
+   */
+  static void setCurrentTimeMillis(LongSupplier currentTimeMillis) {
+    OkapiTokenCache.currentTimeMillis = currentTimeMillis;
+  }
+
+  /**
+   * The payload of token without validation.
+   *
+   * @return a copy of the payload, an empty JsonObject if token cannot be decoded, null if token is null
+   */
+  public static JsonObject getPayload(String token) {
+    if (token == null) {
+      return null;
+    }
+    return entry(token).payload.copy();
+  }
+
+  /**
+   * The {@code user_id} claim of token without validation.
+   *
+   * @return the user id, or null if token is null, cannot be decoded or has no {@code user_id}
+   */
+  public static String getUserId(String token) {
+    if (token == null) {
+      return null;
+    }
+    return entry(token).userId;
+  }
+
+  /**
+   * The {@code tenant} claim of token without validation.
+   *
+   * @return the tenant id, or null if token is null, cannot be decoded or has no {@code tenant}
+   */
+  public static String getTenant(String token) {
+    if (token == null) {
+      return null;
+    }
+    return entry(token).tenant;
+  }
+
+  private static Entry entry(String token) {
+    long now = currentTimeMillis.getAsLong();
+    if (!CACHE.isEnabled()) {
+      return new Entry(decode(token));
+    }
+    Entry entry = CACHE.get(token, cached -> !cached.isExpired(now));
+    if (entry != null) {
+      return entry;
+    }
+    entry = new Entry(decode(token));
+    if (!entry.isExpired(now)) {
+      CACHE.put(token, entry);
+    }
+    return entry;
+  }
+
+  private static JsonObject decode(String token) {
+    try {
+      JsonObject payload = new OkapiToken(token).getPayloadWithoutValidation();
+      return payload == null ? new JsonObject() : payload;
+    } catch (Exception e) {
+      return new JsonObject();
+    }
+  }
+
+  private static final class Entry {
+    private final JsonObject payload;
+    private final String userId;
+    private final String tenant;
+    /** milliseconds since epoch, Long.MAX_VALUE if the token has no exp claim */
+    private final long expires;
+
+    private Entry(JsonObject payload) {
+      this.payload = payload;
+      this.userId = string(payload, "user_id");
+      this.tenant = string(payload, "tenant");
+      Object exp = payload.getValue("exp");
+      this.expires = exp instanceof Number ? ((Number) exp).longValue() * 1000 : Long.MAX_VALUE;
+    }
+
+    private static String string(JsonObject payload, String key) {
+      Object value = payload.getValue(key);
+      return value instanceof String ? (String) value : null;
+    }
+
+    private boolean isExpired(long now) {
+      return now >= expires;
+    }
+  }
+}
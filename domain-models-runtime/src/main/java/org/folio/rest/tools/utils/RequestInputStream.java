@@ -0,0 +1,190 @@
+package org.folio.rest.tools.utils;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A blocking InputStream of the complete body of an HTTP request, or of any other
+ * {@code ReadStream<Buffer>}.
+ *
+ * <p>The source is paused when maxBuffered bytes have been received but not yet read,
+ * and resumed when the reader has consumed half of them. Therefore the memory needed
+ * is bounded, regardless of the body size.
+ *
+ * <p>The read methods block until data is available; they must not be called from an
+ * event loop thread because this would block the thread that receives the data. A read
+ * on an event loop thread throws IllegalStateException if no data is available. Use
+ * {@link io.vertx.core.Vertx#executeBlocking} to read.
+ */
+public class RequestInputStream extends InputStream {
+  /** default for maxBuffered */
+  public static final int DEFAULT_MAX_BUFFERED = 256 * 1024;
+
+  private final Context context;
+  private final ReadStream<Buffer> source;
+  private final int maxBuffered;
+  /** received but not yet read, guarded by this */
+  private final Deque<Buffer> queue = new ArrayDeque<>();
+  /** sum of the lengths of the queue buffers */
+  private int buffered;
+  private boolean paused;
+  private boolean resumeScheduled;
+  private boolean ended;
+  private boolean closed;
+  private Throwable failure;
+  /** the buffer that is currently read, not in queue */
+  private Buffer current;
+  private int pos;
+
+  /**
+   * Set the handlers of source and start reading it. Must be called on the context
+   * of source.
+   *
+   * @param context  the context of the source, used to pause and resume it
+   * @param source  where to read the data from
+   * @param maxBuffered  number of bytes to buffer before pausing source
+   */
+  public RequestInputStream(Context context, ReadStream<Buffer> source, int maxBuffered) {
+    if (maxBuffered < 1) {
+      throw new IllegalArgumentException("maxBuffered must be positive: " + maxBuffered);
+    }
+    this.context = context;
+    this.source = source;
+    this.maxBuffered = maxBuffered;
+    source.exceptionHandler(this::onFailure);
+    source.endHandler(end -> onEnd());
+    source.handler(this::onData);
+  }
+
+  private synchronized void onData(Buffer buffer) {
+    if (closed) {
+      return;
+    }
+    queue.add(buffer);
+    buffered += buffer.length();
+    if (! paused && buffered >= maxBuffered) {
+      paused = true;
+      source.pause();
+    }
+    notifyAll();
+  }
+
+  private synchronized void onEnd() {
+    ended = true;
+    notifyAll();
+  }
+
+  private synchronized void onFailure(Throwable throwable) {
+    if (failure == null) {
+      failure = throwable;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Resume the source on its context if enough data has been read.
+   */
+  private void scheduleResume() {
+    if (! paused || resumeScheduled || buffered > maxBuffered / 2) {
+      return;
+    }
+    resumeScheduled = true;
+    context.runOnContext(v -> resume());
+  }
+
+  private synchronized void resume() {
+    resumeScheduled = false;
+    if (paused && (closed || buffered <= maxBuffered / 2)) {
+      paused = false;
+      source.resume();
+    }
+  }
+
+  /**
+   * Wait until current has data to read.
+   *
+   * @return false on end of stream
+   */
+  private boolean await() throws IOException {
+    while (current == null || pos >= current.length()) {
+      current = queue.poll();
+      pos = 0;
+      if (current != null) {
+        buffered -= current.length();
+        scheduleResume();
+        continue;
+      }
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (failure != null) {
+        throw new IOException(failure.getMessage(), failure);
+      }
+      if (ended) {
+        return false;
+      }
+      if (Context.isOnEventLoopThread()) {
+        throw new IllegalStateException("Blocking read on event loop thread, use executeBlocking");
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    if (! await()) {
+      return -1;
+    }
+    return current.getByte(pos++) & 0xff;
+  }
+
+  @Override
+  public synchronized int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (! await()) {
+      return -1;
+    }
+    int n = Math.min(len, current.length() - pos);
+    current.getBytes(pos, pos + n, b, off);
+    pos += n;
+    return n;
+  }
+
+  @Override
+  public synchronized int available() {
+    return (current == null ? 0 : current.length() - pos) + buffered;
+  }
+
+  /**
+   * Discard the remaining data; resume the source so that it can complete.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    queue.clear();
+    buffered = 0;
+    current = null;
+    if (paused && ! resumeScheduled) {
+      resumeScheduled = true;
+      context.runOnContext(v -> resume());
+    }
+    notifyAll();
+  }
+}
@@ -0,0 +1,184 @@
+package org.folio.rest.tools.utils;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters of RMB: SQL query, count query and deserialization durations per tenant and table,
+ * connection pool wait time and connection checkouts, HTTP request duration and response size
+ * per route.
+ *
+ * <p>The meters are kept in a Prometheus registry, {@link #scrape()} returns them in the
+ * Prometheus text format for the /admin/metrics API. Use {@link #add(MeterRegistry)} to additionally
+ * publish them to another registry like the one of vertx-micrometer-metrics.
+ */
+public final class RmbMetrics {
+  public static final String DB_QUERY = "rmb.db.query";
+  public static final String DB_DESERIALIZATION = "rmb.db.deserialization";
+  public static final String DB_POOL_WAIT = "rmb.db.pool.wait";
+  public static final String DB_CONNECTION_CHECKOUT = "rmb.db.connection.checkout";
+  public static final String DB_CONNECTION_CACHE_SIZE = "rmb.db.connection.cache.size";
+  public static final String HTTP_REQUEST = "rmb.http.request";
+  public static final String HTTP_RESPONSE_SIZE = "rmb.http.response.size";
+
+  /** connection of the same tenant taken from the shared pool's connection cache */
+  public static final String CHECKOUT_HIT = "hit";
+  /** new connection taken from the pool, SET ROLE is needed */
+  public static final String CHECKOUT_MISS = "miss";
+  /** connection of another tenant taken from the shared pool's connection cache, SET ROLE is needed */
+  public static final String CHECKOUT_RECYCLE = "recycle";
+
+  private static final Duration [] DURATION_BUCKETS = durations(
+      1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000);
+  private static final double [] SIZE_BUCKETS = {
+      1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8 };
+  private static final String TENANT = "tenant";
+  private static final String UNKNOWN = "unknown";
+
+  private static final PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  private static final CompositeMeterRegistry registry =
+      new CompositeMeterRegistry(Clock.SYSTEM, List.of(prometheus));
+  /** meter name and tags to meter, avoids the builder and registry lookup for each recording */
+  private static final Map<List<String>, Meter> meters = new ConcurrentHashMap<>();
+
+  private RmbMetrics() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  private static Duration [] durations(long... millis) {
+    Duration [] durations = new Duration [millis.length];
+    for (int i = 0; i < millis.length; i++) {
+      durations[i] = Duration.ofMillis(millis[i]);
+    }
+    return durations;
+  }
+
+  /**
+   * The registry all RMB meters are registered at; a module may add a MeterFilter to it,
+   * for example to drop the tenant tag. Add the MeterFilter before the first request, RMB
+   * reuses a meter once it has been registered.
+   */
+  public static MeterRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Also publish all RMB meters to meterRegistry. Nothing happens if meterRegistry is null
+   * or has already been added.
+   */
+  public static void add(MeterRegistry meterRegistry) {
+    if (meterRegistry == null || meterRegistry == prometheus
+        || registry.getRegistries().contains(meterRegistry)) {
+      return;
+    }
+    registry.add(meterRegistry);
+  }
+
+  /**
+   * All meters in the Prometheus text format.
+   */
+  public static String scrape() {
+    return prometheus.scrape();
+  }
+
+  private static List<String> key(String name, String... tags) {
+    String [] key = Arrays.copyOf(tags, tags.length + 1);
+    key[tags.length] = name;
+    return Arrays.asList(key);
+  }
+
+  private static Timer timer(String name, String... tags) {
+    return (Timer) meters.computeIfAbsent(key(name, tags), key -> Timer.builder(name)
+        .tags(tags)
+        .serviceLevelObjectives(DURATION_BUCKETS)
+        .register(registry));
+  }
+
+  private static Counter counter(String name, String... tags) {
+    return (Counter) meters.computeIfAbsent(key(name, tags), key -> Counter.builder(name)
+        .tags(tags)
+        .register(registry));
+  }
+
+  private static DistributionSummary sizeSummary(String name, String... tags) {
+    return (DistributionSummary) meters.computeIfAbsent(key(name, tags), key -> DistributionSummary.builder(name)
+        .baseUnit("bytes")
+        .tags(tags)
+        .serviceLevelObjectives(SIZE_BUCKETS)
+        .register(registry));
+  }
+
+  private static void record(Timer timer, long startNanoTime) {
+    timer.record(System.nanoTime() - startNanoTime, TimeUnit.NANOSECONDS);
+  }
+
+  private static String nonNull(String s) {
+    return s == null ? UNKNOWN : s;
+  }
+
+  /**
+   * Record the duration of a SQL query since startNanoTime.
+   *
+   * @param operation  for example get, count, save, update, delete
+   */
+  public static void query(String tenantId, String table, String operation, long startNanoTime) {
+    record(timer(DB_QUERY, TENANT, nonNull(tenantId), "table", nonNull(table), "operation", operation),
+        startNanoTime);
+  }
+
+  /**
+   * Record the duration of converting the query result into Java objects since startNanoTime.
+   */
+  public static void deserialization(String tenantId, String table, long startNanoTime) {
+    record(timer(DB_DESERIALIZATION, TENANT, nonNull(tenantId), "table", nonNull(table)), startNanoTime);
+  }
+
+  /**
+   * Record how long it took since startNanoTime to get a database connection.
+   */
+  public static void poolWait(String tenantId, long startNanoTime) {
+    record(timer(DB_POOL_WAIT, TENANT, nonNull(tenantId)), startNanoTime);
+  }
+
+  /**
+   * Count a connection checkout from the shared pool.
+   *
+   * @param result  {@link #CHECKOUT_HIT}, {@link #CHECKOUT_MISS} or {@link #CHECKOUT_RECYCLE}
+   */
+  public static void checkout(String tenantId, String result) {
+    counter(DB_CONNECTION_CHECKOUT, TENANT, nonNull(tenantId), "result", result).increment();
+  }
+
+  /**
+   * Register a gauge for the number of connections in the connection cache of the shared pool.
+   */
+  public static <T> void connectionCacheSize(T cache, ToDoubleFunction<T> size) {
+    Gauge.builder(DB_CONNECTION_CACHE_SIZE, cache, size).register(registry);
+  }
+
+  /**
+   * Record duration since startNanoTime and response size of an HTTP request.
+   *
+   * @param path  the path of the RAML route like /instance-storage/instances/{instanceId}
+   */
+  public static void request(String method, String path, int status, long startNanoTime, long size) {
+    record(timer(HTTP_REQUEST, "method", method, "path", nonNull(path), "status", Integer.toString(status)),
+        startNanoTime);
+    sizeSummary(HTTP_RESPONSE_SIZE, "method", method, "path", nonNull(path)).record(size);
+  }
+}
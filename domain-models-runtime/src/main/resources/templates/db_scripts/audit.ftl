@@ -1,4 +1,40 @@
 -- trigger for the audit table to keep a history of the changes made to a record.
+DROP TRIGGER IF EXISTS audit_${table.tableName} ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+DROP TRIGGER IF EXISTS audit_${table.tableName}_insert ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+DROP TRIGGER IF EXISTS audit_${table.tableName}_update ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+DROP TRIGGER IF EXISTS audit_${table.tableName}_delete ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+
+<#if table.auditingStatementLevel>
+-- Statement level trigger: A single INSERT writes the audit records of all rows that the
+-- SQL statement has changed. The rows are in the transition table "records".
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.audit_${table.tableName}_changes() RETURNS TRIGGER AS $${table.tableName}_audit$
+  BEGIN
+    INSERT INTO ${myuniversity}_${mymodule}.${table.auditingTableName}
+      SELECT uuid, jsonb_build_object(
+          'id', to_jsonb(uuid::text),
+          '${table.auditingFieldName}', jsonb,
+          'operation', to_jsonb(left(TG_OP, 1)),
+          'createdDate', to_jsonb(current_timestamp::text))
+      FROM (
+        -- random version 4 UUID, gen_random_uuid() requires PostgreSQL >= 13
+        SELECT overlay(overlay(md5(random()::text || clock_timestamp()::text) placing '4' from 13) placing '8' from 17)::uuid AS uuid,
+          jsonb
+        FROM records) AS changes;
+    RETURN NULL;
+  END;
+$${table.tableName}_audit$ LANGUAGE plpgsql;
+
+-- A trigger with transition tables supports a single event only.
+CREATE TRIGGER audit_${table.tableName}_insert AFTER INSERT ON ${myuniversity}_${mymodule}.${table.tableName}
+  REFERENCING NEW TABLE AS records
+  FOR EACH STATEMENT EXECUTE PROCEDURE ${myuniversity}_${mymodule}.audit_${table.tableName}_changes();
+CREATE TRIGGER audit_${table.tableName}_update AFTER UPDATE ON ${myuniversity}_${mymodule}.${table.tableName}
+  REFERENCING NEW TABLE AS records
+  FOR EACH STATEMENT EXECUTE PROCEDURE ${myuniversity}_${mymodule}.audit_${table.tableName}_changes();
+CREATE TRIGGER audit_${table.tableName}_delete AFTER DELETE ON ${myuniversity}_${mymodule}.${table.tableName}
+  REFERENCING OLD TABLE AS records
+  FOR EACH STATEMENT EXECUTE PROCEDURE ${myuniversity}_${mymodule}.audit_${table.tableName}_changes();
+<#else>
 CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.audit_${table.tableName}_changes() RETURNS TRIGGER AS $${table.tableName}_audit$
   DECLARE
   <#if (table.auditingSnippet.delete.declare)??>
@@ -52,7 +88,6 @@ CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.audit_${table.tableName}_
   END;
 $${table.tableName}_audit$ LANGUAGE plpgsql;
 
-DROP TRIGGER IF EXISTS audit_${table.tableName} ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
-
 CREATE TRIGGER audit_${table.tableName} AFTER INSERT OR UPDATE OR DELETE ON ${myuniversity}_${mymodule}.${table.tableName}
   FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.audit_${table.tableName}_changes();
+</#if>
@@ -33,6 +33,11 @@
   <#-- Does foreign key list has at least one "ADD" entry? -->
   <#if (table.foreignKeys!)?filter(key -> key.fieldName?? && key.tOps.name() == "ADD")?size gt 0>
 
+    <#if table.withFusedTrigger>
+    <#-- fused_trigger.ftl populates the foreign key columns -->
+    DROP TRIGGER IF EXISTS update_${table.tableName}_references ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+    DROP FUNCTION IF EXISTS ${myuniversity}_${mymodule}.update_${table.tableName}_references();
+    <#else>
     <#-- function which pulls data from json into the created foreign key columns -->
     CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.update_${table.tableName}_references()
     RETURNS TRIGGER AS $$
@@ -51,6 +56,7 @@
     CREATE TRIGGER update_${table.tableName}_references
       BEFORE INSERT OR UPDATE ON ${myuniversity}_${mymodule}.${table.tableName}
       FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.update_${table.tableName}_references();
+    </#if>
 
     -- Remove duplicate foreign key constraints created by RMB before 30.1.0
     -- https://issues.folio.org/browse/RMB-555
@@ -0,0 +1,122 @@
+-- "withFusedTrigger": true: A single BEFORE INSERT OR UPDATE trigger does the work of the
+-- set_id_in_jsonb, metadata, optimistic locking and foreign key column triggers.
+-- All changes of the jsonb are collected in a small patch object and merged into
+-- NEW.jsonb only once instead of rewriting the complete jsonb for each jsonb_set.
+
+<#if table.withFusedTrigger>
+  <#assign ol = table.withOptimisticLocking?? && table.withOptimisticLocking.name() != "OFF">
+  <#assign ol_version = "_version">
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.set_${table.tableName}_fields()
+RETURNS TRIGGER AS $$
+DECLARE
+  patch jsonb;
+  <#if table.withMetadata == true>
+  metadata jsonb;
+  input text;
+  mdDate timestamp;
+  </#if>
+  <#if ol>
+  newVersion jsonb;
+  </#if>
+BEGIN
+  patch = jsonb_build_object('id', NEW.id);
+
+  <#if table.withMetadata == true>
+  -- metadata, see metadata.ftl
+  metadata = NEW.jsonb->'metadata';
+  IF TG_OP = 'INSERT' THEN
+    input = metadata->>'createdDate';
+    IF input IS NOT NULL THEN
+      -- time stamp without time zone?
+      IF (input::timestamp::timestamptz = input::timestamptz) THEN
+        mdDate = input::timestamp;
+      ELSE
+        mdDate = input::timestamptz AT TIME ZONE '+00';
+      END IF;
+      metadata = metadata || jsonb_build_object(
+          'createdDate', to_char(mdDate, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'),
+          'updatedDate', to_char(mdDate, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'));
+      NEW.creation_date = mdDate;
+      NEW.created_by = metadata->>'createdByUserId';
+      patch = patch || jsonb_build_object('metadata', metadata);
+    END IF;
+  ELSIF NEW.creation_date IS NOT NULL AND metadata IS NOT NULL THEN
+    metadata = metadata || jsonb_build_object(
+        'createdDate', to_char(NEW.creation_date, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'));
+    IF NEW.created_by IS NULL THEN
+      metadata = metadata - 'createdByUserId';
+    ELSE
+      metadata = metadata || jsonb_build_object('createdByUserId', NEW.created_by);
+    END IF;
+    input = metadata->>'updatedDate';
+    IF input IS NOT NULL THEN
+      IF (input::timestamp::timestamptz = input::timestamptz) THEN
+        mdDate = input::timestamp;
+      ELSE
+        mdDate = input::timestamptz AT TIME ZONE '+00';
+      END IF;
+      metadata = metadata || jsonb_build_object(
+          'updatedDate', to_char(mdDate, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'));
+    END IF;
+    patch = patch || jsonb_build_object('metadata', metadata);
+  END IF;
+  </#if>
+
+  <#if ol>
+  -- optimistic locking, see optimistic_locking.ftl
+  -- Unlike optimistic_locking.ftl's "UPDATE OF jsonb" trigger this cannot see whether the UPDATE
+  -- sets the jsonb column, therefore it ignores an UPDATE that doesn't change the jsonb.
+  IF TG_OP = 'INSERT' THEN
+    patch = patch || jsonb_build_object('${ol_version}', 1);
+  ELSIF NEW.jsonb IS DISTINCT FROM OLD.jsonb THEN
+    newVersion = NEW.jsonb->'${ol_version}';
+    <#if table.withOptimisticLocking.name() != "FAIL">
+    IF newVersion = '-1' THEN
+      newVersion = OLD.jsonb->'${ol_version}';
+    END IF;
+    </#if>
+    IF newVersion IS DISTINCT FROM OLD.jsonb->'${ol_version}' THEN
+      <#if table.withOptimisticLocking.name() == "FAIL" || table.withOptimisticLocking.name() == "FAIL_SUPPRESS">
+        RAISE 'Cannot update record % because it has been changed (optimistic locking): '
+      <#else>
+        RAISE NOTICE 'Ignoring optimistic locking conflict while overwriting changed record %: '
+      </#if>
+              'Stored ${ol_version} is %, ${ol_version} of request is %',
+              OLD.id, OLD.jsonb->'${ol_version}', newVersion
+              USING ERRCODE = '23F09', TABLE = '${table.tableName}', SCHEMA = '${myuniversity}_${mymodule}';
+    END IF;
+    patch = patch || jsonb_build_object('${ol_version}',
+        COALESCE(((OLD.jsonb->>'${ol_version}')::numeric + 1) % 2147483648, 1));
+  END IF;
+  </#if>
+
+  NEW.jsonb = NEW.jsonb || patch;
+
+  <#list (table.foreignKeys!)?filter(key -> key.fieldName?? && key.tOps.name() == "ADD") as key>
+  NEW.${key.fieldName} = ${key.fieldPath};
+  </#list>
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS set_id_in_jsonb ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+DROP TRIGGER IF EXISTS set_${table.tableName}_fields_trigger ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
+CREATE TRIGGER set_${table.tableName}_fields_trigger BEFORE INSERT OR UPDATE ON ${myuniversity}_${mymodule}.${table.tableName}
+  FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.set_${table.tableName}_fields();
+
+<#else>
+-- Switching back from the fused trigger restores set_id_in_jsonb,
+-- metadata.ftl, optimistic_locking.ftl and foreign_keys.ftl restore the other triggers.
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_trigger
+             WHERE tgrelid = '${myuniversity}_${mymodule}.${table.tableName}'::regclass
+               AND tgname = lower('set_${table.tableName}_fields_trigger')) THEN
+    DROP TRIGGER set_${table.tableName}_fields_trigger ON ${myuniversity}_${mymodule}.${table.tableName};
+    DROP TRIGGER IF EXISTS set_id_in_jsonb ON ${myuniversity}_${mymodule}.${table.tableName};
+    CREATE TRIGGER set_id_in_jsonb BEFORE INSERT OR UPDATE ON ${myuniversity}_${mymodule}.${table.tableName}
+      FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.set_id_in_jsonb();
+  END IF;
+END $$;
+DROP FUNCTION IF EXISTS ${myuniversity}_${mymodule}.set_${table.tableName}_fields() CASCADE;
+</#if>
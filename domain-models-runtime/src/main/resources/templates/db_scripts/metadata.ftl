@@ -15,10 +15,12 @@
 -- in creation_date and created_by.
 -- Special case: If NEW.creation_date is null on update then save NEW.jsonb->'metadata' without changes.
 
+-- With "withFusedTrigger": true fused_trigger.ftl does this instead of the two triggers below.
+
 -- Restrictions specified in metadata.schema:
 -- jsonb->'metadata' is optional, but if it exists then jsonb->'metadata'->>'createdDate' is required.
 
-<#if table.withMetadata == true>
+<#if table.withMetadata == true && !table.withFusedTrigger>
 
 -- Trigger for insert: Copy createdDate and createdByUserId to creation_date and created_by.
 CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.${table.tableName}_set_md()
@@ -56,14 +58,14 @@ DROP FUNCTION IF EXISTS ${myuniversity}_${mymodule}.${table.tableName}_set_md()
 
 DROP TRIGGER IF EXISTS set_${table.tableName}_md_trigger ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
 
-<#if table.withMetadata == true>
+<#if table.withMetadata == true && !table.withFusedTrigger>
 
 CREATE TRIGGER set_${table.tableName}_md_trigger BEFORE INSERT ON ${myuniversity}_${mymodule}.${table.tableName}
    FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.${table.tableName}_set_md();
 
 </#if>
 
-<#if table.withMetadata == true>
+<#if table.withMetadata == true && !table.withFusedTrigger>
 
 -- Trigger for update:
 -- Overwrite createdDate and createdByUserId by the values stored in creation_date and created_by.
@@ -109,7 +111,7 @@ DROP FUNCTION IF EXISTS ${myuniversity}_${mymodule}.set_${table.tableName}_md_js
 
 DROP TRIGGER IF EXISTS set_${table.tableName}_md_json_trigger ON ${myuniversity}_${mymodule}.${table.tableName} CASCADE;
 
-<#if table.withMetadata == true>
+<#if table.withMetadata == true && !table.withFusedTrigger>
 
 CREATE TRIGGER set_${table.tableName}_md_json_trigger BEFORE UPDATE ON ${myuniversity}_${mymodule}.${table.tableName}
   FOR EACH ROW EXECUTE PROCEDURE ${myuniversity}_${mymodule}.set_${table.tableName}_md_json();
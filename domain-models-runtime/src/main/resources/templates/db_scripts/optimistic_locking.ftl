@@ -1,7 +1,8 @@
 -- auto update optimistic locking version
 -- ERROR code 23F09: 23 for class 23 — Integrity Constraint Violation, F for FOLIO, 09 for 409 HTTP status code
+-- With "withFusedTrigger": true fused_trigger.ftl does this instead of the trigger below.
 
-<#if table.withOptimisticLocking?? && table.withOptimisticLocking.name() != "OFF">
+<#if table.withOptimisticLocking?? && table.withOptimisticLocking.name() != "OFF" && !table.withFusedTrigger>
   <#assign ol_version = "_version">
   CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.${table.tableName}_set_ol_version()
   RETURNS trigger AS $$
@@ -145,6 +145,8 @@ END $$;
 
     <#include "optimistic_locking.ftl">
 
+    <#include "fused_trigger.ftl">
+
     <#if table.withAuditing == true>
       <#include "audit.ftl">
     </#if>
@@ -165,6 +167,8 @@ END $$;
 
     <#-- Always check optimistic locking configuration -->
     <#include "optimistic_locking.ftl">
+
+    <#include "fused_trigger.ftl">
   </#if>
 </#if>
 </#list>
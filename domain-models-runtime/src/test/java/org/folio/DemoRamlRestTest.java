@@ -209,6 +209,11 @@ public class DemoRamlRestTest {
     checkURLs(context, "http://localhost:" + port + "/admin/memory?history=true", 200, "text/html");
   }
 
+  @Test
+  public void metrics(TestContext context) {
+    checkURLs(context, "http://localhost:" + port + "/admin/metrics", 200, "text/plain");
+  }
+
   @Test
   public void acceptDefault(TestContext context) {
     checkURLs(context, "http://localhost:" + port + "/rmbtests/test", 200, null);
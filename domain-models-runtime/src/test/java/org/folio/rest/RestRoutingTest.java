@@ -3,18 +3,29 @@ package org.folio.rest;
 import static org.folio.rest.jaxrs.model.CalendarPeriodsServicePointIdCalculateopeningGetUnit.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.collection.ArrayMatching.arrayContaining;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.junit5.VertxExtension;
@@ -22,10 +33,16 @@ import io.vertx.junit5.VertxTestContext;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.okapi.testing.UtilityClassTester;
 import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.CalendarPeriodsServicePointIdCalculateopeningGetUnit;
+import org.folio.rest.annotations.Stateless;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
+import org.folio.rest.tools.AnnotationGrabber;
 import org.folio.rest.tools.client.exceptions.ResponseException;
 import org.folio.rest.tools.utils.BinaryOutStream;
 import org.folio.rest.tools.utils.OutStream;
+import org.folio.rest.tools.utils.RequestInputStream;
+import org.folio.rest.tools.utils.RmbMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import io.vertx.core.AsyncResult;
@@ -33,10 +50,17 @@ import io.vertx.core.Future;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Null;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Base64;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -87,20 +111,20 @@ public class RestRoutingTest {
   @Test
   void isValidRequestFail() {
     Errors errors = new Errors();
-    RestRouting.isValidRequest(null, new Foo(null, null), errors, List.of(), null);
+    RestRouting.isValidRequest(null, new Foo(null, null), errors, List.of());
     assertThat(errors.getErrors().get(0).getCode(), is("jakarta.validation.constraints.NotNull.message"));
   }
 
   @Test
   void isValidRequestSuccess() {
     Errors errors = new Errors();
-    RestRouting.isValidRequest(null, new Foo("id", null), errors, List.of(), null);
+    RestRouting.isValidRequest(null, new Foo("id", null), errors, List.of());
     assertThat(errors.getErrors(), is(empty()));
   }
 
   private <T> T isValidRequest(T t, Class<T> clazz) {
     Errors errors = new Errors();
-    Object [] o = RestRouting.isValidRequest(null, t, errors, List.of(), clazz);
+    Object [] o = RestRouting.isValidRequest(null, t, errors, List.of());
     assertThat(errors.getErrors(), is(empty()));
     return (T) o[1];
   }
@@ -112,6 +136,55 @@ public class RestRoutingTest {
     assertThat(isValidRequest(new Foo("id", new Bar("z")), Foo.class).bar.baz.readme, is(nullValue()));
   }
 
+  private static class Qux {
+    @Valid
+    @JsonProperty("bazs")
+    private List<Baz> bazs;
+    public Qux(Baz... bazs) {
+      this.bazs = List.of(bazs);
+    }
+  }
+
+  private static class Unconstrained {
+    @JsonProperty("readme")
+    private String readme = "x";
+  }
+
+  public static class WithSetter {
+    @Null
+    @JsonProperty("readme")
+    private String readme = "x";
+    int setterCalls;
+    public void setReadme(String readme) {
+      this.readme = readme;
+      setterCalls++;
+    }
+  }
+
+  @Test
+  void isValidRequestRemoveNullInList() {
+    Qux qux = isValidRequest(new Qux(new Baz("a"), new Baz(null), new Baz("c")), Qux.class);
+    assertThat(qux.bazs.get(0).readme, is(nullValue()));
+    assertThat(qux.bazs.get(1).readme, is(nullValue()));
+    assertThat(qux.bazs.get(2).readme, is(nullValue()));
+  }
+
+  @Test
+  void isValidRequestRemoveNullUsingSetter() {
+    WithSetter withSetter = isValidRequest(new WithSetter(), WithSetter.class);
+    assertThat(withSetter.readme, is(nullValue()));
+    assertThat(withSetter.setterCalls, is(1));
+  }
+
+  @Test
+  void isValidRequestUnconstrained() {
+    Unconstrained unconstrained = new Unconstrained();
+    assertThat(ValidationPlan.of(Unconstrained.class).constrained, is(false));
+    assertThat(isValidRequest(unconstrained, Unconstrained.class) == unconstrained, is(true));
+    assertThat(ValidationPlan.of(Foo.class).constrained, is(true));
+    assertThat(ValidationPlan.of(Qux.class).constrained, is(true));
+  }
+
   Object parseEnum(String value, String defaultValue) throws Exception {
     return RestRouting.parseEnum(
         "org.folio.rest.jaxrs.model.CalendarPeriodsServicePointIdCalculateopeningGetUnit",
@@ -141,6 +214,20 @@ public class RestRoutingTest {
     assertThat(RestRouting.parseEnum("java.util.Vector", "foo", "bar"), is(nullValue()));
   }
 
+  @Test
+  void putUserId() {
+    String token = "header." + Base64.getEncoder().encodeToString("{\"user_id\":\"bar\"}".getBytes()) + ".sig";
+    RoutingContext rc = mock(RoutingContext.class);
+    RestRouting.putUserId(rc, Map.of(XOkapiHeaders.USER_ID, "foo", XOkapiHeaders.TOKEN, token));
+    verify(rc).put(RestRouting.USER_ID, "foo");
+    rc = mock(RoutingContext.class);
+    RestRouting.putUserId(rc, Map.of(XOkapiHeaders.TOKEN, token));
+    verify(rc).put(RestRouting.USER_ID, "bar");
+    rc = mock(RoutingContext.class);
+    RestRouting.putUserId(rc, Map.of());
+    verify(rc, never()).put(any(), any());
+  }
+
   @Test
   void getResponseSucceeded() {
     Response response = ResponseDelegate.status(234).build();
@@ -192,6 +279,10 @@ public class RestRoutingTest {
   }
 
   Future<HttpResponse<Buffer>> sendResponse(Vertx vertx, ResponseBuilder responseBuilder) {
+    return sendResponse(vertx, responseBuilder, "/");
+  }
+
+  Future<HttpResponse<Buffer>> sendResponse(Vertx vertx, ResponseBuilder responseBuilder, String uri) {
     Router router = Router.router(vertx);
     router.route().handler(rc -> {
       AsyncResult<Response> asyncResult = Future.succeededFuture(responseBuilder.build());
@@ -201,7 +292,7 @@ public class RestRoutingTest {
         .requestHandler(router)
         .listen(0)
         .compose(httpServer -> WebClient.create(vertx)
-            .getAbs("http://localhost:" + httpServer.actualPort())
+            .getAbs("http://localhost:" + httpServer.actualPort() + uri)
             .send());
   }
 
@@ -249,6 +340,35 @@ public class RestRoutingTest {
     }));
   }
 
+  @Test
+  void sendResponsePojoCompact(Vertx vertx, VertxTestContext vtc) {
+    sendResponse(vertx, Response.status(200).entity(Map.of("a", List.of(1, 2))))
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.bodyAsString(), is("{\"a\":[1,2]}"));
+      vtc.completeNow();
+    }));
+  }
+
+  @Test
+  void sendResponsePojoPretty(Vertx vertx, VertxTestContext vtc) {
+    sendResponse(vertx, Response.status(200).entity(Map.of("a", 1)), "/?pretty=true")
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.bodyAsString(), is("{\n  \"a\" : 1\n}"));
+      vtc.completeNow();
+    }));
+  }
+
+  @Test
+  void sendResponsePrettyPrintConfig(Vertx vertx, VertxTestContext vtc) {
+    RestRouting.setPrettyPrint(true);
+    sendResponse(vertx, Response.status(200).entity(Map.of("a", 1)))
+    .onComplete(vtc.succeeding(httpResponse -> {
+      RestRouting.setPrettyPrint(false);
+      assertThat(httpResponse.bodyAsString(), is("{\n  \"a\" : 1\n}"));
+      vtc.completeNow();
+    }));
+  }
+
   @Test
   void sendResponseInteger(Vertx vertx, VertxTestContext vtc) {
     sendResponse(vertx, Response.status(500).entity(42))
@@ -258,4 +378,322 @@ public class RestRoutingTest {
       vtc.completeNow();
     }));
   }
+
+  public interface ItemsResource {
+    void getItemsById(@PathParam("id") String id,
+        @QueryParam("limit") @DefaultValue("10") int limit,
+        @QueryParam("unit") @DefaultValue("hour") CalendarPeriodsServicePointIdCalculateopeningGetUnit unit,
+        @HeaderParam("X-Foo") String foo,
+        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext);
+  }
+
+  public static class ItemsImpl implements ItemsResource {
+    @Override
+    public void getItemsById(String id, int limit, CalendarPeriodsServicePointIdCalculateopeningGetUnit unit,
+        String foo, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+        Context vertxContext) {
+
+      String entity = String.join(" ", id, "" + limit, unit.name(), foo, okapiHeaders.get(XOkapiHeaders.TENANT));
+      asyncResultHandler.handle(Future.succeededFuture(Response.status(200).entity(entity).build()));
+    }
+  }
+
+  Future<HttpResponse<Buffer>> getItems(Vertx vertx, String uri) throws Exception {
+    Method method = ItemsResource.class.getMethods()[0];
+    JsonObject methodInfo = new JsonObject()
+        .put(AnnotationGrabber.METHOD_PARAMS, AnnotationGrabber.getParameterNames(method))
+        .put(AnnotationGrabber.REGEX_URL, "^/items/([^/]+)/?$");
+    RouteDescriptor route = RestRouting.compileRoute(ItemsImpl.class,
+        ItemsImpl.class.getMethod(method.getName(), method.getParameterTypes()), methodInfo);
+    Router router = Router.router(vertx);
+    router.routeWithRegex(HttpMethod.GET, "^/items/([^/]+)/?$").setName("/items/{id}")
+    .handler(rc -> RestRouting.handleRequest(rc, route));
+    return vertx.createHttpServer()
+        .requestHandler(router)
+        .listen(0)
+        .compose(httpServer -> WebClient.create(vertx)
+            .getAbs("http://localhost:" + httpServer.actualPort() + uri)
+            .putHeader(XOkapiHeaders.TENANT, "diku")
+            .putHeader("X-Foo", "bar")
+            .send());
+  }
+
+  @Test
+  void compiledRoute(Vertx vertx, VertxTestContext vtc) throws Exception {
+    getItems(vertx, "/items/a%2Fb?limit=5&unit=bee%20interval")
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.statusCode(), is(200));
+      assertThat(httpResponse.bodyAsString(), is("a/b 5 BEEINTERVAL bar diku"));
+      vtc.completeNow();
+    }));
+  }
+
+  @Test
+  void compiledRouteDefaultValues(Vertx vertx, VertxTestContext vtc) throws Exception {
+    getItems(vertx, "/items/x")
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.statusCode(), is(200));
+      assertThat(httpResponse.bodyAsString(), is("x 10 HOUR bar diku"));
+      vtc.completeNow();
+    }));
+  }
+
+  @Test
+  void compiledRouteEmptyNumericParameter(Vertx vertx, VertxTestContext vtc) throws Exception {
+    getItems(vertx, "/items/x?limit=")
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.statusCode(), is(400));
+      assertThat(httpResponse.bodyAsString(), containsString("limit does not have a default value"));
+      assertThat(RmbMetrics.scrape(), containsString(
+          "rmb_http_request_seconds_count{method=\"GET\",path=\"/items/{id}\",status=\"400\",} 1.0"));
+      vtc.completeNow();
+    }));
+  }
+
+  public interface FooResource {
+    void postFoo(Foo entity,
+        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext);
+  }
+
+  public static class FooImpl implements FooResource {
+    @Override
+    public void postFoo(Foo entity,
+        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+      asyncResultHandler.handle(Future.succeededFuture(Response.status(201).entity(entity.id).build()));
+    }
+  }
+
+  /**
+   * POST body to /foo, chunked without Content-Length header if chunked is true.
+   */
+  Future<HttpClientResponse> postFoo(Vertx vertx, long maxBodySize, boolean chunked, String... body)
+      throws Exception {
+
+    Method method = FooResource.class.getMethods()[0];
+    JsonObject methodInfo = new JsonObject()
+        .put(AnnotationGrabber.METHOD_PARAMS, AnnotationGrabber.getParameterNames(method))
+        .put(AnnotationGrabber.REGEX_URL, "^/foo$");
+    RouteDescriptor route = RestRouting.compileRoute(FooImpl.class,
+        FooImpl.class.getMethod(method.getName(), method.getParameterTypes()), methodInfo);
+    Router router = Router.router(vertx);
+    router.routeWithRegex(HttpMethod.POST, "^/foo$").handler(rc -> RestRouting.handleRequest(rc, route));
+    RestRouting.setMaxBodySize(maxBodySize);
+    return vertx.createHttpServer()
+        .requestHandler(router)
+        .listen(0)
+        .compose(httpServer -> vertx.createHttpClient()
+            .request(HttpMethod.POST, httpServer.actualPort(), "localhost", "/foo"))
+        .compose(request -> {
+          request.putHeader(XOkapiHeaders.TENANT, "diku");
+          request.putHeader("Content-Type", "application/json");
+          if (chunked) {
+            request.setChunked(true);
+            for (String chunk : body) {
+              request.write(chunk);
+            }
+            request.end();
+            return request.response();
+          }
+          return request.send(String.join("", body));
+        })
+        .eventually(() -> {
+          RestRouting.setMaxBodySize(-1);
+          return Future.succeededFuture();
+        });
+  }
+
+  void assertPostFoo(Vertx vertx, VertxTestContext vtc, long maxBodySize, boolean chunked,
+      int expectedStatus, String expectedBody, String... body) throws Exception {
+
+    postFoo(vertx, maxBodySize, chunked, body)
+    .compose(response -> response.body().map(responseBody -> {
+      assertThat(response.statusCode(), is(expectedStatus));
+      assertThat(responseBody.toString(), containsString(expectedBody));
+      return null;
+    }))
+    .onComplete(vtc.succeedingThenComplete());
+  }
+
+  @Test
+  void postEntity(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, -1, false, 201, "x\u00e4y", "{\"id\":\"x\u00e4y\"}");
+  }
+
+  @Test
+  void postEntityChunked(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, 20, true, 201, "abc", "{\"id\":", "\"abc\"}");
+  }
+
+  @Test
+  void postEntityUnrecognizedProperty(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, -1, false, 422, "Unrecognized field", "{\"foo\":\"x\"}");
+  }
+
+  @Test
+  void postEntityInvalidJson(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, -1, false, 400, "Unexpected end-of-input", "{\"id\":\"x\"");
+  }
+
+  @Test
+  void postEntityContentLengthTooLarge(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, 10, false, 413, "maximum size of 10 bytes", "{\"id\":\"0123456789\"}");
+  }
+
+  @Test
+  void postEntityChunkedTooLarge(Vertx vertx, VertxTestContext vtc) throws Exception {
+    assertPostFoo(vertx, vtc, 10, true, 413, "maximum size of 10 bytes", "{\"id\":", "\"0123456789\"}");
+  }
+
+  public interface UploadResource {
+    void postUpload(InputStream entity,
+        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext);
+  }
+
+  public static class UploadImpl implements UploadResource {
+    @Override
+    @Stream(singleInvocation = true)
+    public void postUpload(InputStream entity,
+        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+      vertxContext.executeBlocking(() -> {
+        long length = 0;
+        int invocations = 0;
+        byte[] b = new byte[1000];
+        for (int n = entity.read(b); n >= 0; n = entity.read(b)) {
+          length += n;
+          invocations++;
+        }
+        return Response.status(201).entity(length + " " + (invocations > 0)).build();
+      }).onComplete(asyncResultHandler);
+    }
+  }
+
+  @Test
+  void streamOnce(Vertx vertx, VertxTestContext vtc) throws Exception {
+    Method method = UploadResource.class.getMethods()[0];
+    JsonObject methodInfo = new JsonObject()
+        .put(AnnotationGrabber.METHOD_PARAMS, AnnotationGrabber.getParameterNames(method))
+        .put(AnnotationGrabber.REGEX_URL, "^/upload$");
+    RouteDescriptor route = RestRouting.compileRoute(UploadImpl.class,
+        UploadImpl.class.getMethod(method.getName(), method.getParameterTypes()), methodInfo);
+    assertThat(route.streamed, is(true));
+    assertThat(route.streamedOnce, is(true));
+    Router router = Router.router(vertx);
+    router.routeWithRegex(HttpMethod.POST, "^/upload$").handler(rc -> RestRouting.handleRequest(rc, route));
+    // larger than RequestInputStream.DEFAULT_MAX_BUFFERED to test pause and resume
+    Buffer body = Buffer.buffer(new byte[3 * RequestInputStream.DEFAULT_MAX_BUFFERED + 5]);
+    vertx.createHttpServer()
+    .requestHandler(router)
+    .listen(0)
+    .compose(httpServer -> WebClient.create(vertx)
+        .postAbs("http://localhost:" + httpServer.actualPort() + "/upload")
+        .putHeader(XOkapiHeaders.TENANT, "diku")
+        .putHeader("Content-Type", "application/octet-stream")
+        .sendBuffer(body))
+    .onComplete(vtc.succeeding(httpResponse -> {
+      assertThat(httpResponse.statusCode(), is(201));
+      assertThat(httpResponse.bodyAsString(), is(body.length() + " true"));
+      vtc.completeNow();
+    }));
+  }
+
+  @Test
+  void isStreamedOnce() throws Exception {
+    Method method = UploadImpl.class.getMethod("postUpload", UploadResource.class.getMethods()[0].getParameterTypes());
+    assertThat(RestRouting.isStreamedOnce(method.getAnnotations()), is(true));
+    assertThat(RestRouting.isStreamedOnce(FooResource.class.getMethods()[0].getAnnotations()), is(false));
+  }
+
+  public static class PlainImpl {
+  }
+
+  @Stateless
+  public static class StatelessImpl {
+  }
+
+  @Stateless
+  public static class StatelessTenantImpl {
+    final String tenantId;
+
+    public StatelessTenantImpl(Vertx vertx, String tenantId) {
+      this.tenantId = tenantId;
+    }
+  }
+
+  public static class TenantImpl {
+    final String tenantId;
+
+    public TenantImpl(Vertx vertx, String tenantId) {
+      this.tenantId = tenantId;
+    }
+  }
+
+  public static class PrivateImpl {
+    private PrivateImpl() {
+    }
+  }
+
+  @Test
+  void instanceFactoryNewInstances() throws Throwable {
+    var factory = RestRouting.instanceFactory(PlainImpl.class);
+    Object instance = factory.create(null, "diku");
+    assertThat(instance.getClass().getName(), is(PlainImpl.class.getName()));
+    assertThat(factory.create(null, "diku") == instance, is(false));
+    var tenantFactory = RestRouting.instanceFactory(TenantImpl.class);
+    TenantImpl tenantInstance = (TenantImpl) tenantFactory.create(null, "diku");
+    assertThat(tenantInstance.tenantId, is("diku"));
+    assertThat(tenantFactory.create(null, "diku") == tenantInstance, is(false));
+  }
+
+  @Test
+  void instanceFactoryStateless() throws Throwable {
+    var factory = RestRouting.instanceFactory(StatelessImpl.class);
+    Object instance = factory.create(null, "diku");
+    assertThat(factory.create(null, "diku") == instance, is(true));
+    assertThat(factory.create(null, "other") == instance, is(true));
+    assertThat(RestRouting.instanceFactory(StatelessImpl.class).create(null, "diku") == instance, is(false));
+  }
+
+  @Test
+  void instanceFactoryStatelessPerTenant() throws Throwable {
+    var factory = RestRouting.instanceFactory(StatelessTenantImpl.class);
+    StatelessTenantImpl diku = (StatelessTenantImpl) factory.create(null, "diku");
+    StatelessTenantImpl other = (StatelessTenantImpl) factory.create(null, "other");
+    StatelessTenantImpl admin = (StatelessTenantImpl) factory.create(null, null);
+    assertThat(diku.tenantId, is("diku"));
+    assertThat(other.tenantId, is("other"));
+    assertThat(admin.tenantId, is(nullValue()));
+    assertThat(factory.create(null, "diku") == diku, is(true));
+    assertThat(factory.create(null, "other") == other, is(true));
+    assertThat(factory.create(null, null) == admin, is(true));
+  }
+
+  @Test
+  void instanceFactoryStatelessBounded() throws Throwable {
+    var factory = RestRouting.instanceFactory(StatelessTenantImpl.class, 2);
+    Object diku = factory.create(null, "diku");
+    for (int i = 0; i < 10; i++) {
+      factory.create(null, "random" + i);
+    }
+    // evicted, a new instance is created
+    assertThat(factory.create(null, "diku") == diku, is(false));
+    Object random9 = factory.create(null, "random9");
+    assertThat(factory.create(null, "random9") == random9, is(true));
+  }
+
+  @Test
+  void instanceFactoryWithoutPublicConstructor() throws Throwable {
+    var factory = RestRouting.instanceFactory(PrivateImpl.class);
+    var e = assertThrows(NoSuchMethodException.class, () -> factory.create(null, "diku"));
+    assertThat(e.getMessage(), containsString("PrivateImpl"));
+  }
+
+  @Test
+  void maxBodySize() {
+    RestRouting.setMaxBodySize(5);
+    assertThat(RestRouting.getMaxBodySize(), is(5L));
+    RestRouting.setMaxBodySize(-1);
+    assertThat(RestRouting.getMaxBodySize(), is(-1L));
+  }
 }
@@ -12,6 +12,7 @@ import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.pgclient.PgConnection;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -24,6 +25,8 @@ import org.assertj.core.api.WithAssertions;
 import org.folio.cql2pgjson.CQL2PgJSON;
 import org.folio.cql2pgjson.exception.CQL2PgJSONException;
 import org.folio.postgres.testing.PostgresTesterContainer;
+import org.folio.rest.persist.count.CachedTotalRecordsStrategy;
+import org.folio.rest.persist.count.TotalRecordsStrategy;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -293,4 +296,44 @@ public class ConnIT implements WithAssertions {
     .onComplete(failingThenComplete(vtc, t -> assertThat(t).hasMessage("foo")));
   }
 
+  @Test
+  void cachedTotalRecordsInvalidatedOnWrite(VertxTestContext vtc) throws CQL2PgJSONException {
+    // limit 1 so that getTotalRecords cannot adjust an outdated count
+    CQLWrapper cqlWrapper = new CQLWrapper(new CQL2PgJSON("jsonb"), "key=a", 1, 0);
+    TotalRecordsStrategy strategy = PostgresClient.getTotalRecordsStrategy();
+    PostgresClient.setTotalRecordsStrategy(new CachedTotalRecordsStrategy(Duration.ofMinutes(1)));
+    with(randomUuid(), "a", trans -> trans.get("t", Pojo.class, cqlWrapper, true))
+    .compose(results -> {
+      assertThat(results.getResultInfo().getTotalRecords()).isEqualTo(1);
+      String id = randomUuid();
+      return postgresClient.save("t", id, new Pojo(id, "a"));
+    })
+    .compose(x -> postgresClient.withTrans(trans -> trans.get("t", Pojo.class, cqlWrapper, true)))
+    .onComplete(x -> PostgresClient.setTotalRecordsStrategy(strategy))
+    .onComplete(succeedingThenComplete(vtc, results -> {
+      assertThat(results.getResultInfo().getTotalRecords()).isEqualTo(2);
+    }));
+  }
+
+  @Test
+  void cachedTotalRecordsInvalidatedOnCommit(VertxTestContext vtc) throws CQL2PgJSONException {
+    String key = randomUuid().replace("-", "");
+    CQLWrapper cqlWrapper = new CQLWrapper(new CQL2PgJSON("jsonb"), "key=" + key, 1, 0);
+    TotalRecordsStrategy strategy = PostgresClient.getTotalRecordsStrategy();
+    PostgresClient.setTotalRecordsStrategy(new CachedTotalRecordsStrategy(Duration.ofMinutes(1)));
+    String id = randomUuid();
+    postgresClient.withTrans(trans -> trans.save("t", id, new Pojo(id, key))
+        // another connection doesn't see the uncommitted record and caches the count
+        .compose(x -> postgresClient.get("t", Pojo.class, cqlWrapper, true))
+        .map(results -> {
+          assertThat(results.getResultInfo().getTotalRecords()).isZero();
+          return null;
+        }))
+    .compose(x -> postgresClient.get("t", Pojo.class, cqlWrapper, true))
+    .onComplete(x -> PostgresClient.setTotalRecordsStrategy(strategy))
+    .onComplete(succeedingThenComplete(vtc, results -> {
+      assertThat(results.getResultInfo().getTotalRecords()).isEqualTo(1);
+    }));
+  }
+
 }
@@ -1,6 +1,8 @@
 package org.folio.rest.persist;
 
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -43,6 +45,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -53,6 +56,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
@@ -75,6 +79,8 @@ public class PgUtilIT {
   public final ExpectedException exception = ExpectedException.none();
   /** If we start and stop our own embedded postgres */
   static private final Map<String,String> okapiHeaders = Collections.singletonMap(XOkapiHeaders.TENANT, "testtenant");
+  static private final Map<String,String> asyncReadHeaders =
+      Map.of(XOkapiHeaders.TENANT, "testtenant", PgUtil.ASYNC_READ_HEADER, "true");
   static private final String schema = PostgresClient.convertToPsqlStandard("testtenant");
   static private Vertx vertx;
 
@@ -503,6 +509,30 @@ public class PgUtilIT {
         }));
   }
 
+  @Test
+  public void getAsyncRead(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    insert(testContext, pg, "getAsyncRead", 5);
+
+    PgUtil.get("users", User.class, UserdataCollection.class, "username=getAsyncRead*", "auto", 0, 3,
+        asyncReadHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class,
+        testContext.asyncAssertSuccess(result -> {
+          assertThat(result.getStatus(), is(200));
+          UserdataCollection collection = (UserdataCollection) result.getEntity();
+          assertThat(collection.getUsers().size(), is(3));
+          assertThat(collection.getTotalRecords(), is(5));
+        }));
+  }
+
+  @Test
+  public void isAsyncRead() {
+    assertThat(PgUtil.isAsyncRead(null), is(false));
+    assertThat(PgUtil.isAsyncRead(okapiHeaders), is(false));
+    assertThat(PgUtil.isAsyncRead(asyncReadHeaders), is(true));
+    assertThat(PgUtil.isAsyncRead(Map.of("x-okapi-async-read", "TRUE")), is(true));
+    assertThat(PgUtil.isAsyncRead(Map.of("x-okapi-async-read", "false")), is(false));
+  }
+
   @Test
   public void getByInvalidCql(TestContext testContext) {
     PgUtil.get("users", User.class, UserdataCollection.class, "/", 0, 9,
@@ -539,6 +569,11 @@ public class PgUtilIT {
   }
 
   void assertSizeAndTotalRecords(String hasTotalRecords, int expectedSize, Integer expectedTotalRecords) {
+    assertSizeAndTotalRecords(hasTotalRecords, expectedSize, expectedTotalRecords, okapiHeaders);
+  }
+
+  void assertSizeAndTotalRecords(String hasTotalRecords, int expectedSize, Integer expectedTotalRecords,
+      Map<String, String> headers) {
     RoutingContext routingContext = mock(RoutingContext.class, Mockito.RETURNS_DEEP_STUBS);
     Buffer written = Buffer.buffer();
     Answer<Future<Void>> append = invocationOnMock -> {
@@ -548,7 +583,7 @@ public class PgUtilIT {
     when(routingContext.response().write(anyString())).thenAnswer(append);
     when(routingContext.response().end(anyString())).thenAnswer(append);
     PgUtil.streamGet("users", User.class, "id=*", hasTotalRecords, 0, 12,
-        null, "users", 0, routingContext, okapiHeaders, vertx.getOrCreateContext());
+        null, "users", 0, routingContext, headers, vertx.getOrCreateContext());
 
     verify(routingContext.response(), timeout(5000).atLeastOnce()).end(anyString());
     assertThat(new JsonObject(written).getJsonArray("users").size(), is(expectedSize));
@@ -564,6 +599,99 @@ public class PgUtilIT {
     assertSizeAndTotalRecords("none", 12, null);
   }
 
+  @Test
+  public void streamGetAsyncRead(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    truncateUsers(testContext, pg);
+    insert(testContext, pg, "streamGetAsyncRead", 15);
+    assertSizeAndTotalRecords("auto", 12, 15, asyncReadHeaders);
+  }
+
+  @Test
+  public void streamGetJsonbPassthrough(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    truncateUsers(testContext, pg);
+    insert(testContext, pg, "streamGetJsonbPassthrough", 15);
+    try {
+      PgUtil.setJsonbPassthrough(true);
+      assertSizeAndTotalRecords("auto", 12, 15);
+      assertSizeAndTotalRecords("none", 12, null);
+    } finally {
+      PgUtil.setJsonbPassthrough(false);
+    }
+  }
+
+  @Test
+  public void streamGetPausesWhenWriteQueueIsFull(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    truncateUsers(testContext, pg);
+    insert(testContext, pg, "streamGetPausesWhenWriteQueueIsFull", 15);
+    RoutingContext routingContext = mock(RoutingContext.class, Mockito.RETURNS_DEEP_STUBS);
+    HttpServerResponse response = routingContext.response();
+    when(response.writeQueueFull()).thenReturn(true);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Handler<Void>> drainHandler = ArgumentCaptor.forClass(Handler.class);
+    PgUtil.streamGet("users", User.class, "id=*", 0, 12, null, "users",
+        routingContext, okapiHeaders, vertx.getOrCreateContext());
+
+    verify(response, timeout(5000)).writeQueueFull();
+    verify(response).setWriteQueueMaxSize(PgUtil.DEFAULT_STREAM_WRITE_QUEUE_MAX_SIZE);
+    verify(response).drainHandler(drainHandler.capture());
+    verify(response, after(200).never()).end(anyString());
+    when(response.writeQueueFull()).thenReturn(false);
+    drainHandler.getValue().handle(null);
+    verify(response, timeout(5000)).end(anyString());
+  }
+
+  @Test
+  public void getJsonbPassthrough(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    insert(testContext, pg, "getJsonbPassthrough", 5);
+    PgUtil.setJsonbPassthrough(true);
+    PgUtil.get("users", User.class, UserdataCollection.class, "username=getJsonbPassthrough*", 0, 3,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(testContext.asyncAssertSuccess(result -> {
+      PgUtil.setJsonbPassthrough(false);
+      assertThat(result.getStatus(), is(200));
+      assertThat(result.getHeaderString("Content-Type"), is("application/json"));
+      JsonObject json = new JsonObject((String) result.getEntity());
+      assertThat(json.getJsonArray("users").size(), is(3));
+      assertThat(json.getJsonArray("users").getJsonObject(0).getString("username"),
+          startsWith("getJsonbPassthrough"));
+      assertThat(json.getInteger("totalRecords"), is(5));
+    }));
+  }
+
+  @Test
+  public void getJsonbPassthroughInvalidCql(TestContext testContext) {
+    PgUtil.setJsonbPassthrough(true);
+    PgUtil.get("users", User.class, UserdataCollection.class, "username=", 0, 9,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(testContext.asyncAssertSuccess(result -> {
+      PgUtil.setJsonbPassthrough(false);
+      assertThat(result.getStatus(), is(400));
+    }));
+  }
+
+  @Test
+  public void jsonbCollection() {
+    List<String> list = Arrays.asList("{\"a\":1}", null, "{}");
+    assertThat(PgUtil.jsonbCollection("items", list, 7),
+        is("{\"items\":[{\"a\":1},null,{}],\"totalRecords\":7}"));
+    assertThat(PgUtil.jsonbCollection("items", Collections.emptyList(), null), is("{\"items\":[]}"));
+  }
+
+  @Test
+  public void getListProperty() throws Exception {
+    assertThat(PgUtil.getListProperty(UserdataCollection.class), is("users"));
+    // cached
+    assertThat(PgUtil.getListProperty(UserdataCollection.class), is("users"));
+    for (int i = 0; i < 2; i++) {
+      Exception e = assertThrows(NoSuchMethodException.class, () -> PgUtil.getListProperty(User.class));
+      assertThat(e.getMessage(), containsString("must have a set...(java.util.List<>) method"));
+    }
+  }
+
   @Test
   public void streamGetByInvalidCql(TestContext testContext) {
     RoutingContext routingContext = mock(RoutingContext.class, Mockito.RETURNS_DEEP_STUBS);
@@ -1118,6 +1246,29 @@ public class PgUtilIT {
     PgUtil.getListSetter(String.class);
   }
 
+  @Test
+  public void getMethodIsCached() throws Exception {
+    Method method = PgUtil.getMethod(ResponseImpl.class, "respond400WithTextPlain", Object.class);
+    assertThat(method, is(ResponseImpl.class.getMethod("respond400WithTextPlain", Object.class)));
+    assertThat(PgUtil.getMethod(ResponseImpl.class, "respond400WithTextPlain", Object.class), is(sameInstance(method)));
+  }
+
+  @Test
+  public void getMethodNotFound() {
+    Exception e = assertThrows(NoSuchMethodException.class,
+        () -> PgUtil.getMethod(ResponseWithout200.class, "respond200WithApplicationJson", Object.class));
+    assertThat(e.getMessage(),
+        is(ResponseWithout200.class.getName() + ".respond200WithApplicationJson(java.lang.Object)"));
+    assertThat(PgUtil.findMethod(ResponseWithout200.class, "respond200WithApplicationJson", Object.class),
+        is(nullValue()));
+  }
+
+  @Test
+  public void respond422method() {
+    assertThat(PgUtil.respond422method(ResponseWith422.class).getName(), is("respond422WithApplicationJson"));
+    assertThat(PgUtil.respond422method(ResponseWithout200.class), is(nullValue()));
+  }
+
   @Test
   public void getSortNodeException() {
     assertThat(PgUtil.getSortNode(null), is(nullValue()));
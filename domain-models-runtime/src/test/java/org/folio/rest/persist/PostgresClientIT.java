@@ -6,6 +6,9 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
@@ -1280,6 +1283,205 @@ public class PostgresClientIT {
     }));
   }
 
+  @Test
+  public void bulkSave(TestContext context) {
+    List<StringPojo> a = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      a.add(new StringPojo("a" + i, i == 3 ? null : randomUuid()));
+    }
+    postgresClient = createFoo(context);
+    postgresClient.withTrans(conn -> conn.bulkSave(FOO, a, 3))
+    .onComplete(context.asyncAssertSuccess(ids -> {
+      assertThat(ids.size(), is(7));
+      assertThat(ids.get(0), is(a.get(0).getId()));
+      assertThat(ids.get(6), is(a.get(6).getId()));
+      postgresClient.getById(FOO, ids.get(3), context.asyncAssertSuccess(get -> {
+        context.assertEquals("a3", get.getString("key"));
+      }));
+      postgresClient.getById(FOO, ids.get(6), context.asyncAssertSuccess(get -> {
+        context.assertEquals("a6", get.getString("key"));
+      }));
+    }));
+  }
+
+  @Test
+  public void bulkSaveDuplicateId(TestContext context) {
+    String id = randomUuid();
+    List<StringPojo> a = List.of(new StringPojo("a", id), new StringPojo("b", id));
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, a).onComplete(context.asyncAssertFailure(e -> {
+      assertThat(e.getMessage(), containsString("duplicate key"));
+    }));
+  }
+
+  @Test
+  public void bulkSaveEmpty(TestContext context) {
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, Collections.emptyList()).onComplete(context.asyncAssertSuccess(ids -> {
+      assertThat(ids, is(empty()));
+    }));
+  }
+
+  @Test
+  public void bulkSaveInvalidChunkSize(TestContext context) {
+    postgresClient = createFoo(context);
+    postgresClient.withTrans(conn -> conn.bulkSave(FOO, List.of(new StringPojo("a")), 0))
+    .onComplete(context.asyncAssertFailure(e -> {
+      assertThat(e.getMessage(), is("chunkSize must be positive: 0"));
+    }));
+  }
+
+  @Test
+  public void bulkUpsert(TestContext context) {
+    String id1 = randomUuid();
+    String id2 = randomUuid();
+    String id3 = randomUuid();
+    String id4 = randomUuid();
+    List<StringPojo> a = new ArrayList<>();
+    a.add(new StringPojo("a1", id1));
+    a.add(new StringPojo("a2", id2));
+    a.add(new StringPojo("a3", id3));
+    List<StringPojo> b = new ArrayList<>();
+    b.add(new StringPojo("b1", id1));
+    b.add(new StringPojo("b3", id3));
+    b.add(new StringPojo("b4", id4));
+    b.add(new StringPojo("b5"));
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, a)
+    .compose(x -> postgresClient.withTrans(conn -> conn.bulkUpsert(FOO, b, 2)))
+    .onComplete(context.asyncAssertSuccess(ids -> {
+      assertThat(ids.subList(0, 3), contains(id1, id3, id4));
+      String id5 = ids.get(3);
+      postgresClient.getById(FOO, id1, context.asyncAssertSuccess(get -> {
+        context.assertEquals("b1", get.getString("key"));
+      }));
+      postgresClient.getById(FOO, id2, context.asyncAssertSuccess(get -> {
+        context.assertEquals("a2", get.getString("key"));
+      }));
+      postgresClient.getById(FOO, id4, context.asyncAssertSuccess(get -> {
+        context.assertEquals("b4", get.getString("key"));
+      }));
+      postgresClient.getById(FOO, id5, context.asyncAssertSuccess(get -> {
+        context.assertEquals("b5", get.getString("key"));
+      }));
+    }));
+  }
+
+  @Test
+  public void bulkUpsertDuplicateId(TestContext context) {
+    String id = randomUuid();
+    List<StringPojo> a = List.of(new StringPojo("a", id), new StringPojo("b", id));
+    postgresClient = createFoo(context);
+    postgresClient.bulkUpsert(FOO, a).onComplete(context.asyncAssertSuccess(ids -> {
+      assertThat(ids, contains(id, id));
+      postgresClient.getById(FOO, id, context.asyncAssertSuccess(get -> {
+        context.assertEquals("b", get.getString("key"));
+      }));
+    }));
+  }
+
+  @Test
+  public void bulkUpsertConcurrentInsert(TestContext context) {
+    String id = randomUuid();
+    postgresClient = createFoo(context);
+    List<Future<List<String>>> others = new ArrayList<>();
+    postgresClient.withTrans(conn -> conn.bulkUpsert(FOO, List.of(new StringPojo("t1", id)))
+        .compose(x -> {
+          // both block on the uncommitted insert of the same id, then hit a unique violation and retry
+          others.add(postgresClient.withTrans(conn2 -> conn2.bulkUpsert(FOO, List.of(new StringPojo("t2", id)))));
+          others.add(postgresClient.withConn(conn3 -> conn3.bulkUpsert(FOO, List.of(new StringPojo("t3", id)))));
+          return conn.execute("SELECT pg_sleep(0.5)");
+        }))
+    .compose(x -> CompositeFuture.all(others.get(0), others.get(1)))
+    .compose(x -> postgresClient.getById(FOO, id))
+    .onComplete(context.asyncAssertSuccess(get -> {
+      assertThat(get.getString("key"), is(not("t1")));
+    }));
+  }
+
+  @Test
+  public void bulkUpsertConcurrentOverlappingIds(TestContext context) {
+    String idA = randomUuid();
+    String idB = randomUuid();
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, List.of(new StringPojo("a", idA), new StringPojo("b", idB)))
+    .compose(x -> {
+      // without locking in id order the chunks of size 1 lock a, b and b, a and deadlock
+      Future<List<String>> t1 = postgresClient.withTrans(conn ->
+          conn.bulkUpsert(FOO, List.of(new StringPojo("a1", idA), new StringPojo("b1", idB)), 1)
+          .compose(ids -> conn.execute("SELECT pg_sleep(0.2)").map(ids)));
+      Future<List<String>> t2 = postgresClient.withTrans(conn ->
+          conn.bulkUpsert(FOO, List.of(new StringPojo("b2", idB), new StringPojo("a2", idA)), 1)
+          .compose(ids -> conn.execute("SELECT pg_sleep(0.2)").map(ids)));
+      return CompositeFuture.all(t1, t2);
+    })
+    .onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void bulkUpsertManyChunksInTransaction(TestContext context) {
+    // more chunks than the 64 subtransactions a backend caches
+    List<StringPojo> existing = new ArrayList<>();
+    List<StringPojo> upsert = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      StringPojo pojo = new StringPojo("u" + i, randomUuid());
+      if (i % 2 == 0) {
+        existing.add(new StringPojo("e" + i, pojo.getId()));
+      }
+      upsert.add(pojo);
+    }
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, existing)
+    .compose(x -> postgresClient.withTrans(conn -> conn.bulkUpsert(FOO, upsert, 1)))
+    .compose(ids -> {
+      assertThat(ids.size(), is(150));
+      return postgresClient.get(FOO, StringPojo.class, new Criterion(), false);
+    })
+    .onComplete(context.asyncAssertSuccess(results -> {
+      assertThat(results.getResults().stream().map(pojo -> pojo.key).toList(),
+          containsInAnyOrder(upsert.stream().map(pojo -> pojo.key).toArray()));
+    }));
+  }
+
+  private Future<List<StringPojo>> getWithKeysetAllPages(CQLWrapper wrapper, String token, List<StringPojo> list) {
+    return postgresClient.getWithKeyset(FOO, StringPojo.class, wrapper, token)
+        .compose(results -> {
+          list.addAll(results.getResults());
+          if (results.getNextToken() == null) {
+            return Future.succeededFuture(list);
+          }
+          return getWithKeysetAllPages(wrapper, results.getNextToken(), list);
+        });
+  }
+
+  private Future<Void> assertKeysetPages(List<StringPojo> pojos, CQLWrapper wrapper, String... keys) {
+    return getWithKeysetAllPages(wrapper, null, new ArrayList<>())
+        .map(list -> {
+          // no record skipped or repeated
+          assertThat(list.stream().map(StringPojo::getId).toList(),
+              containsInAnyOrder(pojos.stream().map(StringPojo::getId).toArray()));
+          assertThat(list.stream().map(pojo -> pojo.key).toList(), is(Arrays.asList(keys)));
+          return null;
+        });
+  }
+
+  @Test
+  public void getWithKeysetNullsAndDuplicates(TestContext context) throws FieldException {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("jsonb");
+    List<StringPojo> pojos = new ArrayList<>();
+    for (String key : new String [] { null, "a", "b", "a", null, "c", "a", null, "b" }) {
+      pojos.add(new StringPojo(key, randomUuid()));
+    }
+    postgresClient = createFoo(context);
+    postgresClient.bulkSave(FOO, pojos)
+    .compose(x -> assertKeysetPages(pojos, new CQLWrapper(cql2pgJson, "cql.allRecords=1 sortBy key", 2, 0),
+        "a", "a", "a", "b", "b", "c", null, null, null))
+    .compose(x -> assertKeysetPages(pojos,
+        new CQLWrapper(cql2pgJson, "cql.allRecords=1 sortBy key/sort.descending", 2, 0),
+        null, null, null, "c", "b", "b", "a", "a", "a"))
+    .onComplete(context.asyncAssertSuccess());
+  }
+
   @Test
   public void saveBatchXTrans(TestContext context) {
     List<Object> list = Collections.singletonList(xPojo);
@@ -2998,28 +3200,43 @@ public class PostgresClientIT {
   }
 
   @Test
-  public void streamGetUnsupported(TestContext context) {
+  public void streamGetPauseResume(TestContext context) {
+    AtomicInteger objectCount = new AtomicInteger();
+    Async async = context.async();
     createTableWithPoLines(context);
     postgresClient.streamGet(MOCK_POLINES_TABLE, Object.class, "jsonb", firstEdition(), false, null,
       context.asyncAssertSuccess(sr -> {
-        try {
-          sr.pause();
-          context.fail();
-        } catch (Exception ex) {
-          context.assertEquals("Not supported yet: pause", ex.getMessage());
-        }
-        try {
+        sr.pause();
+        sr.handler(streamHandler -> objectCount.incrementAndGet());
+        sr.endHandler(x -> {
+          context.assertEquals(3, objectCount.get());
+          async.complete();
+        });
+        vertx.setTimer(100, timer -> {
+          // only the row that completed the reply has been delivered
+          context.assertEquals(1, objectCount.get());
           sr.resume();
-          context.fail();
-        } catch (Exception ex) {
-          context.assertEquals("Not supported yet: resume", ex.getMessage());
-        }
-        try {
-          sr.fetch(0);
-          context.fail();
-        } catch (Exception ex) {
-          context.assertEquals("Not supported yet: fetch", ex.getMessage());
-        }
+        });
+      }));
+  }
+
+  @Test
+  public void streamGetCancel(TestContext context) {
+    AtomicInteger objectCount = new AtomicInteger();
+    Async async = context.async();
+    createTableWithPoLines(context);
+    postgresClient.streamGet(MOCK_POLINES_TABLE, Object.class, "jsonb", firstEdition(), false, null,
+      context.asyncAssertSuccess(sr -> {
+        sr.handler(streamHandler -> {
+          objectCount.incrementAndGet();
+          sr.cancel(new IllegalStateException("client gone"));
+        });
+        sr.endHandler(x -> context.fail("endHandler called after cancel"));
+        sr.exceptionHandler(e -> {
+          context.assertEquals("client gone", e.getMessage());
+          context.assertEquals(1, objectCount.get());
+          async.complete();
+        });
       }));
   }
 
@@ -3559,6 +3776,29 @@ public class PostgresClientIT {
     postgresClient.withConn(conn -> conn.get(FOO, StringPojo.class, cqlWrapper)));
   }
 
+  @Test
+  public void getCQLWrapperReusesPreparedStatement(TestContext context) throws FieldException {
+    JsonArray ids = new JsonArray().add(randomUuid()).add(randomUuid());
+    insertXAndSingleQuotePojo(context, ids);
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("jsonb");
+    String cachedStatements = "SELECT statement FROM pg_prepared_statements "
+        + "WHERE NOT from_sql AND statement LIKE '%jsonb->>''key''%LIKE%'";
+    postgresClient.withConn(conn -> conn.get(FOO, StringPojo.class, new CQLWrapper(cql2pgJson, "key == x"))
+        .compose(x -> {
+          assertThat(x.getResults().get(0).getId(), is(ids.getString(0)));
+          return conn.get(FOO, StringPojo.class, new CQLWrapper(cql2pgJson, "key == \"'\""));
+        })
+        .compose(singleQuote -> {
+          assertThat(singleQuote.getResults().get(0).getId(), is(ids.getString(1)));
+          return conn.execute(cachedStatements);
+        }))
+    .onComplete(context.asyncAssertSuccess(statements -> {
+      // the second search term has been bound to the cached prepared statement of the first
+      assertThat(statements.rowCount(), is(1));
+      assertThat(statements.iterator().next().getString(0), containsString("$1::text"));
+    }));
+  }
+
   @Test
   public void getCQLWrapperFailure(TestContext context) throws IOException, FieldException {
     final String tableDefiniton = "id UUID PRIMARY KEY , jsonb JSONB NOT NULL, distinct_test_field TEXT";
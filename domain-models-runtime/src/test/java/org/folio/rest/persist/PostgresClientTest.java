@@ -3,6 +3,8 @@ package org.folio.rest.persist;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.collection.ArrayMatching.arrayContaining;
 import static org.hamcrest.collection.ArrayMatching.hasItemInArray;
 import static org.hamcrest.collection.IsMapContaining.hasEntry;
@@ -26,18 +28,22 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgConnection;
+import io.vertx.pgclient.PgPool;
 import io.vertx.pgclient.impl.RowImpl;
 import io.vertx.sqlclient.Query;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnectOptions;
 import io.vertx.sqlclient.SqlResult;
 import io.vertx.sqlclient.impl.RowDesc;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.helpers.LocalRowDesc;
 import org.folio.rest.persist.helpers.LocalRowSet;
+import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.security.AES;
 import org.folio.rest.security.AESTest;
 import org.folio.rest.tools.utils.Envs;
@@ -168,6 +174,9 @@ public class PostgresClientTest {
     assertThat("pass", is(options.getPassword()));
     assertThat("db", is(options.getDatabase()));
     assertThat(options.getProperties(), hasEntry("application_name", "raml-module-builder-9.8.7-SNAPSHOT"));
+    assertThat(options.getCachePreparedStatements(), is(true));
+    assertThat(options.getPreparedStatementCacheMaxSize(),
+        is(PostgresClientInitializer.DEFAULT_PREPARED_STATEMENT_CACHE_SIZE));
     // TODO: enable when available in vertx-sql-client/vertx-pg-client
     // https://issues.folio.org/browse/RMB-657
     // assertThat(60000, is(options.getConnectionReleaseDelay()));
@@ -184,7 +193,8 @@ public class PostgresClientTest {
           "DB_DATABASE", "mydatabase",
           "DB_CONNECTIONRELEASEDELAY", "1000",
           "DB_RECONNECTATTEMPTS", "3",
-          "DB_RECONNECTINTERVAL", "2000"
+          "DB_RECONNECTINTERVAL", "2000",
+          "DB_PREPAREDSTATEMENTCACHESIZE", "100"
           ));
       JsonObject conf = new PostgresClient(Vertx.vertx(), "public").getConnectionConfig();
       PgConnectOptions options =
@@ -199,12 +209,89 @@ public class PostgresClientTest {
       // assertThat(options.getConnectionReleaseDelay(), is(1000));
       assertThat(options.getReconnectAttempts(), is(3));
       assertThat(options.getReconnectInterval(), is(2000L));
+      assertThat(options.getCachePreparedStatements(), is(true));
+      assertThat(options.getPreparedStatementCacheMaxSize(), is(100));
+    } finally {
+      // restore defaults
+      Envs.setEnv(System.getenv());
+    }
+  }
+
+  @Test
+  public void asyncReadClient() throws Exception {
+    try {
+      Envs.setEnv(Map.of(
+          "DB_HOST", "myhost",
+          "DB_PORT", "5433",
+          "DB_HOST_READER", "myhost_reader",
+          "DB_PORT_READER", "5434",
+          "DB_HOST_READER_ASYNC", "myhost_reader_async",
+          "DB_PORT_READER_ASYNC", "5435"
+          ));
+      PostgresClient client = new PostgresClient(Vertx.vertx(), "public");
+      PostgresClientInitializer initializer = client.getPostgresClientInitializer();
+      assertThat(client.getReaderClient(), is(sameInstance(initializer.getSyncReadClient())));
+      assertThat(client.getAsyncReadClient(), is(sameInstance(initializer.getAsyncReadClient())));
+      assertNotSame(client.getReaderClient(), client.getAsyncReadClient());
+      assertNotSame(client.getClient(), client.getAsyncReadClient());
+      client.closeClient();
+      assertThat(client.getAsyncReadClient(), is(nullValue()));
+    } finally {
+      // restore defaults
+      Envs.setEnv(System.getenv());
+    }
+  }
+
+  @Test
+  public void asyncReadClientFallsBackToReadClient() throws Exception {
+    try {
+      Envs.setEnv(Map.of(
+          "DB_HOST", "myhost",
+          "DB_PORT", "5433",
+          "DB_HOST_READER", "myhost_reader",
+          "DB_PORT_READER", "5434"
+          ));
+      PostgresClient client = new PostgresClient(Vertx.vertx(), "public");
+      assertThat(client.getAsyncReadClient(), is(sameInstance(client.getReaderClient())));
+      assertNotSame(client.getClient(), client.getAsyncReadClient());
+      client.closeClient();
+    } finally {
+      // restore defaults
+      Envs.setEnv(System.getenv());
+    }
+  }
+
+  @Test
+  public void testPgConnectOptionsPreparedStatementCacheDisabled() throws Exception {
+    try {
+      Envs.setEnv(Map.of("DB_PREPAREDSTATEMENTCACHESIZE", "0"));
+      JsonObject conf = new PostgresClient(Vertx.vertx(), "public").getConnectionConfig();
+      PgConnectOptions options =
+          PostgresClientInitializer.createPgConnectOptions(conf, PostgresClient.HOST, PostgresClient.PORT);
+      assertThat(options.getCachePreparedStatements(), is(false));
     } finally {
       // restore defaults
       Envs.setEnv(System.getenv());
     }
   }
 
+  @Test
+  public void isCacheablePreparedStatement() {
+    assertThat(PostgresClientInitializer.isCacheable("SELECT jsonb FROM s.t WHERE id = $1"), is(true));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT id, jsonb FROM s.t WHERE id = ANY($1)"), is(true));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT jsonb FROM s.t WHERE id = 'x'"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT * FROM s.t WHERE id = $1"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("select t.* FROM s.t WHERE id = $1"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT id, * FROM s.t WHERE id = $1"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT DISTINCT ON (id) * FROM s.t WHERE id = $1"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("UPDATE s.t SET jsonb = $2 WHERE id = $1 RETURNING *"), is(false));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT count(*) FROM s.t WHERE id = $1"), is(true));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT jsonb FROM s.t WHERE get_tsvector(x) @@ "
+        + "tsquery_phrase($1::text) AND (jsonb->>'n')::numeric * 2 > $2::text::numeric"), is(true));
+    assertThat(PostgresClientInitializer.isCacheable("SELECT jsonb FROM s.t WHERE id = $1 "
+        + " ".repeat(SqlConnectOptions.DEFAULT_PREPARED_STATEMENT_CACHE_SQL_LIMIT)), is(false));
+  }
+
   @Test
   public void testPgConnectOptionsWithReaderConfig() throws Exception {
     try {
@@ -408,6 +495,62 @@ public class PostgresClientTest {
     verify(postgresTester2, times(1)).close();
   }
 
+  private static ReplicaLagProbe replicaLagProbe(PgPool pool, long lag, String lsn) {
+    ReplicaLagProbe probe = mock(ReplicaLagProbe.class);
+    when(probe.samples(any())).thenAnswer(invocation -> invocation.getArgument(0) == pool);
+    when(probe.getLag()).thenReturn(lag);
+    when(probe.isWithin(anyLong())).thenCallRealMethod();
+    when(probe.hasReplayed(anyString())).thenAnswer(invocation ->
+        ReplicaLagProbe.parseLsn(lsn) >= ReplicaLagProbe.parseLsn(invocation.getArgument(0)));
+    return probe;
+  }
+
+  @Test
+  public void readerUsable() {
+    PostgresClient client = PostgresClient.testClient();
+    PgPool writer = mock(PgPool.class);
+    PgPool reader = mock(PgPool.class);
+    client.setClient(writer);
+    client.setReaderClient(writer);
+    assertThat(client.isReaderUsable(null), is(true));
+    assertThat(client.isReaderUsable("0/1"), is(true));
+
+    client.setReaderClient(reader);
+    assertThat(client.isReaderUsable(null), is(true));
+    assertThat(client.isReaderUsable("0/1"), is(false));
+    assertThat(client.getReaderLag(), is(-1L));
+
+    client.setReplicaLagProbe(replicaLagProbe(reader, 50, "1/10"), 100);
+    assertThat(client.getReaderLag(), is(50L));
+    assertThat(client.isReaderUsable(null), is(true));
+    assertThat(client.isReaderUsable("1/10"), is(true));
+    assertThat(client.isReaderUsable("1/11"), is(false));
+    assertThrows(IllegalArgumentException.class, () -> client.isReaderUsable("foo"));
+
+    client.setReplicaLagProbe(replicaLagProbe(reader, 101, "1/10"), 100);
+    assertThat(client.isReaderUsable(null), is(false));
+    assertThat(client.isReaderUsable("0/1"), is(false));
+
+    client.setReplicaLagProbe(replicaLagProbe(reader, -1, "1/10"), 100);
+    assertThat(client.isReaderUsable(null), is(false));
+
+    // probe of a different pool, for example after the reader pool has been replaced
+    client.setReplicaLagProbe(replicaLagProbe(mock(PgPool.class), 0, "1/10"), 100);
+    assertThat(client.isReaderUsable(null), is(true));
+    assertThat(client.isReaderUsable("0/1"), is(false));
+  }
+
+  @Test
+  public void readConnectionInvalidLsn() {
+    PostgresClient client = PostgresClient.testClient();
+    client.setClient(mock(PgPool.class));
+    client.setReaderClient(mock(PgPool.class));
+    client.setReplicaLagProbe(replicaLagProbe(client.getReaderClient(), 0, "1/10"), 100);
+    Future<PgConnection> future = client.getReadConnection("foo");
+    assertThat(future.failed(), is(true));
+    assertThat(future.cause().getMessage(), is("Invalid LSN: foo"));
+  }
+
   @Test
   public void testProcessResults() {
     PostgresClient testClient = PostgresClient.testClient();
@@ -433,6 +576,76 @@ public class PostgresClientTest {
     assertTestPojoResults(resultsHelper.list, total);
   }
 
+  @Test
+  public void testProcessResultsFacets() {
+    PostgresClient testClient = PostgresClient.testClient();
+
+    int total = 5;
+    List<String> columnNames = List.of("id", "jsonb");
+    RowDesc rowDesc = new LocalRowDesc(columnNames);
+    List<Row> rows = new LinkedList<>();
+    for (String value : List.of("a", "b")) {
+      Row row = new RowImpl(rowDesc);
+      row.addUUID(PostgresClient.FACET_ROW_ID);
+      row.addValue(new JsonObject().put("type", "foo")
+          .put("facetValues", new JsonArray().add(new JsonObject().put("count", 2).put("value", value))));
+      rows.add(row);
+    }
+    for (Row row : getMockTestJsonbPojoResultSet(total)) {
+      Row idRow = new RowImpl(rowDesc);
+      idRow.addUUID(UUID.randomUUID());
+      idRow.addValue(row.getValue(0));
+      rows.add(idRow);
+    }
+    RowSet<Row> rs = new LocalRowSet(total).withColumns(columnNames).withRows(rows);
+
+    Results<TestPojo> results = testClient.processResults(rs, total, DEFAULT_OFFSET, DEFAULT_LIMIT, TestPojo.class);
+
+    assertTestPojoResults(results.getResults(), total);
+    assertThat(results.getResultInfo().getFacets().size(), is(1));
+    assertThat(results.getResultInfo().getFacets().get(0).getType(), is("foo"));
+    assertThat(results.getResultInfo().getFacets().get(0).getFacetValues().size(), is(2));
+    assertThat(results.getResultInfo().getFacets().get(0).getFacetValues().get(1).getValue(), is("b"));
+  }
+
+  @Test
+  public void testProcessResultsJsonObject() {
+    PostgresClient testClient = PostgresClient.testClient();
+
+    int total = 3;
+    RowSet<Row> rs = getMockTestJsonbPojoResultSet(total);
+
+    List<JsonObject> results = testClient.processResults(rs, total, DEFAULT_OFFSET, DEFAULT_LIMIT, JsonObject.class).getResults();
+
+    assertThat(results.size(), is(total));
+    int i = 0;
+    for (Row row : rs) {
+      assertThat(results.get(i), is(sameInstance(row.getValue("jsonb"))));
+      assertThat(results.get(i).getString("foo"), is("foo " + i));
+      i++;
+    }
+  }
+
+  @Test
+  public void testIsFacetRow() {
+    RowDesc rowDesc = new LocalRowDesc(List.of("id", "jsonb"));
+    Row uuidRow = new RowImpl(rowDesc);
+    uuidRow.addUUID(PostgresClient.FACET_ROW_ID);
+    assertThat(PostgresClient.isFacetRow(uuidRow), is(true));
+    Row stringRow = new RowImpl(rowDesc);
+    stringRow.addString(PostgresClient.FACET_ROW_ID_STRING);
+    assertThat(PostgresClient.isFacetRow(stringRow), is(true));
+    Row recordRow = new RowImpl(rowDesc);
+    recordRow.addUUID(UUID.randomUUID());
+    assertThat(PostgresClient.isFacetRow(recordRow), is(false));
+    Row nullRow = new RowImpl(rowDesc);
+    nullRow.addValue(null);
+    assertThat(PostgresClient.isFacetRow(nullRow), is(false));
+    Row jsonbRow = new RowImpl(new LocalRowDesc(List.of("jsonb")));
+    jsonbRow.addValue(new JsonObject().put("type", "foo"));
+    assertThat(PostgresClient.isFacetRow(jsonbRow), is(false));
+  }
+
   @Test
   public void testIsAuditFlavored() {
     PostgresClient testClient = PostgresClient.testClient();
@@ -495,6 +708,34 @@ public class PostgresClientTest {
     assertThat(setterMethodName, is("setTestField"));
   }
 
+  @Test
+  public void testRowMappingPlan() throws Exception {
+    List<String> columnNames = List.of("id", "jsonb", "foo", "unknown_column", "biz", "baz");
+    RowMappingPlan plan = RowMappingPlan.of(TestPojo.class, columnNames);
+    assertThat(RowMappingPlan.of(TestPojo.class, new ArrayList<>(columnNames)), is(sameInstance(plan)));
+    assertThat(plan.auditFlavored, is(false));
+    assertThat(plan.jsonbIndex, is(1));
+    assertThat(plan.externalColumnNames(), is(List.of("foo", "biz", "baz")));
+
+    RowMappingPlan auditPlan = RowMappingPlan.of(TestJsonbPojo.class, columnNames);
+    assertThat(auditPlan.auditFlavored, is(true));
+    assertThat(auditPlan.externalColumnNames(), is(List.of("jsonb")));
+
+    Row row = new RowImpl(new LocalRowDesc(columnNames));
+    row.addUUID(UUID.randomUUID());
+    row.addValue(new JsonObject());
+    row.addString("Hello");
+    row.addString("ignored");
+    row.addDouble(1.0);
+    row.addArrayOfString(new String[] { "a", "b" });
+    TestPojo o = new TestPojo();
+    plan.populateExternalColumns(o, row);
+    assertThat(o.getFoo(), is("Hello"));
+    assertThat(o.getBar(), is(nullValue()));
+    assertThat(o.getBiz(), is(1.0));
+    assertThat(o.getBaz(), is(List.of("a", "b")));
+  }
+
   public class FakeSqlConnection extends PgConnectionMock {
     final AsyncResult<RowSet<Row>> asyncResult;
     final boolean failExplain;
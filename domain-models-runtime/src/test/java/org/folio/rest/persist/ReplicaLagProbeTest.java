@@ -0,0 +1,141 @@
+package org.folio.rest.persist;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgPool;
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.util.List;
+import org.folio.rest.persist.helpers.LocalRowDesc;
+import org.folio.rest.persist.helpers.LocalRowSet;
+import org.junit.Test;
+
+public class ReplicaLagProbeTest {
+
+  private static PgPool pool(String sql, Future<RowSet<Row>> result) {
+    PgPool pool = mock(PgPool.class, RETURNS_DEEP_STUBS);
+    when(pool.query(sql).execute()).thenReturn(result);
+    return pool;
+  }
+
+  private static Future<RowSet<Row>> rowSet(String lsn) {
+    List<String> columns = List.of("lsn");
+    Row row = new RowImpl(new LocalRowDesc(columns));
+    row.addString(lsn);
+    return Future.succeededFuture(new LocalRowSet(1).withColumns(columns).withRows(List.of(row)));
+  }
+
+  private static ReplicaLagProbe probe(Vertx vertx, String primaryLsn, String replicaLsn) {
+    ReplicaLagProbe probe = new ReplicaLagProbe(vertx, 1000);
+    probe.add(pool(ReplicaLagProbe.PRIMARY_SQL, rowSet(primaryLsn)),
+        pool(ReplicaLagProbe.REPLICA_SQL, rowSet(replicaLsn)));
+    return probe;
+  }
+
+  @Test
+  public void sample() {
+    Vertx vertx = mock(Vertx.class);
+    when(vertx.setPeriodic(anyLong(), any())).thenReturn(7L);
+    ReplicaLagProbe probe = probe(vertx, "16/B374D848", "16/B374D848");
+    verify(vertx).setPeriodic(eq(1000L), any());
+    assertThat(probe.getLag(), is(0L));
+    assertThat(probe.getLsn(), is("16/B374D848"));
+    assertThat(probe.isWithin(0), is(true));
+    assertThat(probe.hasReplayed("16/B374D848"), is(true));
+    assertThat(probe.hasReplayed("16/B374D847"), is(true));
+    assertThat(probe.hasReplayed("16/B374D849"), is(false));
+    assertThat(probe.hasReplayed("17/0"), is(false));
+    probe.close();
+    verify(vertx).cancelTimer(7L);
+  }
+
+  @Test
+  public void noPools() {
+    ReplicaLagProbe probe = new ReplicaLagProbe(mock(Vertx.class), 1000);
+    assertThat(probe.sample().succeeded(), is(true));
+    assertThat(probe.getLag(), is(-1L));
+  }
+
+  @Test
+  public void addRemove() {
+    ReplicaLagProbe probe = new ReplicaLagProbe(mock(Vertx.class), 1000);
+    PgPool primary = pool(ReplicaLagProbe.PRIMARY_SQL, rowSet("0/1"));
+    PgPool replica1 = pool(ReplicaLagProbe.REPLICA_SQL, rowSet("0/1"));
+    PgPool replica2 = pool(ReplicaLagProbe.REPLICA_SQL, rowSet("0/1"));
+    clearInvocations(primary);
+    probe.add(primary, replica1);
+    probe.add(primary, replica1);
+    probe.add(primary, replica2);
+    // only the first add samples
+    verify(primary, times(1)).query(ReplicaLagProbe.PRIMARY_SQL);
+    assertThat(probe.samples(replica1), is(true));
+    assertThat(probe.samples(replica2), is(true));
+    assertThat(probe.remove(replica1), is(false));
+    assertThat(probe.samples(replica1), is(false));
+    assertThat(probe.remove(replica2), is(true));
+  }
+
+  @Test
+  public void stalledReplicaLags() throws InterruptedException {
+    ReplicaLagProbe probe = new ReplicaLagProbe(mock(Vertx.class), 1000);
+    long start = System.nanoTime();
+    probe.update(start, "0/10", "0/10");
+    assertThat(probe.getLag(), is(0L));
+    // the write instance moves on, the replica doesn't receive it
+    probe.update(System.nanoTime(), "0/20", "0/10");
+    Thread.sleep(20);
+    probe.update(System.nanoTime(), "0/30", "0/10");
+    assertThat(probe.getLag(), is(greaterThanOrEqualTo(20L)));
+    // replica catches up partially, the lag is the age of the oldest unreplayed position
+    long partial = System.nanoTime();
+    probe.update(System.nanoTime(), "0/30", "0/20");
+    assertThat(probe.getLag() < 20 + (System.nanoTime() - partial) / 1_000_000, is(true));
+    probe.update(System.nanoTime(), "0/30", "0/30");
+    assertThat(probe.getLag(), is(0L));
+  }
+
+  @Test
+  public void sampleFails() {
+    Vertx vertx = mock(Vertx.class);
+    ReplicaLagProbe probe = new ReplicaLagProbe(vertx, 1000);
+    probe.add(pool(ReplicaLagProbe.PRIMARY_SQL, rowSet("0/1")),
+        pool(ReplicaLagProbe.REPLICA_SQL, Future.failedFuture("down")));
+    assertThat(probe.getLag(), is(-1L));
+    assertThat(probe.isWithin(Long.MAX_VALUE), is(false));
+    assertThat(probe.hasReplayed("0/0"), is(false));
+  }
+
+  @Test
+  public void primaryFails() {
+    ReplicaLagProbe probe = new ReplicaLagProbe(mock(Vertx.class), 1000);
+    probe.add(pool(ReplicaLagProbe.PRIMARY_SQL, Future.failedFuture("down")),
+        pool(ReplicaLagProbe.REPLICA_SQL, rowSet("0/1")));
+    assertThat(probe.getLag(), is(-1L));
+  }
+
+  @Test
+  public void oldSampleIsUnknown() throws InterruptedException {
+    ReplicaLagProbe probe = new ReplicaLagProbe(mock(Vertx.class), 1);
+    probe.update(System.nanoTime(), "0/1", "0/1");
+    Thread.sleep(10);
+    assertThat(probe.getLag(), is(-1L));
+    assertThat(probe.hasReplayed("0/1"), is(true));
+  }
+
+  @Test
+  public void parseLsn() {
+    assertThat(ReplicaLagProbe.parseLsn("0/0"), is(0L));
+    assertThat(ReplicaLagProbe.parseLsn("16/B374D848"), is(0x16_B374D848L));
+    assertThat(ReplicaLagProbe.parseLsn("FFFFFFFF/FFFFFFFF"), is(-1L));
+    for (String lsn : new String [] { null, "", "/", "1/", "/1", "1", "x/1", "1/x" }) {
+      assertThrows(lsn, IllegalArgumentException.class, () -> ReplicaLagProbe.parseLsn(lsn));
+    }
+  }
+}
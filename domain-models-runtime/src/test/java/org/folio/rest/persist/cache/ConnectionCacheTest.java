@@ -4,8 +4,18 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.folio.rest.persist.PgConnectionMock;
 import org.folio.rest.persist.PostgresClientHelper;
 import org.junit.AfterClass;
@@ -99,4 +109,140 @@ public class ConnectionCacheTest {
     cache.tryAdd(conn3);
     assertEquals(2, cache.size()); // Same size because the connections already exist in the cache.
   }
+
+  @Test
+  public void closedConnectionCanBeReused() {
+    var manager = new CachedConnectionManager();
+    var cache = new ConnectionCache();
+    var vertx = Vertx.vertx();
+    var conn1 = new CachedPgConnection("tenant1", new PgConnectionMock(), manager, vertx, 0);
+    var conn2 = new CachedPgConnection("tenant1", new PgConnectionMock(), manager, vertx, 0);
+    cache.tryAdd(conn1);
+    cache.tryAdd(conn2);
+    conn1.setAvailable();
+    conn2.setAvailable();
+    conn2.setAvailable(); // no effect, already available
+
+    var first = cache.getAvailableConnection("tenant1").get();
+    var second = cache.getAvailableConnection("tenant1").get();
+    assertTrue(first == conn2); // most recently released of the same tenant
+    assertTrue(second == conn1);
+    assertFalse(cache.getAvailableConnection("tenant1").isPresent());
+
+    second.setAvailable();
+    assertTrue(cache.getAvailableConnection("tenant2").get() == conn1);
+    assertFalse(cache.getAvailableConnection("tenant1").isPresent());
+  }
+
+  @Test
+  public void removedConnectionIsNotAvailable() {
+    var manager = new CachedConnectionManager();
+    var cache = new ConnectionCache();
+    var vertx = Vertx.vertx();
+    var conn1 = new CachedPgConnection("tenant1", new PgConnectionMock(), manager, vertx, 0);
+    cache.tryAdd(conn1);
+    conn1.setAvailable();
+    cache.remove(conn1);
+    assertEquals(0, cache.size());
+    assertFalse(cache.getAvailableConnection("tenant1").isPresent());
+    conn1.setAvailable();
+    assertFalse(cache.getAvailableConnection("tenant1").isPresent());
+  }
+
+  @Test
+  public void releaseDelayCompletionRacesCheckout() throws Exception {
+    var manager = new CachedConnectionManager();
+    var vertx = Vertx.vertx();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    for (int i = 0; i < 1000; i++) {
+      var cache = new ConnectionCache();
+      var closed = new AtomicInteger();
+      var pgConnection = new PgConnectionMock() {
+        @Override
+        public Future<Void> close() {
+          closed.incrementAndGet();
+          return super.close();
+        }
+      };
+      var conn = new CachedPgConnection("tenant1", pgConnection, manager, vertx, 0);
+      cache.tryAdd(conn);
+      conn.setAvailable();
+      var start = new CountDownLatch(1);
+      var checkedOut = new AtomicInteger();
+      var done = new CountDownLatch(2);
+      executor.execute(() -> {
+        await(start);
+        conn.handleReleaseDelayCompletion();
+        done.countDown();
+      });
+      executor.execute(() -> {
+        await(start);
+        cache.getAvailableConnection("tenant1").ifPresent(c -> checkedOut.incrementAndGet());
+        done.countDown();
+      });
+      start.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      // either the timeout closes the connection or the checkout gets it, never both
+      assertEquals(1, closed.get() + checkedOut.get());
+      assertEquals(checkedOut.get(), cache.size());
+    }
+    executor.shutdown();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void concurrentCheckout() throws Exception {
+    var manager = new CachedConnectionManager();
+    var cache = new ConnectionCache();
+    var vertx = Vertx.vertx();
+    int threads = 8;
+    int tenants = 5;
+    List<CachedPgConnection> connections = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      var conn = new CachedPgConnection("tenant" + (i % tenants), new PgConnectionMock(), manager, vertx, 0);
+      cache.tryAdd(conn);
+      conn.setAvailable();
+      connections.add(conn);
+    }
+    Set<CachedPgConnection> checkedOut = ConcurrentHashMap.newKeySet();
+    var duplicates = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      String tenant = "tenant" + (t % (tenants + 1));
+      executor.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        for (int i = 0; i < 10000; i++) {
+          cache.getAvailableConnection(tenant).ifPresent(conn -> {
+            if (!checkedOut.add(conn)) {
+              duplicates.incrementAndGet();
+            }
+            assertFalse(conn.isAvailable());
+            checkedOut.remove(conn);
+            conn.setAvailable();
+          });
+        }
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertEquals(0, duplicates.get());
+    assertEquals(20, cache.size());
+    for (int i = 0; i < 20; i++) {
+      assertTrue(cache.getAvailableConnection("tenant0").isPresent());
+    }
+    assertFalse(cache.getAvailableConnection("tenant0").isPresent());
+  }
 }
@@ -0,0 +1,172 @@
+package org.folio.rest.persist.count;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.folio.rest.persist.helpers.LocalRowDesc;
+import org.folio.rest.persist.helpers.LocalRowSet;
+import org.folio.rest.tools.utils.RmbMetrics;
+import org.junit.Test;
+
+public class CachedTotalRecordsStrategyTest {
+
+  private static final CountQuery ITEMS_A = new CountQuery("diku_mod", "item", "SELECT a", "SELECT exact a");
+  private static final CountQuery ITEMS_B = new CountQuery("diku_mod", "item", "SELECT b", "SELECT exact b");
+  private static final CountQuery HOLDINGS = new CountQuery("diku_mod", "holding", "SELECT h", "SELECT exact h");
+
+  /**
+   * Returns the number of count calls so far, or the pending promise if set.
+   */
+  static class CountingStrategy implements TotalRecordsStrategy {
+    final List<String> invalidated = new ArrayList<>();
+    int calls;
+    Promise<Integer> pending;
+
+    @Override
+    public Future<Integer> count(SqlClient sqlClient, CountQuery countQuery) {
+      calls++;
+      if (pending != null) {
+        return pending.future();
+      }
+      return Future.succeededFuture(calls);
+    }
+
+    @Override
+    public void invalidate(String schemaName, String table) {
+      invalidated.add(schemaName + "." + table);
+    }
+  }
+
+  private final CountingStrategy counting = new CountingStrategy();
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  private CachedTotalRecordsStrategy cached(int maxSize) {
+    return new CachedTotalRecordsStrategy(counting, Duration.ofSeconds(10), maxSize, nanoTime::get);
+  }
+
+  private static Integer count(TotalRecordsStrategy strategy, CountQuery countQuery) {
+    return strategy.count(null, countQuery).result();
+  }
+
+  @Test
+  public void cachesPerQuery() {
+    var strategy = cached(10);
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, ITEMS_B), is(2));
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(counting.calls, is(2));
+    assertThat(strategy.size(), is(2));
+  }
+
+  @Test
+  public void expires() {
+    var strategy = cached(10);
+    assertThat(count(strategy, ITEMS_A), is(1));
+    nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+    assertThat(count(strategy, ITEMS_A), is(1));
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertThat(count(strategy, ITEMS_A), is(2));
+    assertThat(count(strategy, ITEMS_A), is(2));
+  }
+
+  @Test
+  public void invalidateTable() {
+    var strategy = cached(10);
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, HOLDINGS), is(2));
+    strategy.invalidate("diku_mod", "item");
+    assertThat(counting.invalidated, is(List.of("diku_mod.item")));
+    assertThat(count(strategy, ITEMS_A), is(3));
+    assertThat(count(strategy, HOLDINGS), is(2));
+    strategy.invalidate("other_mod", "holding");
+    assertThat(count(strategy, HOLDINGS), is(2));
+  }
+
+  @Test
+  public void writeWhileCounting() {
+    var strategy = cached(10);
+    counting.pending = Promise.promise();
+    Future<Integer> future = strategy.count(null, ITEMS_A);
+    strategy.invalidate("diku_mod", "item");
+    counting.pending.complete(7);
+    assertThat(future.result(), is(7));
+    counting.pending = null;
+    assertThat(count(strategy, ITEMS_A), is(2));
+    assertThat(count(strategy, ITEMS_A), is(2));
+  }
+
+  @Test
+  public void failureIsNotCached() {
+    var strategy = cached(10);
+    counting.pending = Promise.promise();
+    Future<Integer> future = strategy.count(null, ITEMS_A);
+    counting.pending.fail("timeout");
+    assertThat(future.failed(), is(true));
+    counting.pending = null;
+    assertThat(count(strategy, ITEMS_A), is(2));
+    assertThat(strategy.size(), is(1));
+  }
+
+  @Test
+  public void maxSize() {
+    var strategy = cached(2);
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, ITEMS_B), is(2));
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, HOLDINGS), is(3));  // evicts least recently used ITEMS_B
+    assertThat(strategy.size(), is(2));
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, ITEMS_B), is(4));
+  }
+
+  @Test
+  public void zeroMaxSizeDisablesCache() {
+    var strategy = cached(0);
+    assertThat(count(strategy, ITEMS_A), is(1));
+    assertThat(count(strategy, ITEMS_A), is(2));
+    assertThat(strategy.size(), is(0));
+  }
+
+  @Test
+  public void negativeMaxSize() {
+    assertThrows(IllegalArgumentException.class, () -> cached(-1));
+  }
+
+  @Test
+  public void metricsOnlyForQueries() {
+    SqlClient sqlClient = mock(SqlClient.class, RETURNS_DEEP_STUBS);
+    Row row = new RowImpl(new LocalRowDesc(List.of("count")));
+    row.addInteger(5);
+    RowSet<Row> rowSet = new LocalRowSet(1).withRows(List.of(row));
+    when(sqlClient.query("SELECT m").execute()).thenReturn(Future.succeededFuture(rowSet));
+    var countQuery = new CountQuery("metricscount", "metricscount_mod", "item", "SELECT m", "SELECT exact m");
+    var strategy = new CachedTotalRecordsStrategy(Duration.ofMinutes(1));
+    assertThat(strategy.count(sqlClient, countQuery).result(), is(5));
+    assertThat(strategy.count(sqlClient, countQuery).result(), is(5));
+    // the second count is served from the cache, it is no query
+    assertThat(RmbMetrics.scrape(), containsString(
+        "rmb_db_query_seconds_count{operation=\"count\",table=\"item\",tenant=\"metricscount\",} 1.0"));
+  }
+
+  @Test
+  public void defaultStrategy() {
+    var strategy = new CachedTotalRecordsStrategy(Duration.ofMinutes(1));
+    assertThat(strategy.size(), is(0));
+  }
+}
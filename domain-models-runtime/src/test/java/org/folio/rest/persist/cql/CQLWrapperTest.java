@@ -4,6 +4,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.folio.cql2pgjson.CQL2PgJSON;
 import org.folio.cql2pgjson.exception.FieldException;
 import org.folio.cql2pgjson.exception.QueryValidationException;
@@ -154,6 +156,27 @@ public class CQLWrapperTest {
     assertThat(wrapper.toString(), stringContainsInOrder("WHERE", "author", "abc", "year", "1990", "ORDER BY", "title"));
   }
 
+  @Test
+  public void parameters() throws FieldException {
+    CQLWrapper wrapper = new CQLWrapper(cql2pgJson, "author == abc sortby title");
+    wrapper.addWrapper(new CQLWrapper(cql2pgJson, "year == 1990"));
+    List<Object> parameters = new ArrayList<>();
+    String sql = wrapper.toString(parameters);
+    assertThat(sql, stringContainsInOrder("WHERE", "author", "$1::text", "year", "$2::text", "ORDER BY", "title"));
+    assertThat(sql, not(containsString("abc")));
+    assertThat(parameters, contains("abc", "1990"));
+    assertThat(wrapper.toString(), stringContainsInOrder("WHERE", "author", "'abc'", "year", "'1990'"));
+  }
+
+  @Test
+  public void parametersInlineCriterionAndWhereClause() throws FieldException {
+    Criterion criterion = new Criterion().addCriterion(new Criteria().addField("id").setOperation("=").setVal("42"));
+    List<Object> parameters = new ArrayList<>();
+    assertThat(new CQLWrapper(criterion).toString(parameters), is("WHERE (jsonb->>id) = '42'"));
+    assertThat(new CQLWrapper().setWhereClause("WHERE false").toString(parameters), is("WHERE false"));
+    assertThat(parameters, hasSize(0));
+  }
+
   @Test
   public void wrapWithEmpty() throws FieldException {
     CQLWrapper wrapper = new CQLWrapper().setField(cql2pgJson);
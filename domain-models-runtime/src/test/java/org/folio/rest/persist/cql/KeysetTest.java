@@ -0,0 +1,143 @@
+package org.folio.rest.persist.cql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.rest.persist.helpers.LocalRowDesc;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class KeysetTest {
+  static CQL2PgJSON cql2pgJson;
+
+  @BeforeClass
+  public static void setUpClass() throws FieldException {
+    cql2pgJson = new CQL2PgJSON("field");
+  }
+
+  private static Keyset keyset(String cql, int limit) {
+    return new Keyset(new CQLWrapper(cql2pgJson, cql, limit, 0));
+  }
+
+  private static String token(Keyset keyset, String... values) {
+    List<String> columns = IntStream.range(0, values.length).mapToObj(i -> Keyset.COLUMN_PREFIX + i).toList();
+    Row row = new RowImpl(new LocalRowDesc(columns));
+    for (String value : values) {
+      row.addString(value);
+    }
+    return keyset.token(row);
+  }
+
+  @Test
+  public void firstPage() {
+    Keyset keyset = keyset("cql.allRecords=1", 10);
+    assertThat(keyset.getLimit(), is(10));
+    Tuple params = Tuple.tuple();
+    assertThat(keyset.selectSql("jsonb", "s.t", null, params),
+        is("SELECT jsonb, (id)::text AS keyset_0 FROM s.t WHERE true ORDER BY id LIMIT 11"));
+    assertThat(params.size(), is(0));
+  }
+
+  @Test
+  public void noLimit() {
+    Keyset keyset = keyset("cql.allRecords=1", -1);
+    assertThat(keyset.selectSql("jsonb", "s.t", null, Tuple.tuple()), not(containsString("LIMIT")));
+  }
+
+  @Test
+  public void sortById() {
+    Keyset keyset = keyset("cql.allRecords=1 sortBy id", 5);
+    String token = token(keyset, "11111111-1111-1111-1111-111111111111");
+    Tuple params = Tuple.tuple();
+    assertThat(keyset.selectSql("jsonb", "s.t", token, params),
+        is("SELECT jsonb, (id)::text AS keyset_0 FROM s.t WHERE (true) AND (((id) > ($1::text::uuid)))"
+            + " ORDER BY id LIMIT 6"));
+    assertThat(params.getString(0), is("11111111-1111-1111-1111-111111111111"));
+  }
+
+  @Test
+  public void rowComparison() {
+    Keyset keyset = keyset("name=a* sortBy name", 5);
+    String token = token(keyset, "x", "xy", "11111111-1111-1111-1111-111111111111");
+    Tuple params = Tuple.tuple();
+    String sql = keyset.selectSql("jsonb", "s.t", token, params);
+    assertThat(sql, containsString(") AND (("
+        + "(left(lower(f_unaccent(field->>'name')),600), lower(f_unaccent(field->>'name')), id)"
+        + " > ($1::text, $2::text, $3::text::uuid))"
+        + " OR (left(lower(f_unaccent(field->>'name')),600) IS NULL)"
+        + " OR (left(lower(f_unaccent(field->>'name')),600) = $1::text"
+        + " AND lower(f_unaccent(field->>'name')) IS NULL))"));
+    assertThat(sql, endsWith(" ORDER BY left(lower(f_unaccent(field->>'name')),600),"
+        + " lower(f_unaccent(field->>'name')), id LIMIT 6"));
+    assertThat(params.size(), is(3));
+  }
+
+  @Test
+  public void descending() {
+    Keyset keyset = keyset("cql.allRecords=1 sortBy id/sort.descending", 5);
+    assertThat(keyset.condition(Arrays.asList("a"), Tuple.tuple()), is("(((id) < ($1::text::uuid)))"));
+    // the id tie-breaker gets the direction of the last sort key
+    keyset = keyset("cql.allRecords=1 sortBy n/sort.descending/number", 5);
+    assertThat(keyset.condition(Arrays.asList("1", "b"), Tuple.tuple()),
+        is("(((field->'n', id) < ($1::text::jsonb, $2::text::uuid)))"));
+    assertThat(keyset.selectSql("jsonb", "s.t", null, Tuple.tuple()),
+        containsString(" ORDER BY field->'n' DESC, id DESC LIMIT 6"));
+  }
+
+  @Test
+  public void mixedDirections() {
+    Keyset keyset = keyset("cql.allRecords=1 sortBy n/sort.descending/number m/number", 5);
+    assertThat(keyset.condition(Arrays.asList("1", "2", "c"), Tuple.tuple()),
+        is("((field->'n' < $1::text::jsonb)"
+            + " OR (field->'n' = $1::text::jsonb AND field->'m' > $2::text::jsonb)"
+            + " OR (field->'n' = $1::text::jsonb AND field->'m' IS NULL)"
+            + " OR (field->'n' = $1::text::jsonb AND field->'m' = $2::text::jsonb AND id > $3::text::uuid))"));
+  }
+
+  @Test
+  public void nullValues() {
+    Keyset keyset = keyset("cql.allRecords=1 sortBy n/number", 5);
+    assertThat(keyset.condition(Arrays.asList(null, "b"), Tuple.tuple()),
+        is("((field->'n' IS NULL AND id > $1::text::uuid))"));
+    keyset = keyset("cql.allRecords=1 sortBy n/sort.descending/number", 5);
+    assertThat(keyset.condition(Arrays.asList(null, "b"), Tuple.tuple()),
+        is("((field->'n' IS NOT NULL) OR (field->'n' IS NULL AND id < $1::text::uuid))"));
+  }
+
+  @Test
+  public void invalidToken() {
+    Keyset keyset = keyset("cql.allRecords=1", 5);
+    assertThrows(IllegalArgumentException.class, () -> keyset.decode("!"));
+    assertThrows(IllegalArgumentException.class, () -> keyset.decode("e30"));
+  }
+
+  @Test
+  public void tokenOfOtherSortBy() {
+    String token = token(keyset("cql.allRecords=1 sortBy id/sort.descending", 5), "a");
+    Keyset keyset = keyset("cql.allRecords=1", 5);
+    Exception e = assertThrows(IllegalArgumentException.class, () -> keyset.decode(token));
+    assertThat(e.getMessage(), containsString("doesn't match the sortBy clause"));
+  }
+
+  @Test
+  public void tokenRoundTrip() {
+    Keyset keyset = keyset("cql.allRecords=1 sortBy n/number", 5);
+    assertThat(keyset.decode(token(keyset, null, "b")), contains(null, "b"));
+  }
+
+  @Test
+  public void criterionNotSupported() {
+    CQLWrapper wrapper = new CQLWrapper(new Criterion());
+    assertThrows(IllegalArgumentException.class, () -> new Keyset(wrapper));
+  }
+}
@@ -115,6 +115,12 @@ public class SchemaMakerIT extends PostgresClientITBase {
     auditedTableCanInsertUpdateDelete(context, schema + ".test_implicit", "implicitHistory");
   }
 
+  @Test
+  public void canMakeStatementLevelAuditedTable(TestContext context) {
+    runSchema(context, TenantOperation.CREATE, "schemaWithStatementLevelAudit.json");
+    auditedTableCanInsertUpdateDelete(context, schema + ".test_statement", "statementHistory");
+  }
+
   @Test
   public void canConcurrentlyUseAuditedTable(TestContext context) {
     runSchema(context, TenantOperation.CREATE, "schemaWithAudit.json");
@@ -468,6 +474,51 @@ public class SchemaMakerIT extends PostgresClientITBase {
     assertVersion(context, 2147483647, 0, 0, 0);
   }
 
+  @Test
+  public void canCreateFusedTrigger(TestContext context) {
+    runSchema(context, TenantOperation.CREATE, "schemaWithFusedTrigger.json");
+    String trigger = "SELECT count(*) FROM pg_trigger WHERE tgrelid = '" + schema + ".fused'::regclass AND tgname = ";
+    assertThat(selectInteger(context, trigger + "'set_fused_fields_trigger'"), is(1));
+    assertThat(selectInteger(context, trigger + "'set_id_in_jsonb'"), is(0));
+    assertThat(selectInteger(context, trigger + "'set_fused_md_trigger'"), is(0));
+    assertThat(selectInteger(context, trigger + "'set_fused_ol_version_trigger'"), is(0));
+    assertThat(selectInteger(context, trigger + "'update_fused_references'"), is(0));
+
+    String id = UUID.randomUUID().toString();
+    String refId = UUID.randomUUID().toString();
+    String userId = UUID.randomUUID().toString();
+    String select = "SELECT concat_ws(' ', jsonb->>'id', jsonb->>'_version', jsonb->'metadata'->>'createdDate', "
+        + "jsonb->'metadata'->>'createdByUserId', refId, created_by) FROM fused";
+    execute(context, "INSERT INTO fused_ref VALUES ('" + refId + "', '{}')");
+    execute(context, "INSERT INTO fused VALUES ('" + id + "', '{\"refId\": \"" + refId + "\", "
+        + "\"metadata\": {\"createdDate\": \"2020-01-02T03:04:05.678+01:00\", \"createdByUserId\": \"" + userId + "\"}}')");
+    assertThat(selectText(context, select),
+        is(id + " 1 2020-01-02T02:04:05.678Z " + userId + " " + refId + " " + userId));
+
+    execute(context, "UPDATE fused SET jsonb = jsonb || '{\"a\": 1}'");
+    assertThat(selectText(context, select),
+        is(id + " 2 2020-01-02T02:04:05.678Z " + userId + " " + refId + " " + userId));
+
+    // update of created_by column should not touch _version
+    execute(context, "UPDATE fused SET created_by = 'foo'");
+    assertThat(selectText(context, select),
+        is(id + " 2 2020-01-02T02:04:05.678Z foo " + refId + " foo"));
+
+    executeAndExpectFailure(context, "UPDATE fused SET jsonb = jsonb || '{\"_version\": 1}'",
+        "Cannot update record", "because it has been changed");
+
+    // disable the fused trigger, this restores the separate triggers
+    runSchema(context, TenantOperation.UPDATE, "schemaWithFusedTrigger2.json");
+    assertThat(selectInteger(context, trigger + "'set_fused_fields_trigger'"), is(0));
+    assertThat(selectInteger(context, trigger + "'set_id_in_jsonb'"), is(1));
+    assertThat(selectInteger(context, trigger + "'set_fused_md_trigger'"), is(1));
+    assertThat(selectInteger(context, trigger + "'set_fused_ol_version_trigger'"), is(1));
+    assertThat(selectInteger(context, trigger + "'update_fused_references'"), is(1));
+    execute(context, "UPDATE fused SET jsonb = jsonb || '{\"id\": \"" + refId + "\"}'");
+    assertThat(selectText(context, select),
+        is(id + " 3 2020-01-02T02:04:05.678Z foo " + refId + " foo"));
+  }
+
   private static void executeAndExpectFailure(TestContext context, String sqlStatement, String ... errMessages) {
       PostgresClient postgresClient = PostgresClient.getInstance(vertx, tenant);
       postgresClient.execute(sqlStatement, context.asyncAssertFailure(cause -> {
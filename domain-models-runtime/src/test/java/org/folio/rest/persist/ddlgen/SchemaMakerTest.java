@@ -105,6 +105,22 @@ public class SchemaMakerTest {
                              containsString("var1 TEXT;"), containsString("var2 TEXT;"), containsString("var3 TEXT;")));
   }
 
+  @Test
+  public void canCreateStatementLevelAuditedTable() throws IOException, TemplateException {
+    SchemaMaker schemaMaker = schemaMaker("harvard", "circ", TenantOperation.UPDATE,
+      "mod-foo-18.2.3", "mod-foo-18.2.4", "templates/db_scripts/schemaWithStatementLevelAudit.json");
+    String result = tidy(schemaMaker.generateSchemas());
+
+    assertThat(result, containsString("CREATE TABLE IF NOT EXISTS harvard_circ.audit_test_statement"));
+    assertThat(result, containsString("DROP TRIGGER IF EXISTS audit_test_statement ON harvard_circ.test_statement"));
+    assertThat(result, containsString("jsonb FROM records)AS changes;"));
+    assertThat(result, containsString("CREATE TRIGGER audit_test_statement_update AFTER UPDATE ON harvard_circ.test_statement "
+        + "REFERENCING NEW TABLE AS records FOR EACH STATEMENT"));
+    assertThat(result, containsString("CREATE TRIGGER audit_test_statement_delete AFTER DELETE ON harvard_circ.test_statement "
+        + "REFERENCING OLD TABLE AS records FOR EACH STATEMENT"));
+    assertThat(result, not(containsString("FOR EACH ROW EXECUTE PROCEDURE harvard_circ.audit_test_statement_changes()")));
+  }
+
   @Test
   public void canCreateIndexPath() throws IOException, TemplateException {
     SchemaMaker schemaMaker = schemaMaker("harvard", "circ", TenantOperation.UPDATE,
@@ -464,4 +480,23 @@ public class SchemaMakerTest {
             tenant, module, "tab_ol_none")));
   }
 
+  @Test
+  public void fusedTrigger() throws Exception {
+    SchemaMaker schemaMaker = schemaMaker("harvard", "circ", TenantOperation.CREATE,
+        "mod-foo-18.2.3", "mod-foo-18.2.4", "templates/db_scripts/schemaWithFusedTrigger.json");
+    String ddl = tidy(schemaMaker.generateSchemas());
+    assertThat(ddl, containsString("CREATE TRIGGER set_fused_fields_trigger BEFORE INSERT OR UPDATE ON harvard_circ.fused "));
+    assertThat(ddl, containsString("DROP TRIGGER IF EXISTS set_id_in_jsonb ON harvard_circ.fused CASCADE;"));
+    assertThat(ddl, containsString("Cannot update record % because it has been changed"));
+    assertThat(ddl, containsString("NEW.refId ="));
+    assertThat(ddl, containsString("NEW.jsonb = NEW.jsonb || patch;"));
+    assertThat(ddl, not(containsString("CREATE TRIGGER set_fused_md_trigger")));
+    assertThat(ddl, not(containsString("CREATE TRIGGER set_fused_md_json_trigger")));
+    assertThat(ddl, not(containsString("CREATE TRIGGER set_fused_ol_version_trigger")));
+    assertThat(ddl, not(containsString("CREATE TRIGGER update_fused_references")));
+    // the table without fused trigger keeps set_id_in_jsonb
+    assertThat(ddl, containsString("CREATE TRIGGER set_id_in_jsonb BEFORE INSERT OR UPDATE ON harvard_circ.fused_ref "));
+    assertThat(ddl, containsString("DROP FUNCTION IF EXISTS harvard_circ.set_fused_ref_fields()CASCADE;"));
+  }
+
 }
@@ -0,0 +1,49 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.folio.rest.impl.AdminAPI;
+import org.folio.rest.impl.BooksDemoAPI;
+import org.folio.rest.jaxrs.resource.Rmbtests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InterfaceToImplTest {
+
+  @TempDir
+  Path dir;
+
+  @AfterEach
+  void tearDown() {
+    ClassIndex.reset();
+  }
+
+  @Test
+  void indexWithoutImplementationFallsBackToScanning() throws Exception {
+    // an index of target/classes that misses the test-only BooksDemoAPI of target/test-classes
+    Path file = dir.resolve(ClassIndex.RESOURCE);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, new JsonObject()
+        .put("org.folio.rest.impl", new JsonArray().add(AdminAPI.class.getName())).encode());
+    Thread thread = Thread.currentThread();
+    ClassLoader original = thread.getContextClassLoader();
+    try {
+      thread.setContextClassLoader(new URLClassLoader(new URL[] { dir.toUri().toURL() }, original));
+      assertThat(InterfaceToImpl.convert2Impl("org.folio.rest.impl", Rmbtests.class.getName(), false),
+          contains(BooksDemoAPI.class));
+      assertThrows(ClassNotFoundException.class,
+          () -> InterfaceToImpl.convert2Impl("org.folio.rest.impl", "org.example.Missing", false));
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+}
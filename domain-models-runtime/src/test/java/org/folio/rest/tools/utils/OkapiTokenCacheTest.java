@@ -0,0 +1,121 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.json.JsonObject;
+import java.util.Base64;
+import java.util.Map;
+import org.folio.okapi.testing.UtilityClassTester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OkapiTokenCacheTest {
+
+  static String token(JsonObject payload) {
+    return "header." + Base64.getEncoder().encodeToString(payload.encode().getBytes()) + ".signature";
+  }
+
+  @BeforeEach
+  void setUp() {
+    OkapiTokenCache.setMaxSize(OkapiTokenCache.DEFAULT_MAX_SIZE);
+    OkapiTokenCache.setCurrentTimeMillis(System::currentTimeMillis);
+    OkapiTokenCache.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    setUp();
+  }
+
+  @Test
+  void isUtilityClass() {
+    UtilityClassTester.assertUtilityClass(OkapiTokenCache.class);
+  }
+
+  @Test
+  void hit() {
+    String token = token(new JsonObject().put("user_id", "u1").put("tenant", "diku"));
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.getTenant(token), is("diku"));
+    assertThat(OkapiTokenCache.getPayload(token).getString("sub"), is(nullValue()));
+    assertThat(OkapiTokenCache.getMisses(), is(1L));
+    assertThat(OkapiTokenCache.getHits(), is(2L));
+    assertThat(OkapiTokenCache.size(), is(1));
+  }
+
+  @Test
+  void payloadIsCopy() {
+    String token = token(new JsonObject().put("user_id", "u1"));
+    OkapiTokenCache.getPayload(token).put("user_id", "u2");
+    assertThat(OkapiTokenCache.getPayload(token).getString("user_id"), is("u1"));
+  }
+
+  @Test
+  void nullToken() {
+    assertThat(OkapiTokenCache.getUserId(null), is(nullValue()));
+    assertThat(OkapiTokenCache.getTenant(null), is(nullValue()));
+    assertThat(OkapiTokenCache.getPayload(null), is(nullValue()));
+    assertThat(OkapiTokenCache.getMisses(), is(0L));
+  }
+
+  @Test
+  void invalidToken() {
+    assertThat(OkapiTokenCache.getUserId("foo"), is(nullValue()));
+    assertThat(OkapiTokenCache.getPayload("foo").isEmpty(), is(true));
+    assertThat(OkapiTokenCache.getMisses(), is(1L));
+    assertThat(OkapiTokenCache.getHits(), is(1L));
+  }
+
+  @Test
+  void nonStringClaims() {
+    String token = token(new JsonObject().put("user_id", 5).put("tenant", new JsonObject()));
+    assertThat(OkapiTokenCache.getUserId(token), is(nullValue()));
+    assertThat(OkapiTokenCache.getTenant(token), is(nullValue()));
+  }
+
+  @Test
+  void expires() {
+    String token = token(new JsonObject().put("user_id", "u1").put("exp", 100));
+    OkapiTokenCache.setCurrentTimeMillis(() -> 99_999);
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.getHits(), is(1L));
+    OkapiTokenCache.setCurrentTimeMillis(() -> 100_000);
+    // an expired token is still decoded, but no longer cached
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.size(), is(0));
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.getMisses(), is(3L));
+  }
+
+  @Test
+  void evict() {
+    OkapiTokenCache.setMaxSize(2);
+    for (int i = 0; i < 3; i++) {
+      OkapiTokenCache.getUserId(token(new JsonObject().put("user_id", "u" + i)));
+    }
+    assertThat(OkapiTokenCache.size(), is(2));
+    OkapiTokenCache.setMaxSize(1);
+    assertThat(OkapiTokenCache.size(), is(1));
+  }
+
+  @Test
+  void disabled() {
+    String token = token(new JsonObject().put("user_id", "u1"));
+    OkapiTokenCache.configureMaxSize(Map.of(OkapiTokenCache.TOKEN_CACHE_SIZE, "0"));
+    assertThat(OkapiTokenCache.getUserId(token), is("u1"));
+    assertThat(OkapiTokenCache.size(), is(0));
+    assertThat(OkapiTokenCache.getMisses(), is(0L));
+    OkapiTokenCache.configureMaxSize(Map.of());
+    assertThat(OkapiTokenCache.getMaxSize(), is(OkapiTokenCache.DEFAULT_MAX_SIZE));
+  }
+
+  @Test
+  void negativeSize() {
+    assertThrows(IllegalArgumentException.class, () -> OkapiTokenCache.setMaxSize(-1));
+  }
+}
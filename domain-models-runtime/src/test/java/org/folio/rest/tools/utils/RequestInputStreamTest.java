@@ -0,0 +1,196 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RequestInputStreamTest {
+  private static Vertx vertx;
+
+  /**
+   * ReadStream that records pause and resume, the test pushes the data.
+   */
+  static class FakeReadStream implements ReadStream<Buffer> {
+    Handler<Buffer> handler;
+    Handler<Void> endHandler;
+    Handler<Throwable> exceptionHandler;
+    volatile boolean paused;
+    volatile int resumes;
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      exceptionHandler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+      paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+      paused = false;
+      resumes++;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    void push(String s) {
+      handler.handle(Buffer.buffer(s));
+    }
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    vertx.close();
+  }
+
+  private static String read(RequestInputStream inputStream) throws IOException {
+    return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Run runnable on context and wait for it.
+   */
+  private static void onContext(Context context, Runnable runnable) throws Exception {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      runnable.run();
+      future.complete(null);
+    });
+    future.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void readAll() throws Exception {
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(vertx.getOrCreateContext(), source, 100);
+    source.push("foo");
+    source.push("");
+    source.push("bar");
+    assertThat(inputStream.available(), is(6));
+    assertThat(inputStream.read(), is((int) 'f'));
+    source.endHandler.handle(null);
+    assertThat(read(inputStream), is("oobar"));
+    assertThat(inputStream.read(), is(-1));
+    assertThat(inputStream.read(new byte[1], 0, 1), is(-1));
+  }
+
+  @Test
+  public void blocksUntilDataArrives() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(context, source, 100);
+    vertx.setTimer(50, x -> {
+      source.push("abc");
+      source.endHandler.handle(null);
+    });
+    assertThat(read(inputStream), is("abc"));
+  }
+
+  @Test
+  public void backpressure() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(context, source, 10);
+    onContext(context, () -> {
+      source.push("12345");
+      source.push("6789");
+    });
+    assertThat(source.paused, is(false));
+    onContext(context, () -> source.push("0"));
+    assertThat(source.paused, is(true));
+    byte[] b = new byte[5];
+    assertThat(inputStream.read(b, 0, 5), is(5));
+    onContext(context, () -> { });
+    assertThat(source.paused, is(false));  // 5 bytes buffered <= 10 / 2
+    assertThat(source.resumes, is(1));
+    onContext(context, () -> source.endHandler.handle(null));
+    assertThat(read(inputStream), is("67890"));
+  }
+
+  @Test
+  public void failure() {
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(vertx.getOrCreateContext(), source, 100);
+    source.exceptionHandler.handle(new RuntimeException("connection reset"));
+    var e = assertThrows(IOException.class, () -> inputStream.read());
+    assertThat(e.getMessage(), is("connection reset"));
+  }
+
+  @Test
+  public void close() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(context, source, 2);
+    onContext(context, () -> source.push("abc"));
+    assertThat(source.paused, is(true));
+    inputStream.close();
+    inputStream.close();
+    onContext(context, () -> { });
+    assertThat(source.paused, is(false));
+    source.push("def");
+    assertThat(inputStream.available(), is(0));
+    assertThrows(IOException.class, () -> inputStream.read());
+  }
+
+  @Test
+  public void eventLoopRead() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    var source = new FakeReadStream();
+    var inputStream = new RequestInputStream(context, source, 100);
+    CompletableFuture<Throwable> future = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        inputStream.read();
+        future.complete(null);
+      } catch (Throwable e) {
+        future.complete(e);
+      }
+    });
+    assertThat(future.get(5, TimeUnit.SECONDS).getClass().getName(), is(IllegalStateException.class.getName()));
+  }
+
+  @Test
+  public void invalidMaxBuffered() {
+    var source = new FakeReadStream();
+    Context context = vertx.getOrCreateContext();
+    assertThrows(IllegalArgumentException.class, () -> new RequestInputStream(context, source, 0));
+  }
+}
@@ -0,0 +1,87 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class RmbMetricsTest {
+
+  @Test
+  public void query() {
+    RmbMetrics.query("metricstenant", "mytable", "get", System.nanoTime());
+    RmbMetrics.query("metricstenant", "mytable", "get", System.nanoTime());
+    RmbMetrics.query(null, null, "count", System.nanoTime());
+    String scrape = RmbMetrics.scrape();
+    assertThat(scrape, containsString(
+        "rmb_db_query_seconds_count{operation=\"get\",table=\"mytable\",tenant=\"metricstenant\",} 2.0"));
+    assertThat(scrape, containsString(
+        "rmb_db_query_seconds_bucket{operation=\"get\",table=\"mytable\",tenant=\"metricstenant\",le=\"0.001\",}"));
+    assertThat(scrape, containsString(
+        "rmb_db_query_seconds_count{operation=\"count\",table=\"unknown\",tenant=\"unknown\",} 1.0"));
+  }
+
+  @Test
+  public void metersAreReused() {
+    RmbMetrics.query("reusetenant", "reusetable", "get", System.nanoTime());
+    Timer timer = RmbMetrics.getRegistry().get(RmbMetrics.DB_QUERY).tag("tenant", "reusetenant").timer();
+    RmbMetrics.query("reusetenant", "reusetable", "get", System.nanoTime());
+    assertThat(timer.count(), is(2L));
+    assertThat(RmbMetrics.getRegistry().find(RmbMetrics.DB_QUERY).tag("tenant", "reusetenant").timers().size(), is(1));
+  }
+
+  @Test
+  public void db() {
+    RmbMetrics.deserialization("metricstenant", "deserializationtable", System.nanoTime());
+    RmbMetrics.poolWait("waittenant", System.nanoTime());
+    RmbMetrics.checkout("checkouttenant", RmbMetrics.CHECKOUT_RECYCLE);
+    RmbMetrics.checkout("checkouttenant", RmbMetrics.CHECKOUT_RECYCLE);
+    String scrape = RmbMetrics.scrape();
+    assertThat(scrape, containsString(
+        "rmb_db_deserialization_seconds_count{table=\"deserializationtable\",tenant=\"metricstenant\",} 1.0"));
+    assertThat(scrape, containsString("rmb_db_pool_wait_seconds_count{tenant=\"waittenant\",} 1.0"));
+    assertThat(scrape, containsString(
+        "rmb_db_connection_checkout_total{result=\"recycle\",tenant=\"checkouttenant\",} 2.0"));
+  }
+
+  @Test
+  public void request() {
+    RmbMetrics.request("GET", "/metricstest/{id}", 200, System.nanoTime(), 5000);
+    String scrape = RmbMetrics.scrape();
+    assertThat(scrape, containsString(
+        "rmb_http_request_seconds_count{method=\"GET\",path=\"/metricstest/{id}\",status=\"200\",} 1.0"));
+    assertThat(scrape, containsString(
+        "rmb_http_response_size_bytes_bucket{method=\"GET\",path=\"/metricstest/{id}\",le=\"10000.0\",} 1.0"));
+    assertThat(scrape, containsString(
+        "rmb_http_response_size_bytes_bucket{method=\"GET\",path=\"/metricstest/{id}\",le=\"1000.0\",} 0.0"));
+  }
+
+  @Test
+  public void add() {
+    SimpleMeterRegistry simple = new SimpleMeterRegistry();
+    RmbMetrics.add(null);
+    RmbMetrics.add(simple);
+    RmbMetrics.add(simple);
+    RmbMetrics.poolWait("addtenant", System.nanoTime());
+    Timer timer = simple.find(RmbMetrics.DB_POOL_WAIT).tag("tenant", "addtenant").timer();
+    assertThat(timer.count(), is(1L));
+    ((CompositeMeterRegistry) RmbMetrics.getRegistry()).remove(simple);
+  }
+
+  @Test
+  public void gauge() {
+    Gauge existing = RmbMetrics.getRegistry().find(RmbMetrics.DB_CONNECTION_CACHE_SIZE).gauge();
+    if (existing != null) {
+      RmbMetrics.getRegistry().remove(existing);
+    }
+    AtomicInteger size = new AtomicInteger(7);
+    RmbMetrics.connectionCacheSize(size, AtomicInteger::get);
+    assertThat(RmbMetrics.getRegistry().get(RmbMetrics.DB_CONNECTION_CACHE_SIZE).gauge().value(), is(7.0));
+  }
+}
@@ -88,6 +88,13 @@ public enum HttpStatus {
    */
   HTTP_NOT_FOUND(404),
 
+  /**
+   * 413, the request body is larger than the server is willing to process.
+   * <p>
+   * See <a href="https://tools.ietf.org/html/rfc7231#section-6.5.11">RFC 7231 Section 6.5.11</a>.
+   */
+  HTTP_PAYLOAD_TOO_LARGE(413),
+
   /**
    * 422, the validation of the request failed (unprocessable entity).  The body, the URI parameters or the HTTP
    * headers do not comply with the requirements published with the FOLIO API.
@@ -0,0 +1,154 @@
+package org.folio.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe bounded least recently used cache with hit and miss counters.
+ *
+ * <p>The maximum size is read from an environment variable, 0 disables the cache.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class LruCache<K, V> {
+  private final String sizeVariable;
+  private final int defaultMaxSize;
+  private final Map<K, V> map = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maxSize;
+    }
+  };
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile int maxSize;
+
+  /**
+   * Create a cache with defaultMaxSize, call {@link #configureMaxSize(Map)} to apply the environment variable.
+   *
+   * @param sizeVariable  name of the environment variable with the maximum number of entries
+   * @param defaultMaxSize  maximum number of entries if the environment variable is not set
+   */
+  public LruCache(String sizeVariable, int defaultMaxSize) {
+    this.sizeVariable = sizeVariable;
+    this.defaultMaxSize = defaultMaxSize;
+    setMaxSize(defaultMaxSize);
+  }
+
+  /**
+   * Set the maximum size from the size variable of env, or the default maximum size if not set.
+   *
+   * @param env  environment variables
+   * @throws NumberFormatException  if the value is not an integer
+   */
+  public void configureMaxSize(Map<String, String> env) {
+    String size = env.get(sizeVariable);
+    setMaxSize(size == null ? defaultMaxSize : Integer.parseInt(size));
+  }
+
+  /**
+   * Set the maximum number of entries, evict the least recently used entries if needed.
+   *
+   * @param maxSize  maximum number of entries, 0 disables the cache
+   * @throws IllegalArgumentException  if maxSize is negative
+   */
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException(sizeVariable + " must not be negative: " + maxSize);
+    }
+    synchronized (map) {
+      this.maxSize = maxSize;
+      var iterator = map.entrySet().iterator();
+      while (map.size() > maxSize) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * @return current number of entries
+   */
+  public int size() {
+    synchronized (map) {
+      return map.size();
+    }
+  }
+
+  /**
+   * @return number of lookups that found an entry since start or the last {@link #clear()}
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return number of lookups that didn't find an entry since start or the last {@link #clear()}
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Remove all entries and reset the hit and miss counters.
+   */
+  public void clear() {
+    synchronized (map) {
+      map.clear();
+    }
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * @return the value of key, null if not found
+   */
+  public V get(K key) {
+    return get(key, value -> true);
+  }
+
+  /**
+   * The value of key if isValid accepts it; a value that isValid rejects is removed.
+   *
+   * @return the valid value of key, null if not found
+   */
+  public V get(K key, Predicate<? super V> isValid) {
+    V value;
+    synchronized (map) {
+      value = map.get(key);
+      if (value != null && !isValid.test(value)) {
+        map.remove(key);
+        value = null;
+      }
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Add or replace the value of key; nothing happens if the cache is disabled.
+   */
+  public void put(K key, V value) {
+    if (maxSize == 0) {
+      return;
+    }
+    synchronized (map) {
+      map.put(key, value);
+    }
+  }
+}
@@ -14,6 +14,7 @@ class HttpStatusTest {
     "200, HTTP_OK",
     "201, HTTP_CREATED",
     "202, HTTP_ACCEPTED",
+    "413, HTTP_PAYLOAD_TOO_LARGE",
     "501, HTTP_NOT_IMPLEMENTED",
   })
   void existingStatus(int code, String name) {
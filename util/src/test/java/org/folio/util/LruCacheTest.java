@@ -0,0 +1,71 @@
+package org.folio.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  private final LruCache<String, String> cache = new LruCache<>("FOO_SIZE", 2);
+
+  @Test
+  void hitsAndMisses() {
+    assertThat(cache.get("a"), is(nullValue()));
+    cache.put("a", "1");
+    assertThat(cache.get("a"), is("1"));
+    assertThat(cache.getHits(), is(1L));
+    assertThat(cache.getMisses(), is(1L));
+    cache.clear();
+    assertThat(cache.size(), is(0));
+    assertThat(cache.getHits(), is(0L));
+    assertThat(cache.getMisses(), is(0L));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.get("a");
+    cache.put("c", "3");
+    assertThat(cache.size(), is(2));
+    assertThat(cache.get("b"), is(nullValue()));
+    assertThat(cache.get("a"), is("1"));
+    assertThat(cache.get("c"), is("3"));
+  }
+
+  @Test
+  void invalidIsRemoved() {
+    cache.put("a", "1");
+    assertThat(cache.get("a", value -> false), is(nullValue()));
+    assertThat(cache.size(), is(0));
+    assertThat(cache.getMisses(), is(1L));
+  }
+
+  @Test
+  void maxSize() {
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.setMaxSize(1);
+    assertThat(cache.size(), is(1));
+    assertThat(cache.get("b"), is("2"));
+    cache.setMaxSize(0);
+    assertThat(cache.isEnabled(), is(false));
+    cache.put("c", "3");
+    assertThat(cache.size(), is(0));
+    Exception e = assertThrows(IllegalArgumentException.class, () -> cache.setMaxSize(-1));
+    assertThat(e.getMessage(), is("FOO_SIZE must not be negative: -1"));
+  }
+
+  @Test
+  void configureMaxSize() {
+    cache.configureMaxSize(Map.of("FOO_SIZE", "7"));
+    assertThat(cache.getMaxSize(), is(7));
+    cache.configureMaxSize(Map.of());
+    assertThat(cache.getMaxSize(), is(2));
+    assertThrows(NumberFormatException.class, () -> cache.configureMaxSize(Map.of("FOO_SIZE", "x")));
+  }
+}